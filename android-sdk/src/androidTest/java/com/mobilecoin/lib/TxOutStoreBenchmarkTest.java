@@ -0,0 +1,227 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib;
+
+import static org.junit.Assert.assertEquals;
+
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.google.protobuf.ByteString;
+import com.mobilecoin.api.MobileCoinAPI;
+import com.mobilecoin.lib.exceptions.InvalidFogResponse;
+import com.mobilecoin.lib.util.Hex;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import fog_ledger.Ledger;
+import fog_view.View;
+
+/**
+ * Times the unspent TxOut scan and the key image result processing against the implementation
+ * which compared block indices as {@link UnsignedLong} and rebuilt the synced set for every
+ * spent key image
+ */
+@RunWith(AndroidJUnit4.class)
+public class TxOutStoreBenchmarkTest {
+    private static final String TAG = TxOutStoreBenchmarkTest.class.getSimpleName();
+    private static final int[] TXO_COUNTS = {1_000, 10_000};
+    private static final int WARM_UP_ROUNDS = 3;
+    private static final int ROUNDS = 10;
+    private static final int SPENT_KEY_IMAGE_RESULTS = 100;
+    private static final long BLOCK_INDEX = 500L;
+
+    private AccountKey accountKey;
+    private OwnedTxOut template;
+    private byte[] templateRecord;
+
+    @Before
+    public void setUp() throws Exception {
+        accountKey = AccountKey.fromBytes(
+                Hex.toByteArray(OwnedTxOutTest.receiverAccountKeyHexProtoBytes));
+        View.TxOutRecord record = View.TxOutRecord.parseFrom(
+                Hex.toByteArray(OwnedTxOutTest.viewRecordWithSenderMemoHexProtoBytes));
+        template = new OwnedTxOut(record, accountKey);
+        TxOutStoreFormat.Writer writer = new TxOutStoreFormat.Writer(0);
+        template.writeTo(writer);
+        templateRecord = writer.toByteArray();
+    }
+
+    @Test
+    public void unspent_txouts_are_compared_with_unsigned_long_scan() throws Exception {
+        for (int txOutCount : TXO_COUNTS) {
+            List<OwnedTxOut> txOuts = createTxOuts(txOutCount);
+            TxOutStore store = createStore(txOuts);
+            assertEquals(getUnspentTxOutsBefore(store, txOuts), store.getUnspentTxOuts());
+
+            for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+                getUnspentTxOutsBefore(store, txOuts);
+                store.getUnspentTxOuts();
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                getUnspentTxOutsBefore(store, txOuts);
+            }
+            long beforeNanos = (System.nanoTime() - start) / ROUNDS;
+            start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                store.getUnspentTxOuts();
+            }
+            long afterNanos = (System.nanoTime() - start) / ROUNDS;
+
+            Log.i(TAG, String.format(Locale.US,
+                    "getUnspentTxOuts, %d TxOuts: before %d us, after %d us",
+                    txOutCount, toMicros(beforeNanos), toMicros(afterNanos)));
+        }
+    }
+
+    @Test
+    public void spent_state_update_is_compared_with_per_result_scan() throws Exception {
+        Ledger.CheckKeyImagesResponse response = createSpentResponse();
+        for (int txOutCount : TXO_COUNTS) {
+            List<OwnedTxOut> beforeTxOuts = createTxOuts(txOutCount);
+            TxOutStore beforeStore = createStore(beforeTxOuts);
+            List<OwnedTxOut> afterTxOuts = createTxOuts(txOutCount);
+            TxOutStore afterStore = createStore(afterTxOuts);
+
+            for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+                updateTxOutsSpentStateBefore(beforeStore, beforeTxOuts, response);
+                afterStore.updateTxOutsSpentState(response);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                updateTxOutsSpentStateBefore(beforeStore, beforeTxOuts, response);
+            }
+            long beforeNanos = (System.nanoTime() - start) / ROUNDS;
+            start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                afterStore.updateTxOutsSpentState(response);
+            }
+            long afterNanos = (System.nanoTime() - start) / ROUNDS;
+
+            Log.i(TAG, String.format(Locale.US,
+                    "updateTxOutsSpentState, %d TxOuts, %d spent results: " +
+                            "before %d us, after %d us",
+                    txOutCount, SPENT_KEY_IMAGE_RESULTS,
+                    toMicros(beforeNanos), toMicros(afterNanos)));
+            // both mark the first synced TxOut with the key image spent
+            assertEquals(getUnspentTxOutsBefore(beforeStore, beforeTxOuts).size(),
+                    afterStore.getUnspentTxOuts().size());
+        }
+    }
+
+    /**
+     * Unspent TxOut scan before block indices were compared as primitives
+     */
+    private static Set<OwnedTxOut> getUnspentTxOutsBefore(TxOutStore store,
+                                                          List<OwnedTxOut> txOuts) {
+        return getSyncedTxOutsBefore(store, txOuts).stream()
+                .filter(p -> !p.isSpent(store.getCurrentBlockIndex()))
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private static Set<OwnedTxOut> getSyncedTxOutsBefore(TxOutStore store,
+                                                         List<OwnedTxOut> txOuts) {
+        UnsignedLong currentBlockIndex = store.getCurrentBlockIndex();
+        HashSet<OwnedTxOut> syncedTxOuts = new HashSet<>();
+        for (OwnedTxOut txOut : txOuts) {
+            if (currentBlockIndex.equals(UnsignedLong.ZERO)
+                    || txOut.getReceivedBlockIndex().compareTo(currentBlockIndex) <= 0) {
+                syncedTxOuts.add(txOut);
+            }
+        }
+        return syncedTxOuts;
+    }
+
+    /**
+     * Key image result processing before the TxOuts were indexed once per response
+     */
+    private static void updateTxOutsSpentStateBefore(TxOutStore store, List<OwnedTxOut> txOuts,
+            Ledger.CheckKeyImagesResponse response) throws InvalidFogResponse {
+        for (Ledger.KeyImageResult result : response.getResultsList()) {
+            if (result.getKeyImageResultCode() == Ledger.KeyImageResultCode.NotSpent_VALUE) {
+                continue;
+            }
+            int keyImageHashCode = Arrays.hashCode(result.getKeyImage().getData().toByteArray());
+            OwnedTxOut utxo = null;
+            for (OwnedTxOut txOut : getSyncedTxOutsBefore(store, txOuts)) {
+                if (txOut.getKeyImageHashCode() == keyImageHashCode) {
+                    utxo = txOut;
+                    break;
+                }
+            }
+            if (utxo == null) {
+                throw new InvalidFogResponse("checkKeyImages returned invalid key image result");
+            }
+            Date spentBlockTimestamp = null;
+            UnsignedLong timestampSeconds = UnsignedLong.fromLongBits(result.getTimestamp());
+            if (!timestampSeconds.equals(UnsignedLong.MAX_VALUE)) {
+                spentBlockTimestamp =
+                        new Date(TimeUnit.SECONDS.toMillis(timestampSeconds.longValue()));
+            }
+            utxo.setSpent(UnsignedLong.fromLongBits(result.getSpentAt()), spentBlockTimestamp);
+        }
+    }
+
+    private Ledger.CheckKeyImagesResponse createSpentResponse() {
+        Ledger.CheckKeyImagesResponse.Builder response = Ledger.CheckKeyImagesResponse.newBuilder()
+                .setNumBlocks(BLOCK_INDEX + 1)
+                .setGlobalTxoCount(1_000_000L);
+        for (int i = 0; i < SPENT_KEY_IMAGE_RESULTS; i++) {
+            response.addResults(Ledger.KeyImageResult.newBuilder()
+                    .setKeyImage(MobileCoinAPI.KeyImage.newBuilder()
+                            .setData(ByteString.copyFrom(template.getKeyImage().getData())))
+                    .setKeyImageResultCode(Ledger.KeyImageResultCode.Spent_VALUE)
+                    .setSpentAt(BLOCK_INDEX)
+                    .setTimestamp(TimeUnit.DAYS.toSeconds(19_000L)));
+        }
+        return response.build();
+    }
+
+    private TxOutStore createStore(List<OwnedTxOut> txOuts) {
+        TxOutStore store = new TxOutStore(accountKey);
+        store.setViewBlockIndex(UnsignedLong.fromLongBits(BLOCK_INDEX));
+        store.setLedgerBlockIndex(UnsignedLong.fromLongBits(BLOCK_INDEX));
+        store.addRecoveredTxOuts(new HashSet<>(txOuts));
+        return store;
+    }
+
+    /**
+     * Copies of the template TxOut with distinct global indices, received in the blocks around
+     * the store block index, every third one spent
+     */
+    private List<OwnedTxOut> createTxOuts(int count) throws Exception {
+        ArrayList<OwnedTxOut> txOuts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long receivedBlockIndex = i % (2 * BLOCK_INDEX);
+            // the record starts with a flags byte followed by the global and received indices
+            ByteBuffer record = ByteBuffer.wrap(templateRecord.clone());
+            record.putLong(1, i);
+            record.putLong(1 + Long.BYTES, receivedBlockIndex);
+            OwnedTxOut txOut = new OwnedTxOut(new TxOutStoreFormat.Reader(record.array()));
+            if (i % 3 == 0) {
+                txOut.setSpent(receivedBlockIndex + 1, null);
+            }
+            txOuts.add(txOut);
+        }
+        return txOuts;
+    }
+
+    private static long toMicros(long nanos) {
+        return nanos / 1_000L;
+    }
+}
@@ -0,0 +1,213 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib;
+
+import static org.junit.Assert.assertEquals;
+
+import android.os.Parcel;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.google.protobuf.ByteString;
+import com.mobilecoin.lib.util.Hex;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Locale;
+
+import fog_view.View;
+import kex_rng.KexRng;
+
+@RunWith(AndroidJUnit4.class)
+public class TxOutStoreFormatInstrumentedTest {
+    private static final String TAG = TxOutStoreFormatInstrumentedTest.class.getSimpleName();
+    private static final int[] TXO_COUNTS = {1_000, 10_000, 100_000};
+    // TxOut of the sender memo from TxOutMemoParserTest
+    private static final String MEMO_TXOUT_HEX_PROTO_BYTES =
+            "0a2d0a220a2080d150b3957ff20758b9413a47044408731151fbf0140e7433e0d119bf658f4a11b8"
+            + "9889a83748c3b712220a20ea28e0a73e2e579163d8710ef1d19bafc1bd04f681168a7eed50054c7c"
+            + "91b45d1a220a20f40936fb0af75ae89f632685e930a9a53abcac8665ae6a7cd59915e07f15d86e22"
+            + "560a5400000000000000000000000000000000000000000000000000000000000000000000000000"
+            + "00000000000000000000000000000000000000000000000000000000000000000000000000000000"
+            + "000000000000002a440a4246597e555ff2700a08d66334a78b43f43c02a270bd580225a05f4f1bb4"
+            + "ca56017ab622dcdb26555c7340344a0a0499f6ee48a77a1fe9525496cd87f70d154ca2a436";
+
+    private AccountKey senderAccountKey;
+    private AccountKey receiverAccountKey;
+
+    @Before
+    public void setUp() throws Exception {
+        senderAccountKey = AccountKey.fromBytes(
+                Hex.toByteArray(OwnedTxOutTest.senderAccountKeyHexProtoBytes));
+        receiverAccountKey = AccountKey.fromBytes(
+                Hex.toByteArray(OwnedTxOutTest.receiverAccountKeyHexProtoBytes));
+    }
+
+    @Test
+    public void store_round_trips_seeds_and_recovered_txouts() throws Exception {
+        OwnedTxOut notSet = ownedTxOut(OwnedTxOutTest.viewRecordWithNotSetMemoHexProtoBytes,
+                receiverAccountKey);
+        OwnedTxOut unused = ownedTxOut(OwnedTxOutTest.viewRecordWithUnusedMemoHexProtoBytes,
+                receiverAccountKey);
+        OwnedTxOut sender = ownedTxOut(OwnedTxOutTest.viewRecordWithSenderMemoHexProtoBytes,
+                receiverAccountKey);
+        OwnedTxOut senderWithPaymentRequest = ownedTxOut(
+                OwnedTxOutTest.viewRecordWithSenderWithPaymentRequestMemoHexProtoBytes,
+                receiverAccountKey);
+        OwnedTxOut destination = ownedTxOut(
+                OwnedTxOutTest.viewRecordWithDestinationMemoHexProtoBytes, senderAccountKey);
+        sender.setSpent(sender.getReceivedBlockIndex().add(UnsignedLong.ONE),
+                new Date(1_650_000_000_000L));
+        destination.setSpent(destination.getReceivedBlockIndex().add(UnsignedLong.TEN), null);
+
+        FogSeed activeSeed = createSeed(new byte[32], 62L);
+        activeSeed.addTXO(notSet);
+        activeSeed.addTXO(sender);
+        FogSeed obsoleteSeed = createSeed(
+                RistrettoPrivate.generateNewKey().getPublicKey().getKeyBytes(), 63L);
+        obsoleteSeed.addTXO(unused);
+        obsoleteSeed.addTXO(senderWithPaymentRequest);
+        obsoleteSeed.markObsolete();
+
+        TxOutStore store = createStore();
+        store.addSeed(activeSeed);
+        store.addSeed(obsoleteSeed);
+        store.addRecoveredTxOuts(Collections.singleton(destination));
+
+        TxOutStore restored = TxOutStore.fromBytes(store.toByteArray());
+        restored.setAccountKey(receiverAccountKey);
+        assertEquals(store, restored);
+        assertEquals(new HashSet<>(Arrays.asList(notSet, unused, sender,
+                        senderWithPaymentRequest, destination)),
+                restored.getSyncedTxOuts());
+    }
+
+    @Test
+    public void every_memo_type_round_trips() throws Exception {
+        TxOut txOut = TxOut.fromBytes(Hex.toByteArray(MEMO_TXOUT_HEX_PROTO_BYTES));
+        byte[] memoData = new byte[TxOutMemo.TX_OUT_MEMO_DATA_SIZE_BYTES];
+        for (int i = 0; i < memoData.length; i++) {
+            memoData[i] = (byte) (i + 1);
+        }
+        for (TxOutMemoType memoType : TxOutMemoType.values()) {
+            byte[] payload = (memoType == TxOutMemoType.NOT_SET)
+                    ? new byte[0]
+                    : concat(memoTypeBytes(memoType), memoData);
+            TxOutMemo memo = TxOutMemoParser.parseTxOutMemo(payload, receiverAccountKey, txOut);
+            assertEquals(memoType, memo.getTxOutMemoType());
+
+            TxOutStoreFormat.Writer writer = new TxOutStoreFormat.Writer(0);
+            TxOutMemo.writeMemo(writer, memo);
+            TxOutMemo restored =
+                    TxOutMemo.readMemo(new TxOutStoreFormat.Reader(writer.toByteArray()));
+            assertEquals(memo, restored);
+        }
+    }
+
+    @Test
+    public void versioned_format_is_compared_with_parcel_format() throws Exception {
+        OwnedTxOut template = ownedTxOut(OwnedTxOutTest.viewRecordWithSenderMemoHexProtoBytes,
+                receiverAccountKey);
+        for (int txOutCount : TXO_COUNTS) {
+            FogSeed seed = createSeed(new byte[32], 62L);
+            for (int i = 0; i < txOutCount; i++) {
+                seed.addTXO(new OwnedTxOut(template));
+            }
+            TxOutStore store = createStore();
+            store.addSeed(seed);
+
+            long start = System.nanoTime();
+            byte[] versioned = store.toByteArray();
+            long versionedWriteNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            TxOutStore fromVersioned = TxOutStore.fromBytes(versioned);
+            long versionedReadNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Parcel parcel = Parcel.obtain();
+            store.writeToParcel(parcel, 0);
+            byte[] parceled = parcel.marshall();
+            parcel.recycle();
+            long parcelWriteNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            TxOutStore fromParcel = TxOutStore.fromParcelBytes(parceled);
+            long parcelReadNanos = System.nanoTime() - start;
+
+            Log.i(TAG, String.format(Locale.US,
+                    "%d TxOuts, versioned: %d bytes, write %d ms, read %d ms; " +
+                            "parcel: %d bytes, write %d ms, read %d ms",
+                    txOutCount,
+                    versioned.length, toMillis(versionedWriteNanos),
+                    toMillis(versionedReadNanos),
+                    parceled.length, toMillis(parcelWriteNanos), toMillis(parcelReadNanos)));
+
+            fromVersioned.setAccountKey(receiverAccountKey);
+            fromParcel.setAccountKey(receiverAccountKey);
+            assertEquals(store, fromVersioned);
+            assertEquals(store, fromParcel);
+        }
+    }
+
+    private TxOutStore createStore() {
+        TxOutStore store = new TxOutStore(receiverAccountKey);
+        store.setViewBlockIndex(UnsignedLong.fromLongBits(1L << 40));
+        store.setLedgerBlockIndex(UnsignedLong.fromLongBits(1L << 40));
+        store.setConsensusBlockIndex(UnsignedLong.fromLongBits(1L << 40));
+        return store;
+    }
+
+    private FogSeed createSeed(byte[] nonce, long ingestInvocationId) throws Exception {
+        View.RngRecord rngRecord = View.RngRecord.newBuilder()
+                .setPubkey(KexRng.KexRngPubkey.newBuilder()
+                        .setPubkey(ByteString.copyFrom(nonce)))
+                .setIngestInvocationId(ingestInvocationId)
+                .setStartBlock(0L)
+                .build();
+        return new FogSeed(receiverAccountKey.getDefaultSubAddressViewKey(), rngRecord);
+    }
+
+    private static OwnedTxOut ownedTxOut(String recordHexProtoBytes, AccountKey accountKey)
+            throws Exception {
+        View.TxOutRecord record = View.TxOutRecord.parseFrom(Hex.toByteArray(recordHexProtoBytes));
+        return new OwnedTxOut(record, accountKey);
+    }
+
+    private static byte[] memoTypeBytes(TxOutMemoType memoType) {
+        switch (memoType) {
+            case UNUSED:
+                return Hex.toByteArray("0000");
+            case SENDER:
+                return Hex.toByteArray("0100");
+            case SENDER_WITH_PAYMENT_REQUEST:
+                return Hex.toByteArray("0101");
+            case SENDER_WITH_PAYMENT_INTENT:
+                return Hex.toByteArray("0102");
+            case DESTINATION:
+                return Hex.toByteArray("0200");
+            case DESTINATION_WITH_PAYMENT_REQUEST:
+                return Hex.toByteArray("0203");
+            case DESTINATION_WITH_PAYMENT_INTENT:
+                return Hex.toByteArray("0204");
+            default:
+                // a type this client does not understand
+                return Hex.toByteArray("7f7f");
+        }
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    private static long toMillis(long nanos) {
+        return nanos / 1_000_000L;
+    }
+}
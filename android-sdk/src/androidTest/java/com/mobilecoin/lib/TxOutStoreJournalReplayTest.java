@@ -0,0 +1,178 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.google.protobuf.ByteString;
+import com.mobilecoin.api.MobileCoinAPI;
+import com.mobilecoin.lib.util.Hex;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import fog_ledger.Ledger;
+import fog_view.View;
+import kex_rng.KexRng;
+
+@RunWith(AndroidJUnit4.class)
+public class TxOutStoreJournalReplayTest {
+    private static final String STORE_KEY = "store";
+
+    private AccountKey senderAccountKey;
+    private AccountKey receiverAccountKey;
+    private MemoryStorage storage;
+    private TxOutStoreJournal journal;
+
+    @Before
+    public void setUp() throws Exception {
+        senderAccountKey = AccountKey.fromBytes(
+                Hex.toByteArray(OwnedTxOutTest.senderAccountKeyHexProtoBytes));
+        receiverAccountKey = AccountKey.fromBytes(
+                Hex.toByteArray(OwnedTxOutTest.receiverAccountKeyHexProtoBytes));
+        storage = new MemoryStorage();
+        journal = new TxOutStoreJournal(storage, STORE_KEY, 100, Runnable::run);
+    }
+
+    @Test
+    public void txout_records_are_replayed() throws Exception {
+        TxOutStore store = new TxOutStore(receiverAccountKey);
+        FogSeed seed = createSeed(new byte[32], 62L);
+        store.addSeed(seed);
+        journal.persist(store);
+
+        OwnedTxOut seedTxOut = ownedTxOut(OwnedTxOutTest.viewRecordWithSenderMemoHexProtoBytes,
+                receiverAccountKey);
+        OwnedTxOut recovered = ownedTxOut(
+                OwnedTxOutTest.viewRecordWithDestinationMemoHexProtoBytes, senderAccountKey);
+        store.addSeedTxOut(seed, seedTxOut);
+        store.addRecoveredTxOuts(Collections.singleton(recovered));
+        journal.persist(store);
+        assertTrue(storage.has(STORE_KEY + "-journal-0"));
+
+        TxOutStore restored = load();
+        assertEquals(store, restored);
+        assertEquals(new HashSet<>(Arrays.asList(seedTxOut, recovered)),
+                restored.getSyncedTxOuts());
+    }
+
+    @Test
+    public void rng_records_are_replayed() throws Exception {
+        TxOutStore store = new TxOutStore(receiverAccountKey);
+        journal.persist(store);
+
+        FogSeed activeSeed = createSeed(new byte[32], 62L);
+        FogSeed obsoleteSeed = createSeed(
+                RistrettoPrivate.generateNewKey().getPublicKey().getKeyBytes(), 63L);
+        store.addSeed(activeSeed);
+        store.addSeed(obsoleteSeed);
+        store.addSeedTxOut(activeSeed, ownedTxOut(
+                OwnedTxOutTest.viewRecordWithNotSetMemoHexProtoBytes, receiverAccountKey));
+        store.addSeedTxOut(obsoleteSeed, ownedTxOut(
+                OwnedTxOutTest.viewRecordWithUnusedMemoHexProtoBytes, receiverAccountKey));
+        store.markSeedObsolete(obsoleteSeed);
+        journal.persist(store);
+
+        // the seeds compare their RNG state, replaying the TxOut records advances the RNGs
+        assertEquals(store, load());
+    }
+
+    @Test
+    public void spent_records_are_replayed() throws Exception {
+        OwnedTxOut spent = ownedTxOut(OwnedTxOutTest.viewRecordWithSenderMemoHexProtoBytes,
+                receiverAccountKey);
+        OwnedTxOut unspent = ownedTxOut(OwnedTxOutTest.viewRecordWithNotSetMemoHexProtoBytes,
+                receiverAccountKey);
+        long blockCount = 1L << 40;
+        TxOutStore store = new TxOutStore(receiverAccountKey);
+        store.setViewBlockIndex(UnsignedLong.fromLongBits(blockCount - 1));
+        store.addRecoveredTxOuts(new HashSet<>(Arrays.asList(spent, unspent)));
+        journal.persist(store);
+
+        long spentAt = spent.getReceivedBlockIndex().longValue() + 1;
+        store.updateTxOutsSpentState(Ledger.CheckKeyImagesResponse.newBuilder()
+                .setNumBlocks(blockCount)
+                .setGlobalTxoCount(1_000L)
+                .addResults(Ledger.KeyImageResult.newBuilder()
+                        .setKeyImage(MobileCoinAPI.KeyImage.newBuilder()
+                                .setData(ByteString.copyFrom(spent.getKeyImage().getData())))
+                        .setKeyImageResultCode(Ledger.KeyImageResultCode.Spent_VALUE)
+                        .setSpentAt(spentAt)
+                        .setTimestamp(TimeUnit.DAYS.toSeconds(19_000L)))
+                .build());
+        journal.persist(store);
+
+        TxOutStore restored = load();
+        assertEquals(store, restored);
+        UnsignedLong blockIndex = UnsignedLong.fromLongBits(spentAt);
+        for (OwnedTxOut txOut : restored.getSyncedTxOuts()) {
+            if (txOut.equals(spent)) {
+                assertTrue(txOut.isSpent(blockIndex));
+                assertEquals(spent.getSpentBlockTimestamp(), txOut.getSpentBlockTimestamp());
+            } else {
+                assertEquals(unspent, txOut);
+            }
+        }
+        assertEquals(Collections.singleton(unspent), restored.getUnspentTxOuts());
+    }
+
+    private TxOutStore load() throws Exception {
+        TxOutStore restored =
+                new TxOutStoreJournal(storage, STORE_KEY, 100, Runnable::run).load();
+        assertNotNull(restored);
+        restored.setAccountKey(receiverAccountKey);
+        return restored;
+    }
+
+    private FogSeed createSeed(byte[] nonce, long ingestInvocationId) throws Exception {
+        View.RngRecord rngRecord = View.RngRecord.newBuilder()
+                .setPubkey(KexRng.KexRngPubkey.newBuilder()
+                        .setPubkey(ByteString.copyFrom(nonce)))
+                .setIngestInvocationId(ingestInvocationId)
+                .setStartBlock(0L)
+                .build();
+        return new FogSeed(receiverAccountKey.getDefaultSubAddressViewKey(), rngRecord);
+    }
+
+    private static OwnedTxOut ownedTxOut(String recordHexProtoBytes, AccountKey accountKey)
+            throws Exception {
+        View.TxOutRecord record = View.TxOutRecord.parseFrom(Hex.toByteArray(recordHexProtoBytes));
+        return new OwnedTxOut(record, accountKey);
+    }
+
+    private static final class MemoryStorage implements StorageAdapter {
+        private final Map<String, byte[]> values = new HashMap<>();
+
+        @Override
+        public boolean has(String key) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        public byte[] get(String key) {
+            return values.get(key);
+        }
+
+        @Override
+        public void set(String key, byte[] value) {
+            values.put(key, value);
+        }
+
+        @Override
+        public void clear(String key) {
+            values.remove(key);
+        }
+    }
+}
@@ -3,20 +3,26 @@
 package com.mobilecoin.lib;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import android.os.Parcel;
 
 import com.google.protobuf.ByteString;
+import com.mobilecoin.api.MobileCoinAPI;
 import com.mobilecoin.lib.exceptions.BadBip39EntropyException;
 import com.mobilecoin.lib.exceptions.FogSyncException;
 import com.mobilecoin.lib.exceptions.InvalidFogResponse;
 import com.mobilecoin.lib.network.uri.FogUri;
+import com.mobilecoin.lib.util.Hex;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -25,11 +31,16 @@ import java.math.BigInteger;
 import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import consensus_common.ConsensusCommon;
 import fog_common.FogCommon;
@@ -38,6 +49,7 @@ import fog_view.View;
 import kex_rng.KexRng;
 
 public class TxOutStoreTest {
+    private static final Executor DIRECT_EXECUTOR = Runnable::run;
     private final TestFogConfig fogConfig = Environment.getTestFogConfig();
 
     @Test
@@ -387,6 +399,66 @@ public class TxOutStoreTest {
 
     }
 
+    @Test
+    public void async_refresh_detects_fog_sync() throws Exception {
+        // same index should succeed
+        fogSyncTest_attemptRefreshAsync(61L, 61L, 61L).get(5, TimeUnit.SECONDS);
+        final long testValueFog = 410L;
+        try {
+            // Fog behind over threshold, should fail
+            fogSyncTest_attemptRefreshAsync(testValueFog, testValueFog,
+                    testValueFog + TxOutStore.FOG_SYNC_THRESHOLD.longValue())
+                    .get(5, TimeUnit.SECONDS);
+            fail("Expected FogSyncException");
+        } catch (ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof FogSyncException);
+        }
+    }
+
+    @Test
+    public void concurrent_async_refreshes_share_requests() throws Exception {
+        AttestedViewClient viewClient = mock(AttestedViewClient.class);
+        CompletableFuture<View.QueryResponse> viewResponse = new CompletableFuture<>();
+        when(viewClient.requestAsync(any(), anyLong(), anyLong())).thenReturn(viewResponse);
+        AttestedLedgerClient ledgerClient = mock(AttestedLedgerClient.class);
+        when(ledgerClient.checkUtxoKeyImagesAsync(any())).thenReturn(
+                CompletableFuture.completedFuture(Ledger.CheckKeyImagesResponse.newBuilder()
+                        .setNumBlocks(10L).build()));
+        FogBlockClient blockClient = mock(FogBlockClient.class);
+        TxOutStore txOutStore = new TxOutStore(mock(AccountKey.class));
+        txOutStore.setConsensusBlockIndex(UnsignedLong.fromLongBits(10L));
+
+        CompletableFuture<Void> first = txOutStore.refreshAsync(viewClient, ledgerClient,
+                blockClient, null, DIRECT_EXECUTOR);
+        CompletableFuture<Void> second = txOutStore.refreshAsync(viewClient, ledgerClient,
+                blockClient, null, DIRECT_EXECUTOR);
+        assertFalse(first.isDone());
+        viewResponse.complete(View.QueryResponse.newBuilder()
+                .setHighestProcessedBlockCount(10L).build());
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        verify(viewClient, times(1)).requestAsync(any(), anyLong(), anyLong());
+    }
+
+    private CompletableFuture<Void> fogSyncTest_attemptRefreshAsync(long fogViewBlocks,
+            long fogLedgerBlocks, long consensusBlocks) {
+        AttestedViewClient viewClient = mock(AttestedViewClient.class);
+        when(viewClient.requestAsync(any(), eq(0L), eq(0L))).thenReturn(
+                CompletableFuture.completedFuture(View.QueryResponse.newBuilder()
+                        .setHighestProcessedBlockCount(fogViewBlocks).build()));
+        AttestedLedgerClient ledgerClient = mock(AttestedLedgerClient.class);
+        when(ledgerClient.checkUtxoKeyImagesAsync(any())).thenReturn(
+                CompletableFuture.completedFuture(Ledger.CheckKeyImagesResponse.newBuilder()
+                        .setNumBlocks(fogLedgerBlocks)
+                        .setGlobalTxoCount(18930623637638213L).build()));
+        FogBlockClient blockClient = mock(FogBlockClient.class);
+
+        TxOutStore txOutStore = new TxOutStore(mock(AccountKey.class));
+        txOutStore.setConsensusBlockIndex(UnsignedLong.fromLongBits(consensusBlocks));
+        return txOutStore.refreshAsync(viewClient, ledgerClient, blockClient, null,
+                DIRECT_EXECUTOR);
+    }
+
     private void fogSyncTest_attemptRefresh(long fogViewBlocks, long fogLedgerBlocks, long consensusBlocks) throws Exception {
 
         AccountKey accountKey = mock(AccountKey.class);
@@ -441,6 +513,61 @@ public class TxOutStoreTest {
 
     }
 
+    @Test
+    public void cold_tier_with_real_txouts() throws Exception {
+        // real TxOuts change their hash code when spent, unlike mocks
+        AccountKey accountKey = AccountKey.fromBytes(
+                Hex.toByteArray(OwnedTxOutTest.receiverAccountKeyHexProtoBytes));
+        OwnedTxOut spentLongAgo = ownedTxOut(
+                OwnedTxOutTest.viewRecordWithSenderMemoHexProtoBytes, accountKey);
+        OwnedTxOut spentRecently = ownedTxOut(
+                OwnedTxOutTest.viewRecordWithUnusedMemoHexProtoBytes, accountKey);
+        OwnedTxOut unspent = ownedTxOut(
+                OwnedTxOutTest.viewRecordWithNotSetMemoHexProtoBytes, accountKey);
+        long blockIndex = 1000L + Math.max(spentLongAgo.getReceivedBlockIndexBits(),
+                Math.max(spentRecently.getReceivedBlockIndexBits(),
+                        unspent.getReceivedBlockIndexBits()));
+        spentLongAgo.setSpent(spentLongAgo.getReceivedBlockIndexBits() + 1, null);
+        spentRecently.setSpent(blockIndex - 2, null);
+
+        TxOutStore store = new TxOutStore(accountKey);
+        store.setViewBlockIndex(UnsignedLong.fromLongBits(blockIndex));
+        store.setLedgerBlockIndex(UnsignedLong.fromLongBits(blockIndex));
+        store.setColdTierSpentBlocks(10);
+        store.addRecoveredTxOuts(new HashSet<>(Arrays.asList(
+                spentLongAgo, spentRecently, unspent)));
+
+        assertEquals(new HashSet<>(Arrays.asList(spentRecently, unspent)),
+                store.getSyncedHotTxOuts());
+        assertEquals(Collections.singleton(unspent), store.getUnspentTxOuts());
+        assertEquals(Collections.singletonList(spentLongAgo), store.getColdTxOuts(0, 10));
+        assertEquals(Collections.singleton(spentLongAgo.getAmount().getTokenId()),
+                store.getColdTokenIds());
+
+        // spending a hot TxOut changes its hash code while it is in the hot set
+        store.updateTxOutsSpentState(Ledger.CheckKeyImagesResponse.newBuilder()
+                .setNumBlocks(blockIndex + 1)
+                .setGlobalTxoCount(1_000L)
+                .addResults(Ledger.KeyImageResult.newBuilder()
+                        .setKeyImage(MobileCoinAPI.KeyImage.newBuilder()
+                                .setData(ByteString.copyFrom(unspent.getKeyImage().getData())))
+                        .setKeyImageResultCode(Ledger.KeyImageResultCode.Spent_VALUE)
+                        .setSpentAt(blockIndex)
+                        .setTimestamp(UnsignedLong.MAX_VALUE.longValue()))
+                .build());
+        assertTrue(store.getUnspentTxOuts().isEmpty());
+        assertEquals(3, store.getSyncedHotTxOuts().size() + store.getColdTxOutCount());
+
+        store.setViewBlockIndex(UnsignedLong.fromLongBits(blockIndex + 100));
+        store.setLedgerBlockIndex(UnsignedLong.fromLongBits(blockIndex + 100));
+        store.updateTiers();
+        assertTrue(store.getSyncedHotTxOuts().isEmpty());
+        assertEquals(Arrays.asList(unspent, spentRecently, spentLongAgo),
+                store.getColdTxOuts(0, 10));
+        assertEquals(new HashSet<>(Arrays.asList(spentLongAgo, spentRecently, unspent)),
+                store.getSyncedTxOuts());
+    }
+
     @Test
     public void testParcelable() throws BadBip39EntropyException {
         AccountTest.AccountTestData accountData = AccountTest.loadAccountTestData().get(0);
@@ -455,6 +582,12 @@ public class TxOutStoreTest {
         assertEquals(parcelInput, parcelOutput);
     }
 
+    private static OwnedTxOut ownedTxOut(String recordHexProtoBytes, AccountKey accountKey)
+            throws Exception {
+        View.TxOutRecord record = View.TxOutRecord.parseFrom(Hex.toByteArray(recordHexProtoBytes));
+        return new OwnedTxOut(record, accountKey);
+    }
+
     private static final byte[] SAMPLE_TXOUT_BYTES = new byte[] {17, -93, 2, -81, 7, -62,
             104, -128, -95, 26, 32, -94, -11, 86, 42, 90, -43, 32, 5, 21, 72, -110, -74, 68, -108, 87, 37,
             57, -50, 90, 45, -3, -43, 96, -3, 21, -40, 27, -88, -34, -60, 124, 31, 34, 32, 116, -23, -29,
@@ -9,9 +9,9 @@ public final class APIManagerFactory {
     public static ServiceAPIManager forProtocol(TransportProtocol protocol) {
         switch (protocol.getTransportType()) {
             case GRPC:
-                return new GRPCServiceAPIManager();
+                return new GRPCServiceAPIManager(protocol.getCallExecutor());
             case HTTP:
-                return new RestServiceAPIManager();
+                return new RestServiceAPIManager(protocol.getCallExecutor());
             default:
                 throw new UnsupportedOperationException("Unsupported");
         }
@@ -8,8 +8,9 @@ import com.mobilecoin.lib.network.grpc.AuthInterceptor;
 import com.mobilecoin.lib.network.grpc.CookieInterceptor;
 import com.mobilecoin.lib.network.grpc.GRPCStatusResponse;
 import com.mobilecoin.lib.network.services.AttestedService;
+import com.mobilecoin.lib.network.services.ServiceCallback;
 
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 
 import attest.Attest;
 import attest.AttestedApiGrpc;
@@ -19,11 +20,14 @@ import io.grpc.StatusRuntimeException;
 public class GRPCAttestedService
         extends GRPCService<AttestedApiGrpc.AttestedApiBlockingStub>
         implements AttestedService {
+    private final AttestedApiGrpc.AttestedApiFutureStub apiFutureStub;
+
     public GRPCAttestedService(@NonNull ManagedChannel managedChannel,
                                @NonNull CookieInterceptor cookieInterceptor,
                                @NonNull AuthInterceptor authInterceptor,
-                               @NonNull ExecutorService executorService) {
-        super(managedChannel, cookieInterceptor, authInterceptor, executorService);
+                               @NonNull Executor callExecutor) {
+        super(managedChannel, cookieInterceptor, authInterceptor, callExecutor);
+        this.apiFutureStub = configureStub(AttestedApiGrpc.newFutureStub(managedChannel));
     }
 
     @NonNull
@@ -40,4 +44,10 @@ public class GRPCAttestedService
             throw new NetworkException(new NetworkResult(new GRPCStatusResponse(e.getStatus())), e);
         }
     }
+
+    @Override
+    public void authAsync(@NonNull Attest.AuthMessage authMessage,
+                          @NonNull ServiceCallback<Attest.AuthMessage> callback) {
+        addCallback(apiFutureStub.auth(authMessage), callback);
+    }
 }
@@ -9,8 +9,9 @@ import com.mobilecoin.lib.network.grpc.AuthInterceptor;
 import com.mobilecoin.lib.network.grpc.CookieInterceptor;
 import com.mobilecoin.lib.network.grpc.GRPCStatusResponse;
 import com.mobilecoin.lib.network.services.BlockchainService;
+import com.mobilecoin.lib.network.services.ServiceCallback;
 
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 
 import consensus_common.BlockchainAPIGrpc;
 import consensus_common.ConsensusCommon;
@@ -20,11 +21,14 @@ import io.grpc.StatusRuntimeException;
 public class GRPCBlockchainService
         extends GRPCService<BlockchainAPIGrpc.BlockchainAPIBlockingStub>
         implements BlockchainService {
+    private final BlockchainAPIGrpc.BlockchainAPIFutureStub apiFutureStub;
+
     public GRPCBlockchainService(@NonNull ManagedChannel managedChannel,
                                  @NonNull CookieInterceptor cookieInterceptor,
                                  @NonNull AuthInterceptor authInterceptor,
-                                 @NonNull ExecutorService executorService) {
-        super(managedChannel, cookieInterceptor, authInterceptor, executorService);
+                                 @NonNull Executor callExecutor) {
+        super(managedChannel, cookieInterceptor, authInterceptor, callExecutor);
+        this.apiFutureStub = configureStub(BlockchainAPIGrpc.newFutureStub(managedChannel));
     }
 
     @NonNull
@@ -41,4 +45,10 @@ public class GRPCBlockchainService
             throw new NetworkException(new NetworkResult(new GRPCStatusResponse(e.getStatus())), e);
         }
     }
+
+    @Override
+    public void getLastBlockInfoAsync(@NonNull Empty request,
+                                      @NonNull ServiceCallback<ConsensusCommon.LastBlockInfoResponse> callback) {
+        addCallback(apiFutureStub.getLastBlockInfo(request), callback);
+    }
 }
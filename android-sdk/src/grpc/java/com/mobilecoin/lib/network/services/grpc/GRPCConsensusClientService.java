@@ -8,8 +8,9 @@ import com.mobilecoin.lib.network.grpc.AuthInterceptor;
 import com.mobilecoin.lib.network.grpc.CookieInterceptor;
 import com.mobilecoin.lib.network.grpc.GRPCStatusResponse;
 import com.mobilecoin.lib.network.services.ConsensusClientService;
+import com.mobilecoin.lib.network.services.ServiceCallback;
 
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 
 import attest.Attest;
 import consensus_client.ConsensusClientAPIGrpc;
@@ -20,11 +21,14 @@ import io.grpc.StatusRuntimeException;
 public class GRPCConsensusClientService
         extends GRPCService<ConsensusClientAPIGrpc.ConsensusClientAPIBlockingStub>
         implements ConsensusClientService {
+    private final ConsensusClientAPIGrpc.ConsensusClientAPIFutureStub apiFutureStub;
+
     public GRPCConsensusClientService(@NonNull ManagedChannel managedChannel,
                                @NonNull CookieInterceptor cookieInterceptor,
                                @NonNull AuthInterceptor authInterceptor,
-                               @NonNull ExecutorService executorService) {
-        super(managedChannel, cookieInterceptor, authInterceptor, executorService);
+                               @NonNull Executor callExecutor) {
+        super(managedChannel, cookieInterceptor, authInterceptor, callExecutor);
+        this.apiFutureStub = configureStub(ConsensusClientAPIGrpc.newFutureStub(managedChannel));
     }
 
     @NonNull
@@ -41,4 +45,10 @@ public class GRPCConsensusClientService
             throw new NetworkException(new NetworkResult(new GRPCStatusResponse(e.getStatus())), e);
         }
     }
+
+    @Override
+    public void clientTxProposeAsync(@NonNull Attest.Message request,
+                                     @NonNull ServiceCallback<ConsensusCommon.ProposeTxResponse> callback) {
+        addCallback(apiFutureStub.clientTxPropose(request), callback);
+    }
 }
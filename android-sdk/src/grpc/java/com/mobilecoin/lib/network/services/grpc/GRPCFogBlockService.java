@@ -8,8 +8,9 @@ import com.mobilecoin.lib.network.grpc.AuthInterceptor;
 import com.mobilecoin.lib.network.grpc.CookieInterceptor;
 import com.mobilecoin.lib.network.grpc.GRPCStatusResponse;
 import com.mobilecoin.lib.network.services.FogBlockService;
+import com.mobilecoin.lib.network.services.ServiceCallback;
 
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 
 import fog_ledger.FogBlockAPIGrpc;
 import fog_ledger.Ledger;
@@ -19,11 +20,14 @@ import io.grpc.StatusRuntimeException;
 public class GRPCFogBlockService
         extends GRPCService<FogBlockAPIGrpc.FogBlockAPIBlockingStub>
         implements FogBlockService {
+    private final FogBlockAPIGrpc.FogBlockAPIFutureStub apiFutureStub;
+
     public GRPCFogBlockService(@NonNull ManagedChannel managedChannel,
                         @NonNull CookieInterceptor cookieInterceptor,
                         @NonNull AuthInterceptor authInterceptor,
-                        @NonNull ExecutorService executorService) {
-        super(managedChannel, cookieInterceptor, authInterceptor, executorService);
+                        @NonNull Executor callExecutor) {
+        super(managedChannel, cookieInterceptor, authInterceptor, callExecutor);
+        this.apiFutureStub = configureStub(FogBlockAPIGrpc.newFutureStub(managedChannel));
     }
 
     @NonNull
@@ -40,4 +44,10 @@ public class GRPCFogBlockService
             throw new NetworkException(new NetworkResult(new GRPCStatusResponse(e.getStatus())), e);
         }
     }
+
+    @Override
+    public void getBlocksAsync(@NonNull Ledger.BlockRequest request,
+                               @NonNull ServiceCallback<Ledger.BlockResponse> callback) {
+        addCallback(apiFutureStub.getBlocks(request), callback);
+    }
 }
@@ -8,8 +8,9 @@ import com.mobilecoin.lib.network.grpc.AuthInterceptor;
 import com.mobilecoin.lib.network.grpc.CookieInterceptor;
 import com.mobilecoin.lib.network.grpc.GRPCStatusResponse;
 import com.mobilecoin.lib.network.services.FogKeyImageService;
+import com.mobilecoin.lib.network.services.ServiceCallback;
 
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 
 import attest.Attest;
 import fog_ledger.FogKeyImageAPIGrpc;
@@ -19,11 +20,14 @@ import io.grpc.StatusRuntimeException;
 public class GRPCFogKeyImageService
         extends GRPCService<FogKeyImageAPIGrpc.FogKeyImageAPIBlockingStub>
         implements FogKeyImageService {
+    private final FogKeyImageAPIGrpc.FogKeyImageAPIFutureStub apiFutureStub;
+
     public GRPCFogKeyImageService(@NonNull ManagedChannel managedChannel,
                            @NonNull CookieInterceptor cookieInterceptor,
                            @NonNull AuthInterceptor authInterceptor,
-                           @NonNull ExecutorService executorService) {
-        super(managedChannel, cookieInterceptor, authInterceptor, executorService);
+                           @NonNull Executor callExecutor) {
+        super(managedChannel, cookieInterceptor, authInterceptor, callExecutor);
+        this.apiFutureStub = configureStub(FogKeyImageAPIGrpc.newFutureStub(managedChannel));
     }
 
     @NonNull
@@ -51,4 +55,16 @@ public class GRPCFogKeyImageService
             throw new NetworkException(new NetworkResult(new GRPCStatusResponse(e.getStatus())), e);
         }
     }
+
+    @Override
+    public void checkKeyImagesAsync(@NonNull Attest.Message request,
+                                    @NonNull ServiceCallback<Attest.Message> callback) {
+        addCallback(apiFutureStub.checkKeyImages(request), callback);
+    }
+
+    @Override
+    public void authAsync(@NonNull Attest.AuthMessage authMessage,
+                          @NonNull ServiceCallback<Attest.AuthMessage> callback) {
+        addCallback(apiFutureStub.auth(authMessage), callback);
+    }
 }
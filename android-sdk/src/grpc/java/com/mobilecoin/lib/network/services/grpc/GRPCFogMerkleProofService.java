@@ -8,8 +8,9 @@ import com.mobilecoin.lib.network.grpc.AuthInterceptor;
 import com.mobilecoin.lib.network.grpc.CookieInterceptor;
 import com.mobilecoin.lib.network.grpc.GRPCStatusResponse;
 import com.mobilecoin.lib.network.services.FogMerkleProofService;
+import com.mobilecoin.lib.network.services.ServiceCallback;
 
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 
 import attest.Attest;
 import fog_ledger.FogMerkleProofAPIGrpc;
@@ -19,11 +20,14 @@ import io.grpc.StatusRuntimeException;
 public class GRPCFogMerkleProofService
         extends GRPCService<FogMerkleProofAPIGrpc.FogMerkleProofAPIBlockingStub>
         implements FogMerkleProofService {
+    private final FogMerkleProofAPIGrpc.FogMerkleProofAPIFutureStub apiFutureStub;
+
     public GRPCFogMerkleProofService(@NonNull ManagedChannel managedChannel,
                                      @NonNull CookieInterceptor cookieInterceptor,
                                      @NonNull AuthInterceptor authInterceptor,
-                                     @NonNull ExecutorService executorService) {
-        super(managedChannel, cookieInterceptor, authInterceptor, executorService);
+                                     @NonNull Executor callExecutor) {
+        super(managedChannel, cookieInterceptor, authInterceptor, callExecutor);
+        this.apiFutureStub = configureStub(FogMerkleProofAPIGrpc.newFutureStub(managedChannel));
     }
 
     @NonNull
@@ -42,4 +46,10 @@ public class GRPCFogMerkleProofService
             throw new NetworkException(new NetworkResult(new GRPCStatusResponse(e.getStatus())), e);
         }
     }
+
+    @Override
+    public void getOutputsAsync(@NonNull Attest.Message request,
+                                @NonNull ServiceCallback<Attest.Message> callback) {
+        addCallback(apiFutureStub.getOutputs(request), callback);
+    }
 }
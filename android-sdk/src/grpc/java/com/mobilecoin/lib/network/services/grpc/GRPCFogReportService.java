@@ -9,7 +9,7 @@ import com.mobilecoin.lib.network.grpc.CookieInterceptor;
 import com.mobilecoin.lib.network.grpc.GRPCStatusResponse;
 import com.mobilecoin.lib.network.services.FogReportService;
 
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 
 import io.grpc.ManagedChannel;
 import io.grpc.StatusRuntimeException;
@@ -22,8 +22,8 @@ public class GRPCFogReportService
     public GRPCFogReportService(@NonNull ManagedChannel managedChannel,
                                 @NonNull CookieInterceptor cookieInterceptor,
                                 @NonNull AuthInterceptor authInterceptor,
-                                @NonNull ExecutorService executorService) {
-        super(managedChannel, cookieInterceptor, authInterceptor, executorService);
+                                @NonNull Executor callExecutor) {
+        super(managedChannel, cookieInterceptor, authInterceptor, callExecutor);
     }
 
     @NonNull
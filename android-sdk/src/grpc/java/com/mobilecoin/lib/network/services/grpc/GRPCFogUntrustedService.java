@@ -8,8 +8,9 @@ import com.mobilecoin.lib.network.grpc.AuthInterceptor;
 import com.mobilecoin.lib.network.grpc.CookieInterceptor;
 import com.mobilecoin.lib.network.grpc.GRPCStatusResponse;
 import com.mobilecoin.lib.network.services.FogUntrustedService;
+import com.mobilecoin.lib.network.services.ServiceCallback;
 
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 
 import fog_ledger.FogUntrustedTxOutApiGrpc;
 import fog_ledger.Ledger;
@@ -19,12 +20,14 @@ import io.grpc.StatusRuntimeException;
 public class GRPCFogUntrustedService
         extends GRPCService<FogUntrustedTxOutApiGrpc.FogUntrustedTxOutApiBlockingStub>
         implements FogUntrustedService {
+    private final FogUntrustedTxOutApiGrpc.FogUntrustedTxOutApiFutureStub apiFutureStub;
 
     public GRPCFogUntrustedService(@NonNull ManagedChannel managedChannel,
                                    @NonNull CookieInterceptor cookieInterceptor,
                                    @NonNull AuthInterceptor authInterceptor,
-                                   @NonNull ExecutorService executorService) {
-        super(managedChannel, cookieInterceptor, authInterceptor, executorService);
+                                   @NonNull Executor callExecutor) {
+        super(managedChannel, cookieInterceptor, authInterceptor, callExecutor);
+        this.apiFutureStub = configureStub(FogUntrustedTxOutApiGrpc.newFutureStub(managedChannel));
     }
 
     @NonNull
@@ -43,4 +46,10 @@ public class GRPCFogUntrustedService
             throw new NetworkException(new NetworkResult(new GRPCStatusResponse(e.getStatus())), e);
         }
     }
+
+    @Override
+    public void getTxOutsAsync(@NonNull Ledger.TxOutRequest request,
+                               @NonNull ServiceCallback<Ledger.TxOutResponse> callback) {
+        addCallback(apiFutureStub.getTxOuts(request), callback);
+    }
 }
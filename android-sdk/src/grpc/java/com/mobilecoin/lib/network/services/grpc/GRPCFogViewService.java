@@ -8,8 +8,9 @@ import com.mobilecoin.lib.network.grpc.AuthInterceptor;
 import com.mobilecoin.lib.network.grpc.CookieInterceptor;
 import com.mobilecoin.lib.network.grpc.GRPCStatusResponse;
 import com.mobilecoin.lib.network.services.FogViewService;
+import com.mobilecoin.lib.network.services.ServiceCallback;
 
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 
 import attest.Attest;
 import fog_view.FogViewAPIGrpc;
@@ -17,12 +18,14 @@ import io.grpc.ManagedChannel;
 import io.grpc.StatusRuntimeException;
 
 public class GRPCFogViewService extends GRPCService<FogViewAPIGrpc.FogViewAPIBlockingStub> implements FogViewService {
+    private final FogViewAPIGrpc.FogViewAPIFutureStub apiFutureStub;
 
     public GRPCFogViewService(@NonNull ManagedChannel managedChannel,
                               @NonNull CookieInterceptor cookieInterceptor,
                               @NonNull AuthInterceptor authInterceptor,
-                              @NonNull ExecutorService executorService) {
-        super(managedChannel, cookieInterceptor, authInterceptor, executorService);
+                              @NonNull Executor callExecutor) {
+        super(managedChannel, cookieInterceptor, authInterceptor, callExecutor);
+        this.apiFutureStub = configureStub(FogViewAPIGrpc.newFutureStub(managedChannel));
     }
 
     @NonNull
@@ -48,4 +51,16 @@ public class GRPCFogViewService extends GRPCService<FogViewAPIGrpc.FogViewAPIBlo
             throw new NetworkException(new NetworkResult(new GRPCStatusResponse(e.getStatus())), e);
         }
     }
+
+    @Override
+    public void queryAsync(@NonNull Attest.Message request,
+                           @NonNull ServiceCallback<Attest.Message> callback) {
+        addCallback(apiFutureStub.query(request), callback);
+    }
+
+    @Override
+    public void authAsync(@NonNull Attest.AuthMessage authMessage,
+                          @NonNull ServiceCallback<Attest.AuthMessage> callback) {
+        addCallback(apiFutureStub.auth(authMessage), callback);
+    }
 }
@@ -2,13 +2,21 @@ package com.mobilecoin.lib.network.services.grpc;
 
 import androidx.annotation.NonNull;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.mobilecoin.lib.exceptions.NetworkException;
+import com.mobilecoin.lib.network.NetworkResult;
 import com.mobilecoin.lib.network.grpc.AuthInterceptor;
 import com.mobilecoin.lib.network.grpc.CookieInterceptor;
+import com.mobilecoin.lib.network.grpc.GRPCStatusResponse;
 import com.mobilecoin.lib.network.services.ApiService;
+import com.mobilecoin.lib.network.services.ServiceCallback;
 
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 
 import io.grpc.ManagedChannel;
+import io.grpc.Status;
 import io.grpc.stub.AbstractStub;
 
 public abstract class GRPCService <T extends AbstractStub<T>> implements ApiService {
@@ -16,17 +24,23 @@ public abstract class GRPCService <T extends AbstractStub<T>> implements ApiServ
     private static final int MAX_INBOUND_MESSAGE_SIZE = 50 * MEGABYTE;
     private final T apiBlockingStub;
     private final ManagedChannel managedChannel;
+    private final CookieInterceptor cookieInterceptor;
+    private final AuthInterceptor authInterceptor;
+    private final Executor callExecutor;
 
     protected GRPCService(@NonNull ManagedChannel managedChannel,
                 @NonNull CookieInterceptor cookieInterceptor,
                 @NonNull AuthInterceptor authInterceptor,
-                @NonNull ExecutorService executorService) {
+                @NonNull Executor callExecutor) {
         this.managedChannel = managedChannel;
+        this.cookieInterceptor = cookieInterceptor;
+        this.authInterceptor = authInterceptor;
+        this.callExecutor = callExecutor;
         apiBlockingStub = configureStub(
                 newBlockingStub(getManagedChannel()),
                 cookieInterceptor,
                 authInterceptor,
-                executorService
+                callExecutor
         );
     }
 
@@ -47,12 +61,44 @@ public abstract class GRPCService <T extends AbstractStub<T>> implements ApiServ
     protected T configureStub(@NonNull T stub,
                               @NonNull CookieInterceptor cookieInterceptor,
                               @NonNull AuthInterceptor authInterceptor,
-                              @NonNull ExecutorService executorService) {
+                              @NonNull Executor callExecutor) {
         return stub
                 .withInterceptors(
                         cookieInterceptor,
                         authInterceptor)
                 .withMaxInboundMessageSize(MAX_INBOUND_MESSAGE_SIZE)
-                .withExecutor(executorService);
+                .withExecutor(callExecutor);
+    }
+
+    /**
+     * Configure an additional stub, i.e. a future stub, like the blocking stub of this service
+     */
+    @NonNull
+    protected <S extends AbstractStub<S>> S configureStub(@NonNull S stub) {
+        return stub
+                .withInterceptors(
+                        cookieInterceptor,
+                        authInterceptor)
+                .withMaxInboundMessageSize(MAX_INBOUND_MESSAGE_SIZE)
+                .withExecutor(callExecutor);
+    }
+
+    /**
+     * Deliver the outcome of a future stub call to the callback on the call executor
+     */
+    protected <R> void addCallback(@NonNull ListenableFuture<R> future,
+                                   @NonNull ServiceCallback<R> callback) {
+        Futures.addCallback(future, new FutureCallback<R>() {
+            @Override
+            public void onSuccess(R response) {
+                callback.onSuccess(response);
+            }
+
+            @Override
+            public void onFailure(@NonNull Throwable throwable) {
+                callback.onFailure(new NetworkException(new NetworkResult(
+                        new GRPCStatusResponse(Status.fromThrowable(throwable))), throwable));
+            }
+        }, callExecutor);
     }
 }
@@ -3,9 +3,7 @@
 package com.mobilecoin.lib.network.services.grpc;
 
 import androidx.annotation.NonNull;
-import androidx.annotation.Nullable;
 
-import com.mobilecoin.lib.log.Logger;
 import com.mobilecoin.lib.network.grpc.AuthInterceptor;
 import com.mobilecoin.lib.network.grpc.CookieInterceptor;
 import com.mobilecoin.lib.network.services.AttestedService;
@@ -18,26 +16,33 @@ import com.mobilecoin.lib.network.services.FogReportService;
 import com.mobilecoin.lib.network.services.FogUntrustedService;
 import com.mobilecoin.lib.network.services.FogViewService;
 import com.mobilecoin.lib.network.services.ServiceAPIManager;
+import com.mobilecoin.lib.network.services.ServiceCache;
+import com.mobilecoin.lib.network.services.ServiceExecutors;
 import com.mobilecoin.lib.network.services.transport.Transport;
 import com.mobilecoin.lib.network.services.transport.grpc.GRPCTransport;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Executor;
 
 import io.grpc.ManagedChannel;
 
 public final class GRPCServiceAPIManager implements ServiceAPIManager {
-    private static final String TAG = GRPCServiceAPIManager.class.toString();
-    private static final int SHUTDOWN_TIMEOUT = 5000;
-    private final ExecutorService executorService;
+    private final Executor callExecutor;
     private final CookieInterceptor cookieInterceptor;
     private final AuthInterceptor authInterceptor;
+    private final ServiceCache serviceCache;
 
     public GRPCServiceAPIManager() {
-        this.executorService = Executors.newSingleThreadExecutor();
+        this(ServiceExecutors.getDefaultCallExecutor());
+    }
+
+    /**
+     * @param callExecutor runs call callbacks of all services, it is not shut down by the manager
+     */
+    public GRPCServiceAPIManager(@NonNull Executor callExecutor) {
+        this.callExecutor = callExecutor;
         this.cookieInterceptor = new CookieInterceptor();
         this.authInterceptor = new AuthInterceptor();
+        this.serviceCache = new ServiceCache();
     }
 
     @NonNull
@@ -52,116 +57,100 @@ public final class GRPCServiceAPIManager implements ServiceAPIManager {
     @NonNull
     @Override
     public FogViewService getFogViewService(@NonNull Transport transport) {
-        return new GRPCFogViewService(
-                managedChannelFromTransport(transport),
-                cookieInterceptor,
-                authInterceptor,
-                executorService);
+        return serviceCache.getOrCreate(transport, FogViewService.class,
+                () -> new GRPCFogViewService(
+                        managedChannelFromTransport(transport),
+                        cookieInterceptor,
+                        authInterceptor,
+                        callExecutor));
     }
 
     @NonNull
     @Override
     public FogUntrustedService getFogUntrustedService(@NonNull Transport transport) {
-        return new GRPCFogUntrustedService(
-                managedChannelFromTransport(transport),
-                cookieInterceptor,
-                authInterceptor,
-                executorService);
+        return serviceCache.getOrCreate(transport, FogUntrustedService.class,
+                () -> new GRPCFogUntrustedService(
+                        managedChannelFromTransport(transport),
+                        cookieInterceptor,
+                        authInterceptor,
+                        callExecutor));
     }
 
     @NonNull
     @Override
     public FogReportService getFogReportService(@NonNull Transport transport) {
-        return new GRPCFogReportService(
-                managedChannelFromTransport(transport),
-                cookieInterceptor,
-                authInterceptor,
-                executorService);
+        return serviceCache.getOrCreate(transport, FogReportService.class,
+                () -> new GRPCFogReportService(
+                        managedChannelFromTransport(transport),
+                        cookieInterceptor,
+                        authInterceptor,
+                        callExecutor));
     }
 
     @NonNull
     @Override
     public FogKeyImageService getFogKeyImageService(@NonNull Transport transport) {
-        return new GRPCFogKeyImageService(
-                managedChannelFromTransport(transport),
-                cookieInterceptor,
-                authInterceptor,
-                executorService);
+        return serviceCache.getOrCreate(transport, FogKeyImageService.class,
+                () -> new GRPCFogKeyImageService(
+                        managedChannelFromTransport(transport),
+                        cookieInterceptor,
+                        authInterceptor,
+                        callExecutor));
     }
 
     @NonNull
     @Override
     public FogMerkleProofService getFogMerkleProofService(@NonNull Transport transport) {
-        return new GRPCFogMerkleProofService(
-                managedChannelFromTransport(transport),
-                cookieInterceptor,
-                authInterceptor,
-                executorService);
+        return serviceCache.getOrCreate(transport, FogMerkleProofService.class,
+                () -> new GRPCFogMerkleProofService(
+                        managedChannelFromTransport(transport),
+                        cookieInterceptor,
+                        authInterceptor,
+                        callExecutor));
     }
 
     @NonNull
     @Override
     public FogBlockService getFogBlockService(@NonNull Transport transport) {
-        return new GRPCFogBlockService(
-                managedChannelFromTransport(transport),
-                cookieInterceptor,
-                authInterceptor,
-                executorService);
+        return serviceCache.getOrCreate(transport, FogBlockService.class,
+                () -> new GRPCFogBlockService(
+                        managedChannelFromTransport(transport),
+                        cookieInterceptor,
+                        authInterceptor,
+                        callExecutor));
     }
 
     @NonNull
     @Override
     public ConsensusClientService getConsensusClientService(@NonNull Transport transport) {
-        return new GRPCConsensusClientService(
-                managedChannelFromTransport(transport),
-                cookieInterceptor,
-                authInterceptor,
-                executorService);
+        return serviceCache.getOrCreate(transport, ConsensusClientService.class,
+                () -> new GRPCConsensusClientService(
+                        managedChannelFromTransport(transport),
+                        cookieInterceptor,
+                        authInterceptor,
+                        callExecutor));
     }
 
     @NonNull
     @Override
     public BlockchainService getBlockchainService(@NonNull Transport transport) {
-        return new GRPCBlockchainService(
-                managedChannelFromTransport(transport),
-                cookieInterceptor,
-                authInterceptor,
-                executorService);
+        return serviceCache.getOrCreate(transport, BlockchainService.class,
+                () -> new GRPCBlockchainService(
+                        managedChannelFromTransport(transport),
+                        cookieInterceptor,
+                        authInterceptor,
+                        callExecutor));
     }
 
     @NonNull
     @Override
-    public AttestedService getAttestedService (@NonNull Transport transport) {
-        return new GRPCAttestedService(
-                managedChannelFromTransport(transport),
-                cookieInterceptor,
-                authInterceptor,
-                executorService);
-    }
-
-    void retireExecutorService(@Nullable ExecutorService executorService) {
-        if (executorService != null) {
-            executorService.shutdown();
-            try {
-                if (!executorService.awaitTermination(
-                        SHUTDOWN_TIMEOUT,
-                        TimeUnit.MILLISECONDS
-                )) {
-                    executorService.shutdownNow();
-                    if (!executorService.awaitTermination(
-                            SHUTDOWN_TIMEOUT,
-                            TimeUnit.MILLISECONDS
-                    )) Logger.e(TAG, "Unable to terminate ExecutorService");
-                }
-            } catch (InterruptedException e) {
-                String message = e.getLocalizedMessage();
-                Logger.e(TAG, message != null
-                        ? message
-                        : e.toString()
-                );
-                executorService.shutdownNow();
-            }
-        }
+    public AttestedService getAttestedService(@NonNull Transport transport) {
+        return serviceCache.getOrCreate(transport, AttestedService.class,
+                () -> new GRPCAttestedService(
+                        managedChannelFromTransport(transport),
+                        cookieInterceptor,
+                        authInterceptor,
+                        callExecutor));
     }
 
     @Override
@@ -176,8 +165,7 @@ public final class GRPCServiceAPIManager implements ServiceAPIManager {
     }
 
     @Override
-    protected void finalize() throws Throwable {
-        retireExecutorService(executorService);
-        super.finalize();
+    public void clearServiceCache() {
+        serviceCache.clear();
     }
 }
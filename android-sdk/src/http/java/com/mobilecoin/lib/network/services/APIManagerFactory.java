@@ -8,7 +8,7 @@ public final class APIManagerFactory {
     public static ServiceAPIManager forProtocol(TransportProtocol protocol) {
         switch (protocol.getTransportType()) {
             case HTTP:
-                return new RestServiceAPIManager();
+                return new RestServiceAPIManager(protocol.getCallExecutor());
             default:
                 throw new UnsupportedOperationException("Unsupported");
         }
@@ -5,7 +5,11 @@ package com.mobilecoin.lib;
 import static com.mobilecoin.lib.MobileCoinClient.INPUT_FEE;
 import static com.mobilecoin.lib.MobileCoinClient.OUTPUT_FEE;
 
+import android.os.Build;
+
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
 
 import com.mobilecoin.lib.exceptions.AmountDecoderException;
 import com.mobilecoin.lib.exceptions.AttestationException;
@@ -25,8 +29,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
+import consensus_common.ConsensusCommon;
 import fog_ledger.Ledger;
 
 /**
@@ -35,6 +41,8 @@ import fog_ledger.Ledger;
 public final class AccountSnapshot {
     private final static String TAG = AccountSnapshot.class.getName();
     private final UnsignedLong blockIndex;
+    // raw bits of blockIndex for the per-TxOut checks
+    private final long blockIndexBits;
     private final Set<OwnedTxOut> txOuts;
     private final MobileCoinClient mobileCoinClient;
 
@@ -42,6 +50,7 @@ public final class AccountSnapshot {
                     @NonNull UnsignedLong blockIndex) {
         this.txOuts = txOuts;
         this.blockIndex = blockIndex;
+        this.blockIndexBits = blockIndex.longValue();
         this.mobileCoinClient = mobileCoinClient;
     }
 
@@ -83,7 +92,7 @@ public final class AccountSnapshot {
         Logger.d(TAG, "Getting balance for " + tokenId.toString());
         BigInteger value = BigInteger.ZERO;
         for (OwnedTxOut txOut : txOuts) {
-            if (!txOut.isSpent(blockIndex)) {
+            if (!txOut.isSpent(blockIndexBits)) {
                 if (txOut.getAmount().getTokenId().equals(tokenId)) {
                     value = value.add(txOut.getAmount().getValue());
                 }
@@ -107,7 +116,7 @@ public final class AccountSnapshot {
             if(null == balance) {
                 balance = new Balance(BigInteger.ZERO, blockIndex);
             }
-            if(!otxo.isSpent(blockIndex)) {
+            if(!otxo.isSpent(blockIndexBits)) {
                 balance = new Balance(
                         otxo.getAmount().getValue().add(balance.getValue()),
                         blockIndex
@@ -169,7 +178,45 @@ public final class AccountSnapshot {
     @NonNull
     public Transaction.Status getTransactionStatus(@NonNull Transaction transaction)
             throws NetworkException {
+        return fetchTransactionStatus(transaction).toLegacyStatus();
+    }
+
+    /**
+     * Same as {@link #getTransactionStatus(Transaction)} but returns an immutable status which
+     * is safe to share with other threads
+     */
+    @NonNull
+    TransactionStatus fetchTransactionStatus(@NonNull Transaction transaction)
+            throws NetworkException {
+        Logger.i(TAG, "Checking transaction status");
+        Ledger.TxOutResponse response = areInputsSpent(transaction)
+                ? mobileCoinClient.getUntrustedClient()
+                        .fetchTxOuts(transaction.getOutputPublicKeys())
+                : null;
+        return getTransactionStatus(transaction, response);
+    }
+
+    /**
+     * Asynchronous {@link #fetchTransactionStatus}
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    CompletableFuture<TransactionStatus> fetchTransactionStatusAsync(
+            @NonNull Transaction transaction
+    ) {
         Logger.i(TAG, "Checking transaction status");
+        CompletableFuture<Ledger.TxOutResponse> response = areInputsSpent(transaction)
+                ? mobileCoinClient.getUntrustedClient()
+                        .fetchTxOutsAsync(transaction.getOutputPublicKeys())
+                : CompletableFuture.completedFuture(null);
+        return response.thenApply(txOutResponse ->
+                getTransactionStatus(transaction, txOutResponse));
+    }
+
+    /**
+     * @return true if all the key images of the transaction are spent in this snapshot
+     */
+    private boolean areInputsSpent(@NonNull Transaction transaction) {
         HashMap<Integer, Boolean> keyMapping = new HashMap<>();
         for (KeyImage keyImage : transaction.getKeyImages()) {
             keyMapping.put(
@@ -178,42 +225,49 @@ public final class AccountSnapshot {
             );
         }
         for (OwnedTxOut txOut : txOuts) {
-            if (txOut.isSpent(blockIndex)) {
+            if (txOut.isSpent(blockIndexBits)) {
                 KeyImage keyImage = txOut.getKeyImage();
                 Integer hash = keyImage.hashCode();
                 keyMapping.remove(hash);
             }
         }
-        if (keyMapping.isEmpty()) {
-            Set<RistrettoPublic> outputPublicKeys = transaction.getOutputPublicKeys();
-            Ledger.TxOutResponse response =
-                    mobileCoinClient.getUntrustedClient().fetchTxOuts(outputPublicKeys);
+        return keyMapping.isEmpty();
+    }
+
+    /**
+     * @param response the outputs of the transaction, null unless its inputs are spent
+     */
+    @NonNull
+    private TransactionStatus getTransactionStatus(
+            @NonNull Transaction transaction,
+            @Nullable Ledger.TxOutResponse response
+    ) {
+        if (null != response) {
             List<Ledger.TxOutResult> results = response.getResultsList();
 
             boolean allTxOutsFound = true;
-            UnsignedLong outputBlockIndex = UnsignedLong.ZERO;
+            long outputBlockIndex = 0L;
 
             for (Ledger.TxOutResult txOutResult : results) {
                 if (txOutResult.getResultCode() != Ledger.TxOutResultCode.Found) {
                     allTxOutsFound = false;
                     break;
                 } else {
-                    UnsignedLong txOutBlockIndex =
-                            UnsignedLong.fromLongBits(txOutResult.getBlockIndex());
-                    if (outputBlockIndex.compareTo(txOutBlockIndex) < 0) {
+                    long txOutBlockIndex = txOutResult.getBlockIndex();
+                    if (Long.compareUnsigned(outputBlockIndex, txOutBlockIndex) < 0) {
                         outputBlockIndex = txOutBlockIndex;
                     }
                 }
             }
-            if (allTxOutsFound && outputBlockIndex.compareTo(blockIndex) <= 0) {
-                return Transaction.Status.ACCEPTED.atBlock(outputBlockIndex);
+            if (allTxOutsFound && Long.compareUnsigned(outputBlockIndex, blockIndexBits) <= 0) {
+                return TransactionStatus.accepted(UnsignedLong.fromLongBits(outputBlockIndex));
             }
         }
-        if (blockIndex.compareTo(
-                UnsignedLong.fromLongBits(transaction.getTombstoneBlockIndex())) >= 0) {
-            return Transaction.Status.FAILED.atBlock(blockIndex);
+        if (Long.compareUnsigned(blockIndexBits, transaction.getTombstoneBlockIndex()) >= 0) {
+            return TransactionStatus.failed(blockIndex,
+                    ConsensusCommon.ProposeTxResult.TombstoneBlockExceeded);
         }
-        return Transaction.Status.UNKNOWN.atBlock(blockIndex);
+        return TransactionStatus.unknown(blockIndex);
     }
 
     /**
@@ -240,7 +294,7 @@ public final class AccountSnapshot {
     @NonNull
     public Amount getTransferableAmount(@NonNull Amount minimumTxFee) {
         Logger.d(TAG, "Calculating transferable amount");
-        HashSet<OwnedTxOut> unspent = txOuts.stream().filter(p -> !p.isSpent(blockIndex))
+        HashSet<OwnedTxOut> unspent = txOuts.stream().filter(p -> !p.isSpent(blockIndexBits))
                 .filter(utxo -> utxo.getAmount().getTokenId().equals(minimumTxFee.getTokenId()))
                 .collect(Collectors.toCollection(HashSet::new));
         try {
@@ -297,7 +351,7 @@ public final class AccountSnapshot {
         if(!amount.getTokenId().equals(minimumTxFee.getTokenId())) {
             throw(new IllegalArgumentException("Mixed token type transactions not supported"));
         }
-        HashSet<OwnedTxOut> unspent = txOuts.stream().filter(p -> !p.isSpent(blockIndex))
+        HashSet<OwnedTxOut> unspent = txOuts.stream().filter(p -> !p.isSpent(blockIndexBits))
                 .filter(otxo -> otxo.getAmount().getTokenId().equals(amount.getTokenId()))
                 .collect(Collectors.toCollection(HashSet::new));
         BigInteger totalFee = UTXOSelector.calculateFee(
@@ -388,7 +442,7 @@ public final class AccountSnapshot {
         if(!amount.getTokenId().equals(fee.getTokenId())) {
             throw new IllegalArgumentException("Mixed token type transactions not supported");
         }
-        Set<OwnedTxOut> unspent = txOuts.stream().filter(p -> !p.isSpent(getBlockIndex()))
+        Set<OwnedTxOut> unspent = txOuts.stream().filter(p -> !p.isSpent(blockIndexBits))
                 .filter(utxo -> utxo.getAmount().getTokenId().equals(amount.getTokenId()))
                 .collect(Collectors.toCollection(HashSet::new));
         Amount finalAmount = amount.add(fee);
@@ -3,28 +3,67 @@
 package com.mobilecoin.lib;
 
 import android.net.Uri;
+import android.os.Build;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
+import androidx.annotation.VisibleForTesting;
 
+import com.google.protobuf.MessageLite;
 import com.mobilecoin.lib.ClientConfig.Service;
 import com.mobilecoin.lib.exceptions.AttestationException;
 import com.mobilecoin.lib.exceptions.NetworkException;
 import com.mobilecoin.lib.log.Logger;
+import com.mobilecoin.lib.metrics.Metrics;
+import com.mobilecoin.lib.network.NetworkResult;
 import com.mobilecoin.lib.network.TransportProtocol;
 import com.mobilecoin.lib.network.services.APIManagerFactory;
 import com.mobilecoin.lib.network.services.ServiceAPIManager;
+import com.mobilecoin.lib.network.services.ServiceCallback;
 import com.mobilecoin.lib.network.services.transport.Transport;
 import com.mobilecoin.lib.network.uri.MobileCoinUri;
+import com.mobilecoin.lib.util.AsyncCall;
+import com.mobilecoin.lib.util.AsyncNetworkingCall;
+import com.mobilecoin.lib.util.CircuitBreaker;
+import com.mobilecoin.lib.util.NetworkingCall;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 class AnyClient extends Native {
     private final static String TAG = AttestedClient.class.getName();
+    private final static int MAX_ENDPOINT_SELECTION_ATTEMPTS = 8;
+    private final static int MAX_STANDBY_SELECTION_ATTEMPTS = 3;
+    private static ScheduledExecutorService healthCheckExecutor;
 
     private final LoadBalancer loadBalancer;
     private final ClientConfig.Service serviceConfig;
     private ServiceAPIManager serviceAPIManager;
     private Transport networkTransport;
-    private TransportProtocol transportProtocol;
+    private volatile TransportProtocol transportProtocol;
     private MobileCoinUri currentServiceUri;
+    private Transport standbyTransport;
+    private MobileCoinUri standbyServiceUri;
+    private ScheduledFuture<?> healthCheck;
+    // transports of previously selected endpoints, kept open to switch back to them cheaply
+    private final Map<MobileCoinUri, Transport> idleTransports = new HashMap<>();
+    // shared with the pooled sessions of this client, guarded by its own lock
+    private final Map<MobileCoinUri, CircuitBreaker> circuitBreakers;
+    // pooled sessions rely on the health check and standby transport of their primary client
+    private final boolean isPooledSession;
+    // the request of the calling thread, set while a call runs
+    private final ThreadLocal<EndpointRequest> currentRequest = new ThreadLocal<>();
 
     /**
      * Creates and initializes an instance of {@link AttestedClient}
@@ -36,6 +75,24 @@ class AnyClient extends Native {
                         @NonNull TransportProtocol transportProtocol) {
         this.loadBalancer = loadBalancer;
         this.serviceConfig = serviceConfig;
+        this.circuitBreakers = new HashMap<>();
+        this.isPooledSession = false;
+        this.setTransportProtocol(transportProtocol);
+        this.serviceAPIManager = APIManagerFactory.forProtocol(transportProtocol);
+    }
+
+    /**
+     * Creates a pooled session of {@code primaryClient}. The session has its own transport and
+     * service state but shares the load balancer and circuit breakers of the primary client,
+     * whose health check and standby transport serve all of its sessions. The primary client is
+     * not locked, so sessions can be created while it runs a request.
+     */
+    protected AnyClient(@NonNull AnyClient primaryClient) {
+        this.loadBalancer = primaryClient.loadBalancer;
+        this.serviceConfig = primaryClient.serviceConfig;
+        this.circuitBreakers = primaryClient.circuitBreakers;
+        this.isPooledSession = true;
+        TransportProtocol transportProtocol = primaryClient.getTransportProtocol();
         this.setTransportProtocol(transportProtocol);
         this.serviceAPIManager = APIManagerFactory.forProtocol(transportProtocol);
     }
@@ -48,24 +105,722 @@ class AnyClient extends Native {
     synchronized void setTransportProtocol(@NonNull TransportProtocol protocol) {
         this.transportProtocol = protocol;
         this.resetNetworkTransport();
+        this.shutdownIdleTransports();
         this.serviceAPIManager = APIManagerFactory.forProtocol(transportProtocol);
     }
 
+    /**
+     * Returns the transport of the endpoint the next request is sent to, ready for the request.
+     * The load balancer is consulted again whenever {@link #isEndpointSelectionDue()}.
+     */
     @NonNull
     synchronized Transport getNetworkTransport() throws NetworkException, AttestationException {
+        selectNetworkTransport();
+        prepareTransport(this.networkTransport);
+        // the request starts now, the time spent connecting and attesting is not attributed to it
+        EndpointRequest request = currentRequest.get();
+        if (null != request) {
+            request.start(this.networkTransport, this.currentServiceUri);
+        }
+        return networkTransport;
+    }
+
+    /**
+     * Returns the transport of the endpoint the next request of an asynchronous call is sent to
+     * once it is ready for the request. The transport is picked like the one of
+     * {@link #getNetworkTransport()} and prepared without blocking.
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    private CompletableFuture<Transport> getNetworkTransportAsync(
+            @NonNull EndpointRequest request
+    ) throws NetworkException, AttestationException {
+        Transport transport;
+        MobileCoinUri serviceUri;
+        synchronized (this) {
+            transport = selectNetworkTransport();
+            serviceUri = this.currentServiceUri;
+        }
+        return prepareTransportAsync(transport, serviceUri).thenApply(ignored -> {
+            request.start(transport, serviceUri);
+            return transport;
+        });
+    }
+
+    @NonNull
+    private synchronized Transport selectNetworkTransport()
+            throws NetworkException, AttestationException {
+        if (null != this.networkTransport && !isCallPermitted(this.currentServiceUri)) {
+            Logger.w(TAG, "Circuit breaker is open, switching to another endpoint");
+            this.resetNetworkTransport();
+        }
+        if (null != this.networkTransport && isEndpointSelectionDue()) {
+            this.selectEndpoint();
+        }
         if(null == this.networkTransport) {
             this.initTransport();
         }
-        return networkTransport;
+        return this.networkTransport;
+    }
+
+    /**
+     * Whether the load balancer should pick the endpoint of the next request. Requests of
+     * independent calls may go to any endpoint, so it is picked for every request.
+     */
+    protected boolean isEndpointSelectionDue() {
+        return isHedgingSupported();
+    }
+
+    /**
+     * Makes the transport ready for a request, i.e. attests it
+     */
+    protected void prepareTransport(@NonNull Transport transport)
+            throws NetworkException, AttestationException {
+    }
+
+    /**
+     * Makes the transport ready for a request without blocking, see {@link #prepareTransport}
+     *
+     * @param serviceUri the endpoint of the transport
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    protected CompletableFuture<Void> prepareTransportAsync(@NonNull Transport transport,
+                                                            @NonNull MobileCoinUri serviceUri) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Switch to the endpoint picked by the load balancer if it differs from the current one
+     */
+    private synchronized void selectEndpoint() throws NetworkException {
+        MobileCoinUri serviceUri = getNextServiceUri();
+        if (serviceUri.equals(currentServiceUri) || !isCallPermitted(serviceUri)) {
+            return;
+        }
+        Transport transport;
+        if (serviceUri.equals(standbyServiceUri)) {
+            transport = standbyTransport;
+            standbyTransport = null;
+            standbyServiceUri = null;
+        } else {
+            transport = idleTransports.remove(serviceUri);
+            if (null == transport) {
+                transport = Transport.forConfig(transportProtocol, serviceUri, serviceConfig);
+            }
+        }
+        idleTransports.put(currentServiceUri, networkTransport);
+        networkTransport = transport;
+        currentServiceUri = serviceUri;
+        onTransportChanged();
+        Logger.d(TAG, "Selected endpoint", null, "uri:", serviceUri.getUri());
     }
 
     private synchronized void initTransport() throws NetworkException, AttestationException {
-        this.currentServiceUri = getNextServiceUri();
+        if (null != this.standbyTransport && isCallPermitted(this.standbyServiceUri)) {
+            Logger.i(TAG, "Promoting standby transport");
+            this.currentServiceUri = this.standbyServiceUri;
+            this.networkTransport = this.standbyTransport;
+            this.standbyServiceUri = null;
+            this.standbyTransport = null;
+            scheduleHealthCheck();
+            return;
+        }
+        MobileCoinUri serviceUri = getNextServiceUri();
+        for (int attempt = 1; attempt < MAX_ENDPOINT_SELECTION_ATTEMPTS
+                && !isCallPermitted(serviceUri); attempt++) {
+            serviceUri = getNextServiceUri();
+        }
+        if (!isCallPermitted(serviceUri)) {
+            throw new NetworkException(new NetworkResult(NetworkResult.ResultCode.UNAVAILABLE,
+                    "All service endpoints are unavailable", null));
+        }
+        this.currentServiceUri = serviceUri;
         this.networkTransport = Transport.forConfig(this.transportProtocol, this.currentServiceUri, this.serviceConfig);
+        scheduleHealthCheck();
     }
 
+    private boolean isCallPermitted(@NonNull MobileCoinUri serviceUri) {
+        CircuitBreaker circuitBreaker;
+        synchronized (circuitBreakers) {
+            circuitBreaker = circuitBreakers.get(serviceUri);
+        }
+        return null == circuitBreaker || circuitBreaker.isCallPermitted();
+    }
+
+    @Nullable
+    private CircuitBreaker getCircuitBreaker(@Nullable MobileCoinUri serviceUri) {
+        if (null == serviceUri) {
+            return null;
+        }
+        synchronized (circuitBreakers) {
+            CircuitBreaker circuitBreaker = circuitBreakers.get(serviceUri);
+            if (null == circuitBreaker) {
+                circuitBreaker = serviceConfig.createCircuitBreaker();
+                if (null != circuitBreaker) {
+                    circuitBreakers.put(serviceUri, circuitBreaker);
+                }
+            }
+            return circuitBreaker;
+        }
+    }
+
+    /**
+     * Creates a call that follows the retry policy of the service and reports its outcome to the
+     * circuit breaker of the current endpoint.
+     *
+     * @param isIdempotentRead whether the request can safely be hedged
+     * @param request          the request payload, its size is reported to the metrics
+     */
+    @NonNull
+    protected <T> NetworkingCall<T> createNetworkingCall(
+            @NonNull String operation,
+            boolean isIdempotentRead,
+            @NonNull MessageLite request,
+            @NonNull Callable<T> callable
+    ) {
+        boolean isIndependent = isIdempotentRead && isHedgingSupported();
+        Callable<T> call = withEndpointFeedback(callable, isIndependent);
+        return new NetworkingCall<>(
+                serviceConfig.getRetryPolicy(),
+                isIndependent,
+                null,
+                Metrics.isEnabled() ? withMetrics(operation, request, call) : call
+        );
+    }
+
+    /**
+     * Creates a call that is attempted exactly once whatever the retry policy of the service is.
+     * Used for requests that must not be repeated automatically: a proposal which timed out may
+     * still have reached consensus.
+     *
+     * @param request the request payload, its size is reported to the metrics
+     */
+    @NonNull
+    protected <T> NetworkingCall<T> createSingleAttemptCall(
+            @NonNull String operation,
+            @NonNull MessageLite request,
+            @NonNull Callable<T> callable
+    ) {
+        Callable<T> call = withEndpointFeedback(callable, false);
+        return new NetworkingCall<>(
+                new NetworkingCall.DefaultRetryPolicy(),
+                false,
+                null,
+                Metrics.isEnabled() ? withMetrics(operation, request, call) : call
+        );
+    }
+
+    /**
+     * Creates an asynchronous call that follows the retry policy of the service, see
+     * {@link #createNetworkingCall}
+     *
+     * @param isIdempotentRead whether the request can safely be hedged
+     * @param request          the request payload, its size is reported to the metrics
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    protected <T> AsyncNetworkingCall<T> createAsyncNetworkingCall(
+            @NonNull String operation,
+            boolean isIdempotentRead,
+            @NonNull MessageLite request,
+            @NonNull AsyncRequest<T> asyncRequest
+    ) {
+        boolean isIndependent = isIdempotentRead && isHedgingSupported();
+        AsyncNetworkingCall.Attempt<T> attempt =
+                withEndpointFeedbackAsync(asyncRequest, isIndependent);
+        return new AsyncNetworkingCall<>(
+                serviceConfig.getRetryPolicy(),
+                isIndependent,
+                getTransportProtocol().getCallExecutor(),
+                Metrics.isEnabled() ? withMetricsAsync(operation, request, attempt) : attempt
+        );
+    }
+
+    /**
+     * Creates an asynchronous call that is attempted exactly once, see
+     * {@link #createSingleAttemptCall}
+     *
+     * @param request the request payload, its size is reported to the metrics
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    protected <T> AsyncNetworkingCall<T> createSingleAttemptAsyncCall(
+            @NonNull String operation,
+            @NonNull MessageLite request,
+            @NonNull AsyncRequest<T> asyncRequest
+    ) {
+        AsyncNetworkingCall.Attempt<T> attempt = withEndpointFeedbackAsync(asyncRequest, false);
+        return new AsyncNetworkingCall<>(
+                new NetworkingCall.DefaultRetryPolicy(),
+                false,
+                getTransportProtocol().getCallExecutor(),
+                Metrics.isEnabled() ? withMetricsAsync(operation, request, attempt) : attempt
+        );
+    }
+
+    /**
+     * Adapts an asynchronous service call to a future, the service completes it on the call
+     * executor
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    static <T> CompletableFuture<T> callService(@NonNull ServiceCall<T> serviceCall) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        serviceCall.start(new ServiceCallback<T>() {
+            @Override
+            public void onSuccess(@NonNull T response) {
+                future.complete(response);
+            }
+
+            @Override
+            public void onFailure(@NonNull NetworkException exception) {
+                future.completeExceptionally(exception);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Reports the outcome of each request to the load balancer and the circuit breaker of the
+     * endpoint the request was sent to. Latency is measured from the moment
+     * {@link #getNetworkTransport()} hands out a ready transport, so connecting and attesting are
+     * not counted as request time.
+     *
+     * @param isFailoverAllowed whether a request that failed because of the endpoint is repeated
+     *                          once on the standby endpoint if one has been prepared
+     */
+    @NonNull
+    private <T> Callable<T> withEndpointFeedback(@NonNull Callable<T> callable,
+                                                 boolean isFailoverAllowed) {
+        return () -> {
+            EndpointRequest request = new EndpointRequest();
+            try {
+                return callEndpoint(callable, request);
+            } catch (NetworkException exception) {
+                if (!isFailoverAllowed || !CircuitBreaker.isEndpointFailure(exception)) {
+                    throw exception;
+                }
+                Transport failedTransport = (null != request.transport)
+                        ? request.transport
+                        : peekNetworkTransport();
+                if (!failover(failedTransport)) {
+                    throw exception;
+                }
+                Logger.w(TAG, "Request failed, repeating it on the standby endpoint");
+                return callEndpoint(callable, new EndpointRequest());
+            }
+        };
+    }
+
+    private <T> T callEndpoint(@NonNull Callable<T> callable,
+                               @NonNull EndpointRequest request) throws Exception {
+        currentRequest.set(request);
+        try {
+            T response = callable.call();
+            onEndpointSucceeded(request);
+            return response;
+        } catch (NetworkException exception) {
+            onEndpointFailed(request, exception);
+            throw exception;
+        } finally {
+            currentRequest.remove();
+        }
+    }
+
+    /**
+     * Asynchronous {@link #withEndpointFeedback}, the endpoint request is handed to the
+     * transport instead of being bound to the calling thread
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    private <T> AsyncNetworkingCall.Attempt<T> withEndpointFeedbackAsync(
+            @NonNull AsyncRequest<T> asyncRequest,
+            boolean isFailoverAllowed
+    ) {
+        return () -> {
+            EndpointRequest request = new EndpointRequest();
+            return callEndpointAsync(asyncRequest, request).handle((response, error) -> {
+                if (null == error) {
+                    return CompletableFuture.completedFuture(response);
+                }
+                Throwable cause = AsyncCall.unwrap(error);
+                if (!isFailoverAllowed || !(cause instanceof NetworkException)
+                        || !CircuitBreaker.isEndpointFailure((NetworkException) cause)) {
+                    return AsyncCall.<T>failed(cause);
+                }
+                Transport failedTransport = (null != request.transport)
+                        ? request.transport
+                        : peekNetworkTransport();
+                if (!failover(failedTransport)) {
+                    return AsyncCall.<T>failed(cause);
+                }
+                Logger.w(TAG, "Request failed, repeating it on the standby endpoint");
+                return callEndpointAsync(asyncRequest, new EndpointRequest());
+            }).thenCompose(Function.identity());
+        };
+    }
+
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    private <T> CompletableFuture<T> callEndpointAsync(@NonNull AsyncRequest<T> asyncRequest,
+                                                       @NonNull EndpointRequest request) {
+        CompletableFuture<T> response;
+        try {
+            response = getNetworkTransportAsync(request).thenCompose(transport -> {
+                try {
+                    return asyncRequest.send(transport);
+                } catch (Exception exception) {
+                    return AsyncCall.failed(exception);
+                }
+            });
+        } catch (Exception exception) {
+            response = AsyncCall.failed(exception);
+        }
+        return response.whenComplete((value, error) -> {
+            if (null == error) {
+                onEndpointSucceeded(request);
+                return;
+            }
+            Throwable cause = AsyncCall.unwrap(error);
+            if (cause instanceof NetworkException) {
+                onEndpointFailed(request, (NetworkException) cause);
+            }
+        });
+    }
+
+    private void onEndpointSucceeded(@NonNull EndpointRequest request) {
+        if (null != request.serviceUri) {
+            loadBalancer.onRequestSucceeded(request.serviceUri,
+                    System.nanoTime() - request.startedAtNanos);
+            CircuitBreaker circuitBreaker = getCircuitBreaker(request.serviceUri);
+            if (null != circuitBreaker) {
+                circuitBreaker.onSuccess();
+            }
+        }
+    }
+
+    private void onEndpointFailed(@NonNull EndpointRequest request,
+                                  @NonNull NetworkException exception) {
+        if (CircuitBreaker.isEndpointFailure(exception)) {
+            // a request that failed before it was sent is charged to the current endpoint
+            MobileCoinUri serviceUri = (null != request.serviceUri)
+                    ? request.serviceUri
+                    : getCurrentServiceUri();
+            if (null != serviceUri) {
+                loadBalancer.onRequestFailed(serviceUri);
+            }
+            CircuitBreaker circuitBreaker = getCircuitBreaker(serviceUri);
+            if (null != circuitBreaker) {
+                circuitBreaker.onFailure();
+            }
+        }
+    }
+
+    /**
+     * Records the latency, result, request and response size of every attempt of a call,
+     * attempts after the first one, including hedged requests, are counted as retries. The
+     * request size is the size of the payload before it is encrypted for attested services.
+     */
+    @NonNull
+    @VisibleForTesting
+    static <T> Callable<T> withMetrics(@NonNull String operation,
+                                       @NonNull MessageLite request,
+                                       @NonNull Callable<T> callable) {
+        int requestBytes = request.getSerializedSize();
+        AtomicInteger attempts = new AtomicInteger();
+        return () -> {
+            recordAttemptStarted(operation, requestBytes, attempts.getAndIncrement());
+            long startedAtNanos = System.nanoTime();
+            T response;
+            try {
+                response = callable.call();
+            } catch (Exception exception) {
+                recordAttemptCompleted(operation, startedAtNanos, null, exception);
+                throw exception;
+            }
+            recordAttemptCompleted(operation, startedAtNanos, response, null);
+            return response;
+        };
+    }
+
+    /**
+     * Asynchronous {@link #withMetrics}, the latency of an attempt lasts until its future
+     * completes
+     */
+    @NonNull
+    @VisibleForTesting
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    static <T> AsyncNetworkingCall.Attempt<T> withMetricsAsync(
+            @NonNull String operation,
+            @NonNull MessageLite request,
+            @NonNull AsyncNetworkingCall.Attempt<T> attempt
+    ) {
+        int requestBytes = request.getSerializedSize();
+        AtomicInteger attempts = new AtomicInteger();
+        return () -> {
+            recordAttemptStarted(operation, requestBytes, attempts.getAndIncrement());
+            long startedAtNanos = System.nanoTime();
+            CompletableFuture<T> response;
+            try {
+                response = attempt.start();
+            } catch (Exception exception) {
+                response = AsyncCall.failed(exception);
+            }
+            return response.whenComplete((value, error) -> recordAttemptCompleted(operation,
+                    startedAtNanos, value, (null != error) ? AsyncCall.unwrap(error) : null));
+        };
+    }
+
+    private static void recordAttemptStarted(@NonNull String operation, int requestBytes,
+                                             int previousAttempts) {
+        if (previousAttempts > 0) {
+            Metrics.incrementCounter(Metrics.SERVICE_CALL_RETRY_COUNT, 1,
+                    Metrics.TAG_OPERATION, operation);
+        }
+        Metrics.recordHistogram(Metrics.SERVICE_REQUEST_BYTES, requestBytes,
+                Metrics.TAG_OPERATION, operation);
+    }
+
+    private static void recordAttemptCompleted(@NonNull String operation,
+                                               long startedAtNanos,
+                                               @Nullable Object response,
+                                               @Nullable Throwable error) {
+        String result = NetworkResult.ResultCode.OK.name();
+        if (error instanceof NetworkException) {
+            result = ((NetworkException) error).getResult().getResultCode().name();
+        } else if (null != error) {
+            result = error.getClass().getSimpleName();
+        } else if (response instanceof MessageLite) {
+            Metrics.recordHistogram(Metrics.SERVICE_RESPONSE_BYTES,
+                    ((MessageLite) response).getSerializedSize(),
+                    Metrics.TAG_OPERATION, operation);
+        }
+        double latencyMs = (System.nanoTime() - startedAtNanos) / 1_000_000.0;
+        Metrics.recordHistogram(Metrics.SERVICE_CALL_LATENCY_MS, latencyMs,
+                Metrics.TAG_OPERATION, operation, Metrics.TAG_RESULT, result);
+        Metrics.incrementCounter(Metrics.SERVICE_CALL_COUNT, 1,
+                Metrics.TAG_OPERATION, operation, Metrics.TAG_RESULT, result);
+    }
+
+    @Nullable
+    private synchronized Transport peekNetworkTransport() {
+        return networkTransport;
+    }
+
+    /**
+     * Switch to the standby transport, if there is one.
+     *
+     * @param failedTransport the transport that failed or null to switch unconditionally
+     * @return whether the client uses a different transport than {@code failedTransport}
+     */
+    synchronized boolean failover(@Nullable Transport failedTransport) {
+        if (null != failedTransport && failedTransport != networkTransport) {
+            // another request has already failed over
+            return null != networkTransport;
+        }
+        if (null == standbyTransport) {
+            return false;
+        }
+        Transport previousTransport = networkTransport;
+        networkTransport = standbyTransport;
+        currentServiceUri = standbyServiceUri;
+        standbyTransport = null;
+        standbyServiceUri = null;
+        onTransportChanged();
+        if (null != previousTransport) {
+            previousTransport.shutdown();
+        }
+        Logger.w(TAG, "Switched to standby endpoint", null,
+                "uri:", currentServiceUri.getUri());
+        return true;
+    }
+
+    /**
+     * Called when the client switches to a different transport without a reset, i.e. to discard
+     * the state bound to the previous endpoint
+     */
+    protected void onTransportChanged() {
+    }
+
+    /**
+     * Issue a cheap request to check whether the endpoint of {@code transport} is healthy
+     */
+    protected void probeEndpoint(@NonNull Transport transport) throws NetworkException {
+    }
+
+    private synchronized void scheduleHealthCheck() {
+        long intervalMs = serviceConfig.getHealthCheckIntervalMs();
+        if (intervalMs <= 0 || null != healthCheck || isPooledSession) {
+            return;
+        }
+        WeakReference<AnyClient> clientReference = new WeakReference<>(this);
+        healthCheck = getHealthCheckExecutor().scheduleWithFixedDelay(() -> {
+            AnyClient client = clientReference.get();
+            if (null == client) {
+                // a failed run cancels the periodic task of a collected client
+                throw new CancellationException();
+            }
+            client.checkHealth();
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void shutdownIdleTransports() {
+        for (Transport transport : idleTransports.values()) {
+            transport.shutdown();
+        }
+        idleTransports.clear();
+    }
+
+    private synchronized void cancelHealthCheck() {
+        if (null != healthCheck) {
+            healthCheck.cancel(false);
+            healthCheck = null;
+        }
+        if (null != standbyTransport) {
+            standbyTransport.shutdown();
+            standbyTransport = null;
+            standbyServiceUri = null;
+        }
+    }
+
+    /**
+     * Probe the current endpoint, keep a healthy standby transport ready and switch to it when
+     * the current endpoint degrades. Requests are made without holding the client lock and all
+     * clients share the probe thread, so nothing here attests or waits for a request.
+     */
+    void checkHealth() {
+        try {
+            Transport transport;
+            MobileCoinUri serviceUri;
+            Transport standby;
+            MobileCoinUri standbyUri;
+            synchronized (this) {
+                transport = networkTransport;
+                serviceUri = currentServiceUri;
+                standby = standbyTransport;
+                standbyUri = standbyServiceUri;
+            }
+            if (null == transport || null == serviceUri) {
+                return;
+            }
+            boolean isHealthy = probe(transport, serviceUri) && isCallPermitted(serviceUri);
+            if (null == standby) {
+                prepareStandby(transport, serviceUri);
+            } else if (!probe(standby, standbyUri)) {
+                discardStandby(standby);
+            }
+            if (!isHealthy) {
+                // only the switch happens here, the next request attests the new endpoint so
+                // a slow enclave does not hold up the health checks of the other clients
+                failover(transport);
+            }
+        } catch (Exception exception) {
+            Logger.w(TAG, "Health check failed", exception);
+        }
+    }
+
+    /**
+     * @return false if the endpoint failed, other errors do not indicate a degraded endpoint
+     */
+    private boolean probe(@NonNull Transport transport, @NonNull MobileCoinUri serviceUri) {
+        long startedAtNanos = System.nanoTime();
+        try {
+            probeEndpoint(transport);
+            loadBalancer.onRequestSucceeded(serviceUri, System.nanoTime() - startedAtNanos);
+            CircuitBreaker circuitBreaker = getCircuitBreaker(serviceUri);
+            if (null != circuitBreaker) {
+                circuitBreaker.onSuccess();
+            }
+            return true;
+        } catch (NetworkException exception) {
+            if (!CircuitBreaker.isEndpointFailure(exception)) {
+                return true;
+            }
+            Logger.w(TAG, "Endpoint health probe failed", null,
+                    "uri:", serviceUri.getUri(),
+                    "status:", exception.getResultCode());
+            loadBalancer.onRequestFailed(serviceUri);
+            CircuitBreaker circuitBreaker = getCircuitBreaker(serviceUri);
+            if (null != circuitBreaker) {
+                circuitBreaker.onFailure();
+            }
+            return false;
+        }
+    }
+
+    private void prepareStandby(@NonNull Transport transport,
+                                @NonNull MobileCoinUri serviceUri) throws NetworkException {
+        MobileCoinUri candidateUri = null;
+        for (int attempt = 0; attempt < MAX_STANDBY_SELECTION_ATTEMPTS; attempt++) {
+            MobileCoinUri uri = getNextServiceUri();
+            if (!uri.equals(serviceUri) && isCallPermitted(uri)) {
+                candidateUri = uri;
+                break;
+            }
+        }
+        if (null == candidateUri) {
+            return;
+        }
+        Transport candidate = Transport.forConfig(transportProtocol, candidateUri, serviceConfig);
+        boolean isKept = false;
+        if (probe(candidate, candidateUri)) {
+            synchronized (this) {
+                if (null == standbyTransport && transport == networkTransport) {
+                    standbyTransport = candidate;
+                    standbyServiceUri = candidateUri;
+                    isKept = true;
+                }
+            }
+        }
+        if (!isKept) {
+            candidate.shutdown();
+        }
+    }
+
+    private void discardStandby(@NonNull Transport standby) {
+        synchronized (this) {
+            if (standby != standbyTransport) {
+                return;
+            }
+            standbyTransport = null;
+            standbyServiceUri = null;
+        }
+        standby.shutdown();
+    }
+
+    @NonNull
+    private static synchronized ScheduledExecutorService getHealthCheckExecutor() {
+        if (null == healthCheckExecutor) {
+            healthCheckExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "mobilecoin-health-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return healthCheckExecutor;
+    }
+
+    /**
+     * Whether independent requests may run concurrently on this client
+     */
+    protected boolean isHedgingSupported() {
+        return true;
+    }
+
+    /**
+     * Drop the current transport, the next request opens a new one. The health check, the
+     * standby transport and the transports of other endpoints are kept.
+     */
     protected synchronized void resetNetworkTransport() {
-       networkTransport = null;
+        if (null != networkTransport) {
+            // in-flight requests of the transport are completed
+            networkTransport.shutdown();
+            networkTransport = null;
+        }
+        if (null != serviceAPIManager) {
+            serviceAPIManager.clearServiceCache();
+        }
     }
 
     @NonNull
@@ -78,10 +833,53 @@ class AnyClient extends Native {
         return serviceConfig;
     }
 
+    @NonNull
+    final LoadBalancer getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    @NonNull
+    final TransportProtocol getTransportProtocol() {
+        return transportProtocol;
+    }
+
     protected MobileCoinUri getCurrentServiceUri() {
         return currentServiceUri;
     }
 
+    /**
+     * The endpoint a request of a call was sent to and when it was sent
+     */
+    private static final class EndpointRequest {
+        @Nullable
+        Transport transport;
+        @Nullable
+        MobileCoinUri serviceUri;
+        long startedAtNanos;
+
+        void start(@NonNull Transport transport, @Nullable MobileCoinUri serviceUri) {
+            this.transport = transport;
+            this.serviceUri = serviceUri;
+            this.startedAtNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Sends the request of an asynchronous call over a ready transport
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    protected interface AsyncRequest<T> {
+        @NonNull
+        CompletableFuture<T> send(@NonNull Transport transport) throws Exception;
+    }
+
+    /**
+     * Starts an asynchronous service call
+     */
+    interface ServiceCall<T> {
+        void start(@NonNull ServiceCallback<T> callback);
+    }
+
     /**
      * Authorize requests using the provided credentials.
      * <p>
@@ -107,6 +905,8 @@ class AnyClient extends Native {
      */
     void shutdown() {
         Logger.i(TAG, "Client shutdown");
+        cancelHealthCheck();
+        shutdownIdleTransports();
         if(null != this.networkTransport) {
             this.networkTransport.shutdown();
             this.networkTransport = null;
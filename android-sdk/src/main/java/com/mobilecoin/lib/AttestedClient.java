@@ -3,19 +3,35 @@
 package com.mobilecoin.lib;
 
 import android.net.Uri;
+import android.os.Build;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
 
 import com.google.protobuf.AbstractMessageLite;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnsafeByteOperations;
 import com.mobilecoin.lib.ClientConfig.Service;
 import com.mobilecoin.lib.exceptions.AttestationException;
+import com.mobilecoin.lib.exceptions.InvalidFogResponse;
 import com.mobilecoin.lib.exceptions.NetworkException;
 import com.mobilecoin.lib.log.Logger;
+import com.mobilecoin.lib.network.NetworkResult;
 import com.mobilecoin.lib.network.TransportProtocol;
 import com.mobilecoin.lib.network.services.transport.Transport;
 import com.mobilecoin.lib.network.uri.MobileCoinUri;
+import com.mobilecoin.lib.trace.Span;
+import com.mobilecoin.lib.trace.Tracer;
+import com.mobilecoin.lib.util.AsyncCall;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 import attest.Attest;
 
@@ -27,6 +43,23 @@ public abstract class AttestedClient extends AnyClient {
     private final static String TAG = AttestedClient.class.getName();
     // How long to wait for the managed connection to gracefully shutdown in milliseconds
 
+    // pooled sessions have no pool of their own
+    @Nullable
+    private volatile AttestedSessionPool<AttestedClient> sessionPool;
+    private final AtomicLong attestationCount = new AtomicLong();
+    private final AtomicLong sessionResetCount = new AtomicLong();
+    private final AtomicLong preservedSessionCount = new AtomicLong();
+    // the channel binding does not change for the lifetime of an attested session
+    @Nullable
+    private ByteString binding;
+    // a request was encrypted but its response has not been received, the enclave may have
+    // advanced its cipher state past the one of this session
+    private boolean isResponsePending;
+    @Nullable
+    private volatile String username;
+    @Nullable
+    private volatile String password;
+
     /**
      * Creates and initializes an instance of {@link AttestedClient}
      *  @param loadBalancer           a complete {@link Uri} of the service including port.
@@ -38,18 +71,170 @@ public abstract class AttestedClient extends AnyClient {
         super(loadBalancer, serviceConfig, transportProtocol);
     }
 
+    /**
+     * Creates a pooled session of {@code primaryClient}, see {@link AnyClient#AnyClient(AnyClient)}
+     */
+    protected AttestedClient(@NonNull AttestedClient primaryClient) {
+        super(primaryClient);
+    }
+
+    /**
+     * Creates the pool of sessions this client dispatches requests to, with this client as the
+     * pool's primary session. Sessions are created by the pool while it holds its lock, so they
+     * are configured before a concurrent configuration change can look for them.
+     */
+    final void createSessionPool(
+            int maxSize,
+            @NonNull AttestedSessionPool.SessionFactory<AttestedClient> sessionFactory
+    ) {
+        this.sessionPool = new AttestedSessionPool<>(this, maxSize,
+                () -> configureSession(sessionFactory.create()));
+    }
+
+    /**
+     * Take an idle session of the pool, a pooled session serves its own requests
+     */
+    @NonNull
+    final AttestedClient checkoutSession() throws NetworkException {
+        AttestedSessionPool<AttestedClient> sessionPool = this.sessionPool;
+        return (null != sessionPool) ? sessionPool.checkout() : this;
+    }
+
+    final void checkinSession(@NonNull AttestedClient session) {
+        AttestedSessionPool<AttestedClient> sessionPool = this.sessionPool;
+        if (null != sessionPool) {
+            sessionPool.checkin(session);
+        }
+    }
+
+    /**
+     * Run an asynchronous request on an idle session of the pool, the session is returned once
+     * the request completes. No thread waits while all sessions are in use.
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    @SuppressWarnings("unchecked")
+    final <S extends AttestedClient, T> CompletableFuture<T> runOnSessionAsync(
+            @NonNull Function<S, CompletableFuture<T>> request
+    ) {
+        AttestedSessionPool<AttestedClient> sessionPool = this.sessionPool;
+        CompletableFuture<AttestedClient> session = (null != sessionPool)
+                ? sessionPool.checkoutAsync()
+                : CompletableFuture.completedFuture(this);
+        return session.thenCompose(checkedOutSession -> {
+            CompletableFuture<T> response;
+            try {
+                response = request.apply((S) checkedOutSession);
+            } catch (RuntimeException exception) {
+                response = AsyncCall.failed(exception);
+            }
+            return response.whenComplete((value, error) -> checkinSession(checkedOutSession));
+        });
+    }
+
+    /**
+     * @return the sessions of the pool other than this client, they are configured along with it
+     */
+    @NonNull
+    private List<AttestedClient> getAdditionalSessions() {
+        AttestedSessionPool<AttestedClient> sessionPool = this.sessionPool;
+        if (null == sessionPool) {
+            return Collections.emptyList();
+        }
+        List<AttestedClient> sessions = sessionPool.getSessions();
+        sessions.remove(this);
+        return sessions;
+    }
+
+    /**
+     * Applies the credentials of this client to a newly created session of its pool
+     */
+    @NonNull
+    private AttestedClient configureSession(@NonNull AttestedClient session) {
+        String username = this.username;
+        String password = this.password;
+        if (null != username && null != password) {
+            session.setAuthorization(username, password);
+        }
+        return session;
+    }
+
     /**
      * Attest service connection or throw an exception if error occurs.
      */
     public abstract void attest(@NonNull Transport transport)
             throws AttestationException, NetworkException;
 
+    /**
+     * Send the authorization request of an attestation to the service without blocking
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    protected abstract CompletableFuture<Attest.AuthMessage> authAsync(
+            @NonNull Transport transport,
+            @NonNull Attest.AuthMessage authMessage
+    );
+
+    /**
+     * Attest service connection without blocking, see {@link #attest(Transport)}. The session is
+     * checked out by the calling request, so the attestation steps do not hold the client lock.
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    CompletableFuture<Void> attestAsync(@NonNull Transport transport,
+                                        @NonNull MobileCoinUri serviceUri) {
+        Logger.i(TAG, "Attest connection asynchronously");
+        CompletableFuture<Attest.AuthMessage> response;
+        try {
+            byte[] requestBytes = attestStart(serviceUri);
+            Attest.AuthMessage authMessage = Attest.AuthMessage.newBuilder()
+                    .setData(ByteString.copyFrom(requestBytes))
+                    .build();
+            response = authAsync(transport, authMessage);
+        } catch (Exception exception) {
+            response = AsyncCall.failed(exception);
+        }
+        return response.handle((authResponse, error) -> {
+            try {
+                if (null != error) {
+                    throw AsyncCall.unwrap(error);
+                }
+                attestFinish(authResponse.getData().toByteArray(),
+                        getServiceConfig().getTrustedIdentities());
+                return null;
+            } catch (NetworkException exception) {
+                attestReset();
+                if (exception.getResult().getResultCode() == NetworkResult.ResultCode.INTERNAL) {
+                    AttestationException attestationException = new AttestationException(
+                            exception.getResult().getDescription(), exception);
+                    Util.logException(TAG, attestationException);
+                    throw new CompletionException(attestationException);
+                }
+                Util.logException(TAG, exception);
+                throw new CompletionException(exception);
+            } catch (AttestationException exception) {
+                throw new CompletionException(exception);
+            } catch (Throwable throwable) {
+                attestReset();
+                AttestationException attestationException =
+                        new AttestationException("Failed to attest the connection", throwable);
+                Util.logException(TAG, attestationException);
+                throw new CompletionException(attestationException);
+            }
+        });
+    }
+
     /**
      * Reset service connection
      */
-    public synchronized void deattest() {
-        Logger.i(TAG, "De-attesting the managed channel");
-        attestReset();
+    public void deattest() {
+        synchronized (this) {
+            Logger.i(TAG, "De-attesting the managed channel");
+            attestReset();
+        }
+        for (AttestedClient session : getAdditionalSessions()) {
+            session.deattest();
+        }
     }
 
     /**
@@ -84,21 +269,62 @@ public abstract class AttestedClient extends AnyClient {
                 : new byte[0];
 
         byte[] encryptedPayload = encryptPayload(payload, aad);
+        isResponsePending = true;
+        // the arrays are owned by this call and never modified, so they are wrapped without copies
         return Attest.Message.newBuilder()
-                .setData(ByteString.copyFrom(encryptedPayload))
-                .setChannelId(ByteString.copyFrom(getBinding()))
-                .setAad(ByteString.copyFrom(aad))
+                .setData(UnsafeByteOperations.unsafeWrap(encryptedPayload))
+                .setChannelId(getBinding())
+                .setAad(UnsafeByteOperations.unsafeWrap(aad))
                 .build();
     }
 
     @Override
     @NonNull
     public synchronized Transport getNetworkTransport() throws NetworkException, AttestationException {
-        Transport transport = super.getNetworkTransport();
+        return super.getNetworkTransport();
+    }
+
+    /**
+     * A new session may be attested with any endpoint, so the load balancer picks the endpoint
+     * whenever the client is about to attest
+     */
+    @Override
+    protected synchronized boolean isEndpointSelectionDue() {
+        return !isAttested();
+    }
+
+    @Override
+    protected synchronized void prepareTransport(@NonNull Transport transport)
+            throws NetworkException, AttestationException {
         if(!isAttested()) {
-            attest(transport);
+            attestationCount.incrementAndGet();
+            try (Span span = Tracer.startSpan("attest")) {
+                if (span.isRecording()) {
+                    span.setAttribute("client", getClass().getSimpleName());
+                }
+                attest(transport);
+            }
         }
-        return transport;
+    }
+
+    @Override
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    protected CompletableFuture<Void> prepareTransportAsync(@NonNull Transport transport,
+                                                            @NonNull MobileCoinUri serviceUri) {
+        if (isAttested()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        attestationCount.incrementAndGet();
+        return attestAsync(transport, serviceUri);
+    }
+
+    /**
+     * Messages of an attested session must be processed in order, hedged requests would break it
+     */
+    @Override
+    protected boolean isHedgingSupported() {
+        return false;
     }
 
     @NonNull
@@ -115,15 +341,27 @@ public abstract class AttestedClient extends AnyClient {
     @NonNull
     public synchronized Attest.Message decryptMessage(@NonNull Attest.Message message)
             throws AttestationException {
+        return Attest.Message.newBuilder(message).setData(decryptMessageData(message)).build();
+    }
+
+    /**
+     * Decrypt the payload of an attested response {@link Attest.Message}
+     * <p>
+     * The decrypted payload is wrapped without copying and can be parsed directly.
+     *
+     * @return decrypted payload
+     */
+    @NonNull
+    synchronized ByteString decryptMessageData(@NonNull Attest.Message message)
+            throws AttestationException {
         Logger.i(TAG, "Decrypt response message");
         try {
-            byte[] encrypted = message.getData().toByteArray();
             byte[] decrypted = decryptPayload(
-                    encrypted,
+                    message.getData().toByteArray(),
                     message.getAad().toByteArray()
             );
-            return Attest.Message.newBuilder(message).setData(ByteString.copyFrom(decrypted))
-                    .build();
+            isResponsePending = false;
+            return UnsafeByteOperations.unsafeWrap(decrypted);
         } catch (Exception exception) {
             AttestationException attestationException =
                     new AttestationException("Unable to decrypt response message", exception);
@@ -140,6 +378,8 @@ public abstract class AttestedClient extends AnyClient {
     @NonNull
     public byte[] attestStart(@NonNull MobileCoinUri serviceUri) throws AttestationException {
         Logger.i(TAG, "FFI: attest_start call");
+        binding = null;
+        long callStart = 0;
         try {
             ResponderId responderId;
             String responderIdString = serviceUri.getUri().getQueryParameter("responder-id");
@@ -148,8 +388,12 @@ public abstract class AttestedClient extends AnyClient {
             } else {
                 responderId = ResponderId.fromUri(serviceUri.getUri());
             }
-            return attest_start(responderId);
+            callStart = NativeCallMetrics.start();
+            byte[] authRequest = attest_start(responderId);
+            NativeCallMetrics.record("attest_start", callStart, 0);
+            return authRequest;
         } catch (Exception exception) {
+            NativeCallMetrics.recordFailure("attest_start", callStart);
             AttestationException attestationException =
                     new AttestationException("Unable to start attestation", exception);
             Util.logException(TAG, attestationException);
@@ -167,12 +411,15 @@ public abstract class AttestedClient extends AnyClient {
                                 @NonNull TrustedIdentities trustedIdentities
     ) throws AttestationException {
         Logger.i(TAG, "FFI: attest_finish call");
+        long callStart = NativeCallMetrics.start();
         try {
             attest_finish(
                     authResponse,
                     trustedIdentities
             );
+            NativeCallMetrics.record("attest_finish", callStart, authResponse.length);
         } catch (Exception exception) {
+            NativeCallMetrics.recordFailure("attest_finish", callStart);
             AttestationException attestationException =
                     new AttestationException("Unable to finish attestation", exception);
             Util.logException(TAG, attestationException);
@@ -190,7 +437,104 @@ public abstract class AttestedClient extends AnyClient {
     public synchronized void attestReset() {
         Logger.i(TAG, "Reset attested state");
         resetNetworkTransport();
+        freeAttestedState();
+    }
+
+    /**
+     * The attested session belongs to the previous endpoint, the new one is attested on the next
+     * request
+     */
+    @Override
+    protected synchronized void onTransportChanged() {
+        Logger.i(TAG, "Transport changed, discarding attested state");
+        freeAttestedState();
+    }
+
+    /**
+     * Marks the response to the last encrypted request as received for services whose responses
+     * are not encrypted
+     */
+    protected synchronized void onSessionResponse() {
+        isResponsePending = false;
+    }
+
+    /**
+     * Handle a failed request of the attested session
+     * <p>
+     * The session is kept only after a transient failure of a request that was never encrypted
+     * and sent, or after a response that was decrypted but could not be used. Once a request has
+     * been sent without a response, the enclave may or may not have processed it and the cipher
+     * states may differ, so the session is reset and attested again on the next request, as it
+     * is after authentication and server errors or a failure to encrypt or decrypt.
+     */
+    protected synchronized void onSessionError(@NonNull Exception exception) {
+        if (requiresReattestation(exception, isResponsePending)) {
+            attestReset();
+        } else {
+            preservedSessionCount.incrementAndGet();
+            Logger.i(TAG, "Keeping attested session after a transient failure", null,
+                    "error:", exception.getMessage());
+        }
+    }
+
+    static boolean requiresReattestation(@NonNull Exception exception,
+                                         boolean isResponsePending) {
+        if (exception instanceof NetworkException) {
+            if (isResponsePending) {
+                return true;
+            }
+            switch (((NetworkException) exception).getResult().getResultCode()) {
+                case CANCELED:
+                case DEADLINE_EXCEEDED:
+                case RESOURCE_EXHAUSTED:
+                case UNAVAILABLE:
+                    return false;
+                default:
+                    return true;
+            }
+        }
+        // the payload was authenticated by the session cipher, the session itself is intact
+        return !(exception instanceof InvalidFogResponse
+                || exception instanceof InvalidProtocolBufferException);
+    }
+
+    /**
+     * @return the number of attestations started by this client and its pooled sessions
+     */
+    public long getAttestationCount() {
+        long count = attestationCount.get();
+        for (AttestedClient session : getAdditionalSessions()) {
+            count += session.attestationCount.get();
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of attested sessions of this client and its pooled sessions that were
+     * discarded
+     */
+    public long getSessionResetCount() {
+        long count = sessionResetCount.get();
+        for (AttestedClient session : getAdditionalSessions()) {
+            count += session.sessionResetCount.get();
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of failed requests after which the attested session was kept
+     */
+    public long getPreservedSessionCount() {
+        long count = preservedSessionCount.get();
+        for (AttestedClient session : getAdditionalSessions()) {
+            count += session.preservedSessionCount.get();
+        }
+        return count;
+    }
+
+    private synchronized void freeAttestedState() {
         if (rustObj != 0) {
+            sessionResetCount.incrementAndGet();
             try {
                 finalize_jni();
             } catch (Exception exception) {
@@ -198,7 +542,8 @@ public abstract class AttestedClient extends AnyClient {
             }
             rustObj = 0;
         }
-        shutdown();
+        binding = null;
+        isResponsePending = false;
     }
 
 
@@ -214,10 +559,33 @@ public abstract class AttestedClient extends AnyClient {
             @NonNull String password
     ) {
         Logger.i(TAG, "Set API authorization");
+        this.username = username;
+        this.password = password;
         getAPIManager().setAuthorization(
                 username,
                 password
         );
+        for (AttestedClient session : getAdditionalSessions()) {
+            session.setAuthorization(username, password);
+        }
+    }
+
+    @Override
+    void setTransportProtocol(@NonNull TransportProtocol protocol) {
+        super.setTransportProtocol(protocol);
+        for (AttestedClient session : getAdditionalSessions()) {
+            session.setTransportProtocol(protocol);
+        }
+    }
+
+    /**
+     * Shut down this client along with all sessions of its pool
+     */
+    void shutdownSessions() {
+        shutdown();
+        for (AttestedClient session : getAdditionalSessions()) {
+            session.shutdown();
+        }
     }
 
     @Override
@@ -231,11 +599,19 @@ public abstract class AttestedClient extends AnyClient {
     }
 
     @NonNull
-    private synchronized byte[] getBinding() throws AttestationException {
+    private synchronized ByteString getBinding() throws AttestationException {
+        if (null != binding) {
+            return binding;
+        }
+        long callStart = 0;
         try {
             Logger.i(TAG, "FFI: get_binding call");
-            return get_binding();
+            callStart = NativeCallMetrics.start();
+            binding = UnsafeByteOperations.unsafeWrap(get_binding());
+            NativeCallMetrics.record("get_binding", callStart, 0);
+            return binding;
         } catch (Exception exception) {
+            NativeCallMetrics.recordFailure("get_binding", callStart);
             AttestationException attestationException =
                     new AttestationException("Unable to get connection binding", exception);
             Util.logException(TAG, attestationException);
@@ -250,12 +626,16 @@ public abstract class AttestedClient extends AnyClient {
             @NonNull byte[] aad
     ) throws AttestationException {
         Logger.i(TAG, "FFI: decrypt_payload call");
+        long callStart = NativeCallMetrics.start();
         try {
-            return decrypt_payload(
+            byte[] decrypted = decrypt_payload(
                     payload,
                     aad
             );
+            NativeCallMetrics.record("decrypt_payload", callStart, payload.length);
+            return decrypted;
         } catch (Exception exception) {
+            NativeCallMetrics.recordFailure("decrypt_payload", callStart);
             AttestationException attestationException =
                     new AttestationException("Unable to decrypt payload", exception);
             Util.logException(TAG, attestationException);
@@ -268,9 +648,13 @@ public abstract class AttestedClient extends AnyClient {
     private synchronized byte[] encryptPayload(@NonNull byte[] payload, @NonNull byte[] aad)
             throws AttestationException {
         Logger.i(TAG, "FFI: encrypt_payload call");
+        long callStart = NativeCallMetrics.start();
         try {
-            return encrypt_payload(payload, aad);
+            byte[] encrypted = encrypt_payload(payload, aad);
+            NativeCallMetrics.record("encrypt_payload", callStart, payload.length);
+            return encrypted;
         } catch (Exception exception) {
+            NativeCallMetrics.recordFailure("encrypt_payload", callStart);
             AttestationException attestationException =
                     new AttestationException("Unable to encrypt payload", exception);
             Util.logException(TAG, attestationException);
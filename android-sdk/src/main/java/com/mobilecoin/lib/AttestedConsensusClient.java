@@ -2,9 +2,13 @@
 
 package com.mobilecoin.lib;
 
+import android.os.Build;
+
 import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.Empty;
 import com.mobilecoin.api.MobileCoinAPI;
 import com.mobilecoin.lib.ClientConfig.Service;
 import com.mobilecoin.lib.exceptions.AttestationException;
@@ -15,8 +19,11 @@ import com.mobilecoin.lib.network.TransportProtocol;
 import com.mobilecoin.lib.network.services.AttestedService;
 import com.mobilecoin.lib.network.services.ConsensusClientService;
 import com.mobilecoin.lib.network.services.transport.Transport;
+import com.mobilecoin.lib.util.AsyncCall;
 import com.mobilecoin.lib.util.NetworkingCall;
 
+import java.util.concurrent.CompletableFuture;
+
 import attest.Attest;
 import consensus_common.ConsensusCommon;
 
@@ -36,9 +43,28 @@ class AttestedConsensusClient extends AttestedClient {
                             @NonNull Service serviceConfig,
                             @NonNull TransportProtocol transportProtocol) {
         super(loadBalancer, serviceConfig, transportProtocol);
+        createSessionPool(serviceConfig.getSessionPoolSize(),
+                () -> new AttestedConsensusClient(this));
         Logger.i(TAG, "Created new AttestedConsensusClient", null,
                 "loadBalancer:", loadBalancer,
-                "verifier:", serviceConfig);
+                "verifier:", serviceConfig,
+                "sessionPoolSize:", serviceConfig.getSessionPoolSize());
+    }
+
+    /**
+     * Creates a pooled session of {@code primaryClient}
+     */
+    private AttestedConsensusClient(@NonNull AttestedConsensusClient primaryClient) {
+        super(primaryClient);
+    }
+
+    /**
+     * Probes the consensus endpoint with a last block info request
+     */
+    @Override
+    protected void probeEndpoint(@NonNull Transport transport) throws NetworkException {
+        getAPIManager().getBlockchainService(transport)
+                .getLastBlockInfo(Empty.getDefaultInstance());
     }
 
     /**
@@ -87,25 +113,111 @@ class AttestedConsensusClient extends AttestedClient {
         }
     }
 
+    @Override
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    protected CompletableFuture<Attest.AuthMessage> authAsync(
+            @NonNull Transport transport,
+            @NonNull Attest.AuthMessage authMessage
+    ) {
+        AttestedService attestedService = getAPIManager().getAttestedService(transport);
+        return callService(callback -> attestedService.authAsync(authMessage, callback));
+    }
+
     /**
      * Propose a new transaction to a consensus network
      */
-    synchronized ConsensusCommon.ProposeTxResponse proposeTx(@NonNull MobileCoinAPI.Tx tx)
+    ConsensusCommon.ProposeTxResponse proposeTx(@NonNull MobileCoinAPI.Tx tx)
             throws AttestationException, NetworkException {
+        AttestedConsensusClient session = (AttestedConsensusClient) checkoutSession();
+        try {
+            return session.proposeTxOnSession(tx);
+        } finally {
+            checkinSession(session);
+        }
+    }
+
+    /**
+     * Asynchronous {@link #proposeTx}, sent once a session of the pool is idle
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    CompletableFuture<ConsensusCommon.ProposeTxResponse> proposeTxAsync(
+            @NonNull MobileCoinAPI.Tx tx
+    ) {
+        return runOnSessionAsync((AttestedConsensusClient session) ->
+                session.proposeTxOnSessionAsync(tx));
+    }
+
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    private CompletableFuture<ConsensusCommon.ProposeTxResponse> proposeTxOnSessionAsync(
+            @NonNull MobileCoinAPI.Tx tx
+    ) {
+        // never retried: a proposal that timed out may have been accepted
+        return createSingleAttemptAsyncCall("consensus.propose_tx", tx,
+                transport -> {
+                    Logger.i(TAG, "Propose transaction to consensus");
+                    ConsensusClientService consensusClientService =
+                            getAPIManager().getConsensusClientService(transport);
+                    Attest.Message encryptedRequest = encryptMessage(tx);
+                    return callService((ServiceCall<ConsensusCommon.ProposeTxResponse>)
+                            callback -> consensusClientService.clientTxProposeAsync(
+                                    encryptedRequest, callback))
+                            .whenComplete((response, error) -> {
+                                if (null == error) {
+                                    onSessionResponse();
+                                } else if (AsyncCall.unwrap(error) instanceof NetworkException) {
+                                    // the request was sent, a retry re-attests the channel
+                                    onSessionError((NetworkException) AsyncCall.unwrap(error));
+                                }
+                            });
+                }
+        ).run().whenComplete((response, error) -> {
+            if (null == error) {
+                return;
+            }
+            Throwable cause = AsyncCall.unwrap(error);
+            if (cause instanceof AttestationException || cause instanceof RuntimeException) {
+                onSessionError((Exception) cause);
+            }
+            if (cause instanceof Exception) {
+                Util.logException(TAG, (Exception) cause);
+            }
+        });
+    }
+
+    private synchronized ConsensusCommon.ProposeTxResponse proposeTxOnSession(
+            @NonNull MobileCoinAPI.Tx tx
+    ) throws AttestationException, NetworkException {
         NetworkingCall<ConsensusCommon.ProposeTxResponse> networkingCall =
-                new NetworkingCall<>(
+                // never retried: a proposal that timed out may have been accepted
+                createSingleAttemptCall("consensus.propose_tx", tx,
                         () -> {
                             Logger.i(TAG, "Propose transaction to consensus");
                             ConsensusClientService consensusClientService =
                                     getAPIManager().getConsensusClientService(getNetworkTransport());
                             Attest.Message encryptedRequest = encryptMessage(tx);
-                            return consensusClientService.clientTxPropose(encryptedRequest);
+                            try {
+                                ConsensusCommon.ProposeTxResponse response =
+                                        consensusClientService.clientTxPropose(encryptedRequest);
+                                onSessionResponse();
+                                return response;
+                            } catch (NetworkException exception) {
+                                // the request was sent, a retry re-attests the channel
+                                onSessionError(exception);
+                                throw exception;
+                            }
                         }
                 );
         try {
             return networkingCall.run();
-        } catch (AttestationException | NetworkException | RuntimeException exception) {
-            attestReset();
+        } catch (NetworkException exception) {
+            // the session was already handled by the failed attempt
+            Util.logException(TAG, exception);
+            throw exception;
+        } catch (AttestationException | RuntimeException exception) {
+            onSessionError(exception);
             Util.logException(TAG, exception);
             throw exception;
         } catch (Exception exception) {
@@ -3,7 +3,10 @@
 package com.mobilecoin.lib;
 
 
+import android.os.Build;
+
 import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
@@ -18,16 +21,20 @@ import com.mobilecoin.lib.network.TransportProtocol;
 import com.mobilecoin.lib.network.services.FogKeyImageService;
 import com.mobilecoin.lib.network.services.FogMerkleProofService;
 import com.mobilecoin.lib.network.services.transport.Transport;
+import com.mobilecoin.lib.util.AsyncCall;
 import com.mobilecoin.lib.util.NetworkingCall;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import attest.Attest;
 import fog_ledger.Ledger;
+import report.ReportOuterClass;
 
 /**
  * Attested client for a ledger service Attestation is done automatically by the parent class {@link
@@ -46,9 +53,28 @@ class AttestedLedgerClient extends AttestedClient {
                          @NonNull Service serviceConfig,
                          @NonNull TransportProtocol transportProtocol) {
         super(loadBalancer, serviceConfig, transportProtocol);
+        createSessionPool(serviceConfig.getSessionPoolSize(),
+                () -> new AttestedLedgerClient(this));
         Logger.i(TAG, "Created new AttestedLedgerClient", null,
                 "loadBalancer:", loadBalancer,
-                "verifier:", serviceConfig);
+                "verifier:", serviceConfig,
+                "sessionPoolSize:", serviceConfig.getSessionPoolSize());
+    }
+
+    /**
+     * Creates a pooled session of {@code primaryClient}
+     */
+    private AttestedLedgerClient(@NonNull AttestedLedgerClient primaryClient) {
+        super(primaryClient);
+    }
+
+    /**
+     * Probes the fog endpoint with a report request, which does not require attestation
+     */
+    @Override
+    protected void probeEndpoint(@NonNull Transport transport) throws NetworkException {
+        getAPIManager().getFogReportService(transport)
+                .getReports(ReportOuterClass.ReportRequest.getDefaultInstance());
     }
 
     /**
@@ -97,6 +123,17 @@ class AttestedLedgerClient extends AttestedClient {
         }
     }
 
+    @Override
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    protected CompletableFuture<Attest.AuthMessage> authAsync(
+            @NonNull Transport transport,
+            @NonNull Attest.AuthMessage authMessage
+    ) {
+        FogKeyImageService fogKeyImageService = getAPIManager().getFogKeyImageService(transport);
+        return callService(callback -> fogKeyImageService.authAsync(authMessage, callback));
+    }
+
     /**
      * Retrieves outputs If the key is not registered with the service empty message is returned
      *
@@ -104,37 +141,104 @@ class AttestedLedgerClient extends AttestedClient {
      * @return initialized or empty {@link Ledger.GetOutputsResponse} instance
      */
     @NonNull
-    public synchronized Ledger.GetOutputsResponse getOutputs(
+    public Ledger.GetOutputsResponse getOutputs(
             @NonNull Collection<UnsignedLong> indexes,
             long merkleRootBlock
     ) throws InvalidFogResponse, AttestationException, NetworkException {
+        AttestedLedgerClient session = (AttestedLedgerClient) checkoutSession();
+        try {
+            return session.getOutputsOnSession(indexes, merkleRootBlock);
+        } finally {
+            checkinSession(session);
+        }
+    }
+
+    /**
+     * Asynchronous {@link #getOutputs}, sent once a session of the pool is idle
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    CompletableFuture<Ledger.GetOutputsResponse> getOutputsAsync(
+            @NonNull Collection<UnsignedLong> indexes,
+            long merkleRootBlock
+    ) {
+        return runOnSessionAsync((AttestedLedgerClient session) ->
+                session.getOutputsOnSessionAsync(indexes, merkleRootBlock));
+    }
+
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    private CompletableFuture<Ledger.GetOutputsResponse> getOutputsOnSessionAsync(
+            @NonNull Collection<UnsignedLong> indexes,
+            long merkleRootBlock
+    ) {
         Logger.i(TAG, "Retrieving outputs");
-        Ledger.GetOutputsRequest request =
-                Ledger.GetOutputsRequest.newBuilder().addAllIndices(
+        Ledger.GetOutputsRequest request = createGetOutputsRequest(indexes, merkleRootBlock);
+        return handleSessionErrors(createAsyncNetworkingCall("fog_ledger.get_outputs", true,
+                request, transport -> {
+                    FogMerkleProofService fogMerkleProofService =
+                            getAPIManager().getFogMerkleProofService(transport);
+                    Attest.Message message = encryptMessage(request);
+                    return handleAttemptErrors(callService((ServiceCall<Attest.Message>)
+                            callback -> fogMerkleProofService.getOutputsAsync(message, callback))
+                            .thenApply(responseMessage -> {
+                                try {
+                                    return Ledger.GetOutputsResponse.parseFrom(
+                                            decryptMessageData(responseMessage));
+                                } catch (InvalidProtocolBufferException exception) {
+                                    throw new CompletionException(new InvalidFogResponse(
+                                            "GetOutputsResponse contains invalid data",
+                                            exception));
+                                } catch (AttestationException exception) {
+                                    throw new CompletionException(exception);
+                                }
+                            }));
+                }).run());
+    }
+
+    @NonNull
+    private static Ledger.GetOutputsRequest createGetOutputsRequest(
+            @NonNull Collection<UnsignedLong> indexes,
+            long merkleRootBlock
+    ) {
+        return Ledger.GetOutputsRequest.newBuilder().addAllIndices(
                         indexes.stream().map(UnsignedLong::longValue).collect(Collectors.toList()))
-                        .setMerkleRootBlock(merkleRootBlock).build();
+                .setMerkleRootBlock(merkleRootBlock).build();
+    }
+
+    @NonNull
+    private synchronized Ledger.GetOutputsResponse getOutputsOnSession(
+            @NonNull Collection<UnsignedLong> indexes,
+            long merkleRootBlock
+    ) throws InvalidFogResponse, AttestationException, NetworkException {
+        Logger.i(TAG, "Retrieving outputs");
+        Ledger.GetOutputsRequest request = createGetOutputsRequest(indexes, merkleRootBlock);
         NetworkingCall<Ledger.GetOutputsResponse> networkingCall =
-                new NetworkingCall<>(() -> {
+                createNetworkingCall("fog_ledger.get_outputs", true, request, () -> {
                     try {
                         FogMerkleProofService fogMerkleProofService =
                                 getAPIManager().getFogMerkleProofService(getNetworkTransport());
                         Attest.Message message = encryptMessage(request);
                         Attest.Message responseMessage = fogMerkleProofService.getOutputs(message);
-                        Attest.Message response = decryptMessage(responseMessage);
-                        return Ledger.GetOutputsResponse.parseFrom(response.getData());
+                        return Ledger.GetOutputsResponse.parseFrom(
+                                decryptMessageData(responseMessage));
                     } catch (NetworkException exception) {
-                        attestReset();
+                        onSessionError(exception);
                         throw exception;
                     } catch (InvalidProtocolBufferException exception) {
-                        attestReset();
+                        onSessionError(exception);
                         throw new InvalidFogResponse("GetOutputsResponse contains invalid data",
                                 exception);
                     }
                 });
         try {
             return networkingCall.run();
-        } catch (InvalidFogResponse | AttestationException | NetworkException | RuntimeException exception) {
-            attestReset();
+        } catch (InvalidFogResponse | NetworkException exception) {
+            // the session was already handled by the failed attempt
+            Util.logException(TAG, exception);
+            throw exception;
+        } catch (AttestationException | RuntimeException exception) {
+            onSessionError(exception);
             Util.logException(TAG, exception);
             throw exception;
         } catch (Exception exception) {
@@ -148,11 +252,102 @@ class AttestedLedgerClient extends AttestedClient {
      * @param keyImages a list of key images to check
      */
     @NonNull
-    public synchronized Ledger.CheckKeyImagesResponse checkKeyImages(
+    public Ledger.CheckKeyImagesResponse checkKeyImages(
             @NonNull Set<KeyImage> keyImages
     ) throws InvalidFogResponse, AttestationException, NetworkException {
+        AttestedLedgerClient session = (AttestedLedgerClient) checkoutSession();
+        try {
+            return session.checkKeyImagesOnSession(keyImages);
+        } finally {
+            checkinSession(session);
+        }
+    }
+
+    /**
+     * Asynchronous {@link #checkKeyImages}, sent once a session of the pool is idle
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    CompletableFuture<Ledger.CheckKeyImagesResponse> checkKeyImagesAsync(
+            @NonNull Set<KeyImage> keyImages
+    ) {
+        return runOnSessionAsync((AttestedLedgerClient session) ->
+                session.checkKeyImagesOnSessionAsync(keyImages));
+    }
+
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    private CompletableFuture<Ledger.CheckKeyImagesResponse> checkKeyImagesOnSessionAsync(
+            @NonNull Set<KeyImage> keyImages
+    ) {
         Logger.i(TAG, "Checking key images", null,
                 "size:", keyImages.size());
+        Ledger.CheckKeyImagesRequest imagesRequest = createCheckKeyImagesRequest(keyImages);
+        return handleSessionErrors(createAsyncNetworkingCall("fog_ledger.check_key_images",
+                true, imagesRequest, transport -> {
+                    FogKeyImageService fogKeyImageService =
+                            getAPIManager().getFogKeyImageService(transport);
+                    Attest.Message encryptedRequest = encryptMessage(imagesRequest);
+                    return handleAttemptErrors(callService((ServiceCall<Attest.Message>)
+                            callback -> fogKeyImageService.checkKeyImagesAsync(encryptedRequest,
+                                    callback))
+                            .thenApply(encryptedResponse -> {
+                                try {
+                                    return Ledger.CheckKeyImagesResponse.parseFrom(
+                                            decryptMessageData(encryptedResponse));
+                                } catch (InvalidProtocolBufferException exception) {
+                                    throw new CompletionException(new InvalidFogResponse(
+                                            "CheckKeyImagesResponse contains invalid data",
+                                            exception));
+                                } catch (AttestationException exception) {
+                                    throw new CompletionException(exception);
+                                }
+                            }));
+                }).run());
+    }
+
+    /**
+     * Resets or keeps the session after a failed attempt like the blocking calls do: service
+     * and parsing errors are handled per attempt, before a retry
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    private <T> CompletableFuture<T> handleAttemptErrors(@NonNull CompletableFuture<T> response) {
+        return response.whenComplete((value, error) -> {
+            if (null == error) {
+                return;
+            }
+            Throwable cause = AsyncCall.unwrap(error);
+            if (cause instanceof NetworkException || cause instanceof InvalidFogResponse) {
+                onSessionError((Exception) cause);
+            }
+        });
+    }
+
+    /**
+     * Handles the errors of a call that were not handled by its attempts
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    private <T> CompletableFuture<T> handleSessionErrors(@NonNull CompletableFuture<T> response) {
+        return response.whenComplete((value, error) -> {
+            if (null == error) {
+                return;
+            }
+            Throwable cause = AsyncCall.unwrap(error);
+            if (cause instanceof AttestationException || cause instanceof RuntimeException) {
+                onSessionError((Exception) cause);
+            }
+            if (cause instanceof Exception) {
+                Util.logException(TAG, (Exception) cause);
+            }
+        });
+    }
+
+    @NonNull
+    private static Ledger.CheckKeyImagesRequest createCheckKeyImagesRequest(
+            @NonNull Set<KeyImage> keyImages
+    ) {
         ArrayList<Ledger.KeyImageQuery> keyImageQueries = new ArrayList<>();
         for (KeyImage keyImage : keyImages) {
             Ledger.KeyImageQuery query = Ledger.KeyImageQuery.newBuilder()
@@ -160,31 +355,43 @@ class AttestedLedgerClient extends AttestedClient {
                             .setData(ByteString.copyFrom(keyImage.getData())).build()).build();
             keyImageQueries.add(query);
         }
-        Ledger.CheckKeyImagesRequest imagesRequest =
-                Ledger.CheckKeyImagesRequest.newBuilder().addAllQueries(keyImageQueries)
-                        .build();
+        return Ledger.CheckKeyImagesRequest.newBuilder().addAllQueries(keyImageQueries)
+                .build();
+    }
+
+    @NonNull
+    private synchronized Ledger.CheckKeyImagesResponse checkKeyImagesOnSession(
+            @NonNull Set<KeyImage> keyImages
+    ) throws InvalidFogResponse, AttestationException, NetworkException {
+        Logger.i(TAG, "Checking key images", null,
+                "size:", keyImages.size());
+        Ledger.CheckKeyImagesRequest imagesRequest = createCheckKeyImagesRequest(keyImages);
         NetworkingCall<Ledger.CheckKeyImagesResponse> networkingCall =
-                new NetworkingCall<>(() -> {
+                createNetworkingCall("fog_ledger.check_key_images", true, imagesRequest, () -> {
                     try {
                         FogKeyImageService fogKeyImageService =
                                 getAPIManager().getFogKeyImageService(getNetworkTransport());
                         Attest.Message encryptedRequest = encryptMessage(imagesRequest);
                         Attest.Message encryptedResponse = fogKeyImageService.checkKeyImages(encryptedRequest);
-                        Attest.Message response = decryptMessage(encryptedResponse);
-                        return Ledger.CheckKeyImagesResponse.parseFrom(response.getData().toByteArray());
+                        return Ledger.CheckKeyImagesResponse.parseFrom(
+                                decryptMessageData(encryptedResponse));
                     } catch (InvalidProtocolBufferException exception) {
-                        attestReset();
+                        onSessionError(exception);
                         throw new InvalidFogResponse(
                                 "CheckKeyImagesResponse contains invalid data", exception);
                     } catch (NetworkException exception) {
-                        attestReset();
+                        onSessionError(exception);
                         throw exception;
                     }
                 });
         try {
             return networkingCall.run();
-        } catch (InvalidFogResponse | AttestationException | NetworkException | RuntimeException exception) {
-            attestReset();
+        } catch (InvalidFogResponse | NetworkException exception) {
+            // the session was already handled by the failed attempt
+            Util.logException(TAG, exception);
+            throw exception;
+        } catch (AttestationException | RuntimeException exception) {
+            onSessionError(exception);
             Util.logException(TAG, exception);
             throw exception;
         } catch (Exception exception) {
@@ -198,14 +405,31 @@ class AttestedLedgerClient extends AttestedClient {
      * @param txos a list of OwnedTxOuts whose key images to check
      */
     @NonNull
-    public synchronized Ledger.CheckKeyImagesResponse checkUtxoKeyImages(@NonNull Set<OwnedTxOut> txos)
+    public Ledger.CheckKeyImagesResponse checkUtxoKeyImages(@NonNull Set<OwnedTxOut> txos)
             throws InvalidFogResponse, AttestationException, NetworkException {
         Logger.i(TAG, "Checking unspent OwnedTxOut key images");
+        return checkKeyImages(getKeyImages(txos));
+    }
+
+    /**
+     * Asynchronous {@link #checkUtxoKeyImages}
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    CompletableFuture<Ledger.CheckKeyImagesResponse> checkUtxoKeyImagesAsync(
+            @NonNull Set<OwnedTxOut> txos
+    ) {
+        Logger.i(TAG, "Checking unspent OwnedTxOut key images");
+        return checkKeyImagesAsync(getKeyImages(txos));
+    }
+
+    @NonNull
+    private static Set<KeyImage> getKeyImages(@NonNull Set<OwnedTxOut> txos) {
         HashSet<KeyImage> keyImages = new HashSet<>();
         for (OwnedTxOut txo : txos) {
             KeyImage keyImage = txo.getKeyImage();
             keyImages.add(keyImage);
         }
-        return checkKeyImages(keyImages);
+        return keyImages;
     }
 }
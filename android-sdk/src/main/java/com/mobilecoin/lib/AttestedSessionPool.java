@@ -0,0 +1,145 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib;
+
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+
+import com.mobilecoin.lib.exceptions.NetworkException;
+import com.mobilecoin.lib.network.NetworkResult;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A pool of independently attested sessions of one service.
+ * <p>
+ * An attested session keeps a single cipher state and can only process one request at a time.
+ * Requests check out an idle session and return it when they are done, so up to {@code maxSize}
+ * requests run in parallel. Sessions are created on demand and attested on first use; the most
+ * recently returned session is handed out first since it is the most likely to be attested.
+ * Asynchronous requests wait for a session without holding a thread and are served before
+ * blocked threads.
+ */
+final class AttestedSessionPool<T extends AttestedClient> {
+
+    interface SessionFactory<T> {
+        @NonNull
+        T create();
+    }
+
+    /**
+     * Takes a session handed over by {@link #checkin}
+     */
+    private interface SessionWaiter<T> {
+        /**
+         * @return false if the waiter no longer needs a session
+         */
+        boolean offer(@NonNull T session);
+    }
+
+    private final ArrayDeque<T> idleSessions = new ArrayDeque<>();
+    private final ArrayDeque<SessionWaiter<T>> waiters = new ArrayDeque<>();
+    private final List<T> sessions = new ArrayList<>();
+    private final int maxSize;
+    private final SessionFactory<T> sessionFactory;
+
+    AttestedSessionPool(@NonNull T primarySession,
+                        int maxSize,
+                        @NonNull SessionFactory<T> sessionFactory) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Session pool size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.sessionFactory = sessionFactory;
+        sessions.add(primarySession);
+        idleSessions.push(primarySession);
+    }
+
+    /**
+     * Take an idle session, creating one if the pool is not full, or wait for one to be returned.
+     * <p>
+     * Sessions are created and registered under the pool lock, so {@link #getSessions()} never
+     * misses a session whose configuration was read from the primary session. Creating a session
+     * does not connect or attest it and must not lock the primary session.
+     */
+    @NonNull
+    synchronized T checkout() throws NetworkException {
+        while (idleSessions.isEmpty() && sessions.size() >= maxSize) {
+            try {
+                wait();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new NetworkException(NetworkResult.CANCELED, exception);
+            }
+        }
+        return takeSession();
+    }
+
+    /**
+     * Take an idle session, creating one if the pool is not full, or complete the future once a
+     * session is returned
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    CompletableFuture<T> checkoutAsync() {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        T session;
+        synchronized (this) {
+            if (idleSessions.isEmpty() && sessions.size() >= maxSize) {
+                // a cancelled future does not take the session
+                waiters.add(future::complete);
+                return future;
+            }
+            session = takeSession();
+        }
+        future.complete(session);
+        return future;
+    }
+
+    /**
+     * Return a session, it is handed to the first waiting asynchronous request outside of the
+     * pool lock since the request continues on this thread
+     */
+    void checkin(@NonNull T session) {
+        while (true) {
+            SessionWaiter<T> waiter;
+            synchronized (this) {
+                waiter = waiters.poll();
+                if (null == waiter) {
+                    idleSessions.push(session);
+                    notify();
+                    return;
+                }
+            }
+            if (waiter.offer(session)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Called with the pool lock held
+     */
+    @NonNull
+    private T takeSession() {
+        if (!idleSessions.isEmpty()) {
+            return idleSessions.pop();
+        }
+        T session = sessionFactory.create();
+        sessions.add(session);
+        return session;
+    }
+
+    /**
+     * @return all sessions created by the pool, including the ones in use
+     */
+    @NonNull
+    synchronized List<T> getSessions() {
+        return new ArrayList<>(sessions);
+    }
+}
@@ -2,8 +2,11 @@
 
 package com.mobilecoin.lib;
 
+import android.os.Build;
+
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
@@ -16,12 +19,16 @@ import com.mobilecoin.lib.network.NetworkResult;
 import com.mobilecoin.lib.network.TransportProtocol;
 import com.mobilecoin.lib.network.services.FogViewService;
 import com.mobilecoin.lib.network.services.transport.Transport;
+import com.mobilecoin.lib.util.AsyncCall;
 import com.mobilecoin.lib.util.NetworkingCall;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import attest.Attest;
 import fog_view.View;
+import report.ReportOuterClass;
 
 /**
  * Attested client for a Fog View service Attestation is done automatically by the parent class
@@ -39,9 +46,28 @@ class AttestedViewClient extends AttestedClient {
                        @NonNull Service serviceConfig,
                        @NonNull TransportProtocol transportProtocol) {
         super(loadBalancer, serviceConfig, transportProtocol);
+        createSessionPool(serviceConfig.getSessionPoolSize(),
+                () -> new AttestedViewClient(this));
         Logger.i(TAG, "Created new AttestedViewClient", null,
                 "loadBalancer:", loadBalancer,
-                "verifier:", serviceConfig);
+                "verifier:", serviceConfig,
+                "sessionPoolSize:", serviceConfig.getSessionPoolSize());
+    }
+
+    /**
+     * Creates a pooled session of {@code primaryClient}
+     */
+    private AttestedViewClient(@NonNull AttestedViewClient primaryClient) {
+        super(primaryClient);
+    }
+
+    /**
+     * Probes the fog endpoint with a report request, which does not require attestation
+     */
+    @Override
+    protected void probeEndpoint(@NonNull Transport transport) throws NetworkException {
+        getAPIManager().getFogReportService(transport)
+                .getReports(ReportOuterClass.ReportRequest.getDefaultInstance());
     }
 
     /**
@@ -66,7 +92,7 @@ class AttestedViewClient extends AttestedClient {
         try {
             Logger.i(TAG, "Attest view connection");
             byte[] requestBytes = attestStart(getCurrentServiceUri());
-            FogViewService fogViewService = getAPIManager().getFogViewService(getNetworkTransport());
+            FogViewService fogViewService = getAPIManager().getFogViewService(transport);
             ByteString bytes = ByteString.copyFrom(requestBytes);
             Attest.AuthMessage authMessage = Attest.AuthMessage.newBuilder().setData(bytes).build();
             Attest.AuthMessage response = fogViewService.auth(authMessage);
@@ -90,17 +116,86 @@ class AttestedViewClient extends AttestedClient {
         }
     }
 
+    @Override
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    protected CompletableFuture<Attest.AuthMessage> authAsync(
+            @NonNull Transport transport,
+            @NonNull Attest.AuthMessage authMessage
+    ) {
+        FogViewService fogViewService = getAPIManager().getFogViewService(transport);
+        return callService(callback -> fogViewService.authAsync(authMessage, callback));
+    }
+
     /**
      * Fog enclave request to query RNG seeds and TxOuts
      *
      * @param getTxosKexRngOutputs (optional) list of search keys to query
      */
     @NonNull
-    synchronized View.QueryResponse request(
+    View.QueryResponse request(
             @Nullable List<byte[]> getTxosKexRngOutputs, long lastKnownEventId, long lastKnownBlockIndex
     ) throws InvalidFogResponse, AttestationException, NetworkException {
+        AttestedViewClient session = (AttestedViewClient) checkoutSession();
+        try {
+            return session.requestOnSession(getTxosKexRngOutputs, lastKnownEventId,
+                    lastKnownBlockIndex);
+        } finally {
+            checkinSession(session);
+        }
+    }
+
+    /**
+     * Asynchronous {@link #request}, sent once a session of the pool is idle
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    CompletableFuture<View.QueryResponse> requestAsync(
+            @Nullable List<byte[]> getTxosKexRngOutputs, long lastKnownEventId, long lastKnownBlockIndex
+    ) {
+        return runOnSessionAsync((AttestedViewClient session) -> session.requestOnSessionAsync(
+                getTxosKexRngOutputs, lastKnownEventId, lastKnownBlockIndex));
+    }
+
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    private CompletableFuture<View.QueryResponse> requestOnSessionAsync(
+            @Nullable List<byte[]> getTxosKexRngOutputs, long lastKnownEventId, long lastKnownBlockIndex
+    ) {
+        View.QueryRequest request = createQueryRequest(getTxosKexRngOutputs);
+        View.QueryRequestAAD aadRequest = createQueryRequestAAD(lastKnownEventId,
+                lastKnownBlockIndex);
+        return createAsyncNetworkingCall("fog_view.query", true, request, transport -> {
+            FogViewService fogViewService = getAPIManager().getFogViewService(transport);
+            Attest.Message message = encryptMessage(request, aadRequest);
+            return callService((ServiceCall<Attest.Message>) callback ->
+                    fogViewService.queryAsync(message, callback)).thenApply(encryptedResponse -> {
+                        try {
+                            return View.QueryResponse.parseFrom(
+                                    decryptMessageData(encryptedResponse));
+                        } catch (InvalidProtocolBufferException exception) {
+                            InvalidFogResponse invalidFogResponse = new InvalidFogResponse(
+                                    "View response contains invalid data", exception);
+                            Util.logException(TAG, invalidFogResponse);
+                            throw new CompletionException(invalidFogResponse);
+                        } catch (AttestationException exception) {
+                            throw new CompletionException(exception);
+                        }
+                    });
+        }).run().whenComplete((response, error) -> {
+            if (null != error) {
+                Throwable cause = AsyncCall.unwrap(error);
+                if (cause instanceof Exception) {
+                    onSessionError((Exception) cause);
+                    Util.logException(TAG, (Exception) cause);
+                }
+            }
+        });
+    }
+
+    @NonNull
+    private static View.QueryRequest createQueryRequest(@Nullable List<byte[]> getTxosKexRngOutputs) {
         View.QueryRequest.Builder requestBuilder = View.QueryRequest.newBuilder();
-        View.QueryRequestAAD.Builder aadRequestBuilder = View.QueryRequestAAD.newBuilder();
         if (getTxosKexRngOutputs != null) {
             Logger.i(TAG, "Requesting outputs from fog view", null,
                     "search keys count:", getTxosKexRngOutputs.size());
@@ -108,28 +203,45 @@ class AttestedViewClient extends AttestedClient {
                 requestBuilder.addGetTxos(ByteString.copyFrom(kexRngOutput));
             }
         }
-        aadRequestBuilder.setStartFromUserEventId(lastKnownEventId);
-        aadRequestBuilder.setStartFromBlockIndex(lastKnownBlockIndex);
-
-        NetworkingCall<View.QueryResponse> networkingCall = new NetworkingCall<>(() -> {
-            try {
-                FogViewService fogViewService = getAPIManager().getFogViewService(getNetworkTransport());
-                Attest.Message message = encryptMessage(requestBuilder.build(), aadRequestBuilder.build());
-                Attest.Message encryptedResponse = fogViewService.query(message);
-                Attest.Message response = decryptMessage(encryptedResponse);
-                View.QueryResponse queryResponse = View.QueryResponse.parseFrom(response.getData());
-                return queryResponse;
-            } catch (InvalidProtocolBufferException exception) {
-                InvalidFogResponse invalidFogResponse = new InvalidFogResponse("View response " +
-                        "contains invalid data", exception);
-                Util.logException(TAG, invalidFogResponse);
-                throw invalidFogResponse;
-            }
-        });
+        return requestBuilder.build();
+    }
+
+    @NonNull
+    private static View.QueryRequestAAD createQueryRequestAAD(long lastKnownEventId,
+                                                              long lastKnownBlockIndex) {
+        return View.QueryRequestAAD.newBuilder()
+                .setStartFromUserEventId(lastKnownEventId)
+                .setStartFromBlockIndex(lastKnownBlockIndex)
+                .build();
+    }
+
+    @NonNull
+    private synchronized View.QueryResponse requestOnSession(
+            @Nullable List<byte[]> getTxosKexRngOutputs, long lastKnownEventId, long lastKnownBlockIndex
+    ) throws InvalidFogResponse, AttestationException, NetworkException {
+        View.QueryRequest request = createQueryRequest(getTxosKexRngOutputs);
+        View.QueryRequestAAD aadRequest = createQueryRequestAAD(lastKnownEventId,
+                lastKnownBlockIndex);
+
+        NetworkingCall<View.QueryResponse> networkingCall =
+                createNetworkingCall("fog_view.query", true, request, () -> {
+                    try {
+                        FogViewService fogViewService =
+                                getAPIManager().getFogViewService(getNetworkTransport());
+                        Attest.Message message = encryptMessage(request, aadRequest);
+                        Attest.Message encryptedResponse = fogViewService.query(message);
+                        return View.QueryResponse.parseFrom(decryptMessageData(encryptedResponse));
+                    } catch (InvalidProtocolBufferException exception) {
+                        InvalidFogResponse invalidFogResponse = new InvalidFogResponse(
+                                "View response contains invalid data", exception);
+                        Util.logException(TAG, invalidFogResponse);
+                        throw invalidFogResponse;
+                    }
+                });
         try {
             return networkingCall.run();
         } catch (InvalidFogResponse | AttestationException | NetworkException | RuntimeException exception) {
-            attestReset();
+            onSessionError(exception);
             Util.logException(TAG, exception);
             throw exception;
         } catch (Exception exception) {
@@ -1,6 +1,9 @@
 package com.mobilecoin.lib;
 
+import android.os.Build;
+
 import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
 
 import com.google.protobuf.Empty;
 import com.mobilecoin.lib.ClientConfig.Service;
@@ -9,9 +12,11 @@ import com.mobilecoin.lib.exceptions.NetworkException;
 import com.mobilecoin.lib.log.Logger;
 import com.mobilecoin.lib.network.TransportProtocol;
 import com.mobilecoin.lib.network.services.BlockchainService;
+import com.mobilecoin.lib.network.services.transport.Transport;
 import com.mobilecoin.lib.util.NetworkingCall;
 
 import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
 
 import consensus_common.ConsensusCommon;
 
@@ -39,6 +44,15 @@ class BlockchainClient extends AnyClient {
         this.minimumFeeCacheTTL_ms = minimumFeeCacheTTL_ms;
     }
 
+    /**
+     * Probes the consensus endpoint with a last block info request
+     */
+    @Override
+    protected void probeEndpoint(@NonNull Transport transport) throws NetworkException {
+        getAPIManager().getBlockchainService(transport)
+                .getLastBlockInfo(Empty.getDefaultInstance());
+    }
+
     /**
      * Fetch or return cached current minimal fee for a specified token
      *
@@ -47,7 +61,25 @@ class BlockchainClient extends AnyClient {
     @NonNull
     Amount getOrFetchMinimumFee(@NonNull TokenId tokenId) throws NetworkException {
         Logger.i(TAG, "Checking minimum network fee for " + tokenId);
-        ConsensusCommon.LastBlockInfoResponse response = getOrFetchLastBlockInfo();
+        return getMinimumFee(getOrFetchLastBlockInfo(), tokenId);
+    }
+
+    /**
+     * Asynchronous {@link #getOrFetchMinimumFee}
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    CompletableFuture<Amount> getOrFetchMinimumFeeAsync(@NonNull TokenId tokenId) {
+        Logger.i(TAG, "Checking minimum network fee for " + tokenId);
+        return getOrFetchLastBlockInfoAsync()
+                .thenApply(response -> getMinimumFee(response, tokenId));
+    }
+
+    @NonNull
+    private static Amount getMinimumFee(
+            @NonNull ConsensusCommon.LastBlockInfoResponse response,
+            @NonNull TokenId tokenId
+    ) {
         if((!tokenId.equals(TokenId.MOB)) && (response.getNetworkBlockVersion() < TOKEN_ID_BLOCK_VERSION)) {
             throw(new IllegalArgumentException("Network block version does not support different tokens"));
         }
@@ -97,6 +129,29 @@ class BlockchainClient extends AnyClient {
         return lastBlockInfo;
     }
 
+    /**
+     * Asynchronous {@link #getOrFetchLastBlockInfo}, concurrent refreshes of an out-of-date
+     * cache are not coalesced
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    CompletableFuture<ConsensusCommon.LastBlockInfoResponse> getOrFetchLastBlockInfoAsync() {
+        synchronized (this) {
+            if (lastBlockInfo != null &&
+                    lastBlockInfoTimestamp_ms + minimumFeeCacheTTL_ms > System.currentTimeMillis()) {
+                return CompletableFuture.completedFuture(lastBlockInfo);
+            }
+        }
+        Logger.i(TAG, "Out-of-date block info cache, refreshing...");
+        return fetchLastBlockInfoAsync().thenApply(response -> {
+            synchronized (this) {
+                lastBlockInfo = response;
+                lastBlockInfoTimestamp_ms = System.currentTimeMillis();
+            }
+            return response;
+        });
+    }
+
     /**
      * Fetch last block info
      */
@@ -104,29 +159,51 @@ class BlockchainClient extends AnyClient {
     ConsensusCommon.LastBlockInfoResponse fetchLastBlockInfo()
             throws NetworkException {
         Logger.i(TAG, "Fetching last block info via Blockchain API");
-        NetworkingCall<ConsensusCommon.LastBlockInfoResponse> networkingCall;
-        try {
-            BlockchainService blockchainService =
-                    getAPIManager().getBlockchainService(getNetworkTransport());
-            networkingCall = new NetworkingCall<>(() -> {
-                try {
-                    return blockchainService.getLastBlockInfo(Empty.newBuilder().build());
-                } catch (NetworkException exception) {
-                    Logger.w(TAG, "Unable to fetch block info from consensus", exception);
-                    throw exception;
-                }
-            });
-        } catch (AttestationException exception) {
-            throw new IllegalStateException("BUG", exception);
-        }
+        Empty request = Empty.getDefaultInstance();
+        NetworkingCall<ConsensusCommon.LastBlockInfoResponse> networkingCall =
+                createNetworkingCall("blockchain.get_last_block_info", true, request, () -> {
+                    try {
+                        BlockchainService blockchainService =
+                                getAPIManager().getBlockchainService(getNetworkTransport());
+                        return blockchainService.getLastBlockInfo(request);
+                    } catch (NetworkException exception) {
+                        Logger.w(TAG, "Unable to fetch block info from consensus", exception);
+                        throw exception;
+                    }
+                });
         ConsensusCommon.LastBlockInfoResponse response;
         try {
             response = networkingCall.run();
         } catch (NetworkException | RuntimeException exception) {
             throw exception;
+        } catch (AttestationException exception) {
+            throw new IllegalStateException("BUG", exception);
         } catch (Exception exception) {
             throw new IllegalStateException("BUG: unreachable code");
         }
         return response;
     }
+
+    /**
+     * Asynchronous {@link #fetchLastBlockInfo}
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    CompletableFuture<ConsensusCommon.LastBlockInfoResponse> fetchLastBlockInfoAsync() {
+        Logger.i(TAG, "Fetching last block info via Blockchain API");
+        Empty request = Empty.getDefaultInstance();
+        return createAsyncNetworkingCall("blockchain.get_last_block_info", true, request,
+                transport -> {
+                    BlockchainService blockchainService =
+                            getAPIManager().getBlockchainService(transport);
+                    return callService((ServiceCall<ConsensusCommon.LastBlockInfoResponse>)
+                            callback -> blockchainService.getLastBlockInfoAsync(request, callback))
+                            .whenComplete((response, error) -> {
+                                if (null != error) {
+                                    Logger.w(TAG, "Unable to fetch block info from consensus",
+                                            error);
+                                }
+                            });
+                }).run();
+    }
 }
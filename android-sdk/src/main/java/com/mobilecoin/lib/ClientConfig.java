@@ -7,10 +7,15 @@ import androidx.annotation.Nullable;
 
 import com.mobilecoin.lib.exceptions.AttestationException;
 import com.mobilecoin.lib.log.LogAdapter;
+import com.mobilecoin.lib.metrics.MetricsAdapter;
+import com.mobilecoin.lib.trace.SpanExporter;
+import com.mobilecoin.lib.util.CircuitBreaker;
+import com.mobilecoin.lib.util.NetworkingCall;
 
 import java.security.cert.X509Certificate;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * This class provides configuration for MobileCoinClient
@@ -22,8 +27,26 @@ public final class ClientConfig {
     public Service consensus;
     public StorageAdapter storageAdapter;
     public LogAdapter logAdapter;
+    // receives service call, native call and sync metrics, metrics are not collected if null
+    public MetricsAdapter metricsAdapter;
+    // receives spans of refresh, prepare, submit and defragmentation, tracing is off if null
+    public SpanExporter spanExporter;
     // default minimum fee cache TTL is 30 minutes
     public long minimumFeeCacheTTLms = 1800000L;
+    // executor the asynchronous client API processes Fog responses on, i.e. decrypts TxOuts, no
+    // thread waits for a response; the shared AsyncCall executor is used if null
+    public Executor asyncExecutor;
+    // delay before a transaction proposal is hedged to another consensus node,
+    // 0 proposes to all hedge nodes at once, a negative value disables hedging
+    public long consensusHedgeDelayMs = -1L;
+    // maximum number of consensus nodes a hedged transaction is proposed to
+    public int consensusHedgeNodes = 2;
+    // persist the TxOutStore as a snapshot followed by incremental journal entries,
+    // see MobileCoinClient#cacheUserData()
+    public boolean journaledStorage = false;
+    // TxOuts spent more than this many blocks ago move to a cold tier which balance, key image
+    // and transaction paths skip, see MobileCoinClient#getColdTxOuts; disabled if negative
+    public long coldTierSpentBlocks = -1L;
 
     /**
      * Service Configuration
@@ -31,6 +54,11 @@ public final class ClientConfig {
     public static final class Service {
         private TrustedIdentities trustedIdentities;
         private Set<X509Certificate> trustRoots;
+        private NetworkingCall.RetryPolicy retryPolicy;
+        private int circuitBreakerFailureThreshold;
+        private long circuitBreakerOpenDurationMs;
+        private long healthCheckIntervalMs;
+        private int sessionPoolSize = 1;
 
         /***
          * Sets TrustedIdentities for this {@link Service}
@@ -65,6 +93,95 @@ public final class ClientConfig {
             return this;
         }
 
+        /**
+         * Sets the policy used to retry and hedge the calls made to this {@link Service}
+         */
+        @NonNull
+        public Service withRetryPolicy(@NonNull NetworkingCall.RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * Enables per-endpoint circuit breakers for this {@link Service}. An endpoint is skipped
+         * for {@code openDurationMs} after {@code failureThreshold} consecutive server failures.
+         */
+        @NonNull
+        public Service withCircuitBreaker(int failureThreshold, long openDurationMs) {
+            if (failureThreshold < 1 || openDurationMs < 0) {
+                throw new IllegalArgumentException("Invalid circuit breaker parameters");
+            }
+            this.circuitBreakerFailureThreshold = failureThreshold;
+            this.circuitBreakerOpenDurationMs = openDurationMs;
+            return this;
+        }
+
+        /**
+         * Enables background health checks of the endpoints of this {@link Service}. The
+         * current endpoint is probed every {@code intervalMs} and a standby endpoint is kept
+         * ready; the client switches to it when the current endpoint degrades and repeats failed
+         * idempotent requests on it.
+         */
+        @NonNull
+        public Service withHealthCheckInterval(long intervalMs) {
+            if (intervalMs <= 0) {
+                throw new IllegalArgumentException("Health check interval must be positive");
+            }
+            this.healthCheckIntervalMs = intervalMs;
+            return this;
+        }
+
+        /**
+         * Get the health check interval, zero if health checks are disabled
+         */
+        public long getHealthCheckIntervalMs() {
+            return healthCheckIntervalMs;
+        }
+
+        /**
+         * Sets the number of independently attested sessions an attested {@link Service} may
+         * use, which is the number of its requests that can run in parallel. Sessions are
+         * attested on demand.
+         */
+        @NonNull
+        public Service withSessionPoolSize(int sessionPoolSize) {
+            if (sessionPoolSize < 1) {
+                throw new IllegalArgumentException("Session pool size must be positive");
+            }
+            this.sessionPoolSize = sessionPoolSize;
+            return this;
+        }
+
+        /**
+         * Get the maximum number of attested sessions, one unless configured otherwise
+         */
+        public int getSessionPoolSize() {
+            return sessionPoolSize;
+        }
+
+        /**
+         * Get the retry policy, the legacy single attempt policy is used if none is set
+         */
+        @NonNull
+        public NetworkingCall.RetryPolicy getRetryPolicy() {
+            if (null == retryPolicy) {
+                return new NetworkingCall.DefaultRetryPolicy();
+            }
+            return retryPolicy;
+        }
+
+        /**
+         * Create a circuit breaker for a new endpoint or null if circuit breaking is disabled
+         */
+        @Nullable
+        CircuitBreaker createCircuitBreaker() {
+            if (circuitBreakerFailureThreshold < 1) {
+                return null;
+            }
+            return new CircuitBreaker(circuitBreakerFailureThreshold,
+                    circuitBreakerOpenDurationMs);
+        }
+
         /**
          * Get current attestation verifier
          */
@@ -98,6 +98,21 @@ final class ClientKexRng extends Native implements Parcelable {
         }
     }
 
+    /**
+     * Releases the native RNG without waiting for finalization, the instance must not be used
+     * afterwards
+     */
+    synchronized void free() {
+        if (rustObj != 0) {
+            try {
+                finalize_jni();
+            } catch (Exception exception) {
+                Logger.e(TAG, "Unable to free ClientKexRng", exception);
+            }
+            rustObj = 0;
+        }
+    }
+
     @Override
     protected void finalize() throws Throwable {
         if (rustObj != 0) {
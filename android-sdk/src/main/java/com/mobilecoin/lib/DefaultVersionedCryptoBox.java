@@ -19,14 +19,20 @@ public class DefaultVersionedCryptoBox extends Native implements VersionedCrypto
     @Override
     public byte[] versionedCryptoBoxDecrypt(@NonNull RistrettoPrivate viewKey,
                                             @NonNull byte[] cipherText) throws InvalidFogResponse {
-        Logger.d(TAG, "Decrypting with view key", null,
-                "viewKey public:", viewKey.getPublicKey());
+        if (Logger.isLoggable(Logger.Level.DEBUG, TAG)) {
+            Logger.d(TAG, "Decrypting with view key", null,
+                    "viewKey public:", viewKey.getPublicKey());
+        }
+        long callStart = NativeCallMetrics.start();
         try {
-            return versioned_crypto_box_decrypt(
+            byte[] plainText = versioned_crypto_box_decrypt(
                     viewKey,
                     cipherText
             );
+            NativeCallMetrics.record("versioned_crypto_box_decrypt", callStart, cipherText.length);
+            return plainText;
         } catch (Exception ex) {
+            NativeCallMetrics.recordFailure("versioned_crypto_box_decrypt", callStart);
             throw new InvalidFogResponse(ex.getLocalizedMessage(), ex);
         }
     }
@@ -35,10 +41,19 @@ public class DefaultVersionedCryptoBox extends Native implements VersionedCrypto
     @NonNull
     public byte[] versionedCryptoBoxEncrypt(@NonNull RistrettoPublic key,
                                             @NonNull byte[] plainText) {
-        return versioned_crypto_box_encrypt(
-                key,
-                plainText
-        );
+        long callStart = NativeCallMetrics.start();
+        byte[] cipherText;
+        try {
+            cipherText = versioned_crypto_box_encrypt(
+                    key,
+                    plainText
+            );
+        } catch (RuntimeException exception) {
+            NativeCallMetrics.recordFailure("versioned_crypto_box_encrypt", callStart);
+            throw exception;
+        }
+        NativeCallMetrics.record("versioned_crypto_box_encrypt", callStart, plainText.length);
+        return cipherText;
     }
 
     @NonNull
@@ -5,6 +5,7 @@ import android.os.Parcel;
 import androidx.annotation.NonNull;
 
 import com.mobilecoin.lib.exceptions.InvalidTxOutMemoException;
+import com.mobilecoin.lib.exceptions.SerializationException;
 
 import java.util.Objects;
 
@@ -73,6 +74,30 @@ public final class DestinationMemo extends TxOutMemo {
     parcel.writeParcelable(destinationMemoData, flags);
   }
 
+  DestinationMemo(@NonNull TxOutStoreFormat.Reader reader) throws SerializationException {
+    super(TxOutMemoType.DESTINATION);
+    validated = reader.readBoolean();
+    AddressHash addressHash = TxOutMemo.readAddressHash(reader);
+    int numberOfRecipients = reader.readInt();
+    UnsignedLong fee = reader.readUnsignedLong();
+    UnsignedLong totalOutlay = reader.readUnsignedLong();
+    destinationMemoData = DestinationMemoData.create(
+      addressHash,
+      numberOfRecipients,
+      fee,
+      totalOutlay
+    );
+  }
+
+  @Override
+  void writeTo(@NonNull TxOutStoreFormat.Writer writer) {
+    writer.writeBoolean(validated);
+    TxOutMemo.writeAddressHash(writer, destinationMemoData.getAddressHash());
+    writer.writeInt(destinationMemoData.getNumberOfRecipients());
+    writer.writeUnsignedLong(destinationMemoData.getFee());
+    writer.writeUnsignedLong(destinationMemoData.getTotalOutlay());
+  }
+
   public static Creator<DestinationMemo> CREATOR = new Creator<DestinationMemo>() {
     @Override
     public DestinationMemo createFromParcel(@NonNull Parcel parcel) {
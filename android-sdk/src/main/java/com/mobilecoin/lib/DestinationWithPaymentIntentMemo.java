@@ -5,6 +5,7 @@ import android.os.Parcel;
 import androidx.annotation.NonNull;
 
 import com.mobilecoin.lib.exceptions.InvalidTxOutMemoException;
+import com.mobilecoin.lib.exceptions.SerializationException;
 
 import java.util.Objects;
 
@@ -98,6 +99,32 @@ public final class DestinationWithPaymentIntentMemo extends TxOutMemo {
         parcel.writeParcelable(destinationWithPaymentIntentMemoData, flags);
     }
 
+    DestinationWithPaymentIntentMemo(@NonNull TxOutStoreFormat.Reader reader) throws SerializationException {
+        super(TxOutMemoType.DESTINATION_WITH_PAYMENT_INTENT);
+        validated = reader.readBoolean();
+        AddressHash addressHash = TxOutMemo.readAddressHash(reader);
+        int numberOfRecipients = reader.readInt();
+        UnsignedLong fee = reader.readUnsignedLong();
+        UnsignedLong totalOutlay = reader.readUnsignedLong();
+        destinationWithPaymentIntentMemoData = DestinationWithPaymentIntentMemoData.create(
+            addressHash,
+            numberOfRecipients,
+            fee,
+            totalOutlay,
+            reader.readUnsignedLong()
+        );
+    }
+
+    @Override
+    void writeTo(@NonNull TxOutStoreFormat.Writer writer) {
+        writer.writeBoolean(validated);
+        TxOutMemo.writeAddressHash(writer, destinationWithPaymentIntentMemoData.getAddressHash());
+        writer.writeInt(destinationWithPaymentIntentMemoData.getNumberOfRecipients());
+        writer.writeUnsignedLong(destinationWithPaymentIntentMemoData.getFee());
+        writer.writeUnsignedLong(destinationWithPaymentIntentMemoData.getTotalOutlay());
+        writer.writeUnsignedLong(destinationWithPaymentIntentMemoData.getPaymentIntentId());
+    }
+
     public static Creator<DestinationWithPaymentIntentMemo> CREATOR = new Creator<DestinationWithPaymentIntentMemo>() {
         @Override
         public DestinationWithPaymentIntentMemo createFromParcel(@NonNull Parcel parcel) {
@@ -5,6 +5,7 @@ import android.os.Parcel;
 import androidx.annotation.NonNull;
 
 import com.mobilecoin.lib.exceptions.InvalidTxOutMemoException;
+import com.mobilecoin.lib.exceptions.SerializationException;
 
 import java.util.Objects;
 
@@ -98,6 +99,32 @@ public final class DestinationWithPaymentRequestMemo extends TxOutMemo {
         parcel.writeParcelable(destinationWithPaymentRequestMemoData, flags);
     }
 
+    DestinationWithPaymentRequestMemo(@NonNull TxOutStoreFormat.Reader reader) throws SerializationException {
+        super(TxOutMemoType.DESTINATION_WITH_PAYMENT_REQUEST);
+        validated = reader.readBoolean();
+        AddressHash addressHash = TxOutMemo.readAddressHash(reader);
+        int numberOfRecipients = reader.readInt();
+        UnsignedLong fee = reader.readUnsignedLong();
+        UnsignedLong totalOutlay = reader.readUnsignedLong();
+        destinationWithPaymentRequestMemoData = DestinationWithPaymentRequestMemoData.create(
+            addressHash,
+            numberOfRecipients,
+            fee,
+            totalOutlay,
+            reader.readUnsignedLong()
+        );
+    }
+
+    @Override
+    void writeTo(@NonNull TxOutStoreFormat.Writer writer) {
+        writer.writeBoolean(validated);
+        TxOutMemo.writeAddressHash(writer, destinationWithPaymentRequestMemoData.getAddressHash());
+        writer.writeInt(destinationWithPaymentRequestMemoData.getNumberOfRecipients());
+        writer.writeUnsignedLong(destinationWithPaymentRequestMemoData.getFee());
+        writer.writeUnsignedLong(destinationWithPaymentRequestMemoData.getTotalOutlay());
+        writer.writeUnsignedLong(destinationWithPaymentRequestMemoData.getPaymentRequestId());
+    }
+
     public static Creator<DestinationWithPaymentRequestMemo> CREATOR = new Creator<DestinationWithPaymentRequestMemo>() {
         @Override
         public DestinationWithPaymentRequestMemo createFromParcel(@NonNull Parcel parcel) {
@@ -0,0 +1,224 @@
+package com.mobilecoin.lib;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import com.mobilecoin.lib.log.Logger;
+import com.mobilecoin.lib.network.uri.MobileCoinUri;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Chooses service {@link MobileCoinUri}s based on the observed latency and error rate of each
+ * endpoint.
+ * <p>
+ * Latencies and error rates are tracked as exponentially weighted moving averages. Each selection
+ * compares two random endpoints and picks the cheaper one, which shifts traffic away from slow
+ * endpoints without sending all clients to the same one. Endpoints without a latency sample are
+ * assumed to be as fast as the average endpoint, so they get traffic until they are measured but
+ * still pay for their errors. Endpoints that fail repeatedly are
+ * ejected for a period that doubles on each ejection; once readmitted their share of the traffic
+ * ramps up gradually.
+ */
+public final class EwmaLoadBalancer implements LoadBalancer {
+
+  private static final String TAG = EwmaLoadBalancer.class.getName();
+  private static final double LATENCY_DECAY = 0.3;
+  private static final double ERROR_DECAY = 0.2;
+  // an error rate of 100% makes an endpoint look this many times slower
+  private static final double ERROR_PENALTY = 10.0;
+  private static final int EJECTION_FAILURE_THRESHOLD = 3;
+  private static final long BASE_EJECTION_MS = 5_000L;
+  private static final long MAX_EJECTION_MS = 5 * 60_000L;
+  private static final long READMISSION_RAMP_MS = 30_000L;
+  private static final double MIN_READMISSION_WEIGHT = 0.1;
+
+  private final List<MobileCoinUri> serviceUris;
+  private final Map<MobileCoinUri, EndpointStats> stats;
+  private final Random random;
+  private final Clock clock;
+
+  public static EwmaLoadBalancer create(@NonNull MobileCoinUri serviceUri) {
+    return new EwmaLoadBalancer(Collections.singletonList(serviceUri), new Random(),
+        System::currentTimeMillis);
+  }
+
+  public static EwmaLoadBalancer create(@NonNull List<MobileCoinUri> serviceUris) {
+    if (serviceUris.isEmpty()) {
+      throw new IllegalArgumentException("Service uris is empty.");
+    }
+    return new EwmaLoadBalancer(serviceUris, new Random(), System::currentTimeMillis);
+  }
+
+  @VisibleForTesting
+  EwmaLoadBalancer(@NonNull List<MobileCoinUri> serviceUris,
+                   @NonNull Random random,
+                   @NonNull Clock clock) {
+    this.serviceUris = Collections.unmodifiableList(new ArrayList<>(serviceUris));
+    this.random = random;
+    this.clock = clock;
+    this.stats = new HashMap<>();
+    for (MobileCoinUri serviceUri : this.serviceUris) {
+      stats.put(serviceUri, new EndpointStats());
+    }
+  }
+
+  @Override
+  public synchronized MobileCoinUri getNextServiceUri() {
+    if (serviceUris.size() == 1) {
+      return serviceUris.get(0);
+    }
+    long nowMs = clock.currentTimeMillis();
+    List<MobileCoinUri> candidates = new ArrayList<>(serviceUris.size());
+    MobileCoinUri nextToReadmit = null;
+    long nextReadmissionMs = Long.MAX_VALUE;
+    for (MobileCoinUri serviceUri : serviceUris) {
+      EndpointStats endpointStats = stats.get(serviceUri);
+      if (endpointStats.isEjected(nowMs)) {
+        if (endpointStats.ejectedUntilMs < nextReadmissionMs) {
+          nextReadmissionMs = endpointStats.ejectedUntilMs;
+          nextToReadmit = serviceUri;
+        }
+      } else {
+        candidates.add(serviceUri);
+      }
+    }
+    if (candidates.isEmpty()) {
+      // every endpoint is ejected, the one readmitted first is the best guess
+      return nextToReadmit;
+    }
+    if (candidates.size() == 1) {
+      return candidates.get(0);
+    }
+    int first = random.nextInt(candidates.size());
+    int second = random.nextInt(candidates.size() - 1);
+    if (second >= first) {
+      second++;
+    }
+    MobileCoinUri firstUri = candidates.get(first);
+    MobileCoinUri secondUri = candidates.get(second);
+    double defaultLatencyNanos = getMeanLatencyNanos();
+    return stats.get(firstUri).getCost(nowMs, defaultLatencyNanos)
+        <= stats.get(secondUri).getCost(nowMs, defaultLatencyNanos)
+        ? firstUri
+        : secondUri;
+  }
+
+  /**
+   * @return the mean latency of the measured endpoints or 1 if none has been measured
+   */
+  private double getMeanLatencyNanos() {
+    double totalLatencyNanos = 0.0;
+    int measuredCount = 0;
+    for (EndpointStats endpointStats : stats.values()) {
+      if (endpointStats.hasLatency) {
+        totalLatencyNanos += endpointStats.latencyNanos;
+        measuredCount++;
+      }
+    }
+    return (measuredCount > 0) ? Math.max(1.0, totalLatencyNanos / measuredCount) : 1.0;
+  }
+
+  @Override
+  public synchronized void onRequestSucceeded(@NonNull MobileCoinUri serviceUri,
+                                              long latencyNanos) {
+    EndpointStats endpointStats = stats.get(serviceUri);
+    if (null == endpointStats) {
+      return;
+    }
+    endpointStats.onSuccess(Math.max(0L, latencyNanos), clock.currentTimeMillis());
+  }
+
+  @Override
+  public synchronized void onRequestFailed(@NonNull MobileCoinUri serviceUri) {
+    EndpointStats endpointStats = stats.get(serviceUri);
+    if (null == endpointStats) {
+      return;
+    }
+    long nowMs = clock.currentTimeMillis();
+    if (endpointStats.onFailure(nowMs)) {
+      Logger.w(TAG, "Ejecting service endpoint", null,
+          "uri:", serviceUri.getUri(),
+          "ejection ms:", endpointStats.ejectedUntilMs - nowMs);
+    }
+  }
+
+  @VisibleForTesting
+  synchronized boolean isEjected(@NonNull MobileCoinUri serviceUri) {
+    return stats.get(serviceUri).isEjected(clock.currentTimeMillis());
+  }
+
+  @VisibleForTesting
+  interface Clock {
+    long currentTimeMillis();
+  }
+
+  private static final class EndpointStats {
+    private double latencyNanos;
+    private boolean hasLatency;
+    private double errorRate;
+    private int consecutiveFailures;
+    private int ejectionCount;
+    private long ejectedUntilMs;
+
+    boolean isEjected(long nowMs) {
+      return nowMs < ejectedUntilMs;
+    }
+
+    boolean isReadmitting(long nowMs) {
+      return ejectionCount > 0 && !isEjected(nowMs)
+          && nowMs - ejectedUntilMs < READMISSION_RAMP_MS;
+    }
+
+    /**
+     * @param defaultLatencyNanos latency of an endpoint that has not responded yet, errors make
+     *                            an endpoint expensive whether or not it was ever measured
+     */
+    double getCost(long nowMs, double defaultLatencyNanos) {
+      double cost = (hasLatency ? latencyNanos : defaultLatencyNanos)
+          * (1.0 + ERROR_PENALTY * errorRate);
+      if (isReadmitting(nowMs)) {
+        // readmitted endpoints look more expensive until the ramp is over
+        double weight = Math.max(MIN_READMISSION_WEIGHT,
+            Math.min(1.0, (double) (nowMs - ejectedUntilMs) / READMISSION_RAMP_MS));
+        cost = Math.max(cost, 1.0) / weight;
+      }
+      return cost;
+    }
+
+    void onSuccess(long sampleNanos, long nowMs) {
+      latencyNanos = hasLatency
+          ? LATENCY_DECAY * sampleNanos + (1.0 - LATENCY_DECAY) * latencyNanos
+          : sampleNanos;
+      hasLatency = true;
+      errorRate = (1.0 - ERROR_DECAY) * errorRate;
+      consecutiveFailures = 0;
+      if (ejectionCount > 0 && !isEjected(nowMs) && !isReadmitting(nowMs)) {
+        ejectionCount = 0;
+      }
+    }
+
+    /**
+     * @return whether the endpoint has been ejected
+     */
+    boolean onFailure(long nowMs) {
+      errorRate = ERROR_DECAY + (1.0 - ERROR_DECAY) * errorRate;
+      // a readmitted endpoint is ejected again on its first failure
+      int failureThreshold = isReadmitting(nowMs) ? 1 : EJECTION_FAILURE_THRESHOLD;
+      if (isEjected(nowMs) || ++consecutiveFailures < failureThreshold) {
+        return false;
+      }
+      long ejectionMs = Math.min(MAX_EJECTION_MS,
+          BASE_EJECTION_MS << Math.min(ejectionCount, 16));
+      ejectionCount++;
+      consecutiveFailures = 0;
+      ejectedUntilMs = nowMs + ejectionMs;
+      return true;
+    }
+  }
+}
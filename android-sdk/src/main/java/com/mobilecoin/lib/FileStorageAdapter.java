@@ -0,0 +1,376 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.mobilecoin.lib.log.Logger;
+import com.mobilecoin.lib.util.Hex;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.CRC32;
+
+/**
+ * {@link StorageAdapter} which keeps each value in its own file in the provided directory.
+ * <p>
+ * Values are written to a temporary file which is synced and atomically renamed over the
+ * previous value, so a crash leaves either the old or the new value in place. Each file starts
+ * with a header holding the payload length and its CRC32 and values failing the check are
+ * treated as missing. Large values are memory-mapped and streamed without being copied.
+ * <pre>
+ * header  | magic:int version:int length:long crc32:long
+ * payload | value bytes
+ * </pre>
+ * Values are not encrypted, use a directory private to the application.
+ */
+public final class FileStorageAdapter implements StreamingStorageAdapter {
+    private final static String TAG = FileStorageAdapter.class.getName();
+    // "MCSV"
+    private static final int MAGIC = 0x4D435356;
+    private static final int VERSION = 1;
+    static final int HEADER_SIZE = 2 * Integer.BYTES + 2 * Long.BYTES;
+    // smaller values are cheaper to read than to map
+    static final int DEFAULT_MMAP_THRESHOLD = 64 * 1024;
+    private static final int CHECKSUM_CHUNK_SIZE = 8 * 1024;
+    private static final String VALUE_SUFFIX = ".value";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File directory;
+    private final int mmapThreshold;
+
+    /**
+     * @param directory directory for the value files, it is created if it does not exist
+     */
+    public FileStorageAdapter(@NonNull File directory) {
+        this(directory, DEFAULT_MMAP_THRESHOLD);
+    }
+
+    @VisibleForTesting
+    FileStorageAdapter(@NonNull File directory, int mmapThreshold) {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException("Unable to create the storage directory");
+        }
+        this.directory = directory;
+        this.mmapThreshold = mmapThreshold;
+        removeTempFiles();
+    }
+
+    /**
+     * Validates the value like {@link #get(String)} does, a corrupted value is reported as
+     * missing
+     */
+    @Override
+    public boolean has(String key) {
+        return null != readPayload(key);
+    }
+
+    @Override
+    public byte[] get(String key) {
+        ByteBuffer payload = readPayload(key);
+        if (null == payload) {
+            return null;
+        }
+        byte[] value = new byte[payload.remaining()];
+        payload.get(value);
+        return value;
+    }
+
+    @Override
+    public void set(String key, byte[] value) {
+        // closing the stream after a failed write deletes the temporary file
+        try (OutputStream outputStream = openOutputStream(key)) {
+            outputStream.write(value);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Unable to write the value to storage", exception);
+        }
+    }
+
+    @Override
+    public void clear(String key) {
+        File file = getValueFile(key);
+        if (file.exists() && !file.delete()) {
+            Logger.w(TAG, "Unable to delete the value file", null, "file:", file.getName());
+        }
+    }
+
+    @Nullable
+    @Override
+    public InputStream openInputStream(@NonNull String key) {
+        ByteBuffer payload = readPayload(key);
+        return (null != payload) ? new ByteBufferInputStream(payload) : null;
+    }
+
+    @NonNull
+    @Override
+    public OutputStream openOutputStream(@NonNull String key) throws IOException {
+        File valueFile = getValueFile(key);
+        File tempFile = File.createTempFile(valueFile.getName(), TEMP_SUFFIX, directory);
+        try {
+            return new ValueOutputStream(tempFile, valueFile);
+        } catch (IOException | RuntimeException exception) {
+            if (tempFile.exists() && !tempFile.delete()) {
+                Logger.w(TAG, "Unable to delete the temporary file", null,
+                        "file:", tempFile.getName());
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns the payload without copying it, large values are memory-mapped. Used by the SDK
+     * to parse stored values in place.
+     *
+     * @return read-only payload of a valid value or {@code null}
+     */
+    @Nullable
+    ByteBuffer getBuffer(@NonNull String key) {
+        return readPayload(key);
+    }
+
+    /**
+     * @return read-only payload of a valid value file or {@code null}
+     */
+    @Nullable
+    private ByteBuffer readPayload(@NonNull String key) {
+        File file = getValueFile(key);
+        if (!file.isFile()) {
+            return null;
+        }
+        ByteBuffer contents;
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            FileChannel channel = randomAccessFile.getChannel();
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                Logger.w(TAG, "Invalid value file size", null, "size:", size);
+                return null;
+            }
+            if (size >= mmapThreshold) {
+                // the mapping stays valid after the channel is closed or the file is replaced
+                contents = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                contents = ByteBuffer.allocate((int) size);
+                while (contents.hasRemaining()) {
+                    if (channel.read(contents) < 0) {
+                        return null;
+                    }
+                }
+                contents.flip();
+            }
+        } catch (IOException exception) {
+            Logger.w(TAG, "Unable to read the value file", exception);
+            return null;
+        }
+        contents.order(ByteOrder.BIG_ENDIAN);
+        int magic = contents.getInt();
+        int version = contents.getInt();
+        long length = contents.getLong();
+        long checksum = contents.getLong();
+        if (magic != MAGIC || version != VERSION || length != contents.remaining()) {
+            Logger.w(TAG, "Invalid value file header", null, "version:", version);
+            return null;
+        }
+        ByteBuffer payload = contents.slice();
+        CRC32 crc32 = new CRC32();
+        updateChecksum(crc32, payload.duplicate());
+        if (crc32.getValue() != checksum) {
+            Logger.w(TAG, "Value file checksum mismatch", null, "file:", file.getName());
+            return null;
+        }
+        return payload.asReadOnlyBuffer();
+    }
+
+    private static void updateChecksum(@NonNull CRC32 crc32, @NonNull ByteBuffer buffer) {
+        // CRC32#update(ByteBuffer) is not available on all supported API levels
+        if (buffer.hasArray()) {
+            crc32.update(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                    buffer.remaining());
+            return;
+        }
+        byte[] chunk = new byte[Math.min(CHECKSUM_CHUNK_SIZE, buffer.remaining())];
+        while (buffer.hasRemaining()) {
+            int length = Math.min(chunk.length, buffer.remaining());
+            buffer.get(chunk, 0, length);
+            crc32.update(chunk, 0, length);
+        }
+    }
+
+    /**
+     * Removes temporary files left by writes interrupted by a crash
+     */
+    private void removeTempFiles() {
+        File[] tempFiles = directory.listFiles((dir, name) -> name.endsWith(TEMP_SUFFIX));
+        if (null == tempFiles) {
+            return;
+        }
+        for (File tempFile : tempFiles) {
+            if (!tempFile.delete()) {
+                Logger.w(TAG, "Unable to delete the temporary file", null,
+                        "file:", tempFile.getName());
+            }
+        }
+    }
+
+    @VisibleForTesting
+    @NonNull
+    File getValueFile(@NonNull String key) {
+        try {
+            // keys may contain characters which are not valid in file names
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(key.getBytes(StandardCharsets.UTF_8));
+            return new File(directory, Hex.toString(hash) + VALUE_SUFFIX);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("BUG: SHA-256 is always available", exception);
+        }
+    }
+
+    /**
+     * Writes the payload to a temporary file, fills in the header and renames the file over the
+     * value when closed
+     */
+    private static final class ValueOutputStream extends OutputStream {
+        private final File tempFile;
+        private final File valueFile;
+        private final FileOutputStream fileOutputStream;
+        private final OutputStream outputStream;
+        private final CRC32 crc32 = new CRC32();
+        private long length;
+        private boolean isFailed;
+        private boolean isClosed;
+
+        ValueOutputStream(@NonNull File tempFile, @NonNull File valueFile) throws IOException {
+            this.tempFile = tempFile;
+            this.valueFile = valueFile;
+            this.fileOutputStream = new FileOutputStream(tempFile);
+            this.outputStream = new BufferedOutputStream(fileOutputStream);
+            try {
+                // the header is written once the payload length and checksum are known
+                outputStream.write(new byte[HEADER_SIZE]);
+            } catch (IOException exception) {
+                discard();
+                throw exception;
+            }
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            write(new byte[]{(byte) value}, 0, 1);
+        }
+
+        @Override
+        public void write(@NonNull byte[] buffer, int offset, int count) throws IOException {
+            if (isClosed) {
+                throw new IOException("Stream is closed");
+            }
+            try {
+                outputStream.write(buffer, offset, count);
+            } catch (IOException | RuntimeException exception) {
+                // the value is never committed after a failed write
+                isFailed = true;
+                throw exception;
+            }
+            crc32.update(buffer, offset, count);
+            length += count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            if (isFailed) {
+                discard();
+                return;
+            }
+            try {
+                outputStream.flush();
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+                header.putInt(MAGIC);
+                header.putInt(VERSION);
+                header.putLong(length);
+                header.putLong(crc32.getValue());
+                header.flip();
+                FileChannel channel = fileOutputStream.getChannel();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                channel.force(true);
+                fileOutputStream.close();
+            } catch (IOException exception) {
+                discard();
+                throw exception;
+            }
+            if (!tempFile.renameTo(valueFile)) {
+                discard();
+                throw new IOException("Unable to replace the value file");
+            }
+        }
+
+        private void discard() {
+            try {
+                fileOutputStream.close();
+            } catch (IOException ignored) {
+                // the file is removed regardless
+            }
+            if (!tempFile.delete()) {
+                Logger.w(TAG, "Unable to delete the temporary file", null,
+                        "file:", tempFile.getName());
+            }
+        }
+    }
+
+    /**
+     * Reads a buffer in place, mapped values are not copied to the heap
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(@NonNull ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? (buffer.get() & 0xFF) : -1;
+        }
+
+        @Override
+        public int read(@NonNull byte[] destination, int offset, int count) {
+            if (count == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int length = Math.min(count, buffer.remaining());
+            buffer.get(destination, offset, length);
+            return length;
+        }
+
+        @Override
+        public long skip(long count) {
+            int length = (int) Math.max(0, Math.min(count, buffer.remaining()));
+            buffer.position(buffer.position() + length);
+            return length;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -2,8 +2,10 @@
 
 package com.mobilecoin.lib;
 
+import android.os.Build;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
 
 import com.mobilecoin.api.MobileCoinAPI;
 import com.mobilecoin.lib.ClientConfig.Service;
@@ -12,14 +14,17 @@ import com.mobilecoin.lib.exceptions.NetworkException;
 import com.mobilecoin.lib.log.Logger;
 import com.mobilecoin.lib.network.TransportProtocol;
 import com.mobilecoin.lib.network.services.FogBlockService;
+import com.mobilecoin.lib.network.services.transport.Transport;
 import com.mobilecoin.lib.util.NetworkingCall;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 import fog_ledger.Ledger;
 import fog_view.View;
+import report.ReportOuterClass;
 
 /**
  * Attested client for a ledger service Attestation is done automatically by the parent class {@link
@@ -43,6 +48,15 @@ class FogBlockClient extends AnyClient {
                 "verifier:", serviceConfig);
     }
 
+    /**
+     * Probes the fog endpoint with a report request, which does not require attestation
+     */
+    @Override
+    protected void probeEndpoint(@NonNull Transport transport) throws NetworkException {
+        getAPIManager().getFogReportService(transport)
+                .getReports(ReportOuterClass.ReportRequest.getDefaultInstance());
+    }
+
 
     /**
      * Scan for OwnedTxOuts
@@ -54,8 +68,29 @@ class FogBlockClient extends AnyClient {
             @NonNull BlockRange range, @NonNull AccountKey accountKey
     ) throws NetworkException {
         Logger.i(TAG, "Scanning the ledger for TxOuts");
+        return findOwnedTxOuts(fetchTxRecordsInBlockRange(range), range, accountKey);
+    }
+
+    /**
+     * Asynchronous {@link #scanForTxOutsInBlockRange}
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    CompletableFuture<List<OwnedTxOut>> scanForTxOutsInBlockRangeAsync(
+            @NonNull BlockRange range, @NonNull AccountKey accountKey
+    ) {
+        Logger.i(TAG, "Scanning the ledger for TxOuts");
+        return fetchTxRecordsInBlockRangeAsync(range)
+                .thenApply(records -> findOwnedTxOuts(records, range, accountKey));
+    }
+
+    @NonNull
+    private static List<OwnedTxOut> findOwnedTxOuts(
+            @NonNull List<View.TxOutRecord> records,
+            @NonNull BlockRange range,
+            @NonNull AccountKey accountKey
+    ) {
         ArrayList<OwnedTxOut> txos = new ArrayList<>();
-        List<View.TxOutRecord> records = fetchTxRecordsInBlockRange(range);
         Logger.d(TAG,
                 "Received TxRecords response", null,
                 "count:", records.size(),
@@ -83,33 +118,61 @@ class FogBlockClient extends AnyClient {
             throws NetworkException {
         Logger.i(TAG, "Fetching TxOuts via Block API", null,
                 "range:", range);
-        NetworkingCall<Ledger.BlockResponse> networkingCall;
-        try {
-            FogBlockService fogBlockService =
-                    getAPIManager().getFogBlockService(getNetworkTransport());
-            Ledger.BlockRequest request = Ledger.BlockRequest.newBuilder()
-                    .addRanges(range.toProtoBuf())
-                    .build();
-            networkingCall =
-                    new NetworkingCall<>(() -> {
-                        try {
-                            return fogBlockService.getBlocks(request);
-                        } catch (NetworkException exception) {
-                            Logger.w(TAG, "Unable to post transaction with consensus", exception);
-                            throw exception;
-                        }
-                    });
-        } catch (AttestationException exception) {
-            throw new IllegalStateException("BUG", exception);
-        }
+        Ledger.BlockRequest request = Ledger.BlockRequest.newBuilder()
+                .addRanges(range.toProtoBuf())
+                .build();
+        NetworkingCall<Ledger.BlockResponse> networkingCall =
+                createNetworkingCall("fog_block.get_blocks", true, request, () -> {
+                    try {
+                        FogBlockService fogBlockService =
+                                getAPIManager().getFogBlockService(getNetworkTransport());
+                        return fogBlockService.getBlocks(request);
+                    } catch (NetworkException exception) {
+                        Logger.w(TAG, "Unable to post transaction with consensus", exception);
+                        throw exception;
+                    }
+                });
         Ledger.BlockResponse response;
         try {
             response = networkingCall.run();
         } catch (NetworkException | RuntimeException exception) {
             throw exception;
+        } catch (AttestationException exception) {
+            throw new IllegalStateException("BUG", exception);
         } catch (Exception exception) {
             throw new IllegalStateException("BUG: unreachable code");
         }
+        return toTxOutRecords(response);
+    }
+
+    /**
+     * Asynchronous {@link #fetchTxRecordsInBlockRange}
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    CompletableFuture<List<View.TxOutRecord>> fetchTxRecordsInBlockRangeAsync(
+            @NonNull BlockRange range
+    ) {
+        Logger.i(TAG, "Fetching TxOuts via Block API", null,
+                "range:", range);
+        Ledger.BlockRequest request = Ledger.BlockRequest.newBuilder()
+                .addRanges(range.toProtoBuf())
+                .build();
+        return createAsyncNetworkingCall("fog_block.get_blocks", true, request,
+                transport -> {
+                    FogBlockService fogBlockService = getAPIManager().getFogBlockService(transport);
+                    return callService((ServiceCall<Ledger.BlockResponse>)
+                            callback -> fogBlockService.getBlocksAsync(request, callback))
+                            .whenComplete((response, error) -> {
+                                if (null != error) {
+                                    Logger.w(TAG, "Unable to fetch blocks", error);
+                                }
+                            });
+                }).run().thenApply(FogBlockClient::toTxOutRecords);
+    }
+
+    @NonNull
+    private static List<View.TxOutRecord> toTxOutRecords(@NonNull Ledger.BlockResponse response) {
         List<Ledger.BlockData> blocks = response.getBlocksList();
         ArrayList<View.TxOutRecord> records = new ArrayList<>();
         for (Ledger.BlockData block : blocks) {
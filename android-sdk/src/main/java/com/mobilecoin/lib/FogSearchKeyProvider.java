@@ -15,7 +15,9 @@ class FogSearchKeyProvider {
 
     FogSearchKeyProvider(Collection<FogSeed> fogSeeds) {
         this.fogSeeds = new TreeMap<FogSeed, FogSeedState>();
-        fogSeeds.stream().forEach(seed -> this.fogSeeds.put(seed, new FogSeedState()));
+        // obsolete seeds will not receive TxOuts, they are not queried and keep no native RNG
+        fogSeeds.stream().forEach(seed -> this.fogSeeds.put(seed,
+                seed.isObsolete() ? new FogSeedState(0, 0, true) : new FogSeedState()));
     }
 
     void addFogSeed(FogSeed fogSeed) {
@@ -27,6 +29,7 @@ class FogSearchKeyProvider {
         if(this.fogSeeds.size() == 0) return nextKeys;
         int numKeysAdded = 0;
         while(n > numKeysAdded) {
+            int numKeysAddedBefore = numKeysAdded;
             for(FogSeed seed : this.fogSeeds.keySet()) {
                 FogSeedState seedState = fogSeeds.get(seed);
                 if(seedState.complete) continue;
@@ -41,12 +44,16 @@ class FogSearchKeyProvider {
                 }
                 numKeysAdded += keysToGenerate;
             }
+            // every seed is complete
+            if(numKeysAdded == numKeysAddedBefore) break;
         }
         return nextKeys;
     }
 
     void markSeedComplete(FogSeed fogSeed) {
         this.fogSeeds.put(fogSeed, new FogSeedState(0, 0, true));
+        // the seed is idle until the next refresh, its RNG is restored on first use
+        fogSeed.releaseKexRng();
     }
 
     void resetSeed(FogSeed fogSeed) {
@@ -61,6 +68,18 @@ class FogSearchKeyProvider {
         return false;
     }
 
+    int getSeedCount() {
+        return fogSeeds.size();
+    }
+
+    int getCompletedSeedCount() {
+        int completed = 0;
+        for(FogSeedState state : fogSeeds.values()) {
+            if(state.complete) completed++;
+        }
+        return completed;
+    }
+
     private static int getNumKeysForRunCount(int runCount) {
         return 3 * runCount + 2;
     }
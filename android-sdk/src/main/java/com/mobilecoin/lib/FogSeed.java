@@ -6,8 +6,10 @@ import android.os.Parcel;
 import android.os.Parcelable;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.mobilecoin.lib.exceptions.KexRngException;
+import com.mobilecoin.lib.exceptions.SerializationException;
 import com.mobilecoin.lib.log.Logger;
 
 import java.io.IOException;
@@ -26,15 +28,19 @@ class FogSeed implements Parcelable, Comparable<FogSeed> {
     // Bump serial version and read/write code if fields change
     private static final long serialVersionUID = 1L;
 
-    // RNG
+    // RNG, built on first use and released while the seed is idle
+    @Nullable
     private ClientKexRng kexRng;
+    // Stored RNG state while the native RNG is released
+    @Nullable
+    private byte[] kexRngState;
     // Data that comes straight from fog.
     private byte[] nonce;
     private int rngVersion;
     // True if the seed is (a) decommissioned and (b) all utxos have been retrieved.
     private boolean isObsolete;
-    private UnsignedLong ingestInvocationId;
-    private UnsignedLong startBlock;
+    private long ingestInvocationId;
+    private long startBlock;
     private ArrayList<OwnedTxOut> utxos;
 
     FogSeed(
@@ -42,10 +48,10 @@ class FogSeed implements Parcelable, Comparable<FogSeed> {
             @NonNull View.RngRecord rngRecord
     ) throws KexRngException {
         Logger.i(TAG, "Initializing Fog Seed");
-        ingestInvocationId = UnsignedLong.fromLongBits(rngRecord.getIngestInvocationId());
+        ingestInvocationId = rngRecord.getIngestInvocationId();
         nonce = rngRecord.getPubkey().getPubkey().toByteArray();
         rngVersion = rngRecord.getPubkey().getVersion();
-        startBlock = UnsignedLong.fromLongBits(rngRecord.getStartBlock());
+        startBlock = rngRecord.getStartBlock();
         utxos = new ArrayList<>();
         if (rngVersion == 0) {
             kexRng = new ClientKexRng(privateViewKey,
@@ -78,7 +84,7 @@ class FogSeed implements Parcelable, Comparable<FogSeed> {
             throw unsupportedOperationException;
         }
 
-        if (startBlock.compareTo(UnsignedLong.fromLongBits(rngRecord.getStartBlock())) != 0) {
+        if (startBlock != rngRecord.getStartBlock()) {
             IllegalStateException illegalStateException =
                     new IllegalStateException("Start block should never change");
             Util.logException(TAG, illegalStateException);
@@ -92,28 +98,77 @@ class FogSeed implements Parcelable, Comparable<FogSeed> {
 
     // Get the next N search keys
     @NonNull
-    byte[][] getNextN(long n) throws KexRngException {
-        return kexRng.getNextN(n);
+    synchronized byte[][] getNextN(long n) throws KexRngException {
+        return getKexRng().getNextN(n);
     }
 
     // Get current search key for this seed
     @NonNull
-    byte[] getOutput() throws KexRngException {
-        return kexRng.getOutput();
+    synchronized byte[] getOutput() throws KexRngException {
+        return getKexRng().getOutput();
     }
 
     // Advance this seed by 1.
-    void advance() throws KexRngException {
-        kexRng.advance();
+    synchronized void advance() throws KexRngException {
+        getKexRng().advance();
     }
 
-    void addTXO(@NonNull OwnedTxOut utxo) throws KexRngException {
+    synchronized void addTXO(@NonNull OwnedTxOut utxo) throws KexRngException {
         utxos.add(utxo);
         advance();
     }
 
+    /**
+     * Restores the native RNG from its stored state if it has been released
+     */
+    @NonNull
+    private synchronized ClientKexRng getKexRng() throws KexRngException {
+        if (null == kexRng) {
+            if (null == kexRngState) {
+                throw new KexRngException("The seed RNG state is not available");
+            }
+            kexRng = new ClientKexRng(kexRngState);
+            kexRngState = null;
+        }
+        return kexRng;
+    }
+
+    /**
+     * Stores the RNG state and frees the native RNG until the seed is used again
+     */
+    synchronized void releaseKexRng() {
+        if (null == kexRng) {
+            return;
+        }
+        try {
+            kexRngState = kexRng.getProtobufBytes();
+        } catch (KexRngException exception) {
+            // the native RNG is kept if its state cannot be stored
+            Util.logException(TAG, exception);
+            return;
+        }
+        kexRng.free();
+        kexRng = null;
+    }
+
+    synchronized boolean isKexRngLoaded() {
+        return null != kexRng;
+    }
+
+    @Nullable
+    private synchronized byte[] getKexRngState() throws KexRngException {
+        return (null != kexRng) ? kexRng.getProtobufBytes() : kexRngState;
+    }
+
     @NonNull
     public UnsignedLong getStartBlock() {
+        return UnsignedLong.fromLongBits(startBlock);
+    }
+
+    /**
+     * @return start block as raw unsigned bits, avoids allocating on hot paths
+     */
+    long getStartBlockBits() {
         return startBlock;
     }
 
@@ -122,7 +177,12 @@ class FogSeed implements Parcelable, Comparable<FogSeed> {
         return utxos;
     }
 
-    UnsignedLong getIngestInvocationId() {
+    @NonNull
+    byte[] getNonce() {
+        return nonce;
+    }
+
+    long getIngestInvocationIdBits() {
         return ingestInvocationId;
     }
 
@@ -130,8 +190,13 @@ class FogSeed implements Parcelable, Comparable<FogSeed> {
         return isObsolete;
     }
 
-    void markObsolete() {
+    /**
+     * Obsolete seeds are never queried again, only their TxOuts and RNG state are kept
+     */
+    synchronized void markObsolete() {
         isObsolete = true;
+        utxos.trimToSize();
+        releaseKexRng();
     }
 
     @Override
@@ -143,12 +208,20 @@ class FogSeed implements Parcelable, Comparable<FogSeed> {
             return false;
         }
         FogSeed fogSeed = (FogSeed) o;
+        byte[] state;
+        byte[] otherState;
+        try {
+            state = getKexRngState();
+            otherState = fogSeed.getKexRngState();
+        } catch (KexRngException exception) {
+            return false;
+        }
         return rngVersion == fogSeed.rngVersion &&
             isObsolete == fogSeed.isObsolete &&
-            ingestInvocationId.equals(fogSeed.ingestInvocationId) &&
-            Objects.equals(kexRng, fogSeed.kexRng) &&
+            ingestInvocationId == fogSeed.ingestInvocationId &&
+            Arrays.equals(state, otherState) &&
             Arrays.equals(nonce, fogSeed.nonce) &&
-            Objects.equals(startBlock, fogSeed.startBlock) &&
+            startBlock == fogSeed.startBlock &&
             Objects.equals(utxos, fogSeed.utxos);
     }
 
@@ -158,7 +231,6 @@ class FogSeed implements Parcelable, Comparable<FogSeed> {
                 this.rngVersion,
                 this.isObsolete,
                 this.ingestInvocationId,
-                this.kexRng,
                 Arrays.hashCode(this.nonce),
                 this.startBlock,
                 this.utxos
@@ -179,16 +251,63 @@ class FogSeed implements Parcelable, Comparable<FogSeed> {
      * @param flags The flags describing the contents of this object
      */
     @Override
-    public void writeToParcel(Parcel parcel, int flags) {
-        parcel.writeParcelable(kexRng, flags);
+    public synchronized void writeToParcel(Parcel parcel, int flags) {
+        ClientKexRng rng = null;
+        try {
+            rng = getKexRng();
+        } catch (KexRngException exception) {
+            Logger.e(TAG, "Failed to restore the seed RNG", exception);
+        }
+        parcel.writeParcelable(rng, flags);
         parcel.writeByteArray(nonce);
         parcel.writeInt(rngVersion);
         parcel.writeByte((byte) (isObsolete ? 1 : 0));
-        parcel.writeLong(ingestInvocationId.longValue());
-        parcel.writeParcelable(startBlock, flags);
+        parcel.writeLong(ingestInvocationId);
+        parcel.writeParcelable(UnsignedLong.fromLongBits(startBlock), flags);
         parcel.writeTypedList(utxos);
     }
 
+    /**
+     * Reads a seed record and its TxOut records written by
+     * {@link #writeTo(TxOutStoreFormat.Writer)}
+     */
+    FogSeed(@NonNull TxOutStoreFormat.Reader reader) throws SerializationException {
+        // the native RNG is restored once the seed is queried
+        kexRngState = reader.readNonNullBytes();
+        nonce = reader.readNonNullBytes();
+        rngVersion = reader.readInt();
+        isObsolete = reader.readBoolean();
+        ingestInvocationId = reader.readLong();
+        startBlock = reader.readLong();
+        int txOutCount = reader.readCount();
+        utxos = new ArrayList<>(txOutCount);
+        for (int i = 0; i < txOutCount; i++) {
+            utxos.add(new OwnedTxOut(reader));
+        }
+    }
+
+    synchronized void writeTo(@NonNull TxOutStoreFormat.Writer writer)
+            throws SerializationException {
+        try {
+            byte[] state = getKexRngState();
+            if (null == state) {
+                throw new SerializationException("The seed RNG state is not available");
+            }
+            writer.writeBytes(state);
+        } catch (KexRngException exception) {
+            throw new SerializationException("Unable to store the seed RNG", exception);
+        }
+        writer.writeBytes(nonce);
+        writer.writeInt(rngVersion);
+        writer.writeBoolean(isObsolete);
+        writer.writeLong(ingestInvocationId);
+        writer.writeLong(startBlock);
+        writer.writeInt(utxos.size());
+        for (OwnedTxOut utxo : utxos) {
+            utxo.writeTo(writer);
+        }
+    }
+
     /**
      * Creates a FogSeed from the provided parcel
      * @param parcel The parcel that contains a FogSeed
@@ -198,8 +317,10 @@ class FogSeed implements Parcelable, Comparable<FogSeed> {
         nonce = parcel.createByteArray();
         rngVersion = parcel.readInt();
         isObsolete = parcel.readByte() != 0;
-        ingestInvocationId = UnsignedLong.fromLongBits(parcel.readLong());
-        startBlock = parcel.readParcelable(UnsignedLong.class.getClassLoader());
+        ingestInvocationId = parcel.readLong();
+        UnsignedLong parceledStartBlock =
+                parcel.readParcelable(UnsignedLong.class.getClassLoader());
+        startBlock = Objects.requireNonNull(parceledStartBlock).longValue();
         utxos = parcel.createTypedArrayList(OwnedTxOut.CREATOR);
     }
 
@@ -225,6 +346,6 @@ class FogSeed implements Parcelable, Comparable<FogSeed> {
 
     @Override
     public int compareTo(FogSeed fogSeed) {
-        return this.ingestInvocationId.compareTo(fogSeed.ingestInvocationId);
+        return Long.compareUnsigned(this.ingestInvocationId, fogSeed.ingestInvocationId);
     }
 }
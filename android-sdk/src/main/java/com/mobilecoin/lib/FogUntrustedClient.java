@@ -2,9 +2,12 @@
 
 package com.mobilecoin.lib;
 
+import android.os.Build;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
 
+import com.mobilecoin.api.MobileCoinAPI;
 import com.mobilecoin.lib.ClientConfig.Service;
 import com.mobilecoin.lib.exceptions.AttestationException;
 import com.mobilecoin.lib.exceptions.NetworkException;
@@ -14,9 +17,13 @@ import com.mobilecoin.lib.network.services.FogUntrustedService;
 import com.mobilecoin.lib.network.services.transport.Transport;
 import com.mobilecoin.lib.util.NetworkingCall;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import fog_ledger.Ledger;
+import report.ReportOuterClass;
 
 /**
  * Attested client for a ledger service Attestation is done automatically by the parent class {@link
@@ -40,30 +47,63 @@ final class FogUntrustedClient extends AnyClient {
                 "verifier:", serviceConfig);
     }
 
+    /**
+     * Probes the fog endpoint with a report request, which does not require attestation
+     */
+    @Override
+    protected void probeEndpoint(@NonNull Transport transport) throws NetworkException {
+        getAPIManager().getFogReportService(transport)
+                .getReports(ReportOuterClass.ReportRequest.getDefaultInstance());
+    }
+
     /**
      * Fetch TxOuts by their public keys
      */
     @NonNull
     Ledger.TxOutResponse fetchTxOuts(@NonNull Set<RistrettoPublic> publicKeys) throws NetworkException {
-        Logger.i(TAG, "Fetching TxOuts via untrusted fog API", null,
-                "public keys number:", publicKeys.size());
-        Transport transport;
-        try {
-            transport = getNetworkTransport();
-        } catch (AttestationException exception) {
-            throw new IllegalStateException("BUG: Untrusted service cannot throw attestation " +
-                    "exception");
-        }
-        FogUntrustedService fogService =
-                getAPIManager().getFogUntrustedService(transport);
-        Ledger.TxOutRequest.Builder requestBuilder = Ledger.TxOutRequest.newBuilder();
+        return fetchTxOutsByCompressedKeys(compressKeys(publicKeys));
+    }
+
+    /**
+     * Asynchronous {@link #fetchTxOuts}
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    CompletableFuture<Ledger.TxOutResponse> fetchTxOutsAsync(
+            @NonNull Set<RistrettoPublic> publicKeys
+    ) {
+        return fetchTxOutsByCompressedKeysAsync(compressKeys(publicKeys));
+    }
+
+    @NonNull
+    private static List<MobileCoinAPI.CompressedRistretto> compressKeys(
+            @NonNull Set<RistrettoPublic> publicKeys
+    ) {
+        List<MobileCoinAPI.CompressedRistretto> compressedKeys = new ArrayList<>();
         for (RistrettoPublic publicKey : publicKeys) {
-            requestBuilder.addTxOutPubkeys(publicKey.toProtoBufObject());
+            compressedKeys.add(publicKey.toProtoBufObject());
         }
+        return compressedKeys;
+    }
+
+    /**
+     * Fetch TxOuts by their public keys as they appear in a transaction prefix
+     */
+    @NonNull
+    Ledger.TxOutResponse fetchTxOutsByCompressedKeys(
+            @NonNull List<MobileCoinAPI.CompressedRistretto> publicKeys
+    ) throws NetworkException {
+        Logger.i(TAG, "Fetching TxOuts via untrusted fog API", null,
+                "public keys number:", publicKeys.size());
+        Ledger.TxOutRequest request = Ledger.TxOutRequest.newBuilder()
+                .addAllTxOutPubkeys(publicKeys)
+                .build();
         NetworkingCall<Ledger.TxOutResponse> networkingCall =
-                new NetworkingCall<>(() -> {
+                createNetworkingCall("fog_untrusted.get_tx_outs", true, request, () -> {
                     try {
-                        return fogService.getTxOuts(requestBuilder.build());
+                        FogUntrustedService fogService =
+                                getAPIManager().getFogUntrustedService(getNetworkTransport());
+                        return fogService.getTxOuts(request);
                     } catch (NetworkException exception) {
                         Logger.w(TAG, "Unable to fetch TxOuts from the untrusted service",
                                 exception);
@@ -74,8 +114,39 @@ final class FogUntrustedClient extends AnyClient {
             return networkingCall.run();
         } catch (NetworkException | RuntimeException exception) {
             throw exception;
+        } catch (AttestationException exception) {
+            throw new IllegalStateException("BUG: Untrusted service cannot throw attestation " +
+                    "exception");
         } catch (Exception exception) {
             throw new IllegalStateException("BUG: unreachable code");
         }
     }
+
+    /**
+     * Asynchronous {@link #fetchTxOutsByCompressedKeys}
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    CompletableFuture<Ledger.TxOutResponse> fetchTxOutsByCompressedKeysAsync(
+            @NonNull List<MobileCoinAPI.CompressedRistretto> publicKeys
+    ) {
+        Logger.i(TAG, "Fetching TxOuts via untrusted fog API", null,
+                "public keys number:", publicKeys.size());
+        Ledger.TxOutRequest request = Ledger.TxOutRequest.newBuilder()
+                .addAllTxOutPubkeys(publicKeys)
+                .build();
+        return createAsyncNetworkingCall("fog_untrusted.get_tx_outs", true, request,
+                transport -> {
+                    FogUntrustedService fogService =
+                            getAPIManager().getFogUntrustedService(transport);
+                    return callService((ServiceCall<Ledger.TxOutResponse>)
+                            callback -> fogService.getTxOutsAsync(request, callback))
+                            .whenComplete((response, error) -> {
+                                if (null != error) {
+                                    Logger.w(TAG, "Unable to fetch TxOuts from the untrusted " +
+                                            "service", error);
+                                }
+                            });
+                }).run();
+    }
 }
@@ -0,0 +1,634 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib;
+
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
+import androidx.annotation.VisibleForTesting;
+
+import com.google.protobuf.ByteString;
+import com.mobilecoin.api.MobileCoinAPI;
+import com.mobilecoin.lib.ClientConfig.Service;
+import com.mobilecoin.lib.exceptions.AttestationException;
+import com.mobilecoin.lib.exceptions.NetworkException;
+import com.mobilecoin.lib.log.Logger;
+import com.mobilecoin.lib.network.NetworkResult;
+import com.mobilecoin.lib.network.TransportProtocol;
+import com.mobilecoin.lib.network.uri.MobileCoinUri;
+import com.mobilecoin.lib.util.AsyncCall;
+import com.mobilecoin.lib.util.BoundedExecutors;
+import com.mobilecoin.lib.util.Result;
+import com.mobilecoin.lib.util.Task;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import consensus_common.ConsensusCommon;
+import fog_ledger.Ledger;
+
+/**
+ * <pre>
+ * Proposes transactions to several consensus nodes, each over its own attested channel.
+ *
+ * A transaction is proposed to one node first and hedged to the next node if no response
+ * arrives within the hedge delay or the request fails. A zero delay fans out to all nodes at
+ * once. The first response of a node wins and the remaining attempts are cancelled: every node
+ * validates a transaction the same way, so a rejection is not proposed to another node.
+ *
+ * Submissions are deduplicated by transaction hash: concurrent submissions of the same
+ * transaction share a single proposal. Once the same transaction has been proposed more than
+ * once, a node reporting its key images as spent or its outputs as existing may be reporting
+ * our own earlier proposal. The rejection is only turned into success after the outputs of the
+ * transaction are found in the ledger; inputs spent by a different transaction, e.g. from
+ * another device, are reported as the rejection they are.
+ *
+ * Asynchronous submissions hedge the same way without holding a thread per attempt. They are
+ * shared with the asynchronous submissions in flight, a blocking submission of the same
+ * transaction in flight only makes it a resubmission.
+ * </pre>
+ */
+final class HedgedConsensusSubmitter {
+    private static final String TAG = HedgedConsensusSubmitter.class.getName();
+    private static final int RECENT_SUBMISSIONS_LIMIT = 64;
+    // concurrent submissions beyond this many per node wait for a thread
+    private static final int SUBMISSION_THREADS_PER_NODE = 2;
+    // Fog may trail consensus by a few blocks when confirming a duplicate
+    private static final int LEDGER_CHECK_ATTEMPTS = 5;
+    private static final long LEDGER_CHECK_DELAY_MS = 1000L;
+
+    private final List<AttestedConsensusClient> consensusClients;
+    private final FogUntrustedClient untrustedClient;
+    private final long hedgeDelayMs;
+    private final ExecutorService executorService;
+    private final Map<ByteString, FutureTask<ConsensusCommon.ProposeTxResponse>> inFlight =
+            new HashMap<>();
+    private final Map<ByteString, CompletableFuture<ConsensusCommon.ProposeTxResponse>>
+            inFlightAsync = new HashMap<>();
+    private final Map<ByteString, Boolean> recentSubmissions =
+            new LinkedHashMap<ByteString, Boolean>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ByteString, Boolean> eldest) {
+                    return size() > RECENT_SUBMISSIONS_LIMIT;
+                }
+            };
+    private int nextClientIndex;
+
+    /**
+     * @param consensusUris  consensus nodes to propose to, an attested channel is kept to each
+     * @param hedgeDelayMs   time to wait for a node before hedging to the next one,
+     *                       0 to propose to all nodes at once
+     * @param maxNodes       maximum number of nodes a single transaction is proposed to
+     */
+    HedgedConsensusSubmitter(
+            @NonNull List<MobileCoinUri> consensusUris,
+            @NonNull Service serviceConfig,
+            @NonNull TransportProtocol transportProtocol,
+            @NonNull FogUntrustedClient untrustedClient,
+            long hedgeDelayMs,
+            int maxNodes
+    ) {
+        this(createClients(consensusUris, serviceConfig, transportProtocol, maxNodes),
+                untrustedClient, hedgeDelayMs);
+    }
+
+    /**
+     * @param untrustedClient used to confirm that a transaction rejected as a duplicate is in
+     *                        the ledger
+     */
+    @VisibleForTesting
+    HedgedConsensusSubmitter(
+            @NonNull List<AttestedConsensusClient> consensusClients,
+            @NonNull FogUntrustedClient untrustedClient,
+            long hedgeDelayMs
+    ) {
+        this.consensusClients = Collections.unmodifiableList(new ArrayList<>(consensusClients));
+        this.untrustedClient = untrustedClient;
+        this.hedgeDelayMs = Math.max(0L, hedgeDelayMs);
+        // each submission runs at most one attempt per node
+        this.executorService = BoundedExecutors.newDaemonPool("mobilecoin-consensus-hedge",
+                SUBMISSION_THREADS_PER_NODE * this.consensusClients.size());
+        Logger.i(TAG, "Created new HedgedConsensusSubmitter", null,
+                "nodes:", consensusClients.size(),
+                "hedge delay ms:", this.hedgeDelayMs);
+    }
+
+    @NonNull
+    private static List<AttestedConsensusClient> createClients(
+            @NonNull List<MobileCoinUri> consensusUris,
+            @NonNull Service serviceConfig,
+            @NonNull TransportProtocol transportProtocol,
+            int maxNodes
+    ) {
+        if (consensusUris.isEmpty()) {
+            throw new IllegalArgumentException("Consensus uris is empty.");
+        }
+        List<MobileCoinUri> shuffledUris = new ArrayList<>(consensusUris);
+        Collections.shuffle(shuffledUris);
+        List<AttestedConsensusClient> clients = new ArrayList<>();
+        for (MobileCoinUri uri : shuffledUris.subList(0,
+                Math.max(1, Math.min(maxNodes, shuffledUris.size())))) {
+            clients.add(new AttestedConsensusClient(RandomLoadBalancer.create(uri),
+                    serviceConfig, transportProtocol));
+        }
+        return clients;
+    }
+
+    /**
+     * Propose a new transaction to the consensus network
+     */
+    @NonNull
+    ConsensusCommon.ProposeTxResponse proposeTx(@NonNull MobileCoinAPI.Tx tx)
+            throws AttestationException, NetworkException {
+        final ByteString txHash = hashOf(tx);
+        FutureTask<ConsensusCommon.ProposeTxResponse> submission;
+        boolean isOwner = false;
+        synchronized (this) {
+            submission = inFlight.get(txHash);
+            if (null == submission) {
+                final boolean isResubmission = recentSubmissions.containsKey(txHash)
+                        || inFlightAsync.containsKey(txHash);
+                submission = new FutureTask<>(() -> hedge(tx, isResubmission));
+                inFlight.put(txHash, submission);
+                isOwner = true;
+            }
+        }
+        if (isOwner) {
+            try {
+                submission.run();
+            } finally {
+                synchronized (this) {
+                    inFlight.remove(txHash);
+                    recentSubmissions.put(txHash, Boolean.TRUE);
+                }
+            }
+        } else {
+            Logger.i(TAG, "Joining in-flight submission of the same transaction");
+        }
+        try {
+            return submission.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new NetworkException(NetworkResult.CANCELED, exception);
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof AttestationException) {
+                throw (AttestationException) cause;
+            } else if (cause instanceof NetworkException) {
+                throw (NetworkException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("BUG: unreachable code", cause);
+        }
+    }
+
+    /**
+     * Asynchronous {@link #proposeTx}
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    CompletableFuture<ConsensusCommon.ProposeTxResponse> proposeTxAsync(
+            @NonNull MobileCoinAPI.Tx tx
+    ) {
+        final ByteString txHash = hashOf(tx);
+        CompletableFuture<ConsensusCommon.ProposeTxResponse> submission;
+        boolean isResubmission = false;
+        boolean isOwner = false;
+        synchronized (this) {
+            submission = inFlightAsync.get(txHash);
+            if (null == submission) {
+                isResubmission = recentSubmissions.containsKey(txHash)
+                        || inFlight.containsKey(txHash);
+                submission = new CompletableFuture<>();
+                inFlightAsync.put(txHash, submission);
+                isOwner = true;
+            }
+        }
+        if (isOwner) {
+            CompletableFuture<ConsensusCommon.ProposeTxResponse> owned = submission;
+            new AsyncHedge(tx, isResubmission).start().whenComplete((response, error) -> {
+                synchronized (this) {
+                    inFlightAsync.remove(txHash);
+                    recentSubmissions.put(txHash, Boolean.TRUE);
+                }
+                if (null == error) {
+                    owned.complete(response);
+                } else {
+                    owned.completeExceptionally(AsyncCall.unwrap(error));
+                }
+            });
+        } else {
+            Logger.i(TAG, "Joining in-flight submission of the same transaction");
+        }
+        // cancelling the returned future does not cancel the shared submission
+        return submission.thenApply(Function.identity());
+    }
+
+    /**
+     * Hedges a single asynchronous submission, mirrors {@link #hedge}: the next node is asked
+     * when the hedge timer fires or when no other attempt is in flight
+     */
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    private final class AsyncHedge {
+        private final MobileCoinAPI.Tx tx;
+        private final boolean isResubmission;
+        private final int startIndex;
+        private final CompletableFuture<ConsensusCommon.ProposeTxResponse> result =
+                new CompletableFuture<>();
+        private final List<CompletableFuture<ConsensusCommon.ProposeTxResponse>> attempts =
+                new ArrayList<>();
+        private int launched;
+        private int pending;
+        @Nullable
+        private ConsensusCommon.ProposeTxResponse rejection;
+        @Nullable
+        private Throwable lastException;
+        @Nullable
+        private ScheduledFuture<?> hedgeTimer;
+
+        AsyncHedge(@NonNull MobileCoinAPI.Tx tx, boolean isResubmission) {
+            this.tx = tx;
+            this.isResubmission = isResubmission;
+            synchronized (HedgedConsensusSubmitter.this) {
+                startIndex = nextClientIndex;
+                nextClientIndex = (nextClientIndex + 1) % consensusClients.size();
+            }
+        }
+
+        @NonNull
+        CompletableFuture<ConsensusCommon.ProposeTxResponse> start() {
+            result.whenComplete((response, error) -> onCompleted());
+            synchronized (this) {
+                launchAttempts();
+            }
+            return result;
+        }
+
+        private boolean canHedge() {
+            // once a node rejected the proposal as a duplicate no other node is asked, the
+            // attempts in flight may still report it accepted
+            return launched < consensusClients.size() && null == rejection;
+        }
+
+        private void launchAttempts() {
+            while (!result.isDone() && canHedge() && (pending == 0 || hedgeDelayMs == 0)) {
+                launchAttempt();
+            }
+            if (result.isDone()) {
+                return;
+            }
+            if (pending == 0) {
+                if (null != rejection) {
+                    result.complete(rejection);
+                } else {
+                    result.completeExceptionally(lastException);
+                }
+            } else if (canHedge() && null == hedgeTimer) {
+                hedgeTimer = AsyncCall.schedule(this::onHedgeDelay, hedgeDelayMs);
+            }
+        }
+
+        private void launchAttempt() {
+            AttestedConsensusClient consensusClient =
+                    consensusClients.get((startIndex + launched) % consensusClients.size());
+            launched++;
+            pending++;
+            CompletableFuture<ConsensusCommon.ProposeTxResponse> attempt;
+            try {
+                attempt = consensusClient.proposeTxAsync(tx);
+            } catch (RuntimeException exception) {
+                attempt = AsyncCall.failed(exception);
+            }
+            attempts.add(attempt);
+            attempt.whenComplete(this::onAttemptCompleted);
+        }
+
+        private void onHedgeDelay() {
+            try {
+                executorService.execute(() -> {
+                    synchronized (this) {
+                        hedgeTimer = null;
+                        if (result.isDone() || !canHedge()) {
+                            return;
+                        }
+                        Logger.i(TAG, "Consensus node is slow, hedging to the next node");
+                        launchAttempt();
+                        launchAttempts();
+                    }
+                });
+            } catch (RuntimeException exception) {
+                result.completeExceptionally(exception);
+            }
+        }
+
+        private synchronized void onAttemptCompleted(
+                @Nullable ConsensusCommon.ProposeTxResponse response,
+                @Nullable Throwable error
+        ) {
+            if (result.isDone()) {
+                return;
+            }
+            pending--;
+            if (null != error) {
+                // the next node is asked once no other attempt is in flight
+                lastException = AsyncCall.unwrap(error);
+                Logger.w(TAG, "Consensus node failed to accept the proposal", lastException);
+                launchAttempts();
+                return;
+            }
+            ConsensusCommon.ProposeTxResult txResult = response.getResult();
+            if (txResult == ConsensusCommon.ProposeTxResult.Ok || !isDuplicate(txResult)) {
+                // a definitive answer, every node validates the transaction the same way
+                result.complete(response);
+                return;
+            }
+            if (isResubmission || launched > 1) {
+                // the ledger check is pending like an attempt
+                pending++;
+                isInLedgerAsync(tx, response.getBlockCount(), 0)
+                        .whenComplete((isInLedger, checkError) ->
+                                onLedgerChecked(response, Boolean.TRUE.equals(isInLedger)));
+                return;
+            }
+            rejection = response;
+            launchAttempts();
+        }
+
+        private synchronized void onLedgerChecked(
+                @NonNull ConsensusCommon.ProposeTxResponse response,
+                boolean isInLedger
+        ) {
+            if (result.isDone()) {
+                return;
+            }
+            pending--;
+            if (isInLedger) {
+                Logger.i(TAG, "Transaction is already in the ledger", null,
+                        "result:", response.getResult());
+                result.complete(response.toBuilder()
+                        .setResult(ConsensusCommon.ProposeTxResult.Ok)
+                        .build());
+                return;
+            }
+            rejection = response;
+            launchAttempts();
+        }
+
+        private synchronized void onCompleted() {
+            if (null != hedgeTimer) {
+                hedgeTimer.cancel(false);
+            }
+            for (CompletableFuture<?> attempt : attempts) {
+                attempt.cancel(false);
+            }
+        }
+    }
+
+    @NonNull
+    private ConsensusCommon.ProposeTxResponse hedge(
+            @NonNull MobileCoinAPI.Tx tx,
+            boolean isResubmission
+    ) throws AttestationException, NetworkException, InterruptedException {
+        int startIndex;
+        synchronized (this) {
+            startIndex = nextClientIndex;
+            nextClientIndex = (nextClientIndex + 1) % consensusClients.size();
+        }
+        CompletionService<Result<ConsensusCommon.ProposeTxResponse, Exception>> completionService =
+                new ExecutorCompletionService<>(executorService);
+        List<Future<Result<ConsensusCommon.ProposeTxResponse, Exception>>> attempts =
+                new ArrayList<>();
+        ConsensusCommon.ProposeTxResponse rejection = null;
+        Exception lastException = null;
+        try {
+            int launched = 0;
+            int pending = 0;
+            while (true) {
+                // once a node rejected the proposal as a duplicate no other node is asked, the
+                // attempts in flight may still report it accepted
+                boolean canHedge = launched < consensusClients.size() && null == rejection;
+                if (canHedge && (pending == 0 || hedgeDelayMs == 0)) {
+                    launchAttempt(completionService, attempts, tx,
+                            consensusClients.get((startIndex + launched) % consensusClients.size()));
+                    launched++;
+                    pending++;
+                    continue;
+                }
+                if (pending == 0) {
+                    break;
+                }
+                Future<Result<ConsensusCommon.ProposeTxResponse, Exception>> attempt = canHedge
+                        ? completionService.poll(hedgeDelayMs, TimeUnit.MILLISECONDS)
+                        : completionService.take();
+                if (null == attempt) {
+                    Logger.i(TAG, "Consensus node is slow, hedging to the next node");
+                    launchAttempt(completionService, attempts, tx,
+                            consensusClients.get((startIndex + launched) % consensusClients.size()));
+                    launched++;
+                    pending++;
+                    continue;
+                }
+                pending--;
+                Result<ConsensusCommon.ProposeTxResponse, Exception> result = attempt.get();
+                if (result.isErr()) {
+                    // the next node is asked once no other attempt is in flight
+                    lastException = result.getError();
+                    Logger.w(TAG, "Consensus node failed to accept the proposal", lastException);
+                    continue;
+                }
+                ConsensusCommon.ProposeTxResponse response = result.getValue();
+                ConsensusCommon.ProposeTxResult txResult = response.getResult();
+                if (txResult == ConsensusCommon.ProposeTxResult.Ok || !isDuplicate(txResult)) {
+                    // a definitive answer, every node validates the transaction the same way
+                    return response;
+                }
+                if ((isResubmission || launched > 1)
+                        && isInLedger(tx, response.getBlockCount())) {
+                    Logger.i(TAG, "Transaction is already in the ledger", null,
+                            "result:", txResult);
+                    return response.toBuilder()
+                            .setResult(ConsensusCommon.ProposeTxResult.Ok)
+                            .build();
+                }
+                rejection = response;
+            }
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("BUG: attempts return a Result", exception);
+        } finally {
+            for (Future<?> attempt : attempts) {
+                attempt.cancel(true);
+            }
+        }
+        if (null != rejection) {
+            return rejection;
+        }
+        if (lastException instanceof AttestationException) {
+            throw (AttestationException) lastException;
+        } else if (lastException instanceof NetworkException) {
+            throw (NetworkException) lastException;
+        } else if (lastException instanceof RuntimeException) {
+            throw (RuntimeException) lastException;
+        }
+        throw new IllegalStateException("BUG: unreachable code", lastException);
+    }
+
+    private static void launchAttempt(
+            @NonNull CompletionService<Result<ConsensusCommon.ProposeTxResponse, Exception>> completionService,
+            @NonNull List<Future<Result<ConsensusCommon.ProposeTxResponse, Exception>>> attempts,
+            @NonNull MobileCoinAPI.Tx tx,
+            @NonNull AttestedConsensusClient consensusClient
+    ) {
+        attempts.add(completionService.submit(new Task<ConsensusCommon.ProposeTxResponse, Exception>() {
+            @Override
+            public ConsensusCommon.ProposeTxResponse execute() throws Exception {
+                return consensusClient.proposeTx(tx);
+            }
+        }));
+    }
+
+    /**
+     * Checks whether all outputs of the transaction are in the ledger. Waits for Fog to reach
+     * the block count reported by consensus before concluding they are not.
+     */
+    private boolean isInLedger(@NonNull MobileCoinAPI.Tx tx, long consensusBlockCount)
+            throws InterruptedException {
+        List<MobileCoinAPI.CompressedRistretto> outputKeys = new ArrayList<>();
+        for (MobileCoinAPI.TxOut output : tx.getPrefix().getOutputsList()) {
+            outputKeys.add(output.getPublicKey());
+        }
+        if (outputKeys.isEmpty()) {
+            return false;
+        }
+        for (int attempt = 0; attempt < LEDGER_CHECK_ATTEMPTS; attempt++) {
+            Ledger.TxOutResponse txOutResponse;
+            try {
+                txOutResponse = untrustedClient.fetchTxOutsByCompressedKeys(outputKeys);
+            } catch (NetworkException exception) {
+                Logger.w(TAG, "Unable to confirm the transaction is in the ledger", exception);
+                return false;
+            }
+            boolean allFound = txOutResponse.getResultsCount() == outputKeys.size();
+            for (Ledger.TxOutResult result : txOutResponse.getResultsList()) {
+                if (result.getResultCode() != Ledger.TxOutResultCode.Found) {
+                    allFound = false;
+                    break;
+                }
+            }
+            if (allFound) {
+                return true;
+            }
+            if (Long.compareUnsigned(txOutResponse.getNumBlocks(), consensusBlockCount) >= 0) {
+                Logger.w(TAG, "Transaction inputs were spent by a different transaction");
+                return false;
+            }
+            Thread.sleep(LEDGER_CHECK_DELAY_MS);
+        }
+        Logger.w(TAG, "Fog did not catch up to confirm the transaction is in the ledger");
+        return false;
+    }
+
+    /**
+     * Asynchronous {@link #isInLedger}, the checks are scheduled instead of sleeping
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    private CompletableFuture<Boolean> isInLedgerAsync(
+            @NonNull MobileCoinAPI.Tx tx,
+            long consensusBlockCount,
+            int attempt
+    ) {
+        List<MobileCoinAPI.CompressedRistretto> outputKeys = new ArrayList<>();
+        for (MobileCoinAPI.TxOut output : tx.getPrefix().getOutputsList()) {
+            outputKeys.add(output.getPublicKey());
+        }
+        if (outputKeys.isEmpty()) {
+            return CompletableFuture.completedFuture(false);
+        }
+        if (attempt >= LEDGER_CHECK_ATTEMPTS) {
+            Logger.w(TAG, "Fog did not catch up to confirm the transaction is in the ledger");
+            return CompletableFuture.completedFuture(false);
+        }
+        return untrustedClient.fetchTxOutsByCompressedKeysAsync(outputKeys)
+                .handle((txOutResponse, error) -> {
+                    if (null != error) {
+                        Logger.w(TAG, "Unable to confirm the transaction is in the ledger",
+                                AsyncCall.unwrap(error));
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    boolean allFound = txOutResponse.getResultsCount() == outputKeys.size();
+                    for (Ledger.TxOutResult result : txOutResponse.getResultsList()) {
+                        if (result.getResultCode() != Ledger.TxOutResultCode.Found) {
+                            allFound = false;
+                            break;
+                        }
+                    }
+                    if (allFound) {
+                        return CompletableFuture.completedFuture(true);
+                    }
+                    if (Long.compareUnsigned(txOutResponse.getNumBlocks(),
+                            consensusBlockCount) >= 0) {
+                        Logger.w(TAG, "Transaction inputs were spent by a different transaction");
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    CompletableFuture<Boolean> next = new CompletableFuture<>();
+                    AsyncCall.schedule(() -> isInLedgerAsync(tx, consensusBlockCount, attempt + 1)
+                            .whenComplete((isInLedger, checkError) ->
+                                    next.complete(Boolean.TRUE.equals(isInLedger))),
+                            LEDGER_CHECK_DELAY_MS);
+                    return next;
+                }).thenCompose(Function.identity());
+    }
+
+    private static boolean isDuplicate(@NonNull ConsensusCommon.ProposeTxResult txResult) {
+        return txResult == ConsensusCommon.ProposeTxResult.ContainsSpentKeyImage
+                || txResult == ConsensusCommon.ProposeTxResult.ContainsExistingOutputPublicKey;
+    }
+
+    @NonNull
+    private static ByteString hashOf(@NonNull MobileCoinAPI.Tx tx) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return ByteString.copyFrom(digest.digest(tx.toByteArray()));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("BUG: SHA-256 is always available", exception);
+        }
+    }
+
+    void setAuthorization(@NonNull String username, @NonNull String password) {
+        for (AttestedConsensusClient consensusClient : consensusClients) {
+            consensusClient.setAuthorization(username, password);
+        }
+    }
+
+    void setTransportProtocol(@NonNull TransportProtocol protocol) {
+        for (AttestedConsensusClient consensusClient : consensusClients) {
+            consensusClient.setTransportProtocol(protocol);
+        }
+    }
+
+    void shutdown() {
+        executorService.shutdownNow();
+        for (AttestedConsensusClient consensusClient : consensusClients) {
+            consensusClient.shutdownSessions();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.mobilecoin.lib;
 
+import androidx.annotation.NonNull;
+
 import com.mobilecoin.lib.network.uri.MobileCoinUri;
 
 /** Balances server load for MobileCoin services. */
@@ -8,4 +10,12 @@ public interface LoadBalancer {
   /** Returns a new service {@link MobileCoinUri} upon each invocation. */
   MobileCoinUri getNextServiceUri();
 
+  /** Reports a request to {@code serviceUri} that completed after {@code latencyNanos}. */
+  default void onRequestSucceeded(@NonNull MobileCoinUri serviceUri, long latencyNanos) {
+  }
+
+  /** Reports a request to {@code serviceUri} that failed because of the endpoint. */
+  default void onRequestFailed(@NonNull MobileCoinUri serviceUri) {
+  }
+
 }
@@ -127,12 +127,16 @@ final class MaskedAmountV2 extends MaskedAmount {
             @NonNull RistrettoPublic txPubKey
     ) throws AmountDecoderException {
         Logger.i(TAG, "Unmasking amount");
+        long callStart = NativeCallMetrics.start();
         try {
-            return unmask_amount(
+            Amount amount = unmask_amount(
                     viewKey,
                     txPubKey
             );
+            NativeCallMetrics.record("unmask_amount", callStart, 0);
+            return amount;
         } catch (Exception exception) {
+            NativeCallMetrics.recordFailure("unmask_amount", callStart);
             AmountDecoderException amountDecoderException = new AmountDecoderException("Unable to" +
                     " unmask the MaskedAmount", exception);
             Util.logException(TAG, amountDecoderException);
@@ -1,7 +1,10 @@
 package com.mobilecoin.lib;
 
+import android.os.Build;
+
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
 
 import com.mobilecoin.lib.exceptions.AttestationException;
 import com.mobilecoin.lib.exceptions.FogReportException;
@@ -13,6 +16,7 @@ import com.mobilecoin.lib.exceptions.NetworkException;
 import com.mobilecoin.lib.exceptions.SerializationException;
 import com.mobilecoin.lib.exceptions.StorageNotFoundException;
 import com.mobilecoin.lib.exceptions.TransactionBuilderException;
+import com.mobilecoin.lib.util.AsyncCall;
 
 import java.io.IOException;
 import java.math.BigInteger;
@@ -21,6 +25,7 @@ import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.UnrecoverableEntryException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 
 import javax.crypto.BadPaddingException;
@@ -189,4 +194,53 @@ public interface MobileCoinAccountClient {
   void cacheUserData()
       throws StorageNotFoundException, SerializationException, IllegalBlockSizeException, InvalidKeyException, NoSuchAlgorithmException, KeyStoreException, BadPaddingException, NoSuchPaddingException, UnrecoverableEntryException, IOException;
 
+  /**
+   * Asynchronously fetches the latest account snapshot.
+   *
+   * <p>No thread waits for the Fog responses. They are processed on
+   * {@link ClientConfig#asyncExecutor} or the shared {@link com.mobilecoin.lib.util.AsyncCall}
+   * executor. The future completes exceptionally with the exceptions of the blocking call.
+   *
+   * <p>Cancelling the returned future does not abort the requests in flight. Use
+   * {@link com.mobilecoin.lib.util.AsyncCall#withDeadline} to bound how long to wait.
+   *
+   * <p>The default implementation completes exceptionally with
+   * {@link UnsupportedOperationException}.
+   *
+   * @see MobileCoinAccountClient#getAccountSnapshot()
+   */
+  @NonNull
+  @RequiresApi(api = Build.VERSION_CODES.N)
+  default CompletableFuture<AccountSnapshot> getAccountSnapshotAsync() {
+    return AsyncCall.failed(new UnsupportedOperationException("getAccountSnapshotAsync"));
+  }
+
+  /**
+   * Asynchronously retrieves {@code AccountKey}'s balance for every discovered token.
+   *
+   * <p>The default implementation completes exceptionally with
+   * {@link UnsupportedOperationException}.
+   *
+   * @see MobileCoinAccountClient#getBalances()
+   */
+  @NonNull
+  @RequiresApi(api = Build.VERSION_CODES.N)
+  default CompletableFuture<Map<TokenId, Balance>> getBalancesAsync() {
+    return AsyncCall.failed(new UnsupportedOperationException("getBalancesAsync"));
+  }
+
+  /**
+   * Asynchronously retrieves the account activity.
+   *
+   * <p>The default implementation completes exceptionally with
+   * {@link UnsupportedOperationException}.
+   *
+   * @see MobileCoinAccountClient#getAccountActivity()
+   */
+  @NonNull
+  @RequiresApi(api = Build.VERSION_CODES.N)
+  default CompletableFuture<AccountActivity> getAccountActivityAsync() {
+    return AsyncCall.failed(new UnsupportedOperationException("getAccountActivityAsync"));
+  }
+
 }
@@ -3,9 +3,11 @@
 package com.mobilecoin.lib;
 
 import android.net.Uri;
+import android.os.Build;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
 import androidx.annotation.VisibleForTesting;
 
 import com.mobilecoin.api.MobileCoinAPI;
@@ -26,15 +28,25 @@ import com.mobilecoin.lib.exceptions.StorageNotFoundException;
 import com.mobilecoin.lib.exceptions.TransactionBuilderException;
 import com.mobilecoin.lib.log.LogAdapter;
 import com.mobilecoin.lib.log.Logger;
+import com.mobilecoin.lib.metrics.Metrics;
+import com.mobilecoin.lib.metrics.MetricsAdapter;
 import com.mobilecoin.lib.network.NetworkResult;
 import com.mobilecoin.lib.network.TransportProtocol;
 import com.mobilecoin.lib.network.uri.ConsensusUri;
 import com.mobilecoin.lib.network.uri.FogUri;
 import com.mobilecoin.lib.network.uri.MobileCoinUri;
+import com.mobilecoin.lib.trace.Span;
+import com.mobilecoin.lib.trace.SpanExporter;
+import com.mobilecoin.lib.trace.Tracer;
+import com.mobilecoin.lib.util.AsyncCall;
+import com.mobilecoin.lib.util.BoundedExecutors;
 import com.mobilecoin.lib.util.Result;
 import com.mobilecoin.lib.util.Task;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -45,10 +57,16 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
@@ -73,17 +91,27 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
     private static final int STATUS_MAX_RETRIES = 300;
     private static final int DEFAULT_RING_SIZE = 11;
     private static final long DEFAULT_NEW_TX_BLOCK_ATTEMPTS = 50;
+    private static final int WARM_UP_TASK_COUNT = 5;
+    // runs the warm-up tasks of all clients, idle threads are released
+    private static ExecutorService warmUpExecutor;
     private final AccountKey accountKey;
     private final TxOutStore txOutStore;
     final ClientConfig clientConfig;
     final StorageAdapter cacheStorage;
+    @Nullable
+    final TxOutStoreJournal txOutStoreJournal;
     final FogReportsManager fogReportsManager;
     final FogBlockClient fogBlockClient;
     final FogUntrustedClient untrustedClient;
     final AttestedViewClient viewClient;
     final AttestedLedgerClient ledgerClient;
     final AttestedConsensusClient consensusClient;
+    @Nullable
+    final HedgedConsensusSubmitter hedgedConsensusSubmitter;
     final BlockchainClient blockchainClient;
+    private TransactionStatusWatcher statusWatcher;
+    @Nullable
+    private volatile SyncProgressListener syncProgressListener;
 
     /**
      * Construct new {@link MobileCoinClient} instance
@@ -140,10 +168,15 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
         this.accountKey = accountKey;
         this.clientConfig = clientConfig;
         this.cacheStorage = clientConfig.storageAdapter;
+        this.txOutStoreJournal = (cacheStorage != null && clientConfig.journaledStorage)
+                ? new TxOutStoreJournal(cacheStorage, TxOutStore.createStorageKey(accountKey),
+                    TxOutStoreJournal.DEFAULT_COMPACTION_THRESHOLD,
+                    TxOutStoreJournal.getDefaultCompactionExecutor())
+                : null;
         FogUri normalizedFogUri = new FogUri(fogUri);
         List<MobileCoinUri> normalizedConsensusUris = createNormalizedConsensusUris(consensusUris);
         this.blockchainClient = new BlockchainClient(
-            RandomLoadBalancer.create(normalizedConsensusUris),
+            EwmaLoadBalancer.create(normalizedConsensusUris),
             clientConfig.consensus,
             clientConfig.minimumFeeCacheTTLms,
             transportProtocol
@@ -153,19 +186,38 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
         this.ledgerClient = new AttestedLedgerClient(RandomLoadBalancer.create(normalizedFogUri),
             clientConfig.fogLedger, transportProtocol);
         this.consensusClient = new AttestedConsensusClient(
-            RandomLoadBalancer.create(normalizedConsensusUris),
+            EwmaLoadBalancer.create(normalizedConsensusUris),
             clientConfig.consensus, transportProtocol);
         this.fogBlockClient = new FogBlockClient(RandomLoadBalancer.create(normalizedFogUri),
             clientConfig.fogLedger, transportProtocol);
         this.untrustedClient = new FogUntrustedClient(RandomLoadBalancer.create(normalizedFogUri),
             clientConfig.fogLedger, transportProtocol);
+        if (clientConfig.consensusHedgeDelayMs >= 0 && normalizedConsensusUris.size() > 1
+                && clientConfig.consensusHedgeNodes > 1) {
+            this.hedgedConsensusSubmitter = new HedgedConsensusSubmitter(normalizedConsensusUris,
+                clientConfig.consensus, transportProtocol, untrustedClient,
+                clientConfig.consensusHedgeDelayMs, clientConfig.consensusHedgeNodes);
+        } else {
+            this.hedgedConsensusSubmitter = null;
+        }
         this.txOutStore = createTxOutStore(accountKey);
+        this.txOutStore.setColdTierSpentBlocks(clientConfig.coldTierSpentBlocks);
         this.fogReportsManager = new FogReportsManager(transportProtocol);
         // add client provided log adapter
         LogAdapter logAdapter = clientConfig.logAdapter;
         if (null != logAdapter) {
             Logger.addAdapter(logAdapter);
         }
+        // add client provided metrics adapter
+        MetricsAdapter metricsAdapter = clientConfig.metricsAdapter;
+        if (null != metricsAdapter) {
+            Metrics.addAdapter(metricsAdapter);
+        }
+        // set client provided span exporter
+        SpanExporter spanExporter = clientConfig.spanExporter;
+        if (null != spanExporter) {
+            Tracer.setExporter(spanExporter);
+        }
     }
 
     @VisibleForTesting
@@ -185,12 +237,14 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
         this.txOutStore = txOutStore;
         this.clientConfig = clientConfig;
         this.cacheStorage = cacheStorage;
+        this.txOutStoreJournal = null;
         this.fogReportsManager = fogReportsManager;
         this.fogBlockClient = fogBlockClient;
         this.untrustedClient = untrustedClient;
         this.viewClient = viewClient;
         this.ledgerClient = ledgerClient;
         this.consensusClient = consensusClient;
+        this.hedgedConsensusSubmitter = null;
         this.blockchainClient = blockchainClient;
     }
 
@@ -199,6 +253,175 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
         return untrustedClient;
     }
 
+    /**
+     * Establish the service connections ahead of the first request.
+     * <p>
+     * Fog View, Fog Ledger and Consensus are attested in parallel while the last block info,
+     * which includes the minimum fees, and the Fog report of the account are prefetched, so the
+     * first balance check or transaction does not pay for them sequentially. Calling this method
+     * is optional, connections are otherwise established lazily. See also
+     * {@link #startWarmUp()}.
+     */
+    public void warmUp() throws NetworkException, AttestationException, FogReportException {
+        Logger.i(TAG, "Warming up client connections");
+        long startTime = System.currentTimeMillis();
+        final HashSet<FogUri> reportUris = new HashSet<>();
+        try {
+            reportUris.add(new FogUri(accountKey.getFogReportUri()));
+        } catch (InvalidUriException exception) {
+            FogReportException reportException = new FogReportException("Invalid Fog Report " +
+                    "Uri in the account key");
+            Util.logException(TAG, reportException);
+            throw reportException;
+        }
+        final UnsignedLong tombstoneBlockIndex = txOutStore.getCurrentBlockIndex()
+                .add(UnsignedLong.fromLongBits(DEFAULT_NEW_TX_BLOCK_ATTEMPTS));
+        List<Task<Object, Exception>> tasks = new ArrayList<>();
+        tasks.add(new Task<Object, Exception>() {
+            @Override
+            public Object execute() throws Exception {
+                return viewClient.getNetworkTransport();
+            }
+        });
+        tasks.add(new Task<Object, Exception>() {
+            @Override
+            public Object execute() throws Exception {
+                return ledgerClient.getNetworkTransport();
+            }
+        });
+        tasks.add(new Task<Object, Exception>() {
+            @Override
+            public Object execute() throws Exception {
+                return consensusClient.getNetworkTransport();
+            }
+        });
+        tasks.add(new Task<Object, Exception>() {
+            @Override
+            public Object execute() throws Exception {
+                return blockchainClient.getOrFetchLastBlockInfo();
+            }
+        });
+        tasks.add(new Task<Object, Exception>() {
+            @Override
+            public Object execute() throws Exception {
+                return fogReportsManager.fetchReports(reportUris, tombstoneBlockIndex,
+                        clientConfig.report);
+            }
+        });
+        ExecutorService executorService = getWarmUpExecutor();
+        try {
+            List<Future<Result<Object, Exception>>> futures = new ArrayList<>();
+            for (Task<Object, Exception> task : tasks) {
+                futures.add(executorService.submit(task));
+            }
+            // all tasks are awaited so that a single failure does not abandon the others
+            Exception error = null;
+            for (Future<Result<Object, Exception>> future : futures) {
+                Result<Object, Exception> result = future.get();
+                if (result.isErr() && null == error) {
+                    error = result.getError();
+                }
+            }
+            if (null != error) {
+                throw error;
+            }
+        } catch (NetworkException | AttestationException | FogReportException exception) {
+            Util.logException(TAG, exception);
+            throw exception;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new NetworkException(NetworkResult.CANCELED, exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("BUG: tasks return a Result", exception);
+        } catch (Exception exception) {
+            Logger.wtf(TAG, "Bug: Unexpected exception", exception);
+            throw new IllegalStateException(exception);
+        }
+        Logger.d(TAG, "Warm up time: " + (System.currentTimeMillis() - startTime) + "ms");
+    }
+
+    /**
+     * Run {@link #warmUp()} in the background, i.e. right after creating the client. Failures are
+     * logged, the connections are then established by the first request.
+     */
+    public void startWarmUp() {
+        Thread warmUpThread = new Thread(() -> {
+            try {
+                warmUp();
+            } catch (Exception exception) {
+                Logger.w(TAG, "Unable to warm up client connections", exception);
+            }
+        }, "mobilecoin-warm-up");
+        warmUpThread.setDaemon(true);
+        warmUpThread.start();
+    }
+
+    @NonNull
+    private static synchronized ExecutorService getWarmUpExecutor() {
+        if (null == warmUpExecutor) {
+            warmUpExecutor = BoundedExecutors.newDaemonPool("mobilecoin-warm-up-task",
+                    WARM_UP_TASK_COUNT);
+        }
+        return warmUpExecutor;
+    }
+
+    /**
+     * Returns the watcher that batches status checks of pending transactions and receipts.
+     * The watcher is created on first use and shut down together with the client.
+     */
+    @NonNull
+    public synchronized TransactionStatusWatcher getTransactionStatusWatcher() {
+        if (null == statusWatcher) {
+            statusWatcher = new TransactionStatusWatcher(
+                    untrustedClient,
+                    ledgerClient,
+                    blockchainClient,
+                    STATUS_CHECK_DELAY_MS
+            );
+        }
+        return statusWatcher;
+    }
+
+    /**
+     * Sets the listener notified of the progress of account syncs, i.e. when fetching the
+     * balance or the account activity.
+     *
+     * @param listener listener to notify or {@code null} to stop notifications
+     */
+    public void setSyncProgressListener(@Nullable SyncProgressListener listener) {
+        this.syncProgressListener = listener;
+    }
+
+    /**
+     * Blocks until the watcher reports a final status for the transaction.
+     *
+     * @throws TimeoutException if no final status is reported in time or the wait is interrupted
+     */
+    @NonNull
+    private TransactionStatus awaitTransactionStatus(@NonNull Transaction transaction)
+            throws TimeoutException {
+        TransactionStatusWatcher watcher = getTransactionStatusWatcher();
+        CountDownLatch completed = new CountDownLatch(1);
+        AtomicReference<TransactionStatus> result = new AtomicReference<>();
+        watcher.watch(transaction, status -> {
+            result.set(status);
+            completed.countDown();
+        });
+        try {
+            long timeoutMs = (long) STATUS_CHECK_DELAY_MS * STATUS_MAX_RETRIES;
+            if (!completed.await(timeoutMs, TimeUnit.MILLISECONDS)) {
+                Logger.w(TAG, "Exceeded waiting time for the transaction to post (" + timeoutMs / 1000.0d + " seconds)");
+                throw new TimeoutException();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException();
+        } finally {
+            watcher.unwatch(transaction);
+        }
+        return result.get();
+    }
+
     private List<MobileCoinUri> createNormalizedConsensusUris(List<Uri> consensusUris)
         throws InvalidUriException {
         List<MobileCoinUri> normalizedConsensusUris = new ArrayList<>();
@@ -210,21 +433,112 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
     }
 
     private TxOutStore createTxOutStore(AccountKey accountKey) {
+        if (txOutStoreJournal != null) {
+            return loadTxOutStoreJournal(accountKey);
+        }
         String txOutStoreStorageKey = TxOutStore.createStorageKey(accountKey);
-        if(cacheStorage != null && cacheStorage.has(txOutStoreStorageKey)) {
-            byte[] serializedTxOutStore = cacheStorage.get(txOutStoreStorageKey);
-            return deserializeTxOutStore(serializedTxOutStore);
+        if (cacheStorage != null) {
+            TxOutStore journaledStore = loadUnusedTxOutStoreJournal(txOutStoreStorageKey);
+            if (journaledStore != null) {
+                return journaledStore;
+            }
+            TxOutStore cachedStore = loadCachedTxOutStore(txOutStoreStorageKey);
+            if (cachedStore != null) {
+                return cachedStore;
+            }
         }
 
         return new TxOutStore(accountKey);
     }
 
-    private TxOutStore deserializeTxOutStore(byte[] serializedTxOutStore) {
+    /**
+     * @return the cached store or {@code null} if there is none or it cannot be read
+     */
+    @Nullable
+    private TxOutStore loadCachedTxOutStore(@NonNull String txOutStoreStorageKey) {
         try {
-            return TxOutStore.fromBytes(serializedTxOutStore);
-        } catch (SerializationException e) {
+            ByteBuffer serializedTxOutStore =
+                    TxOutStoreFormat.readValue(cacheStorage, txOutStoreStorageKey);
+            if (serializedTxOutStore == null) {
+                return null;
+            }
+            TxOutStore cachedStore = TxOutStore.fromBuffer(serializedTxOutStore);
+            if (!TxOutStoreFormat.isVersioned(serializedTxOutStore)) {
+                migrateTxOutStore(txOutStoreStorageKey, cachedStore);
+            }
+            return cachedStore;
+        } catch (IOException | SerializationException e) {
             Logger.i(TAG, "Failed to deserialize the serialized TxOutStore:" + e.getMessage());
-            return new TxOutStore(accountKey);
+            return null;
+        }
+    }
+
+    /**
+     * Restores the store from the journal, a store cached without a journal is used as its
+     * base snapshot
+     */
+    private TxOutStore loadTxOutStoreJournal(AccountKey accountKey) {
+        try {
+            TxOutStore journaledStore = txOutStoreJournal.load();
+            if (journaledStore != null) {
+                return journaledStore;
+            }
+        } catch (SerializationException e) {
+            Logger.i(TAG, "Failed to load the TxOutStore journal:" + e.getMessage());
+        }
+        return new TxOutStore(accountKey);
+    }
+
+    /**
+     * Restores a store journaled while {@link ClientConfig#journaledStorage} was enabled, the
+     * journal is discarded by the next {@link #cacheUserData()} call
+     */
+    @Nullable
+    private TxOutStore loadUnusedTxOutStoreJournal(@NonNull String txOutStoreStorageKey) {
+        TxOutStoreJournal journal = createUnusedTxOutStoreJournal(txOutStoreStorageKey);
+        if (!journal.exists()) {
+            return null;
+        }
+        try {
+            TxOutStore journaledStore = journal.load();
+            if (journaledStore != null) {
+                // changes are persisted as whole snapshots
+                journaledStore.stopJournal();
+            }
+            return journaledStore;
+        } catch (SerializationException e) {
+            Logger.i(TAG, "Failed to load the TxOutStore journal:" + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Removes a journal left by a journaled run, it would otherwise be replayed on top of a
+     * snapshot written directly under the store key
+     */
+    private void discardTxOutStoreJournal(@NonNull String txOutStoreStorageKey) {
+        createUnusedTxOutStoreJournal(txOutStoreStorageKey).discard();
+    }
+
+    @NonNull
+    private TxOutStoreJournal createUnusedTxOutStoreJournal(@NonNull String txOutStoreStorageKey) {
+        // never compacts, only used to load or discard the journal
+        return new TxOutStoreJournal(cacheStorage, txOutStoreStorageKey,
+                TxOutStoreJournal.DEFAULT_COMPACTION_THRESHOLD, Runnable::run);
+    }
+
+    /**
+     * Rewrites a store cached in the legacy parcel format using the versioned format
+     */
+    private void migrateTxOutStore(@NonNull String txOutStoreStorageKey,
+                                   @NonNull TxOutStore txOutStore) {
+        try {
+            byte[] serializedTxOutStore = txOutStore.toByteArray();
+            discardTxOutStoreJournal(txOutStoreStorageKey);
+            cacheStorage.set(txOutStoreStorageKey, serializedTxOutStore);
+        } catch (SerializationException | RuntimeException e) {
+            // the store is rewritten by the next cacheUserData call
+            Logger.w(TAG, "Failed to migrate the cached TxOutStore", e);
         }
     }
 
@@ -236,7 +550,22 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
                 "Data cannot be persisted because no cache storage is available.");
         }
 
+        if (txOutStoreJournal != null) {
+            txOutStoreJournal.persist(txOutStore);
+            return;
+        }
         String txOutStoreStorageKey = TxOutStore.createStorageKey(accountKey);
+        discardTxOutStoreJournal(txOutStoreStorageKey);
+        if (cacheStorage instanceof StreamingStorageAdapter) {
+            TxOutStoreFormat.Writer serializedTxOutStore = txOutStore.serialize();
+            try (OutputStream outputStream = ((StreamingStorageAdapter) cacheStorage)
+                    .openOutputStream(txOutStoreStorageKey)) {
+                serializedTxOutStore.writeTo(outputStream);
+            } catch (IOException e) {
+                throw new SerializationException("Unable to write the TxOutStore", e);
+            }
+            return;
+        }
         byte[] serializedTxOutStore = txOutStore.toByteArray();
 
         cacheStorage.set(txOutStoreStorageKey, serializedTxOutStore);
@@ -253,6 +582,22 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
     @Nullable
     public AccountSnapshot getAccountSnapshot(UnsignedLong blockIndex) throws NetworkException,
             InvalidFogResponse, AttestationException, FogSyncException {
+        return getAccountSnapshot(blockIndex, false);
+    }
+
+    /**
+     * Snapshot of the latest block for balance calculations, the cold tier only holds TxOuts
+     * spent before that block and does not contribute to the balances
+     */
+    @NonNull
+    private AccountSnapshot getBalanceSnapshot() throws NetworkException,
+            InvalidFogResponse, AttestationException, FogSyncException {
+        return Objects.requireNonNull(getAccountSnapshot(UnsignedLong.MAX_VALUE, true));
+    }
+
+    @Nullable
+    private AccountSnapshot getAccountSnapshot(UnsignedLong blockIndex, boolean hotTierOnly)
+            throws NetworkException, InvalidFogResponse, AttestationException, FogSyncException {
         Logger.i(TAG, "GetAccountSnapshot call");
         TxOutStore txOutStore = getTxOutStore();
         UnsignedLong storeIndex = txOutStore.getCurrentBlockIndex();
@@ -261,16 +606,25 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
                 txOutStore.refresh(
                         viewClient,
                         ledgerClient,
-                        fogBlockClient
+                        fogBlockClient,
+                        syncProgressListener
                 );
             } catch(FogSyncException e) {
                 if(blockIndex.compareTo(storeIndex) >= 0) {
                     throw e;
                 }
             }
-            // refresh store index
-            storeIndex = txOutStore.getCurrentBlockIndex();
         }
+        return createAccountSnapshot(blockIndex, hotTierOnly);
+    }
+
+    /**
+     * Creates a snapshot of the TxOutStore as it is, without refreshing it
+     */
+    @Nullable
+    private AccountSnapshot createAccountSnapshot(UnsignedLong blockIndex, boolean hotTierOnly) {
+        TxOutStore txOutStore = getTxOutStore();
+        UnsignedLong storeIndex = txOutStore.getCurrentBlockIndex();
         // if the requested blockIndex is higher than what was retrieved from Fog but not MAX_VALUE
         // return null as the request cannot be fulfilled at this moment
         if (blockIndex.compareTo(UnsignedLong.MAX_VALUE) < 0
@@ -280,8 +634,13 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
         final UnsignedLong finalBlockIndex = (storeIndex.compareTo(blockIndex) > 0)
                 ? blockIndex
                 : storeIndex;
-        Set<OwnedTxOut> txOuts = txOutStore.getSyncedTxOuts().stream()
-                .filter(txOut -> txOut.getReceivedBlockIndex().compareTo(finalBlockIndex) <= 0)
+        Set<OwnedTxOut> syncedTxOuts = (hotTierOnly && finalBlockIndex.equals(storeIndex))
+                ? txOutStore.getSyncedHotTxOuts()
+                : txOutStore.getSyncedTxOuts();
+        final long finalBlockIndexBits = finalBlockIndex.longValue();
+        Set<OwnedTxOut> txOuts = syncedTxOuts.stream()
+                .filter(txOut -> Long.compareUnsigned(txOut.getReceivedBlockIndexBits(),
+                        finalBlockIndexBits) <= 0)
                 .map(OwnedTxOut::new)
                 .collect(Collectors.toSet());
 
@@ -303,13 +662,25 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
     @NonNull
     public Balance getBalance(TokenId tokenId) throws AttestationException, InvalidFogResponse, NetworkException, FogSyncException {
         Logger.i(TAG, "GetBalance call");
-        return getAccountSnapshot().getBalance(tokenId);
+        return getBalanceSnapshot().getBalance(tokenId);
     }
 
     @Override
     @NonNull
     public Map<TokenId, Balance> getBalances() throws AttestationException, InvalidFogResponse, NetworkException, FogSyncException {
-        return getAccountSnapshot().getBalances();
+        return getBalances(getBalanceSnapshot());
+    }
+
+    @NonNull
+    private Map<TokenId, Balance> getBalances(@NonNull AccountSnapshot snapshot) {
+        Map<TokenId, Balance> balances = snapshot.getBalances();
+        // the snapshot skips the cold tier, tokens with only spent TxOuts keep a zero balance
+        for (TokenId tokenId : getTxOutStore().getColdTokenIds()) {
+            if (!balances.containsKey(tokenId)) {
+                balances.put(tokenId, new Balance(BigInteger.ZERO, snapshot.getBlockIndex()));
+            }
+        }
+        return balances;
     }
 
     @Deprecated
@@ -329,7 +700,7 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
     public Amount getTransferableAmount(@NonNull TokenId tokenId) throws NetworkException, InvalidFogResponse,
             AttestationException, FogSyncException {
         Logger.i(TAG, "GetTransferableAmount call");
-        return getAccountSnapshot().getTransferableAmount(getOrFetchMinimumTxFee(tokenId));
+        return getBalanceSnapshot().getTransferableAmount(getOrFetchMinimumTxFee(tokenId));
     }
 
     @Override
@@ -409,16 +780,34 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
                 txOutToSpend.getTargetKey(),
                 accountKey
         );
-        SignedContingentInputBuilder sciBuilder = new SignedContingentInputBuilder(
-                new FogResolver(reportsResponse, clientConfig.report.getTrustedIdentities()),
-                TxOutMemoBuilder.createDefaultRTHMemoBuilder(),
-                blockVersion,
-                ring.getNativeTxOuts().toArray(new TxOut[0]),
-                ring.getNativeTxOutMembershipProofs().toArray(new TxOutMembershipProof[0]),
-                ring.realIndex,
-                onetimePrivateKey,
-                accountKey.getViewKey()
-        );
+        TxOut[] nativeRing = null;
+        TxOutMembershipProof[] nativeProofs = null;
+        final SignedContingentInputBuilder sciBuilder;
+        try {
+            nativeRing = ring.createNativeTxOuts();
+            nativeProofs = ring.createNativeTxOutMembershipProofs();
+            sciBuilder = new SignedContingentInputBuilder(
+                    new FogResolver(reportsResponse, clientConfig.report.getTrustedIdentities()),
+                    TxOutMemoBuilder.createDefaultRTHMemoBuilder(),
+                    blockVersion,
+                    nativeRing,
+                    nativeProofs,
+                    ring.realIndex,
+                    onetimePrivateKey,
+                    accountKey.getViewKey()
+            );
+        } catch (SerializationException exception) {
+            final InvalidFogResponse ifr = new InvalidFogResponse("Unable to decode rings", exception);
+            Util.logException(TAG, ifr);
+            throw ifr;
+        } finally {
+            if (nativeRing != null) {
+                TxOut.free(nativeRing);
+            }
+            if (nativeProofs != null) {
+                TxOutMembershipProof.free(nativeProofs);
+            }
+        }
 
         sciBuilder.setTombstoneBlockIndex(tombstoneBlockIndex);
 
@@ -493,6 +882,19 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
                     return SignedContingentInput.CancelationResult.FAILED_UNKNOWN;
             }
         }
+        TransactionStatus watchedStatus;
+        try {
+            watchedStatus = awaitTransactionStatus(spendInputTransaction);
+        } catch (TimeoutException e) {
+            Logger.e(TAG, "Exceeded waiting time for the cancelation transaction to post");
+            return SignedContingentInput.CancelationResult.FAILED_UNKNOWN;
+        }
+        if (watchedStatus.getStatus() == Transaction.Status.FAILED) {
+            Logger.e(TAG, "Cancelation transaction failed", null,
+                    "reason:", watchedStatus.getFailureReason());
+            return SignedContingentInput.CancelationResult.FAILED_UNKNOWN;
+        }
+        // wait for the account to catch up with the ledger
         while(getTransactionStatus(spendInputTransaction).equals(Transaction.Status.UNKNOWN)) {
             try {
                 Thread.sleep(STATUS_CHECK_DELAY_MS);
@@ -569,16 +971,30 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
                 txOut.getTargetKey(),
                 accountKey
         );
-        SignedContingentInputBuilder sciBuilder = new SignedContingentInputBuilder(
-                new FogResolver(reportsResponse, clientConfig.report.getTrustedIdentities()),
-                TxOutMemoBuilder.createDefaultRTHMemoBuilder(),
-                blockVersion,
-                ring.getNativeTxOuts().toArray(new TxOut[0]),
-                ring.getNativeTxOutMembershipProofs().toArray(new TxOutMembershipProof[0]),
-                ring.realIndex,
-                onetimePrivateKey,
-                accountKey.getViewKey()
-        );
+        TxOut[] nativeRing = null;
+        TxOutMembershipProof[] nativeProofs = null;
+        final SignedContingentInputBuilder sciBuilder;
+        try {
+            nativeRing = ring.createNativeTxOuts();
+            nativeProofs = ring.createNativeTxOutMembershipProofs();
+            sciBuilder = new SignedContingentInputBuilder(
+                    new FogResolver(reportsResponse, clientConfig.report.getTrustedIdentities()),
+                    TxOutMemoBuilder.createDefaultRTHMemoBuilder(),
+                    blockVersion,
+                    nativeRing,
+                    nativeProofs,
+                    ring.realIndex,
+                    onetimePrivateKey,
+                    accountKey.getViewKey()
+            );
+        } finally {
+            if (nativeRing != null) {
+                TxOut.free(nativeRing);
+            }
+            if (nativeProofs != null) {
+                TxOutMembershipProof.free(nativeProofs);
+            }
+        }
 
         // This is critical - we want the tombstone block to be in the past so that the SCI is not spendable.
         sciBuilder.setTombstoneBlockIndex(UnsignedLong.ONE);
@@ -696,9 +1112,7 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
                 getAccountKey()
         );
         txBuilder.addInput(
-                ring.getNativeTxOuts(),
-                ring.getNativeTxOutMembershipProofs(),
-                ring.realIndex,
+                ring,
                 onetimePrivateKey,
                 accountKey.getViewKey()
         );
@@ -812,6 +1226,28 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
         @NonNull final Amount fee,
         @NonNull final TxOutMemoBuilder txOutMemoBuilder,
         @NonNull final Rng rng
+    ) throws InvalidFogResponse, AttestationException, NetworkException,
+            TransactionBuilderException, FogReportException {
+        Span span = Tracer.startSpan("prepare_transaction")
+                .setAttribute("inputs", txOuts.size());
+        try {
+            return buildPendingTransaction(recipient, amount, txOuts, fee, txOutMemoBuilder, rng);
+        } catch (Exception exception) {
+            span.recordError(exception);
+            throw exception;
+        } finally {
+            span.end();
+        }
+    }
+
+    @NonNull
+    private PendingTransaction buildPendingTransaction(
+        @NonNull final PublicAddress recipient,
+        @NonNull final Amount amount,
+        @NonNull final List<OwnedTxOut> txOuts,
+        @NonNull final Amount fee,
+        @NonNull final TxOutMemoBuilder txOutMemoBuilder,
+        @NonNull final Rng rng
     ) throws InvalidFogResponse, AttestationException, NetworkException,
             TransactionBuilderException, FogReportException {
         Logger.i(TAG, "PrepareTransaction with TxOuts call", null,
@@ -839,23 +1275,30 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
         }
         // fetch reports and rings in parallel
         long startTime = System.currentTimeMillis();
+        final Span parentSpan = Tracer.getCurrentSpan();
         Task<FogReportResponses, Exception> fetchReportsTask =
                 new Task<FogReportResponses, Exception>() {
                     @Override
                     public FogReportResponses execute() throws Exception {
-                        return fogReportsManager.fetchReports(reportUris,
-                                tombstoneBlockIndex, clientConfig.report);
+                        try (Span span = Tracer.startSpan("fog_report.fetch", parentSpan)) {
+                            span.setAttribute("report_uris", reportUris.size());
+                            return fogReportsManager.fetchReports(reportUris,
+                                    tombstoneBlockIndex, clientConfig.report);
+                        }
                     }
                 };
 
         Task<List<Ring>, Exception> fetchRingsTask = new Task<List<Ring>, Exception>() {
             @Override
             public List<Ring> execute() throws Exception {
-                return getRingsForUTXOs(
-                        txOuts,
-                        getTxOutStore().getLedgerTotalTxCount(),
-                        rng
-                );
+                try (Span span = Tracer.startSpan("fog_ledger.fetch_rings", parentSpan)) {
+                    span.setAttribute("rings", txOuts.size());
+                    return getRingsForUTXOs(
+                            txOuts,
+                            getTxOutStore().getLedgerTotalTxCount(),
+                            rng
+                    );
+                }
             }
         };
 
@@ -912,8 +1355,11 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
         }
         long endTime = System.currentTimeMillis();
         Logger.d(TAG, "Report + Rings fetch time: " + (endTime - startTime) + "ms");
-        FogResolver fogResolver = new FogResolver(fogReportResponses,
-                clientConfig.report.getTrustedIdentities());
+        FogResolver fogResolver;
+        try (Span span = Tracer.startSpan("fog_resolver.create")) {
+            fogResolver = new FogResolver(fogReportResponses,
+                    clientConfig.report.getTrustedIdentities());
+        }
 
         TransactionBuilder txBuilder = new TransactionBuilder(
                 fogResolver,
@@ -930,22 +1376,23 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
                 BigInteger.ZERO,
                 amount.getTokenId()
         );
-        for (Ring ring : rings) {
-            OwnedTxOut utxo = ring.utxo;
-            totalAmount = totalAmount.add(utxo.getAmount());
-
-            RistrettoPrivate onetimePrivateKey = OnetimeKeys.recoverOnetimePrivateKey(
-                    utxo.getPublicKey(),
-                    utxo.getTargetKey(),
-                    accountKey
-            );
+        try (Span span = Tracer.startSpan("transaction.add_inputs")) {
+            span.setAttribute("inputs", rings.size());
+            for (Ring ring : rings) {
+                OwnedTxOut utxo = ring.utxo;
+                totalAmount = totalAmount.add(utxo.getAmount());
+
+                RistrettoPrivate onetimePrivateKey = OnetimeKeys.recoverOnetimePrivateKey(
+                        utxo.getPublicKey(),
+                        utxo.getTargetKey(),
+                        accountKey
+                );
 
-            txBuilder.addInput(ring.getNativeTxOuts(),
-                    ring.getNativeTxOutMembershipProofs(),
-                    ring.realIndex,
-                    onetimePrivateKey,
-                    accountKey.getViewKey()
-            );
+                txBuilder.addInput(ring,
+                        onetimePrivateKey,
+                        accountKey.getViewKey()
+                );
+            }
         }
         byte[] confirmationNumberOut = new byte[Receipt.CONFIRMATION_NUMBER_LENGTH];
         final TxOutContext payloadTxOutContext = txBuilder.addOutput(
@@ -966,7 +1413,10 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
             changeTxOutContext = txBuilder.addChangeOutput(change, accountKey, null);
         }
 
-        Transaction transaction = txBuilder.build();
+        Transaction transaction;
+        try (Span span = Tracer.startSpan("transaction.build")) {
+            transaction = txBuilder.build();
+        }
         MaskedAmount pendingMaskedAmount = pendingTxo.getMaskedAmount();
         Receipt receipt = new Receipt(pendingTxo.getPublicKey(),
                 confirmationNumberOut,
@@ -985,8 +1435,29 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
     public long submitTransaction(@NonNull Transaction transaction)
             throws InvalidTransactionException, NetworkException, AttestationException {
         Logger.i(TAG, "SubmitTransaction call");
-        ConsensusCommon.ProposeTxResponse txResponse =
-                consensusClient.proposeTx(transaction.toProtoBufObject());
+        ConsensusCommon.ProposeTxResponse txResponse;
+        try (Span span = Tracer.startSpan("submit_transaction")) {
+            span.setAttribute("hedged", null != hedgedConsensusSubmitter);
+            try {
+                txResponse = null != hedgedConsensusSubmitter
+                        ? hedgedConsensusSubmitter.proposeTx(transaction.toProtoBufObject())
+                        : consensusClient.proposeTx(transaction.toProtoBufObject());
+            } catch (NetworkException | AttestationException | RuntimeException exception) {
+                span.recordError(exception);
+                throw exception;
+            }
+            span.setAttribute("result", txResponse.getResult().name());
+        }
+        return onProposeTxResponse(txResponse);
+    }
+
+    /**
+     * Updates the consensus block index from the response
+     *
+     * @return the index of the block the transaction was proposed in
+     */
+    private long onProposeTxResponse(@NonNull ConsensusCommon.ProposeTxResponse txResponse)
+            throws InvalidTransactionException {
         final long blockIndex = txResponse.getBlockCount() > 0 ? txResponse.getBlockCount() - 1L : 0;
         this.txOutStore.setConsensusBlockIndex(UnsignedLong.fromLongBits(blockIndex));
         ConsensusCommon.ProposeTxResult txResult = txResponse.getResult();
@@ -1101,11 +1572,21 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
             throws InsufficientFundsException, NetworkException, InvalidFogResponse,
             AttestationException, FogSyncException {
         Logger.i(TAG, "EstimateTotalFee call");
+        return calculateTotalFee(getUnspentTxOuts(amount.getTokenId()), amount,
+                getOrFetchMinimumTxFee(amount.getTokenId()));
+    }
+
+    @NonNull
+    private static Amount calculateTotalFee(
+            @NonNull Set<OwnedTxOut> unspentTxOuts,
+            @NonNull Amount amount,
+            @NonNull Amount minimumTxFee
+    ) throws InsufficientFundsException {
         return new Amount(
                 UTXOSelector.calculateFee(
-                    getUnspentTxOuts(amount.getTokenId()),
+                    unspentTxOuts,
                     amount.getValue(),
-                    getOrFetchMinimumTxFee(amount.getTokenId()).getValue(),
+                    minimumTxFee.getValue(),
                     INPUT_FEE,
                     OUTPUT_FEE,
                     2
@@ -1156,6 +1637,25 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
         @NonNull final DefragmentationDelegate delegate,
         final boolean shouldWriteRTHMemos,
         @NonNull final Rng rng
+    ) throws InvalidFogResponse, AttestationException, NetworkException, InsufficientFundsException,
+            TransactionBuilderException, InvalidTransactionException,
+            FogReportException, TimeoutException, FogSyncException {
+        Span span = Tracer.startSpan("defragment_account");
+        try {
+            runDefragmentation(amountToSend, delegate, shouldWriteRTHMemos, rng);
+        } catch (Exception exception) {
+            span.recordError(exception);
+            throw exception;
+        } finally {
+            span.end();
+        }
+    }
+
+    private void runDefragmentation(
+        @NonNull final Amount amountToSend,
+        @NonNull final DefragmentationDelegate delegate,
+        final boolean shouldWriteRTHMemos,
+        @NonNull final Rng rng
     ) throws InvalidFogResponse, AttestationException, NetworkException, InsufficientFundsException,
             TransactionBuilderException, InvalidTransactionException,
             FogReportException, TimeoutException, FogSyncException {
@@ -1184,6 +1684,7 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
                 );
             } catch (FragmentedAccountException exception) {
                 Logger.i(TAG, "Beginning defragmentation round " + ++defragmentationRoundNumber);
+                Tracer.getCurrentSpan().setAttribute("rounds", defragmentationRoundNumber);
                 UTXOSelector.Selection<OwnedTxOut> selection = UTXOSelector.selectInputsForMerging(
                         unspent,
                         txFee.getValue(),
@@ -1211,9 +1712,18 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
                 }
                 Logger.i(TAG, "Defragmentation transaction submitted. Awaiting status...");
                 // make sure the previous Tx is posted
-                Transaction.Status status;
+                TransactionStatus status =
+                        awaitTransactionStatus(pendingTransaction.getTransaction());
+                if (status.getStatus() == Transaction.Status.FAILED) {
+                    Logger.e(TAG, "Defragmentation transaction failed");
+                    throw new InvalidTransactionException(
+                            Objects.requireNonNull(status.getFailureReason()),
+                            status.getBlockIndex());
+                }
+                // wait for the account to catch up with the ledger
                 int queryTries = 0;
-                while ((status = getTransactionStatus(pendingTransaction.getTransaction()))
+                while ((status = getAccountSnapshot().fetchTransactionStatus(
+                        pendingTransaction.getTransaction())).getStatus()
                         == Transaction.Status.UNKNOWN) {
                     if (queryTries++ == STATUS_MAX_RETRIES) {
                         Logger.w(TAG, "Exceeded waiting time for the transaction to post (" + (STATUS_CHECK_DELAY_MS * STATUS_MAX_RETRIES) / 1000.0d + " seconds)");
@@ -1225,11 +1735,10 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
                         Logger.w(TAG, "Sleep interruption during defragmentation");
                     }
                 }
-                if (status == Transaction.Status.FAILED) {
+                if (status.getStatus() == Transaction.Status.FAILED) {
                     Logger.e(TAG, "Defragmentation transaction failed");
-                    //Status only set to FAILED on TombstoneBlockExceeded. See getTransactionStatus(Transaction transaction)
                     throw new InvalidTransactionException(
-                            ConsensusCommon.ProposeTxResult.TombstoneBlockExceeded,
+                            Objects.requireNonNull(status.getFailureReason()),
                             status.getBlockIndex());
                 }
             }
@@ -1281,7 +1790,8 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
         getTxOutStore().refresh(
                 viewClient,
                 ledgerClient,
-                fogBlockClient
+                fogBlockClient,
+                syncProgressListener
         );
         return getTxOutStore().getUnspentTxOuts();
     }
@@ -1290,7 +1800,13 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
     Set<OwnedTxOut> getUnspentTxOuts(@NonNull TokenId tokenId) throws InvalidFogResponse,
             NetworkException, AttestationException, FogSyncException {
         Logger.d(TAG, "Getting all unspent " + tokenId + " TxOuts");
-        return getAllUnspentTxOuts().stream()
+        return filterByToken(getAllUnspentTxOuts(), tokenId);
+    }
+
+    @NonNull
+    private static Set<OwnedTxOut> filterByToken(@NonNull Set<OwnedTxOut> txOuts,
+                                                 @NonNull TokenId tokenId) {
+        return txOuts.stream()
                 .filter(otxo -> tokenId.equals(otxo.getAmount().getTokenId()))
                 .collect(Collectors.toSet());
     }
@@ -1313,13 +1829,55 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
     public AccountActivity getAccountActivity() throws NetworkException, InvalidFogResponse,
             AttestationException, FogSyncException {
         Logger.i(TAG, "Getting AccountActivity");
-        txOutStore.refresh(viewClient, ledgerClient, fogBlockClient);
+        txOutStore.refresh(viewClient, ledgerClient, fogBlockClient, syncProgressListener);
+        return createAccountActivity();
+    }
+
+    @NonNull
+    private AccountActivity createAccountActivity() {
         Set<OwnedTxOut> txOuts = txOutStore.getSyncedTxOuts()
                 .stream().map(OwnedTxOut::new).collect(Collectors.toSet());
         return new AccountActivity(txOuts,
                 getTxOutStore().getCurrentBlockIndex().add(UnsignedLong.ONE));
     }
 
+    /**
+     * Retrieves the account activity without the TxOuts spent more than
+     * {@link ClientConfig#coldTierSpentBlocks} blocks ago, use {@link #getColdTxOuts} to page
+     * through those. Without tiering this is the same as {@link #getAccountActivity()}.
+     */
+    @NonNull
+    public AccountActivity getRecentAccountActivity() throws NetworkException,
+            InvalidFogResponse, AttestationException, FogSyncException {
+        Logger.i(TAG, "Getting recent AccountActivity");
+        txOutStore.refresh(viewClient, ledgerClient, fogBlockClient, syncProgressListener);
+        Set<OwnedTxOut> txOuts = txOutStore.getSyncedHotTxOuts()
+                .stream().map(OwnedTxOut::new).collect(Collectors.toSet());
+        return new AccountActivity(txOuts,
+                getTxOutStore().getCurrentBlockIndex().add(UnsignedLong.ONE));
+    }
+
+    /**
+     * Pages through the TxOuts moved to the cold tier, most recently spent first. The tier is
+     * updated when the account is refreshed.
+     *
+     * @param offset number of cold TxOuts to skip
+     * @param limit  maximum number of TxOuts to return
+     * @see ClientConfig#coldTierSpentBlocks
+     */
+    @NonNull
+    public List<OwnedTxOut> getColdTxOuts(int offset, int limit) {
+        return txOutStore.getColdTxOuts(offset, limit).stream()
+                .map(OwnedTxOut::new).collect(Collectors.toList());
+    }
+
+    /**
+     * @return number of TxOuts in the cold tier
+     */
+    public int getColdTxOutCount() {
+        return txOutStore.getColdTxOutCount();
+    }
+
     @NonNull
     List<Ring> getRingsForUTXOs(
             @NonNull List<OwnedTxOut> utxos,
@@ -1436,6 +1994,111 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
         return rings;
     }
 
+    @Override
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<AccountSnapshot> getAccountSnapshotAsync() {
+        Logger.i(TAG, "GetAccountSnapshotAsync call");
+        return refreshAsync().thenApply(ignored ->
+                Objects.requireNonNull(createAccountSnapshot(UnsignedLong.MAX_VALUE, false)));
+    }
+
+    @Override
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<Map<TokenId, Balance>> getBalancesAsync() {
+        Logger.i(TAG, "GetBalancesAsync call");
+        return refreshAsync().thenApply(ignored -> getBalances(
+                Objects.requireNonNull(createAccountSnapshot(UnsignedLong.MAX_VALUE, true))));
+    }
+
+    @Override
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<AccountActivity> getAccountActivityAsync() {
+        Logger.i(TAG, "Getting AccountActivity asynchronously");
+        return refreshAsync().thenApply(ignored -> createAccountActivity());
+    }
+
+    @Override
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<Long> submitTransactionAsync(@NonNull final Transaction transaction) {
+        Logger.i(TAG, "SubmitTransactionAsync call");
+        MobileCoinAPI.Tx tx = transaction.toProtoBufObject();
+        CompletableFuture<ConsensusCommon.ProposeTxResponse> response =
+                null != hedgedConsensusSubmitter
+                        ? hedgedConsensusSubmitter.proposeTxAsync(tx)
+                        : consensusClient.proposeTxAsync(tx);
+        return response.thenApply(txResponse -> {
+            try {
+                return onProposeTxResponse(txResponse);
+            } catch (InvalidTransactionException exception) {
+                throw new CompletionException(exception);
+            }
+        });
+    }
+
+    @Override
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<Transaction.Status> getTransactionStatusAsync(
+            @NonNull final Transaction transaction
+    ) {
+        Logger.i(TAG, "GetTransactionStatusAsync call");
+        return getAccountSnapshotAsync()
+                .thenCompose(snapshot -> snapshot.fetchTransactionStatusAsync(transaction))
+                .thenApply(TransactionStatus::toLegacyStatus);
+    }
+
+    @Override
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<Receipt.Status> getReceiptStatusAsync(@NonNull final Receipt receipt) {
+        Logger.i(TAG, "GetReceiptStatusAsync call");
+        return getAccountSnapshotAsync().thenApply(snapshot -> {
+            try {
+                return snapshot.getReceiptStatus(receipt);
+            } catch (InvalidReceiptException exception) {
+                throw new CompletionException(exception);
+            }
+        });
+    }
+
+    @Override
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<Amount> estimateTotalFeeAsync(@NonNull final Amount amount) {
+        Logger.i(TAG, "EstimateTotalFeeAsync call");
+        CompletableFuture<Amount> minimumTxFee =
+                blockchainClient.getOrFetchMinimumFeeAsync(amount.getTokenId());
+        return refreshAsync().thenCombine(minimumTxFee, (ignored, fee) -> {
+            try {
+                return calculateTotalFee(filterByToken(getTxOutStore().getUnspentTxOuts(),
+                        amount.getTokenId()), amount, fee);
+            } catch (InsufficientFundsException exception) {
+                throw new CompletionException(exception);
+            }
+        });
+    }
+
+    /**
+     * Refreshes the TxOutStore without blocking a thread while the Fog requests are in flight
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    private CompletableFuture<Void> refreshAsync() {
+        return getTxOutStore().refreshAsync(viewClient, ledgerClient, fogBlockClient,
+                syncProgressListener, getAsyncExecutor());
+    }
+
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    private Executor getAsyncExecutor() {
+        Executor executor = clientConfig.asyncExecutor;
+        return (executor != null) ? executor : AsyncCall.getDefaultExecutor();
+    }
+
     @Override
     @NonNull
     public final AccountKey getAccountKey() {
@@ -1477,6 +2140,12 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
                 username,
                 password
         );
+        if (null != hedgedConsensusSubmitter) {
+            hedgedConsensusSubmitter.setAuthorization(
+                    username,
+                    password
+            );
+        }
     }
 
     @Override
@@ -1485,6 +2154,9 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
         viewClient.setTransportProtocol(protocol);
         ledgerClient.setTransportProtocol(protocol);
         consensusClient.setTransportProtocol(protocol);
+        if (null != hedgedConsensusSubmitter) {
+            hedgedConsensusSubmitter.setTransportProtocol(protocol);
+        }
         blockchainClient.setTransportProtocol(protocol);
         fogBlockClient.setTransportProtocol(protocol);
         getUntrustedClient().setTransportProtocol(protocol);
@@ -1494,14 +2166,20 @@ public final class MobileCoinClient implements MobileCoinAccountClient, MobileCo
     @Override
     public synchronized void shutdown() {
         Logger.i(TAG, "Shutting down MobileCoinClient");
+        if (null != statusWatcher) {
+            statusWatcher.shutdown();
+        }
         if (null != viewClient) {
-            viewClient.shutdown();
+            viewClient.shutdownSessions();
         }
         if (null != ledgerClient) {
-            ledgerClient.shutdown();
+            ledgerClient.shutdownSessions();
         }
         if (null != consensusClient) {
-            consensusClient.shutdown();
+            consensusClient.shutdownSessions();
+        }
+        if (null != hedgedConsensusSubmitter) {
+            hedgedConsensusSubmitter.shutdown();
         }
         if (null != fogBlockClient) {
             fogBlockClient.shutdown();
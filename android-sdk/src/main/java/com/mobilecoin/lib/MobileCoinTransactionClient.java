@@ -1,6 +1,9 @@
 package com.mobilecoin.lib;
 
+import android.os.Build;
+
 import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
 
 import com.mobilecoin.lib.exceptions.AttestationException;
 import com.mobilecoin.lib.exceptions.FeeRejectedException;
@@ -15,8 +18,10 @@ import com.mobilecoin.lib.exceptions.NetworkException;
 import com.mobilecoin.lib.exceptions.SerializationException;
 import com.mobilecoin.lib.exceptions.SignedContingentInputBuilderException;
 import com.mobilecoin.lib.exceptions.TransactionBuilderException;
+import com.mobilecoin.lib.util.AsyncCall;
 
 import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Enables clients to make MobileCoin transactions.
@@ -381,4 +386,66 @@ public interface MobileCoinTransactionClient {
   @NonNull
   Amount getOrFetchMinimumTxFee(@NonNull TokenId tokenId) throws NetworkException;
 
+  /**
+   * Asynchronously submits a {@link Transaction} to the consensus service.
+   *
+   * <p>No thread waits for the consensus response. The future completes exceptionally with
+   * {@link InvalidTransactionException} if the transaction is rejected.
+   *
+   * <p>The default implementation completes exceptionally with
+   * {@link UnsupportedOperationException}.
+   *
+   * @see MobileCoinTransactionClient#submitTransaction(Transaction)
+   */
+  @NonNull
+  @RequiresApi(api = Build.VERSION_CODES.N)
+  default CompletableFuture<Long> submitTransactionAsync(@NonNull Transaction transaction) {
+    return AsyncCall.failed(new UnsupportedOperationException("submitTransactionAsync"));
+  }
+
+  /**
+   * Asynchronously checks the status of the transaction.
+   *
+   * <p>The default implementation completes exceptionally with
+   * {@link UnsupportedOperationException}.
+   *
+   * @see MobileCoinTransactionClient#getTransactionStatus(Transaction)
+   */
+  @NonNull
+  @RequiresApi(api = Build.VERSION_CODES.N)
+  default CompletableFuture<Transaction.Status> getTransactionStatusAsync(
+      @NonNull Transaction transaction
+  ) {
+    return AsyncCall.failed(new UnsupportedOperationException("getTransactionStatusAsync"));
+  }
+
+  /**
+   * Asynchronously checks the status of the receipt.
+   *
+   * <p>The default implementation completes exceptionally with
+   * {@link UnsupportedOperationException}.
+   *
+   * @see MobileCoinTransactionClient#getReceiptStatus(Receipt)
+   */
+  @NonNull
+  @RequiresApi(api = Build.VERSION_CODES.N)
+  default CompletableFuture<Receipt.Status> getReceiptStatusAsync(@NonNull Receipt receipt) {
+    return AsyncCall.failed(new UnsupportedOperationException("getReceiptStatusAsync"));
+  }
+
+  /**
+   * Asynchronously estimates the minimum fee required to send a transaction with the specified
+   * amount.
+   *
+   * <p>The default implementation completes exceptionally with
+   * {@link UnsupportedOperationException}.
+   *
+   * @see MobileCoinTransactionClient#estimateTotalFee(Amount)
+   */
+  @NonNull
+  @RequiresApi(api = Build.VERSION_CODES.N)
+  default CompletableFuture<Amount> estimateTotalFeeAsync(@NonNull Amount amount) {
+    return AsyncCall.failed(new UnsupportedOperationException("estimateTotalFeeAsync"));
+  }
+
 }
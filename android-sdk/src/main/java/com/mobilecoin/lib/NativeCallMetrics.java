@@ -0,0 +1,65 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib;
+
+import androidx.annotation.NonNull;
+
+import com.mobilecoin.lib.metrics.Metrics;
+
+/**
+ * Timing instrumentation of the calls into the native mobilecoin library
+ * <p>
+ * Calls are reported through {@link Metrics} and instrumentation is disabled until a metrics
+ * adapter is added, in which case the cost of an instrumented call is a single volatile read.
+ */
+final class NativeCallMetrics {
+    private static final String RESULT_OK = "OK";
+    private static final String RESULT_ERROR = "ERROR";
+    private static final double NANOS_PER_MILLISECOND = 1_000_000.0;
+
+    private NativeCallMetrics() {
+    }
+
+    /**
+     * @return start timestamp to pass to {@link #record} or {@link #recordFailure}, 0 if
+     * instrumentation is disabled
+     */
+    static long start() {
+        return Metrics.isEnabled() ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record a successful native call
+     *
+     * @param bytesProcessed size of the input processed by the call or 0 if not applicable
+     */
+    static void record(@NonNull String operation, long startNanos, long bytesProcessed) {
+        if (0 == startNanos) {
+            return;
+        }
+        report(operation, startNanos, RESULT_OK);
+        if (bytesProcessed > 0) {
+            Metrics.recordHistogram(Metrics.NATIVE_CALL_BYTES, bytesProcessed,
+                    Metrics.TAG_OPERATION, operation);
+        }
+    }
+
+    /**
+     * Record a native call that threw an exception
+     */
+    static void recordFailure(@NonNull String operation, long startNanos) {
+        if (0 == startNanos) {
+            return;
+        }
+        report(operation, startNanos, RESULT_ERROR);
+    }
+
+    private static void report(@NonNull String operation, long startNanos,
+                               @NonNull String result) {
+        double latencyMs = (System.nanoTime() - startNanos) / NANOS_PER_MILLISECOND;
+        Metrics.recordHistogram(Metrics.NATIVE_CALL_LATENCY_MS, latencyMs,
+                Metrics.TAG_OPERATION, operation, Metrics.TAG_RESULT, result);
+        Metrics.incrementCounter(Metrics.NATIVE_CALL_COUNT, 1,
+                Metrics.TAG_OPERATION, operation, Metrics.TAG_RESULT, result);
+    }
+}
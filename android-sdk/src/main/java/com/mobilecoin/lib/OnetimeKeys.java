@@ -14,15 +14,20 @@ public class OnetimeKeys extends Native {
             @NonNull final RistrettoPublic tx_target_key,
             @NonNull final AccountKey account_key
     ) throws TransactionBuilderException {
-        Logger.i(TAG, "Recovering onetime private key", null, "tx_pub_key:", tx_pub_key);
+        if (Logger.isLoggable(Logger.Level.INFO, TAG)) {
+            Logger.i(TAG, "Recovering onetime private key", null, "tx_pub_key:", tx_pub_key);
+        }
+        long callStart = NativeCallMetrics.start();
         try {
             long rustObj = recover_onetime_private_key(
                     tx_pub_key,
                     tx_target_key,
                     account_key
             );
+            NativeCallMetrics.record("recover_onetime_private_key", callStart, 0);
             return RistrettoPrivate.fromJNI(rustObj);
         } catch (Exception ex) {
+            NativeCallMetrics.recordFailure("recover_onetime_private_key", callStart);
             throw new TransactionBuilderException(ex.getLocalizedMessage(), ex);
         }
     }
@@ -32,11 +37,16 @@ public class OnetimeKeys extends Native {
         @NonNull final RistrettoPrivate viewPrivateKey,
         @NonNull final RistrettoPublic txOutPublicKey
     ) throws TransactionBuilderException {
-      Logger.i(TAG, "Retrieving shared secret", null, "txOut public:", txOutPublicKey);
+      if (Logger.isLoggable(Logger.Level.INFO, TAG)) {
+        Logger.i(TAG, "Retrieving shared secret", null, "txOut public:", txOutPublicKey);
+      }
+      long callStart = NativeCallMetrics.start();
       try {
         long rustObj = get_shared_secret(viewPrivateKey, txOutPublicKey);
+        NativeCallMetrics.record("get_shared_secret", callStart, 0);
         return RistrettoPublic.fromJNI(rustObj);
       } catch(Exception ex) {
+        NativeCallMetrics.recordFailure("get_shared_secret", callStart);
         throw new TransactionBuilderException(ex.getLocalizedMessage(), ex);
       }
     }
@@ -46,7 +56,16 @@ public class OnetimeKeys extends Native {
             @NonNull final RistrettoPrivate txOutPrivateKey,
             @NonNull final RistrettoPublic recipientSpendPublicKey
     ) {
-        return RistrettoPublic.fromJNI(create_tx_out_public_key(txOutPrivateKey, recipientSpendPublicKey));
+        long callStart = NativeCallMetrics.start();
+        long rustObj;
+        try {
+            rustObj = create_tx_out_public_key(txOutPrivateKey, recipientSpendPublicKey);
+        } catch (RuntimeException exception) {
+            NativeCallMetrics.recordFailure("create_tx_out_public_key", callStart);
+            throw exception;
+        }
+        NativeCallMetrics.record("create_tx_out_public_key", callStart, 0);
+        return RistrettoPublic.fromJNI(rustObj);
     }
 
     private static native long recover_onetime_private_key(
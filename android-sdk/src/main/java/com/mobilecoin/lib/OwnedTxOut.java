@@ -33,15 +33,20 @@ public class OwnedTxOut implements Parcelable {
     // Bump serial version and read/write code if fields change
     private static final long serialVersionUID = 4L;
 
+    // Indices are kept as unsigned long bits so the per TxOut checks do not allocate,
+    // UnsignedLong instances are only created by the public getters.
+
     //  The global index of this TxOut in the entire block chain.
-    private final UnsignedLong txOutGlobalIndex;
+    private final long txOutGlobalIndex;
 
     // The block index at which this TxOut appeared.
-    private final UnsignedLong receivedBlockIndex;
+    private final long receivedBlockIndex;
 
     private final Date receivedBlockTimestamp;
     private Date spentBlockTimestamp;
-    private UnsignedLong spentBlockIndex;
+    // The block index at which this TxOut was spent, valid if hasSpentBlockIndex is set
+    private long spentBlockIndex;
+    private boolean hasSpentBlockIndex;
 
     private final TxOutMemo cachedTxOutMemo;
 
@@ -57,17 +62,16 @@ public class OwnedTxOut implements Parcelable {
             @NonNull AccountKey accountKey
     ) {
         try {
-            txOutGlobalIndex = UnsignedLong.fromLongBits(txOutRecord.getTxOutGlobalIndex());
+            txOutGlobalIndex = txOutRecord.getTxOutGlobalIndex();
             long longTimestampSeconds = txOutRecord.getTimestamp();
             // when the timestamp is missing U64::MAX is returned
-            UnsignedLong timestampSeconds = UnsignedLong.fromLongBits(longTimestampSeconds);
-            if (!timestampSeconds.equals(UnsignedLong.MAX_VALUE)) {
-                long longTimestampMillis = TimeUnit.SECONDS.toMillis(timestampSeconds.longValue());
+            if (longTimestampSeconds != UnsignedLong.MAX_VALUE.longValue()) {
+                long longTimestampMillis = TimeUnit.SECONDS.toMillis(longTimestampSeconds);
                 receivedBlockTimestamp = new Date(longTimestampMillis);
             } else {
                 receivedBlockTimestamp = null;
             }
-            receivedBlockIndex = UnsignedLong.fromLongBits(txOutRecord.getBlockIndex());
+            receivedBlockIndex = txOutRecord.getBlockIndex();
             MobileCoinAPI.CompressedRistretto txOutPublicKeyProto =
                     MobileCoinAPI.CompressedRistretto.newBuilder()
                             .setData(txOutRecord.getTxOutPublicKeyData())
@@ -138,6 +142,7 @@ public class OwnedTxOut implements Parcelable {
         this.receivedBlockTimestamp = original.receivedBlockTimestamp;
         this.spentBlockTimestamp = original.spentBlockTimestamp;
         this.spentBlockIndex = original.spentBlockIndex;
+        this.hasSpentBlockIndex = original.hasSpentBlockIndex;
         this.cachedTxOutMemo = original.cachedTxOutMemo;
         this.amount = original.amount;
         this.subaddressIndex = original.subaddressIndex;
@@ -191,7 +196,14 @@ public class OwnedTxOut implements Parcelable {
     }
 
     @NonNull
-    public synchronized UnsignedLong getReceivedBlockIndex() {
+    public UnsignedLong getReceivedBlockIndex() {
+        return UnsignedLong.fromLongBits(receivedBlockIndex);
+    }
+
+    /**
+     * @return unsigned bits of the received block index, see {@link #getReceivedBlockIndex()}
+     */
+    long getReceivedBlockIndexBits() {
         return receivedBlockIndex;
     }
 
@@ -202,6 +214,13 @@ public class OwnedTxOut implements Parcelable {
 
     @Nullable
     public synchronized UnsignedLong getSpentBlockIndex() {
+        return hasSpentBlockIndex ? UnsignedLong.fromLongBits(spentBlockIndex) : null;
+    }
+
+    /**
+     * @return unsigned bits of the spent block index, only meaningful if the TxOut is spent
+     */
+    synchronized long getSpentBlockIndexBits() {
         return spentBlockIndex;
     }
 
@@ -230,23 +249,41 @@ public class OwnedTxOut implements Parcelable {
         return OnetimeKeys.getSharedSecret(accountKey.getViewKey(), txOutPublicKey);
     }
 
-    public synchronized boolean isSpent(@NonNull UnsignedLong atIndex) {
-        return (spentBlockIndex != null) && (spentBlockIndex.compareTo(atIndex) <= 0);
+    public boolean isSpent(@NonNull UnsignedLong atIndex) {
+        return isSpent(atIndex.longValue());
+    }
+
+    /**
+     * @param atIndexBits unsigned bits of the block index
+     */
+    synchronized boolean isSpent(long atIndexBits) {
+        return hasSpentBlockIndex && Long.compareUnsigned(spentBlockIndex, atIndexBits) <= 0;
     }
 
     synchronized void setSpent(
             @NonNull UnsignedLong spentBlockIndex,
             @Nullable Date spentBlockTimestamp
     ) {
-        Logger.i(TAG, "Setting spent status", null,
-                "spentBlockIndex:", spentBlockIndex,
-                "spentBlockTimeStamp:", spentBlockTimestamp);
-        this.spentBlockIndex = spentBlockIndex;
+        setSpent(spentBlockIndex.longValue(), spentBlockTimestamp);
+    }
+
+    synchronized void setSpent(long spentBlockIndexBits, @Nullable Date spentBlockTimestamp) {
+        if (Logger.isLoggable(Logger.Level.INFO, TAG)) {
+            Logger.i(TAG, "Setting spent status", null,
+                    "spentBlockIndex:", Long.toUnsignedString(spentBlockIndexBits),
+                    "spentBlockTimeStamp:", spentBlockTimestamp);
+        }
+        this.spentBlockIndex = spentBlockIndexBits;
+        this.hasSpentBlockIndex = true;
         this.spentBlockTimestamp = spentBlockTimestamp;
     }
 
     @NonNull
     UnsignedLong getTxOutGlobalIndex() {
+        return UnsignedLong.fromLongBits(txOutGlobalIndex);
+    }
+
+    long getTxOutGlobalIndexBits() {
         return txOutGlobalIndex;
     }
 
@@ -262,11 +299,12 @@ public class OwnedTxOut implements Parcelable {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         OwnedTxOut that = (OwnedTxOut) o;
-        return Objects.equals(this.txOutGlobalIndex, that.txOutGlobalIndex) &&
-               Objects.equals(this.receivedBlockIndex, that.receivedBlockIndex) &&
+        return this.txOutGlobalIndex == that.txOutGlobalIndex &&
+               this.receivedBlockIndex == that.receivedBlockIndex &&
                Objects.equals(this.receivedBlockTimestamp, that.receivedBlockTimestamp) &&
                Objects.equals(this.spentBlockTimestamp, that.spentBlockTimestamp) &&
-               Objects.equals(this.spentBlockIndex, that.spentBlockIndex) &&
+               this.hasSpentBlockIndex == that.hasSpentBlockIndex &&
+               (!this.hasSpentBlockIndex || this.spentBlockIndex == that.spentBlockIndex) &&
                Objects.equals(this.amount, that.amount) &&
                Objects.equals(this.txOutPublicKey, that.txOutPublicKey) &&
                Objects.equals(this.txOutTargetKey, that.txOutTargetKey) &&
@@ -277,22 +315,84 @@ public class OwnedTxOut implements Parcelable {
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(txOutGlobalIndex, receivedBlockIndex,
-                receivedBlockTimestamp, spentBlockTimestamp, spentBlockIndex, amount, txOutPublicKey,
-                txOutTargetKey, Arrays.hashCode(keyImage), keyImageHash, cachedTxOutMemo);
+        int result = Objects.hash(receivedBlockTimestamp, spentBlockTimestamp, amount,
+                txOutPublicKey, txOutTargetKey, Arrays.hashCode(keyImage), keyImageHash,
+                cachedTxOutMemo);
+        result = 31 * result + Long.hashCode(txOutGlobalIndex);
+        result = 31 * result + Long.hashCode(receivedBlockIndex);
+        result = 31 * result + (hasSpentBlockIndex ? Long.hashCode(spentBlockIndex) : 0);
         return result;
     }
 
+    private static final int FLAG_RECEIVED_TIMESTAMP = 1;
+    private static final int FLAG_SPENT_BLOCK_INDEX = 1 << 1;
+    private static final int FLAG_SPENT_TIMESTAMP = 1 << 2;
+
+    /**
+     * Reads a TxOut record written by {@link #writeTo(TxOutStoreFormat.Writer)}
+     */
+    OwnedTxOut(@NonNull TxOutStoreFormat.Reader reader) throws SerializationException {
+        int flags = reader.readByte();
+        txOutGlobalIndex = reader.readLong();
+        receivedBlockIndex = reader.readLong();
+        long receivedTimestampMillis = reader.readLong();
+        receivedBlockTimestamp = ((flags & FLAG_RECEIVED_TIMESTAMP) != 0)
+                ? new Date(receivedTimestampMillis)
+                : null;
+        spentBlockIndex = reader.readLong();
+        hasSpentBlockIndex = (flags & FLAG_SPENT_BLOCK_INDEX) != 0;
+        long spentTimestampMillis = reader.readLong();
+        spentBlockTimestamp = ((flags & FLAG_SPENT_TIMESTAMP) != 0)
+                ? new Date(spentTimestampMillis)
+                : null;
+        BigInteger value = new BigInteger(reader.readNonNullBytes());
+        amount = new Amount(value, TokenId.from(reader.readUnsignedLong()));
+        txOutPublicKey = RistrettoPublic.fromBytes(reader.readNonNullBytes());
+        txOutTargetKey = RistrettoPublic.fromBytes(reader.readNonNullBytes());
+        keyImage = reader.readNonNullBytes();
+        keyImageHash = reader.readInt();
+        subaddressIndex = reader.readUnsignedLong();
+        cachedTxOutMemo = TxOutMemo.readMemo(reader);
+    }
+
+    /**
+     * Writes this TxOut as a record of primitives, optional fields are marked in a flags byte
+     */
+    synchronized void writeTo(@NonNull TxOutStoreFormat.Writer writer) {
+        int flags = 0;
+        if (null != receivedBlockTimestamp) flags |= FLAG_RECEIVED_TIMESTAMP;
+        if (hasSpentBlockIndex) flags |= FLAG_SPENT_BLOCK_INDEX;
+        if (null != spentBlockTimestamp) flags |= FLAG_SPENT_TIMESTAMP;
+        writer.writeByte((byte) flags);
+        writer.writeLong(txOutGlobalIndex);
+        writer.writeLong(receivedBlockIndex);
+        writer.writeLong((null != receivedBlockTimestamp) ? receivedBlockTimestamp.getTime() : 0L);
+        writer.writeLong(hasSpentBlockIndex ? spentBlockIndex : 0L);
+        writer.writeLong((null != spentBlockTimestamp) ? spentBlockTimestamp.getTime() : 0L);
+        writer.writeBytes(amount.getValue().toByteArray());
+        writer.writeUnsignedLong(amount.getTokenId().getId());
+        writer.writeBytes(txOutPublicKey.getKeyBytes());
+        writer.writeBytes(txOutTargetKey.getKeyBytes());
+        writer.writeBytes(keyImage);
+        writer.writeInt(keyImageHash);
+        writer.writeUnsignedLong(subaddressIndex);
+        TxOutMemo.writeMemo(writer, cachedTxOutMemo);
+    }
+
     /**
      * Creates an OwnedTxOut from the provided parcel
      * @param parcel The parcel that contains an OwnedTxOut
      */
     private OwnedTxOut(@NonNull Parcel parcel) throws SerializationException {
-        txOutGlobalIndex = parcel.readParcelable(UnsignedLong.class.getClassLoader());
-        receivedBlockIndex = parcel.readParcelable(UnsignedLong.class.getClassLoader());
+        UnsignedLong parcelGlobalIndex = parcel.readParcelable(UnsignedLong.class.getClassLoader());
+        txOutGlobalIndex = Objects.requireNonNull(parcelGlobalIndex).longValue();
+        UnsignedLong parcelReceivedIndex = parcel.readParcelable(UnsignedLong.class.getClassLoader());
+        receivedBlockIndex = Objects.requireNonNull(parcelReceivedIndex).longValue();
         receivedBlockTimestamp = (Date)parcel.readSerializable();
         spentBlockTimestamp = (Date)parcel.readSerializable();
-        spentBlockIndex = parcel.readParcelable(UnsignedLong.class.getClassLoader());
+        UnsignedLong parcelSpentIndex = parcel.readParcelable(UnsignedLong.class.getClassLoader());
+        hasSpentBlockIndex = null != parcelSpentIndex;
+        spentBlockIndex = hasSpentBlockIndex ? parcelSpentIndex.longValue() : 0L;
         amount = parcel.readParcelable(Amount.class.getClassLoader());
         txOutPublicKey = RistrettoPublic.fromBytes(parcel.createByteArray());
         txOutTargetKey = RistrettoPublic.fromBytes(parcel.createByteArray());
@@ -309,11 +409,11 @@ public class OwnedTxOut implements Parcelable {
      */
     @Override
     public void writeToParcel(@NonNull Parcel parcel, int flags) {
-        parcel.writeParcelable(txOutGlobalIndex, flags);
-        parcel.writeParcelable(receivedBlockIndex, flags);
+        parcel.writeParcelable(UnsignedLong.fromLongBits(txOutGlobalIndex), flags);
+        parcel.writeParcelable(UnsignedLong.fromLongBits(receivedBlockIndex), flags);
         parcel.writeSerializable(receivedBlockTimestamp);
         parcel.writeSerializable(spentBlockTimestamp);
-        parcel.writeParcelable(spentBlockIndex, flags);
+        parcel.writeParcelable(getSpentBlockIndex(), flags);
         parcel.writeParcelable(amount, flags);
         parcel.writeByteArray(txOutPublicKey.getKeyBytes());
         parcel.writeByteArray(txOutTargetKey.getKeyBytes());
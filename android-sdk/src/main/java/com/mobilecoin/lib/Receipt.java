@@ -203,6 +203,11 @@ public final class Receipt {
             return this;
         }
 
+        /**
+         * Returns the block index of the most recent status check that returned this constant.
+         * The constant is shared, so a check running on another thread may replace it; the
+         * {@link TransactionStatusWatcher} reports an immutable {@link ReceiptStatus} instead.
+         */
         public synchronized UnsignedLong getBlockIndex() {
             return blockIndex;
         }
@@ -0,0 +1,59 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib;
+
+import androidx.annotation.NonNull;
+
+import java.util.Objects;
+
+/**
+ * Immutable status of a {@link Receipt} together with the block index it was determined at.
+ * Unlike the block index of a {@link Receipt.Status} constant, the values of this class are not
+ * shared between callers and threads.
+ */
+public final class ReceiptStatus {
+    private final Receipt.Status status;
+    private final UnsignedLong blockIndex;
+
+    ReceiptStatus(@NonNull Receipt.Status status, @NonNull UnsignedLong blockIndex) {
+        this.status = status;
+        this.blockIndex = blockIndex;
+    }
+
+    @NonNull
+    public Receipt.Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the block the TxOut was found in for a received receipt, otherwise the ledger
+     * block index the status was determined at
+     */
+    @NonNull
+    public UnsignedLong getBlockIndex() {
+        return blockIndex;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReceiptStatus that = (ReceiptStatus) o;
+        return status == that.status &&
+                blockIndex.equals(that.blockIndex);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                this.status,
+                this.blockIndex
+        );
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return status + " at block " + blockIndex;
+    }
+}
@@ -12,6 +12,8 @@ import com.mobilecoin.lib.exceptions.NetworkException;
 import com.mobilecoin.lib.log.Logger;
 import com.mobilecoin.lib.network.TransportProtocol;
 import com.mobilecoin.lib.network.services.FogReportService;
+import com.mobilecoin.lib.network.services.transport.Transport;
+import com.mobilecoin.lib.util.NetworkingCall;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +37,15 @@ final class ReportClient extends AnyClient {
         super(loadBalancer, serviceConfig, transportProtocol);
     }
 
+    /**
+     * Probes the fog endpoint with a report request, which does not require attestation
+     */
+    @Override
+    protected void probeEndpoint(@NonNull Transport transport) throws NetworkException {
+        getAPIManager().getFogReportService(transport)
+                .getReports(ReportOuterClass.ReportRequest.getDefaultInstance());
+    }
+
     /**
      * Retrieve the public fog key for the current service
      *
@@ -46,10 +57,14 @@ final class ReportClient extends AnyClient {
         Logger.i(TAG, "Retrieving the fog public key");
         ReportOuterClass.ReportRequest reportRequest =
                 ReportOuterClass.ReportRequest.newBuilder().build();
-        FogReportService service =
-                getAPIManager().getFogReportService(getNetworkTransport());
+        NetworkingCall<ReportOuterClass.ReportResponse> networkingCall =
+                createNetworkingCall("fog_report.get_reports", true, reportRequest, () -> {
+                    FogReportService service =
+                            getAPIManager().getFogReportService(getNetworkTransport());
+                    return service.getReports(reportRequest);
+                });
         try {
-            ReportOuterClass.ReportResponse response = service.getReports(reportRequest);
+            ReportOuterClass.ReportResponse response = networkingCall.run();
             List<ReportOuterClass.Report> protoReports = response.getReportsList();
             ArrayList<FogReport> reports = new ArrayList<>();
             for (ReportOuterClass.Report report : protoReports) {
@@ -71,6 +86,8 @@ final class ReportClient extends AnyClient {
         } catch (NetworkException exception) {
             Logger.w(TAG, "Error retrieving the fog public key", exception);
             throw exception;
+        } catch (AttestationException exception) {
+            throw exception;
         } catch (Throwable throwable) {
             Logger.w(TAG, "Error retrieving the fog reports", throwable);
             throw new InvalidFogResponse("Unable to retrieve the fog report", throwable);
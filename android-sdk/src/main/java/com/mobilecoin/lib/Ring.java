@@ -8,15 +8,19 @@ import com.mobilecoin.api.MobileCoinAPI;
 import com.mobilecoin.lib.exceptions.SerializationException;
 import com.mobilecoin.lib.log.Logger;
 
-import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * A transaction input ring as returned by the ledger.
+ * <p>
+ * Only the protobuf representation is kept here; the native ring members are created in a single
+ * pass when the ring is handed to a builder (see {@link TransactionBuilder#addInput(Ring,
+ * RistrettoPrivate, RistrettoPrivate)}) and released right after.
+ */
 final class Ring {
     private final static String TAG = Ring.class.getName();
     public final short realIndex;
     public final OwnedTxOut utxo;
-    private final List<TxOut> nativeTxOuts;
-    private final List<TxOutMembershipProof> nativeTxOutMembershipProofs;
     private final List<MobileCoinAPI.TxOut> txOuts;
     private final List<MobileCoinAPI.TxOutMembershipProof> proofs;
 
@@ -26,34 +30,44 @@ final class Ring {
             short realIndex,
             @NonNull OwnedTxOut utxo
     ) throws SerializationException {
-        Logger.d(TAG, "Initializing ring", null,
-                    "txOuts:", txOuts,
-                    "proofs:", proofs,
+        if (Logger.isLoggable(Logger.Level.DEBUG, TAG)) {
+            Logger.d(TAG, "Initializing ring", null,
+                    "ring size:", txOuts.size(),
                     "realIndex:", realIndex,
                     "utxo:", utxo);
+        }
+        if (txOuts.size() != proofs.size() || realIndex < 0 || realIndex >= txOuts.size()) {
+            SerializationException serializationException =
+                    new SerializationException("Malformed ring");
+            Util.logException(TAG, serializationException);
+            throw serializationException;
+        }
         this.txOuts = txOuts;
         this.proofs = proofs;
         this.realIndex = realIndex;
         this.utxo = utxo;
+    }
 
-        this.nativeTxOuts = new ArrayList<>();
-        for (MobileCoinAPI.TxOut txOut : txOuts) {
-            nativeTxOuts.add(TxOut.fromProtoBufObject(txOut));
-        }
-
-        this.nativeTxOutMembershipProofs = new ArrayList<>();
-        for (MobileCoinAPI.TxOutMembershipProof proof : this.proofs) {
-            nativeTxOutMembershipProofs.add(new TxOutMembershipProof(proof.toByteArray()));
-        }
+    int size() {
+        return txOuts.size();
     }
 
+    /**
+     * Creates the native ring members. The caller owns the returned objects and should release
+     * them with {@link TxOut#free(TxOut[])} once they have been consumed by the native code.
+     */
     @NonNull
-    public List<TxOut> getNativeTxOuts() {
-        return nativeTxOuts;
+    TxOut[] createNativeTxOuts() throws SerializationException {
+        return TxOut.ringFromProtoBufObjects(txOuts);
     }
 
+    /**
+     * Creates the native membership proofs. The caller owns the returned objects and should
+     * release them with {@link TxOutMembershipProof#free(TxOutMembershipProof[])} once they have
+     * been consumed by the native code.
+     */
     @NonNull
-    public List<TxOutMembershipProof> getNativeTxOutMembershipProofs() {
-        return nativeTxOutMembershipProofs;
+    TxOutMembershipProof[] createNativeTxOutMembershipProofs() throws SerializationException {
+        return TxOutMembershipProof.fromProtoBufObjects(proofs);
     }
 }
@@ -5,6 +5,7 @@ import android.os.Parcel;
 import androidx.annotation.NonNull;
 
 import com.mobilecoin.lib.exceptions.InvalidTxOutMemoException;
+import com.mobilecoin.lib.exceptions.SerializationException;
 
 import java.util.Objects;
 
@@ -117,6 +118,19 @@ public final class SenderMemo extends TxOutMemo {
     parcel.writeParcelable(senderMemoData, flags);
   }
 
+  SenderMemo(@NonNull TxOutStoreFormat.Reader reader) throws SerializationException {
+    super(TxOutMemoType.SENDER);
+    byte[] publicKeyBytes = reader.readBytes();
+    txOutPublicKey = (null == publicKeyBytes) ? null : RistrettoPublic.fromBytes(publicKeyBytes);
+    senderMemoData = SenderMemoData.create(TxOutMemo.readAddressHash(reader));
+  }
+
+  @Override
+  void writeTo(@NonNull TxOutStoreFormat.Writer writer) {
+    writer.writeBytes((null == txOutPublicKey) ? null : txOutPublicKey.getKeyBytes());
+    TxOutMemo.writeAddressHash(writer, senderMemoData.getAddressHash());
+  }
+
   public static final Creator<SenderMemo> CREATOR = new Creator<SenderMemo>() {
     @Override
     public SenderMemo createFromParcel(@NonNull Parcel parcel) {
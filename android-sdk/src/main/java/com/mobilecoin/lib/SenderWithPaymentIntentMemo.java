@@ -5,6 +5,7 @@ import android.os.Parcel;
 import androidx.annotation.NonNull;
 
 import com.mobilecoin.lib.exceptions.InvalidTxOutMemoException;
+import com.mobilecoin.lib.exceptions.SerializationException;
 
 import java.util.Objects;
 
@@ -158,6 +159,20 @@ public final class SenderWithPaymentIntentMemo extends TxOutMemo {
         parcel.writeParcelable(senderWithPaymentIntentMemoData, flags);
     }
 
+    SenderWithPaymentIntentMemo(@NonNull TxOutStoreFormat.Reader reader) throws SerializationException {
+        super(TxOutMemoType.SENDER_WITH_PAYMENT_INTENT);
+        byte[] publicKeyBytes = reader.readBytes();
+        txOutPublicKey = (null == publicKeyBytes) ? null : RistrettoPublic.fromBytes(publicKeyBytes);
+        senderWithPaymentIntentMemoData = SenderWithPaymentIntentMemoData.create(TxOutMemo.readAddressHash(reader), reader.readUnsignedLong());
+    }
+
+    @Override
+    void writeTo(@NonNull TxOutStoreFormat.Writer writer) {
+        writer.writeBytes((null == txOutPublicKey) ? null : txOutPublicKey.getKeyBytes());
+        TxOutMemo.writeAddressHash(writer, senderWithPaymentIntentMemoData.getAddressHash());
+        writer.writeUnsignedLong(senderWithPaymentIntentMemoData.getPaymentIntentId());
+    }
+
     public static Creator<SenderWithPaymentIntentMemo> CREATOR = new Creator<SenderWithPaymentIntentMemo>() {
         @Override
         public SenderWithPaymentIntentMemo createFromParcel(@NonNull Parcel parcel) {
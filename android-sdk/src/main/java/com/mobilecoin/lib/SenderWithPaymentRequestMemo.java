@@ -5,6 +5,7 @@ import android.os.Parcel;
 import androidx.annotation.NonNull;
 
 import com.mobilecoin.lib.exceptions.InvalidTxOutMemoException;
+import com.mobilecoin.lib.exceptions.SerializationException;
 
 import java.util.Objects;
 
@@ -158,6 +159,20 @@ public final class SenderWithPaymentRequestMemo extends TxOutMemo {
     parcel.writeParcelable(senderWithPaymentRequestMemoData, flags);
   }
 
+  SenderWithPaymentRequestMemo(@NonNull TxOutStoreFormat.Reader reader) throws SerializationException {
+    super(TxOutMemoType.SENDER_WITH_PAYMENT_REQUEST);
+    byte[] publicKeyBytes = reader.readBytes();
+    txOutPublicKey = (null == publicKeyBytes) ? null : RistrettoPublic.fromBytes(publicKeyBytes);
+    senderWithPaymentRequestMemoData = SenderWithPaymentRequestMemoData.create(TxOutMemo.readAddressHash(reader), reader.readUnsignedLong());
+  }
+
+  @Override
+  void writeTo(@NonNull TxOutStoreFormat.Writer writer) {
+    writer.writeBytes((null == txOutPublicKey) ? null : txOutPublicKey.getKeyBytes());
+    TxOutMemo.writeAddressHash(writer, senderWithPaymentRequestMemoData.getAddressHash());
+    writer.writeUnsignedLong(senderWithPaymentRequestMemoData.getPaymentRequestId());
+  }
+
   public static Creator<SenderWithPaymentRequestMemo> CREATOR = new Creator<SenderWithPaymentRequestMemo>() {
     @Override
     public SenderWithPaymentRequestMemo createFromParcel(@NonNull Parcel parcel) {
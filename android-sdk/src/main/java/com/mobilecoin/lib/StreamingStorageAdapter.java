@@ -0,0 +1,31 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * {@link StorageAdapter} which can read and write values as streams so that large values do not
+ * have to be held in memory as a whole. The SDK uses the streams whenever the provided adapter
+ * implements this interface.
+ */
+public interface StreamingStorageAdapter extends StorageAdapter {
+
+    /**
+     * @return stream of the stored value or {@code null} if there is no value for the key
+     */
+    @Nullable
+    InputStream openInputStream(@NonNull String key) throws IOException;
+
+    /**
+     * The written value replaces the stored one once the stream is closed. A value is never
+     * partially replaced: if a write fails the stored value is kept.
+     */
+    @NonNull
+    OutputStream openOutputStream(@NonNull String key) throws IOException;
+}
@@ -0,0 +1,126 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib;
+
+import androidx.annotation.NonNull;
+
+import java.util.Locale;
+
+/**
+ * <p>
+ * The {@link SyncProgress} class is a snapshot of an account sync started by
+ * {@link MobileCoinClient}. It is delivered to a {@link SyncProgressListener} as the sync moves
+ * through its phases.
+ * </p>
+ * @see MobileCoinClient#setSyncProgressListener(SyncProgressListener)
+ */
+public final class SyncProgress {
+    public static final long UNKNOWN_ETA = -1L;
+
+    public enum Phase {
+        // querying Fog View for the account TxOuts
+        VIEW_QUERY,
+        // scanning the block ranges Fog View has not processed
+        FOG_MISSES,
+        // checking which of the unspent TxOuts have been spent
+        KEY_IMAGES,
+        // the sync has finished
+        COMPLETE
+    }
+
+    private final Phase phase;
+    private final int seedsCompleted;
+    private final int seedsTotal;
+    private final int txOutsFound;
+    private final UnsignedLong syncedBlockIndex;
+    private final UnsignedLong consensusBlockIndex;
+    private final long estimatedRemainingMs;
+
+    SyncProgress(
+            @NonNull Phase phase,
+            int seedsCompleted,
+            int seedsTotal,
+            int txOutsFound,
+            @NonNull UnsignedLong syncedBlockIndex,
+            @NonNull UnsignedLong consensusBlockIndex,
+            long estimatedRemainingMs
+    ) {
+        this.phase = phase;
+        this.seedsCompleted = seedsCompleted;
+        this.seedsTotal = seedsTotal;
+        this.txOutsFound = txOutsFound;
+        this.syncedBlockIndex = syncedBlockIndex;
+        this.consensusBlockIndex = consensusBlockIndex;
+        this.estimatedRemainingMs = estimatedRemainingMs;
+    }
+
+    @NonNull
+    public Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * @return number of Fog RNG seeds whose search keys have been exhausted
+     */
+    public int getSeedsCompleted() {
+        return seedsCompleted;
+    }
+
+    /**
+     * @return number of Fog RNG seeds known so far, new seeds may be discovered during the sync
+     */
+    public int getSeedsTotal() {
+        return seedsTotal;
+    }
+
+    /**
+     * @return number of TxOuts found during this sync
+     */
+    public int getTxOutsFound() {
+        return txOutsFound;
+    }
+
+    /**
+     * @return highest block index processed by Fog for this sync
+     */
+    @NonNull
+    public UnsignedLong getSyncedBlockIndex() {
+        return syncedBlockIndex;
+    }
+
+    /**
+     * @return last known block index of the consensus network, zero if it is not known yet
+     */
+    @NonNull
+    public UnsignedLong getConsensusBlockIndex() {
+        return consensusBlockIndex;
+    }
+
+    /**
+     * @return number of blocks between the synced block index and the consensus block index
+     */
+    @NonNull
+    public UnsignedLong getBlocksRemaining() {
+        return (consensusBlockIndex.compareTo(syncedBlockIndex) > 0)
+                ? consensusBlockIndex.sub(syncedBlockIndex)
+                : UnsignedLong.ZERO;
+    }
+
+    /**
+     * The estimate is based on the throughput observed so far in the current phase.
+     *
+     * @return estimated milliseconds remaining in the current phase or {@link #UNKNOWN_ETA}
+     */
+    public long getEstimatedRemainingMs() {
+        return estimatedRemainingMs;
+    }
+
+    @Override
+    @NonNull
+    public String toString() {
+        return String.format(Locale.US,
+                "SyncProgress{phase=%s, seeds=%d/%d, txOuts=%d, blocksRemaining=%s, eta=%dms}",
+                phase, seedsCompleted, seedsTotal, txOutsFound, getBlocksRemaining(),
+                estimatedRemainingMs);
+    }
+}
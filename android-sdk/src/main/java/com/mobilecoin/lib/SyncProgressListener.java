@@ -0,0 +1,18 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib;
+
+import androidx.annotation.NonNull;
+
+/**
+ * This interface is used to monitor the progress of an account sync.
+ * Callbacks are made on the thread performing the sync and should return quickly.
+ */
+public interface SyncProgressListener {
+    /**
+     * Called after each Fog request of the sync and once the sync completes
+     *
+     * @param progress snapshot of the sync progress
+     */
+    void onSyncProgress(@NonNull SyncProgress progress);
+}
@@ -0,0 +1,105 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Accumulates the state of a single {@link TxOutStore} refresh and reports it to a
+ * {@link SyncProgressListener}. Each phase measures its own work units (seeds while querying
+ * Fog View, blocks while scanning fog misses) and the ETA extrapolates the throughput observed
+ * in the current phase.
+ */
+final class SyncProgressTracker {
+    private final static String TAG = SyncProgressTracker.class.getName();
+
+    @Nullable
+    private final SyncProgressListener listener;
+    private final LongSupplier nanoClock;
+    private final UnsignedLong consensusBlockIndex;
+    private SyncProgress.Phase phase = SyncProgress.Phase.VIEW_QUERY;
+    private long phaseStartedAtNanos;
+    private long phaseUnitsCompleted;
+    private long phaseUnitsTotal;
+    private int seedsCompleted;
+    private int seedsTotal;
+    private int txOutsFound;
+    private UnsignedLong syncedBlockIndex = UnsignedLong.ZERO;
+
+    SyncProgressTracker(@Nullable SyncProgressListener listener,
+                        @NonNull UnsignedLong consensusBlockIndex) {
+        this(listener, consensusBlockIndex, System::nanoTime);
+    }
+
+    @VisibleForTesting
+    SyncProgressTracker(@Nullable SyncProgressListener listener,
+                        @NonNull UnsignedLong consensusBlockIndex,
+                        @NonNull LongSupplier nanoClock) {
+        this.listener = listener;
+        this.consensusBlockIndex = consensusBlockIndex;
+        this.nanoClock = nanoClock;
+        this.phaseStartedAtNanos = nanoClock.getAsLong();
+    }
+
+    void startPhase(@NonNull SyncProgress.Phase phase, long unitsTotal) {
+        this.phase = phase;
+        this.phaseStartedAtNanos = nanoClock.getAsLong();
+        this.phaseUnitsCompleted = 0;
+        this.phaseUnitsTotal = unitsTotal;
+    }
+
+    void setPhaseProgress(long unitsCompleted, long unitsTotal) {
+        this.phaseUnitsCompleted = unitsCompleted;
+        this.phaseUnitsTotal = unitsTotal;
+    }
+
+    void setSeeds(int seedsCompleted, int seedsTotal) {
+        this.seedsCompleted = seedsCompleted;
+        this.seedsTotal = seedsTotal;
+    }
+
+    void addTxOutsFound(int count) {
+        this.txOutsFound += count;
+    }
+
+    void setSyncedBlockIndex(@NonNull UnsignedLong syncedBlockIndex) {
+        this.syncedBlockIndex = syncedBlockIndex;
+    }
+
+    @NonNull
+    SyncProgress getProgress() {
+        return new SyncProgress(phase, seedsCompleted, seedsTotal, txOutsFound,
+                syncedBlockIndex, consensusBlockIndex, estimateRemainingMs());
+    }
+
+    void report() {
+        if (null == listener) {
+            return;
+        }
+        try {
+            listener.onSyncProgress(getProgress());
+        } catch (RuntimeException exception) {
+            // a failing listener must not interrupt the sync
+            Util.logException(TAG, exception);
+        }
+    }
+
+    private long estimateRemainingMs() {
+        if (phase == SyncProgress.Phase.COMPLETE
+                || (phaseUnitsTotal > 0 && phaseUnitsCompleted >= phaseUnitsTotal)) {
+            return 0L;
+        }
+        if (phaseUnitsCompleted <= 0) {
+            return SyncProgress.UNKNOWN_ETA;
+        }
+        long elapsedNanos = nanoClock.getAsLong() - phaseStartedAtNanos;
+        double nanosPerUnit = (double) elapsedNanos / phaseUnitsCompleted;
+        long remainingNanos = (long) (nanosPerUnit * (phaseUnitsTotal - phaseUnitsCompleted));
+        return TimeUnit.NANOSECONDS.toMillis(remainingNanos);
+    }
+}
@@ -10,7 +10,6 @@ import com.mobilecoin.lib.exceptions.TransactionBuilderException;
 import com.mobilecoin.lib.log.Logger;
 
 import java.math.BigInteger;
-import java.util.List;
 import java.util.Locale;
 
 
@@ -65,24 +64,42 @@ final class TransactionBuilder extends Native {
         );
     }
 
+    /**
+     * Adds an input ring. The native ring members are created in one pass, passed to the native
+     * builder in a single call, and released immediately afterwards rather than by the finalizer.
+     */
     void addInput(
-            @NonNull List<TxOut> ring,
-            @NonNull List<TxOutMembershipProof> membershipProofs,
-            short realIndex,
+            @NonNull Ring ring,
             @NonNull RistrettoPrivate onetimePrivateKey,
             @NonNull RistrettoPrivate viewPrivateKey
     ) throws TransactionBuilderException {
-        Logger.i(TAG, "Adding transaction input");
+        Logger.i(TAG, "Adding transaction input ring", null,
+                "ring size:", ring.size());
+        TxOut[] nativeTxOuts = null;
+        TxOutMembershipProof[] nativeProofs = null;
+        long callStart = 0;
         try {
-            add_input(ring.toArray(new TxOut[0]),
-                    membershipProofs.toArray(new TxOutMembershipProof[0]),
-                    realIndex,
+            nativeTxOuts = ring.createNativeTxOuts();
+            nativeProofs = ring.createNativeTxOutMembershipProofs();
+            callStart = NativeCallMetrics.start();
+            add_input(nativeTxOuts,
+                    nativeProofs,
+                    ring.realIndex,
                     onetimePrivateKey,
                     viewPrivateKey
             );
+            NativeCallMetrics.record("add_input", callStart, 0);
         } catch (Exception exception) {
+            NativeCallMetrics.recordFailure("add_input", callStart);
             Logger.e(TAG, "Unable to add transaction input", exception);
             throw new TransactionBuilderException("Unable to add transaction input", exception);
+        } finally {
+            if (nativeTxOuts != null) {
+                TxOut.free(nativeTxOuts);
+            }
+            if (nativeProofs != null) {
+                TxOutMembershipProof.free(nativeProofs);
+            }
         }
     }
 
@@ -184,10 +201,13 @@ final class TransactionBuilder extends Native {
     @NonNull
     public Transaction build() throws TransactionBuilderException {
         Logger.i(TAG, "Building the native transaction");
+        long callStart = NativeCallMetrics.start();
         try {
             long rustTx = build_tx(this.rng);
+            NativeCallMetrics.record("build_tx", callStart, 0);
             return Transaction.fromJNI(rustTx);
         } catch (Exception exception) {
+            NativeCallMetrics.recordFailure("build_tx", callStart);
             Logger.e(TAG, "Unable to set transaction fee", exception);
             throw new TransactionBuilderException(
                     "Unable to build transaction from supplied arguments", exception);
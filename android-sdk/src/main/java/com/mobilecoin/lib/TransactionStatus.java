@@ -0,0 +1,108 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Objects;
+
+import consensus_common.ConsensusCommon;
+
+/**
+ * Immutable status of a {@link Transaction} together with the block index it was determined at.
+ * Unlike the block index of a {@link Transaction.Status} constant, the values of this class are
+ * not shared between callers and threads.
+ */
+public final class TransactionStatus {
+    private final Transaction.Status status;
+    private final UnsignedLong blockIndex;
+    @Nullable
+    private final ConsensusCommon.ProposeTxResult failureReason;
+
+    TransactionStatus(
+            @NonNull Transaction.Status status,
+            @NonNull UnsignedLong blockIndex,
+            @Nullable ConsensusCommon.ProposeTxResult failureReason
+    ) {
+        this.status = status;
+        this.blockIndex = blockIndex;
+        this.failureReason = failureReason;
+    }
+
+    @NonNull
+    static TransactionStatus accepted(@NonNull UnsignedLong blockIndex) {
+        return new TransactionStatus(Transaction.Status.ACCEPTED, blockIndex, null);
+    }
+
+    @NonNull
+    static TransactionStatus failed(
+            @NonNull UnsignedLong blockIndex,
+            @NonNull ConsensusCommon.ProposeTxResult failureReason
+    ) {
+        return new TransactionStatus(Transaction.Status.FAILED, blockIndex, failureReason);
+    }
+
+    @NonNull
+    static TransactionStatus unknown(@NonNull UnsignedLong blockIndex) {
+        return new TransactionStatus(Transaction.Status.UNKNOWN, blockIndex, null);
+    }
+
+    @NonNull
+    public Transaction.Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the block the outputs were found in for an accepted transaction, otherwise the
+     * ledger block index the status was determined at
+     */
+    @NonNull
+    public UnsignedLong getBlockIndex() {
+        return blockIndex;
+    }
+
+    /**
+     * Returns why a {@link Transaction.Status#FAILED} transaction failed:
+     * {@link ConsensusCommon.ProposeTxResult#TombstoneBlockExceeded} or
+     * {@link ConsensusCommon.ProposeTxResult#ContainsSpentKeyImage} when its inputs were spent
+     * by a different transaction; {@code null} for other statuses
+     */
+    @Nullable
+    public ConsensusCommon.ProposeTxResult getFailureReason() {
+        return failureReason;
+    }
+
+    /**
+     * Converts to the status constant returned by the legacy status API
+     */
+    @NonNull
+    Transaction.Status toLegacyStatus() {
+        return status.atBlock(blockIndex);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TransactionStatus that = (TransactionStatus) o;
+        return status == that.status &&
+                blockIndex.equals(that.blockIndex) &&
+                failureReason == that.failureReason;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                this.status,
+                this.blockIndex,
+                this.failureReason
+        );
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return status + " at block " + blockIndex;
+    }
+}
@@ -0,0 +1,363 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib;
+
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+
+import com.mobilecoin.api.MobileCoinAPI;
+import com.mobilecoin.lib.exceptions.AttestationException;
+import com.mobilecoin.lib.exceptions.InvalidFogResponse;
+import com.mobilecoin.lib.exceptions.NetworkException;
+import com.mobilecoin.lib.log.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import consensus_common.ConsensusCommon;
+import fog_ledger.Ledger;
+
+/**
+ * <pre>
+ * Tracks the status of many pending {@link Transaction}s and {@link Receipt}s at once.
+ *
+ * Each check cycle queries the output public keys of all pending items with a single untrusted
+ * Fog request and the key images of all pending transactions with a single ledger request.
+ * Cycles run only when the consensus block index advances past what Fog has already reported,
+ * instead of on every poll.
+ *
+ * Callbacks are invoked once, on the watcher thread, when an item reaches a final status:
+ * {@link Transaction.Status#ACCEPTED}, {@link Receipt.Status#RECEIVED} or FAILED once the
+ * tombstone block has passed. A transaction whose inputs were spent by a different transaction
+ * fails without waiting for the tombstone block, see {@link TransactionStatus#getFailureReason()}.
+ * Each callback receives its own immutable {@link TransactionStatus} or {@link ReceiptStatus}.
+ *
+ * Receipt status is determined from the ledger only. The receipt amount is not verified, use
+ * {@link MobileCoinClient#getReceiptStatus(Receipt)} for that.
+ * </pre>
+ */
+public final class TransactionStatusWatcher {
+    private static final String TAG = TransactionStatusWatcher.class.getName();
+    static final long DEFAULT_POLL_INTERVAL_MS = 1000L;
+
+    private final FogUntrustedClient untrustedClient;
+    private final AttestedLedgerClient ledgerClient;
+    private final BlockchainClient blockchainClient;
+    private final long pollIntervalMs;
+
+    private final Map<Transaction, Callback<TransactionStatus>> pendingTransactions =
+            new HashMap<>();
+    private final Map<Receipt, Callback<ReceiptStatus>> pendingReceipts = new HashMap<>();
+
+    private Thread watcherThread;
+    private boolean hasNewItems;
+    private boolean isShutdown;
+    // the last ledger block index reported by Fog, -1 if no check has run yet
+    private long checkedBlockIndex = -1L;
+
+    /**
+     * Receives the final status of a watched item.
+     */
+    public interface Callback<S> {
+        void onComplete(@NonNull S status);
+    }
+
+    TransactionStatusWatcher(
+            @NonNull FogUntrustedClient untrustedClient,
+            @NonNull AttestedLedgerClient ledgerClient,
+            @NonNull BlockchainClient blockchainClient,
+            long pollIntervalMs
+    ) {
+        this.untrustedClient = untrustedClient;
+        this.ledgerClient = ledgerClient;
+        this.blockchainClient = blockchainClient;
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    /**
+     * Start watching the transaction. Watching the same transaction again replaces its callback.
+     */
+    public synchronized void watch(
+            @NonNull Transaction transaction,
+            @NonNull Callback<TransactionStatus> callback
+    ) {
+        ensureRunning();
+        pendingTransactions.put(transaction, callback);
+        onNewItem();
+    }
+
+    /**
+     * Start watching the receipt. Watching the same receipt again replaces its callback.
+     */
+    public synchronized void watch(
+            @NonNull Receipt receipt,
+            @NonNull Callback<ReceiptStatus> callback
+    ) {
+        ensureRunning();
+        pendingReceipts.put(receipt, callback);
+        onNewItem();
+    }
+
+    /**
+     * Watch the transaction and return a future that completes with its final status.
+     * Cancelling the future stops watching the transaction.
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<TransactionStatus> watchAsync(@NonNull Transaction transaction) {
+        CompletableFuture<TransactionStatus> future = new CompletableFuture<>();
+        watch(transaction, future::complete);
+        future.whenComplete((status, error) -> {
+            if (future.isCancelled()) {
+                unwatch(transaction);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Watch the receipt and return a future that completes with its final status.
+     * Cancelling the future stops watching the receipt.
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    public CompletableFuture<ReceiptStatus> watchAsync(@NonNull Receipt receipt) {
+        CompletableFuture<ReceiptStatus> future = new CompletableFuture<>();
+        watch(receipt, future::complete);
+        future.whenComplete((status, error) -> {
+            if (future.isCancelled()) {
+                unwatch(receipt);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Stop watching the transaction, its callback will not be invoked.
+     */
+    public synchronized void unwatch(@NonNull Transaction transaction) {
+        pendingTransactions.remove(transaction);
+    }
+
+    /**
+     * Stop watching the receipt, its callback will not be invoked.
+     */
+    public synchronized void unwatch(@NonNull Receipt receipt) {
+        pendingReceipts.remove(receipt);
+    }
+
+    /**
+     * @return the number of items that have not reached a final status yet
+     */
+    public synchronized int getPendingCount() {
+        return pendingTransactions.size() + pendingReceipts.size();
+    }
+
+    /**
+     * Stop the watcher thread. Pending callbacks are never invoked.
+     */
+    public synchronized void shutdown() {
+        Logger.i(TAG, "Shutting down the status watcher");
+        isShutdown = true;
+        pendingTransactions.clear();
+        pendingReceipts.clear();
+        notifyAll();
+    }
+
+    private void ensureRunning() {
+        if (isShutdown) {
+            throw new IllegalStateException("The status watcher has been shut down");
+        }
+        if (watcherThread == null) {
+            watcherThread = new Thread(this::run, "mobilecoin-status-watcher");
+            watcherThread.setDaemon(true);
+            watcherThread.start();
+        }
+    }
+
+    private void onNewItem() {
+        hasNewItems = true;
+        notifyAll();
+    }
+
+    private void run() {
+        Logger.i(TAG, "Status watcher started");
+        while (true) {
+            synchronized (this) {
+                try {
+                    while (!isShutdown && pendingTransactions.isEmpty()
+                            && pendingReceipts.isEmpty()) {
+                        wait();
+                    }
+                    if (!isShutdown && !hasNewItems) {
+                        wait(pollIntervalMs);
+                    }
+                } catch (InterruptedException exception) {
+                    Logger.w(TAG, "Status watcher interrupted");
+                    isShutdown = true;
+                }
+                if (isShutdown) {
+                    watcherThread = null;
+                    return;
+                }
+            }
+            try {
+                if (shouldCheck()) {
+                    checkPendingItems();
+                }
+            } catch (NetworkException | AttestationException | InvalidFogResponse
+                    | RuntimeException exception) {
+                // transient failures are retried on the next cycle
+                Logger.w(TAG, "Unable to check pending statuses", exception);
+            }
+        }
+    }
+
+    private boolean shouldCheck() throws NetworkException {
+        synchronized (this) {
+            if (hasNewItems || checkedBlockIndex < 0) {
+                return true;
+            }
+        }
+        long consensusBlockIndex = blockchainClient.fetchLastBlockInfo().getIndex();
+        synchronized (this) {
+            return Long.compareUnsigned(consensusBlockIndex, checkedBlockIndex) > 0;
+        }
+    }
+
+    private void checkPendingItems()
+            throws NetworkException, AttestationException, InvalidFogResponse {
+        final Map<Transaction, Callback<TransactionStatus>> transactions;
+        final Map<Receipt, Callback<ReceiptStatus>> receipts;
+        synchronized (this) {
+            hasNewItems = false;
+            transactions = new HashMap<>(pendingTransactions);
+            receipts = new HashMap<>(pendingReceipts);
+        }
+        if (transactions.isEmpty() && receipts.isEmpty()) {
+            return;
+        }
+        Logger.d(TAG, "Checking pending statuses", null,
+                "transactions:", transactions.size(),
+                "receipts:", receipts.size());
+
+        // 1) all output public keys in one untrusted request
+        Set<RistrettoPublic> publicKeys = new HashSet<>();
+        Map<Transaction, Set<RistrettoPublic>> outputKeys = new HashMap<>();
+        for (Transaction transaction : transactions.keySet()) {
+            Set<RistrettoPublic> keys = transaction.getOutputPublicKeys();
+            outputKeys.put(transaction, keys);
+            publicKeys.addAll(keys);
+        }
+        for (Receipt receipt : receipts.keySet()) {
+            publicKeys.add(receipt.getPublicKey());
+        }
+        Ledger.TxOutResponse txOutResponse = untrustedClient.fetchTxOuts(publicKeys);
+        long numBlocks = txOutResponse.getNumBlocks();
+        UnsignedLong ledgerBlockIndex = UnsignedLong.fromLongBits(numBlocks > 0 ? numBlocks - 1 : 0);
+        Map<MobileCoinAPI.CompressedRistretto, Long> foundAtBlock = new HashMap<>();
+        for (Ledger.TxOutResult result : txOutResponse.getResultsList()) {
+            if (result.getResultCode() == Ledger.TxOutResultCode.Found) {
+                foundAtBlock.put(result.getTxOutPubkey(), result.getBlockIndex());
+            }
+        }
+
+        // 2) key images of the transactions that are not accepted yet in one ledger request
+        Map<Transaction, TransactionStatus> transactionStatuses = new HashMap<>();
+        Set<KeyImage> keyImages = new HashSet<>();
+        for (Transaction transaction : transactions.keySet()) {
+            long outputBlockIndex = 0L;
+            boolean allFound = true;
+            for (RistrettoPublic key : outputKeys.get(transaction)) {
+                Long blockIndex = foundAtBlock.get(key.toProtoBufObject());
+                if (blockIndex == null) {
+                    allFound = false;
+                    break;
+                }
+                if (Long.compareUnsigned(outputBlockIndex, blockIndex) < 0) {
+                    outputBlockIndex = blockIndex;
+                }
+            }
+            if (allFound) {
+                transactionStatuses.put(transaction,
+                        TransactionStatus.accepted(UnsignedLong.fromLongBits(outputBlockIndex)));
+            } else if (ledgerBlockIndex.compareTo(
+                    UnsignedLong.fromLongBits(transaction.getTombstoneBlockIndex())) >= 0) {
+                transactionStatuses.put(transaction, TransactionStatus.failed(ledgerBlockIndex,
+                        ConsensusCommon.ProposeTxResult.TombstoneBlockExceeded));
+            } else {
+                keyImages.addAll(transaction.getKeyImages());
+            }
+        }
+        if (!keyImages.isEmpty()) {
+            Set<KeyImage> spentKeyImages = new HashSet<>();
+            Ledger.CheckKeyImagesResponse keyImagesResponse = ledgerClient.checkKeyImages(keyImages);
+            for (Ledger.KeyImageResult result : keyImagesResponse.getResultsList()) {
+                if (result.getKeyImageResultCode() == Ledger.KeyImageResultCode.Spent_VALUE
+                        && Long.compareUnsigned(result.getSpentAt(),
+                        ledgerBlockIndex.longValue()) <= 0) {
+                    spentKeyImages.add(KeyImage.fromBytes(
+                            result.getKeyImage().getData().toByteArray()));
+                }
+            }
+            for (Transaction transaction : transactions.keySet()) {
+                if (transactionStatuses.containsKey(transaction)) {
+                    continue;
+                }
+                for (KeyImage keyImage : transaction.getKeyImages()) {
+                    if (spentKeyImages.contains(keyImage)) {
+                        // an input was spent but the outputs are not in the ledger
+                        Logger.w(TAG, "Transaction input was spent by another transaction");
+                        transactionStatuses.put(transaction, TransactionStatus.failed(
+                                ledgerBlockIndex,
+                                ConsensusCommon.ProposeTxResult.ContainsSpentKeyImage));
+                        break;
+                    }
+                }
+            }
+        }
+
+        Map<Receipt, ReceiptStatus> receiptStatuses = new HashMap<>();
+        for (Receipt receipt : receipts.keySet()) {
+            Long blockIndex = foundAtBlock.get(receipt.getPublicKey().toProtoBufObject());
+            if (blockIndex != null) {
+                receiptStatuses.put(receipt, new ReceiptStatus(Receipt.Status.RECEIVED,
+                        UnsignedLong.fromLongBits(blockIndex)));
+            } else if (ledgerBlockIndex.compareTo(receipt.getTombstoneBlockIndex()) >= 0) {
+                receiptStatuses.put(receipt,
+                        new ReceiptStatus(Receipt.Status.FAILED, ledgerBlockIndex));
+            }
+        }
+
+        List<Runnable> completions = new ArrayList<>();
+        synchronized (this) {
+            checkedBlockIndex = ledgerBlockIndex.longValue();
+            for (Map.Entry<Transaction, TransactionStatus> entry : transactionStatuses.entrySet()) {
+                Callback<TransactionStatus> callback = pendingTransactions.remove(entry.getKey());
+                if (callback != null) {
+                    completions.add(() -> callback.onComplete(entry.getValue()));
+                }
+            }
+            for (Map.Entry<Receipt, ReceiptStatus> entry : receiptStatuses.entrySet()) {
+                Callback<ReceiptStatus> callback = pendingReceipts.remove(entry.getKey());
+                if (callback != null) {
+                    completions.add(() -> callback.onComplete(entry.getValue()));
+                }
+            }
+        }
+        for (Runnable completion : completions) {
+            try {
+                completion.run();
+            } catch (RuntimeException exception) {
+                Logger.e(TAG, "Status callback threw an exception", exception);
+            }
+        }
+    }
+}
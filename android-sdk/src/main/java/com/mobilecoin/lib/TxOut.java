@@ -11,17 +11,18 @@ import com.mobilecoin.lib.exceptions.AmountDecoderException;
 import com.mobilecoin.lib.exceptions.SerializationException;
 import com.mobilecoin.lib.log.Logger;
 
+import java.util.List;
 import java.util.Objects;
 
 final class TxOut extends Native {
     private final static String TAG = TxOut.class.getName();
     private final MobileCoinAPI.TxOut protoBufTxOut;
-    private final RistrettoPublic pubKey;
-    private final RistrettoPublic targetKey;
+    private RistrettoPublic pubKey;
+    private RistrettoPublic targetKey;
 
     private TxOut(@NonNull byte[] serializedBytes) throws SerializationException {
         try {
-            init_from_protobuf_bytes(serializedBytes);
+            initFromProtobufBytes(serializedBytes);
             protoBufTxOut = MobileCoinAPI.TxOut.parseFrom(serializedBytes);
             pubKey = RistrettoPublic.fromProtoBufObject(protoBufTxOut.getPublicKey());
             targetKey = RistrettoPublic.fromProtoBufObject(protoBufTxOut.getTargetKey());
@@ -52,7 +53,7 @@ final class TxOut extends Native {
             protoBufTxOut = tx;
             pubKey = RistrettoPublic.fromProtoBufObject(protoBufTxOut.getPublicKey());
             targetKey = RistrettoPublic.fromProtoBufObject(protoBufTxOut.getTargetKey());
-            init_from_protobuf_bytes(tx.toByteString().toByteArray());
+            initFromProtobufBytes(tx.toByteString().toByteArray());
         } catch (Exception ex) {
             SerializationException serializationException =
                     new SerializationException(ex.getLocalizedMessage());
@@ -61,6 +62,20 @@ final class TxOut extends Native {
         }
     }
 
+    private TxOut(@NonNull byte[] serializedBytes, @NonNull MobileCoinAPI.TxOut tx)
+            throws SerializationException {
+        // Ring members only need the native object; the key wrappers are decoded lazily
+        protoBufTxOut = tx;
+        try {
+            initFromProtobufBytes(serializedBytes);
+        } catch (Exception ex) {
+            SerializationException serializationException =
+                    new SerializationException(ex.getLocalizedMessage(), ex);
+            Util.logException(TAG, serializationException);
+            throw serializationException;
+        }
+    }
+
     @NonNull
     static TxOut fromJNI(long rustObj) throws SerializationException {
         return new TxOut(rustObj);
@@ -83,6 +98,50 @@ final class TxOut extends Native {
         return new TxOut(txOut);
     }
 
+    /**
+     * Construct the native ring members for a transaction input in a single pass.
+     * Unlike {@link #fromProtoBufObject}, the public and target key wrappers are not created
+     * until they are requested.
+     */
+    @NonNull
+    static TxOut[] ringFromProtoBufObjects(@NonNull List<MobileCoinAPI.TxOut> txOuts)
+            throws SerializationException {
+        TxOut[] ring = new TxOut[txOuts.size()];
+        try {
+            for (int i = 0; i < ring.length; ++i) {
+                MobileCoinAPI.TxOut txOut = txOuts.get(i);
+                ring[i] = new TxOut(txOut.toByteArray(), txOut);
+            }
+        } catch (SerializationException exception) {
+            free(ring);
+            throw exception;
+        }
+        return ring;
+    }
+
+    /**
+     * Release the native memory of the provided TxOuts without waiting for the finalizer.
+     * The TxOuts must not be passed to the native code afterwards.
+     */
+    static void free(@NonNull TxOut[] txOuts) {
+        for (TxOut txOut : txOuts) {
+            if (txOut != null) {
+                txOut.free();
+            }
+        }
+    }
+
+    synchronized void free() {
+        if (rustObj != 0) {
+            try {
+                finalize_jni();
+            } catch (Exception exception) {
+                Logger.e(TAG, "Unable to free TxOut", exception);
+            }
+            rustObj = 0;
+        }
+    }
+
     @NonNull
     public MaskedAmount getMaskedAmount() {
         try {
@@ -113,7 +172,10 @@ final class TxOut extends Native {
      * @return the public key of this TxOut
      */
     @NonNull
-    RistrettoPublic getPublicKey() {
+    synchronized RistrettoPublic getPublicKey() {
+        if (pubKey == null) {
+            pubKey = decodeKey(protoBufTxOut.getPublicKey());
+        }
         return this.pubKey;
     }
 
@@ -127,7 +189,16 @@ final class TxOut extends Native {
         if (!protoBufTxOut.hasEMemo()) {
             return new byte[0];
         }
-        return decrypt_memo_payload(accountKey);
+        long callStart = NativeCallMetrics.start();
+        byte[] payload;
+        try {
+            payload = decrypt_memo_payload(accountKey);
+        } catch (RuntimeException exception) {
+            NativeCallMetrics.recordFailure("decrypt_memo_payload", callStart);
+            throw exception;
+        }
+        NativeCallMetrics.record("decrypt_memo_payload", callStart, 0);
+        return payload;
     }
 
     @Override
@@ -136,12 +207,12 @@ final class TxOut extends Native {
         if (o == null || getClass() != o.getClass()) return false;
         TxOut txOut = (TxOut) o;
         return protoBufTxOut.equals(txOut.protoBufTxOut) &&
-                pubKey.equals(txOut.pubKey);
+                getPublicKey().equals(txOut.getPublicKey());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(protoBufTxOut, pubKey);
+        return Objects.hash(protoBufTxOut, getPublicKey());
     }
 
     @Override
@@ -152,20 +223,64 @@ final class TxOut extends Native {
         super.finalize();
     }
 
+    private void initFromProtobufBytes(@NonNull byte[] data) {
+        long callStart = NativeCallMetrics.start();
+        try {
+            init_from_protobuf_bytes(data);
+        } catch (RuntimeException exception) {
+            NativeCallMetrics.recordFailure("init_from_protobuf_bytes", callStart);
+            throw exception;
+        }
+        NativeCallMetrics.record("init_from_protobuf_bytes", callStart, data.length);
+    }
+
     UnsignedLong getSubaddressIndex(@NonNull AccountKey accountKey) {
-        return UnsignedLong.fromLongBits(get_subaddress_index(accountKey));
+        long callStart = NativeCallMetrics.start();
+        long subaddressIndex;
+        try {
+            subaddressIndex = get_subaddress_index(accountKey);
+        } catch (RuntimeException exception) {
+            NativeCallMetrics.recordFailure("get_subaddress_index", callStart);
+            throw exception;
+        }
+        NativeCallMetrics.record("get_subaddress_index", callStart, 0);
+        return UnsignedLong.fromLongBits(subaddressIndex);
     }
 
     @NonNull
     byte[] computeKeyImage(AccountKey accountKey) {
-        return compute_key_image(accountKey);
+        long callStart = NativeCallMetrics.start();
+        byte[] keyImage;
+        try {
+            keyImage = compute_key_image(accountKey);
+        } catch (RuntimeException exception) {
+            NativeCallMetrics.recordFailure("compute_key_image", callStart);
+            throw exception;
+        }
+        NativeCallMetrics.record("compute_key_image", callStart, 0);
+        return keyImage;
     }
 
     @NonNull
-    RistrettoPublic getTargetKey() {
+    synchronized RistrettoPublic getTargetKey() {
+        if (targetKey == null) {
+            targetKey = decodeKey(protoBufTxOut.getTargetKey());
+        }
         return targetKey;
     }
 
+    @NonNull
+    private static RistrettoPublic decodeKey(@NonNull MobileCoinAPI.CompressedRistretto key) {
+        try {
+            return RistrettoPublic.fromProtoBufObject(key);
+        } catch (SerializationException exception) {
+            // the native TxOut has already validated the keys
+            IllegalStateException illegalStateException = new IllegalStateException(exception);
+            Logger.wtf(TAG, "BUG: unreachable code", illegalStateException);
+            throw illegalStateException;
+        }
+    }
+
     private native void init_from_protobuf_bytes(@NonNull byte[] data);
 
     private native void finalize_jni();
@@ -4,14 +4,68 @@ package com.mobilecoin.lib;
 
 import androidx.annotation.NonNull;
 
+import com.mobilecoin.api.MobileCoinAPI;
 import com.mobilecoin.lib.exceptions.SerializationException;
 import com.mobilecoin.lib.log.Logger;
 
+import java.util.List;
+
 final class TxOutMembershipProof extends Native {
     private final static String TAG = TxOutMembershipProof.class.getName();
 
     TxOutMembershipProof(@NonNull byte[] protobufBytes) throws SerializationException {
         Logger.i(TAG, "Initializing from protobuf");
+        initFromProtoBufBytes(protobufBytes);
+    }
+
+    private TxOutMembershipProof() {
+    }
+
+    /**
+     * Construct the native membership proofs for a transaction input in a single pass.
+     */
+    @NonNull
+    static TxOutMembershipProof[] fromProtoBufObjects(
+            @NonNull List<MobileCoinAPI.TxOutMembershipProof> proofs
+    ) throws SerializationException {
+        TxOutMembershipProof[] nativeProofs = new TxOutMembershipProof[proofs.size()];
+        try {
+            for (int i = 0; i < nativeProofs.length; ++i) {
+                nativeProofs[i] = new TxOutMembershipProof();
+                nativeProofs[i].initFromProtoBufBytes(proofs.get(i).toByteArray());
+            }
+        } catch (SerializationException exception) {
+            free(nativeProofs);
+            throw exception;
+        }
+        return nativeProofs;
+    }
+
+    /**
+     * Release the native memory of the provided proofs without waiting for the finalizer.
+     * The proofs must not be passed to the native code afterwards.
+     */
+    static void free(@NonNull TxOutMembershipProof[] proofs) {
+        for (TxOutMembershipProof proof : proofs) {
+            if (proof != null) {
+                proof.free();
+            }
+        }
+    }
+
+    synchronized void free() {
+        if (rustObj != 0) {
+            try {
+                finalize_jni();
+            } catch (Exception exception) {
+                Logger.e(TAG, "Unable to free TxOutMembershipProof", exception);
+            }
+            rustObj = 0;
+        }
+    }
+
+    private void initFromProtoBufBytes(@NonNull byte[] protobufBytes)
+            throws SerializationException {
         try {
             init_from_protobuf_bytes(protobufBytes);
         } catch (Exception ex) {
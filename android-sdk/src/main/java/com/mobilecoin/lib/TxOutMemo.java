@@ -4,6 +4,9 @@ import android.os.Parcel;
 import android.os.Parcelable;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.mobilecoin.lib.exceptions.SerializationException;
 
 /** Represents a TxOut memo. */
 public abstract class TxOutMemo extends Native implements Parcelable {
@@ -31,6 +34,100 @@ public abstract class TxOutMemo extends Native implements Parcelable {
     return 0;
   }
 
+  /**
+   * Writes the memo fields following the memo type, see {@link #writeMemo}
+   */
+  void writeTo(@NonNull TxOutStoreFormat.Writer writer) {
+  }
+
+  /**
+   * Writes the memo type as a stable code followed by the memo fields
+   */
+  static void writeMemo(@NonNull TxOutStoreFormat.Writer writer, @Nullable TxOutMemo memo) {
+    if (null == memo) {
+      writer.writeByte(FORMAT_CODE_NONE);
+      return;
+    }
+    writer.writeByte(formatCodeOf(memo.memoType));
+    memo.writeTo(writer);
+  }
+
+  @Nullable
+  static TxOutMemo readMemo(@NonNull TxOutStoreFormat.Reader reader)
+          throws SerializationException {
+    byte code = reader.readByte();
+    switch (code) {
+      case FORMAT_CODE_NONE:
+        return null;
+      case FORMAT_CODE_NOT_SET:
+        return new EmptyMemo(TxOutMemoType.NOT_SET);
+      case FORMAT_CODE_UNUSED:
+        return new EmptyMemo(TxOutMemoType.UNUSED);
+      case FORMAT_CODE_UNKNOWN:
+        return new EmptyMemo(TxOutMemoType.UNKNOWN);
+      case FORMAT_CODE_SENDER:
+        return new SenderMemo(reader);
+      case FORMAT_CODE_SENDER_WITH_PAYMENT_REQUEST:
+        return new SenderWithPaymentRequestMemo(reader);
+      case FORMAT_CODE_SENDER_WITH_PAYMENT_INTENT:
+        return new SenderWithPaymentIntentMemo(reader);
+      case FORMAT_CODE_DESTINATION:
+        return new DestinationMemo(reader);
+      case FORMAT_CODE_DESTINATION_WITH_PAYMENT_REQUEST:
+        return new DestinationWithPaymentRequestMemo(reader);
+      case FORMAT_CODE_DESTINATION_WITH_PAYMENT_INTENT:
+        return new DestinationWithPaymentIntentMemo(reader);
+      default:
+        throw new SerializationException("Unknown memo format code " + code);
+    }
+  }
+
+  static void writeAddressHash(@NonNull TxOutStoreFormat.Writer writer,
+                               @NonNull AddressHash addressHash) {
+    writer.writeBytes(addressHash.getHashData());
+  }
+
+  @NonNull
+  static AddressHash readAddressHash(@NonNull TxOutStoreFormat.Reader reader)
+          throws SerializationException {
+    return AddressHash.createAddressHash(reader.readNonNullBytes());
+  }
+
+  // The codes are persisted, existing values must never change
+  private static byte formatCodeOf(@NonNull TxOutMemoType memoType) {
+    switch (memoType) {
+      case NOT_SET:
+        return FORMAT_CODE_NOT_SET;
+      case UNUSED:
+        return FORMAT_CODE_UNUSED;
+      case SENDER:
+        return FORMAT_CODE_SENDER;
+      case SENDER_WITH_PAYMENT_REQUEST:
+        return FORMAT_CODE_SENDER_WITH_PAYMENT_REQUEST;
+      case SENDER_WITH_PAYMENT_INTENT:
+        return FORMAT_CODE_SENDER_WITH_PAYMENT_INTENT;
+      case DESTINATION:
+        return FORMAT_CODE_DESTINATION;
+      case DESTINATION_WITH_PAYMENT_REQUEST:
+        return FORMAT_CODE_DESTINATION_WITH_PAYMENT_REQUEST;
+      case DESTINATION_WITH_PAYMENT_INTENT:
+        return FORMAT_CODE_DESTINATION_WITH_PAYMENT_INTENT;
+      default:
+        return FORMAT_CODE_UNKNOWN;
+    }
+  }
+
+  private static final byte FORMAT_CODE_NONE = 0;
+  private static final byte FORMAT_CODE_NOT_SET = 1;
+  private static final byte FORMAT_CODE_UNUSED = 2;
+  private static final byte FORMAT_CODE_UNKNOWN = 3;
+  private static final byte FORMAT_CODE_SENDER = 4;
+  private static final byte FORMAT_CODE_SENDER_WITH_PAYMENT_REQUEST = 5;
+  private static final byte FORMAT_CODE_SENDER_WITH_PAYMENT_INTENT = 6;
+  private static final byte FORMAT_CODE_DESTINATION = 7;
+  private static final byte FORMAT_CODE_DESTINATION_WITH_PAYMENT_REQUEST = 8;
+  private static final byte FORMAT_CODE_DESTINATION_WITH_PAYMENT_INTENT = 9;
+
   public static final int TX_OUT_MEMO_DATA_SIZE_BYTES = 64;
   public static final int TX_OUT_MEMO_TYPE_SIZE_BYTES = 2;
 
@@ -2,11 +2,14 @@
 
 package com.mobilecoin.lib;
 
+import android.os.Build;
 import android.os.Parcel;
 import android.os.Parcelable;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
+import androidx.annotation.VisibleForTesting;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
@@ -17,9 +20,16 @@ import com.mobilecoin.lib.exceptions.KexRngException;
 import com.mobilecoin.lib.exceptions.NetworkException;
 import com.mobilecoin.lib.exceptions.SerializationException;
 import com.mobilecoin.lib.log.Logger;
+import com.mobilecoin.lib.metrics.Metrics;
+import com.mobilecoin.lib.trace.Span;
+import com.mobilecoin.lib.trace.Tracer;
+import com.mobilecoin.lib.util.AsyncCall;
 import com.mobilecoin.lib.util.Hex;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -29,8 +39,14 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import fog_common.FogCommon;
@@ -45,6 +61,9 @@ class TxOutStore implements Parcelable {
     private static final long serialVersionUID = 2L;
 
     protected static final UnsignedLong FOG_SYNC_THRESHOLD = UnsignedLong.TEN;
+    // Used to presize the serialization buffer, a TxOut record with a memo is about 200 bytes
+    private static final int ESTIMATED_TXO_RECORD_SIZE = 200;
+    private static final int JOURNAL_BUFFER_SIZE = 1024;
 
     // A map of nonce -> Seed.
     private HashMap<Integer, FogSeed> seeds;
@@ -65,6 +84,33 @@ class TxOutStore implements Parcelable {
     // TxOuts recovered from missed blocks
     private ConcurrentLinkedQueue<OwnedTxOut> recoveredTxOuts;
 
+    // TxOuts spent more than this many blocks ago move to the cold tier, disabled if negative
+    private long coldTierSpentBlocks = -1L;
+    // Unspent and recently spent TxOuts, rebuilt from all TxOuts when null
+    @Nullable
+    private HashSet<OwnedTxOut> hotTxOuts;
+    // TxOuts spent long ago ordered by the spent block index, valid while hotTxOuts is not null
+    private final ArrayList<OwnedTxOut> coldTxOuts = new ArrayList<>();
+    // Tokens of the cold tier TxOuts, valid while hotTxOuts is not null
+    private final HashSet<TokenId> coldTokenIds = new HashSet<>();
+
+    // Changes since the last journal entry, null unless the store is persisted as a journal
+    @Nullable
+    private TxOutStoreFormat.Writer journalChanges;
+    private long[] journaledCursor;
+
+    // Asynchronous refresh in flight, shared by the asynchronous callers
+    private final AtomicReference<CompletableFuture<Void>> asyncRefresh = new AtomicReference<>();
+
+    // Journal record codes, existing values must never change
+    private static final byte JOURNAL_ADD_SEED = 1;
+    private static final byte JOURNAL_ADD_SEED_TXO = 2;
+    private static final byte JOURNAL_MARK_SEED_OBSOLETE = 3;
+    private static final byte JOURNAL_ADD_RECOVERED_TXO = 4;
+    private static final byte JOURNAL_SET_SPENT = 5;
+    private static final byte JOURNAL_ADD_DECOMMISSIONED_ID = 6;
+    private static final byte JOURNAL_SET_CURSOR = 7;
+
     TxOutStore(@NonNull AccountKey accountKey) {
         this.seeds = new HashMap<>();
         this.decommissionedIngestInvocationIds = new HashSet<>();
@@ -72,6 +118,7 @@ class TxOutStore implements Parcelable {
         this.ledgerBlockIndex = UnsignedLong.ZERO;
         this.viewBlockIndex = UnsignedLong.ZERO;
         this.consensusBlockIndex = UnsignedLong.ZERO;
+        this.ledgerTotalTxCount = UnsignedLong.ZERO;
         this.recoveredTxOuts = new ConcurrentLinkedQueue<>();
     }
 
@@ -82,6 +129,33 @@ class TxOutStore implements Parcelable {
     @NonNull
     static TxOutStore fromBytes(@NonNull byte[] serialized) throws SerializationException {
         Logger.d(TAG, "Deserializing the txo store from bytes");
+        if (!TxOutStoreFormat.isVersioned(serialized)) {
+            return fromParcelBytes(serialized);
+        }
+        return new TxOutStore(new TxOutStoreFormat.Reader(serialized));
+    }
+
+    /**
+     * Parses the store in place, i.e. from a memory-mapped value
+     */
+    @NonNull
+    static TxOutStore fromBuffer(@NonNull ByteBuffer serialized) throws SerializationException {
+        Logger.d(TAG, "Deserializing the txo store from a buffer");
+        if (!TxOutStoreFormat.isVersioned(serialized)) {
+            byte[] parceled = new byte[serialized.remaining()];
+            serialized.duplicate().get(parceled);
+            return fromParcelBytes(parceled);
+        }
+        return new TxOutStore(new TxOutStoreFormat.Reader(serialized));
+    }
+
+    /**
+     * Reads a store written by the SDK versions that serialized it using {@link Parcel}, such
+     * stores are rewritten in the versioned format the next time the store is serialized
+     */
+    @NonNull
+    static TxOutStore fromParcelBytes(@NonNull byte[] serialized) {
+        Logger.i(TAG, "Migrating the txo store from the parcel format");
         Parcel parcel = Parcel.obtain();
         parcel.unmarshall(serialized, 0, serialized.length);
         parcel.setDataPosition(0);
@@ -91,13 +165,97 @@ class TxOutStore implements Parcelable {
     }
 
     @NonNull
-    byte[] toByteArray() throws SerializationException {
+    synchronized byte[] toByteArray() throws SerializationException {
+        return serialize().toByteArray();
+    }
+
+    /**
+     * Serializes the store in the versioned format, the result can be streamed with
+     * {@link TxOutStoreFormat.Writer#writeTo} without copying the serialized buffer
+     */
+    @NonNull
+    synchronized TxOutStoreFormat.Writer serialize() throws SerializationException {
         Logger.d(TAG, "Serializing txo store");
-        Parcel parcel = Parcel.obtain();
-        writeToParcel(parcel, 0);
-        byte serialized[] = parcel.marshall();
-        parcel.recycle();
-        return serialized;
+        int txOutCount = recoveredTxOuts.size();
+        for (FogSeed seed : seeds.values()) {
+            txOutCount += seed.getTxOuts().size();
+        }
+        TxOutStoreFormat.Writer writer = new TxOutStoreFormat.Writer(
+                TxOutStoreFormat.HEADER_SIZE + txOutCount * ESTIMATED_TXO_RECORD_SIZE);
+        writer.writeInt(TxOutStoreFormat.MAGIC);
+        writer.writeInt(TxOutStoreFormat.VERSION);
+        writer.writeInt(seeds.size());
+        writer.writeInt(decommissionedIngestInvocationIds.size());
+        writer.writeInt(recoveredTxOuts.size());
+        writer.writeInt(txOutCount);
+        // section offsets are filled in once the sections are written
+        writer.writeInt(0);
+        writer.writeInt(0);
+        writer.writeInt(0);
+        writer.writeUnsignedLong(ledgerBlockIndex);
+        writer.writeUnsignedLong(viewBlockIndex);
+        writer.writeUnsignedLong(consensusBlockIndex);
+        writer.writeLong(lastKnownFogViewEventId);
+        writer.writeUnsignedLong((null != ledgerTotalTxCount)
+                ? ledgerTotalTxCount
+                : UnsignedLong.ZERO);
+
+        writer.setInt(TxOutStoreFormat.SEEDS_OFFSET_POSITION, writer.position());
+        for (Map.Entry<Integer, FogSeed> entry : seeds.entrySet()) {
+            writer.writeInt(entry.getKey());
+            entry.getValue().writeTo(writer);
+        }
+        writer.setInt(TxOutStoreFormat.DECOMMISSIONED_OFFSET_POSITION, writer.position());
+        for (Long id : decommissionedIngestInvocationIds) {
+            writer.writeLong(id);
+        }
+        writer.setInt(TxOutStoreFormat.RECOVERED_OFFSET_POSITION, writer.position());
+        for (OwnedTxOut otxo : recoveredTxOuts) {
+            otxo.writeTo(writer);
+        }
+        return writer;
+    }
+
+    /**
+     * Creates a TxOutStore from the versioned format, see {@link TxOutStoreFormat}
+     */
+    private TxOutStore(@NonNull TxOutStoreFormat.Reader reader) throws SerializationException {
+        if (reader.readInt() != TxOutStoreFormat.MAGIC) {
+            throw new SerializationException("Invalid txo store header");
+        }
+        int version = reader.readInt();
+        if (version != TxOutStoreFormat.VERSION) {
+            throw new SerializationException("Unsupported txo store version " + version);
+        }
+        int seedCount = reader.readCount();
+        int decommissionedCount = reader.readCount();
+        int recoveredCount = reader.readCount();
+        reader.readCount();
+        int seedsOffset = reader.readInt();
+        int decommissionedOffset = reader.readInt();
+        int recoveredOffset = reader.readInt();
+        ledgerBlockIndex = reader.readUnsignedLong();
+        viewBlockIndex = reader.readUnsignedLong();
+        consensusBlockIndex = reader.readUnsignedLong();
+        lastKnownFogViewEventId = reader.readLong();
+        ledgerTotalTxCount = reader.readUnsignedLong();
+
+        reader.seek(seedsOffset);
+        seeds = new HashMap<>(seedCount * 2);
+        for (int i = 0; i < seedCount; i++) {
+            int key = reader.readInt();
+            seeds.put(key, new FogSeed(reader));
+        }
+        reader.seek(decommissionedOffset);
+        decommissionedIngestInvocationIds = new HashSet<>(decommissionedCount * 2);
+        for (int i = 0; i < decommissionedCount; i++) {
+            decommissionedIngestInvocationIds.add(reader.readLong());
+        }
+        reader.seek(recoveredOffset);
+        recoveredTxOuts = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < recoveredCount; i++) {
+            recoveredTxOuts.add(new OwnedTxOut(reader));
+        }
     }
 
     /**
@@ -109,25 +267,166 @@ class TxOutStore implements Parcelable {
         // it's possible to have overlapping TxOuts in different Seeds
         // HashSet will leave the set unchanged if the element exists
         HashSet<OwnedTxOut> syncedTxOuts = new HashSet<>();
+        long currentBlockIndex = getCurrentBlockIndexBits();
         for (FogSeed seed : seeds.values()) {
             for (OwnedTxOut txOut : seed.getTxOuts()) {
-                if ((getCurrentBlockIndex().equals(UnsignedLong.ZERO)
-                        || (txOut.getReceivedBlockIndex().compareTo(getCurrentBlockIndex()) <= 0))) {
+                if (isSynced(txOut, currentBlockIndex)) {
                     syncedTxOuts.add(txOut);
                 }
             }
         }
-        syncedTxOuts.addAll(recoveredTxOuts.stream().filter(txOut ->
-                getCurrentBlockIndex().equals(UnsignedLong.ZERO)
-                        || txOut.getReceivedBlockIndex().compareTo(getCurrentBlockIndex()) <= 0)
-                .collect(Collectors.toList()));
+        for (OwnedTxOut txOut : recoveredTxOuts) {
+            if (isSynced(txOut, currentBlockIndex)) {
+                syncedTxOuts.add(txOut);
+            }
+        }
         return syncedTxOuts;
     }
 
+    /**
+     * Gets the synchronized TXOs of the hot tier, TXOs spent more than
+     * {@link #setColdTierSpentBlocks} blocks ago are left out
+     */
+    @NonNull
+    synchronized Set<OwnedTxOut> getSyncedHotTxOuts() {
+        long currentBlockIndex = getCurrentBlockIndexBits();
+        HashSet<OwnedTxOut> syncedTxOuts = new HashSet<>();
+        for (OwnedTxOut txOut : getHotTxOuts()) {
+            if (isSynced(txOut, currentBlockIndex)) {
+                syncedTxOuts.add(txOut);
+            }
+        }
+        return syncedTxOuts;
+    }
+
+    @NonNull
+    synchronized Set<OwnedTxOut> getUnspentTxOuts() {
+        long currentBlockIndex = getCurrentBlockIndexBits();
+        HashSet<OwnedTxOut> unspentTxOuts = new HashSet<>();
+        // the cold tier only holds spent TxOuts
+        for (OwnedTxOut txOut : getHotTxOuts()) {
+            if (isSynced(txOut, currentBlockIndex) && !txOut.isSpent(currentBlockIndex)) {
+                unspentTxOuts.add(txOut);
+            }
+        }
+        return unspentTxOuts;
+    }
+
+    private static boolean isSynced(@NonNull OwnedTxOut txOut, long currentBlockIndex) {
+        return currentBlockIndex == 0
+                || Long.compareUnsigned(txOut.getReceivedBlockIndexBits(), currentBlockIndex) <= 0;
+    }
+
+    /**
+     * Sets how many blocks after being spent a TxOut moves to the cold tier, a negative value
+     * keeps all TxOuts in the hot tier
+     */
+    synchronized void setColdTierSpentBlocks(long coldTierSpentBlocks) {
+        this.coldTierSpentBlocks = coldTierSpentBlocks;
+        hotTxOuts = null;
+    }
+
+    /**
+     * Pages through the cold tier starting with the most recently spent TxOuts
+     */
+    @NonNull
+    synchronized List<OwnedTxOut> getColdTxOuts(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative");
+        }
+        getHotTxOuts();
+        ArrayList<OwnedTxOut> page = new ArrayList<>(Math.min(limit, coldTxOuts.size()));
+        for (int i = coldTxOuts.size() - 1 - offset; i >= 0 && page.size() < limit; i--) {
+            page.add(coldTxOuts.get(i));
+        }
+        return page;
+    }
+
+    synchronized int getColdTxOutCount() {
+        getHotTxOuts();
+        return coldTxOuts.size();
+    }
+
+    /**
+     * Balances read only the hot tier, these tokens still get an entry when all of their
+     * TxOuts are cold
+     */
+    @NonNull
+    synchronized Set<TokenId> getColdTokenIds() {
+        getHotTxOuts();
+        return new HashSet<>(coldTokenIds);
+    }
+
+    /**
+     * Moves the TxOuts spent more than {@link #coldTierSpentBlocks} blocks ago to the cold tier
+     */
+    synchronized void updateTiers() {
+        if (null == hotTxOuts || coldTierSpentBlocks < 0) {
+            return;
+        }
+        long currentBlockIndex = getCurrentBlockIndexBits();
+        int coldCount = coldTxOuts.size();
+        // the set is rebuilt rather than removed from, spending a TxOut changes its hash code
+        HashSet<OwnedTxOut> hot = new HashSet<>();
+        for (OwnedTxOut txOut : hotTxOuts) {
+            if (isCold(txOut, currentBlockIndex)) {
+                coldTxOuts.add(txOut);
+                coldTokenIds.add(txOut.getAmount().getTokenId());
+            } else {
+                hot.add(txOut);
+            }
+        }
+        hotTxOuts = hot;
+        if (coldTxOuts.size() != coldCount) {
+            sortColdTxOuts();
+            Logger.d(TAG, "Moved TxOuts to the cold tier", null,
+                    "moved:", coldTxOuts.size() - coldCount,
+                    "hot:", hotTxOuts.size());
+        }
+    }
+
     @NonNull
-    Set<OwnedTxOut> getUnspentTxOuts() {
-        return getSyncedTxOuts().stream().filter(p -> !p.isSpent(getCurrentBlockIndex()))
-                .collect(Collectors.toCollection(HashSet::new));
+    private synchronized Set<OwnedTxOut> getHotTxOuts() {
+        if (null == hotTxOuts) {
+            long currentBlockIndex = getCurrentBlockIndexBits();
+            // it's possible to have overlapping TxOuts in different Seeds
+            HashSet<OwnedTxOut> hot = new HashSet<>();
+            HashSet<OwnedTxOut> cold = new HashSet<>();
+            for (OwnedTxOut txOut : getAllTxOuts()) {
+                if (isCold(txOut, currentBlockIndex)) {
+                    cold.add(txOut);
+                } else {
+                    hot.add(txOut);
+                }
+            }
+            coldTxOuts.clear();
+            coldTxOuts.addAll(cold);
+            sortColdTxOuts();
+            coldTokenIds.clear();
+            for (OwnedTxOut txOut : cold) {
+                coldTokenIds.add(txOut.getAmount().getTokenId());
+            }
+            hotTxOuts = hot;
+        }
+        return hotTxOuts;
+    }
+
+    private synchronized void addHotTxOut(@NonNull OwnedTxOut txOut) {
+        if (null != hotTxOuts) {
+            hotTxOuts.add(txOut);
+        }
+    }
+
+    private boolean isCold(@NonNull OwnedTxOut txOut, long currentBlockIndex) {
+        // spent more than coldTierSpentBlocks ago: spent <= current - coldTierSpentBlocks - 1
+        return coldTierSpentBlocks >= 0
+                && Long.compareUnsigned(currentBlockIndex, coldTierSpentBlocks) > 0
+                && txOut.isSpent(currentBlockIndex - coldTierSpentBlocks - 1);
+    }
+
+    private void sortColdTxOuts() {
+        Collections.sort(coldTxOuts, (first, second) -> Long.compareUnsigned(
+                first.getSpentBlockIndexBits(), second.getSpentBlockIndexBits()));
     }
 
     void setAccountKey(@NonNull AccountKey accountKey) {
@@ -141,6 +440,13 @@ class TxOutStore implements Parcelable {
                 : viewBlockIndex;
     }
 
+    /**
+     * @return unsigned bits of {@link #getCurrentBlockIndex()} for per TxOut comparisons
+     */
+    synchronized long getCurrentBlockIndexBits() {
+        return getCurrentBlockIndex().longValue();
+    }
+
     @NonNull
     synchronized UnsignedLong getLedgerTotalTxCount() {
         return ledgerTotalTxCount;
@@ -150,33 +456,160 @@ class TxOutStore implements Parcelable {
             @NonNull AttestedViewClient viewClient,
             @NonNull AttestedLedgerClient ledgerClient,
             @NonNull FogBlockClient blockClient
+    ) throws InvalidFogResponse, NetworkException, AttestationException, FogSyncException {
+        refresh(viewClient, ledgerClient, blockClient, null);
+    }
+
+    /**
+     * Refresh the store, reporting the progress of each phase to the provided listener
+     */
+    void refresh(
+            @NonNull AttestedViewClient viewClient,
+            @NonNull AttestedLedgerClient ledgerClient,
+            @NonNull FogBlockClient blockClient,
+            @Nullable SyncProgressListener progressListener
+    ) throws InvalidFogResponse, NetworkException, AttestationException, FogSyncException {
+        Span span = Tracer.startSpan("txo_store.refresh");
+        try {
+            SyncProgressTracker progress =
+                    new SyncProgressTracker(progressListener, getConsensusBlockIndex());
+            refreshTxOuts(viewClient, ledgerClient, blockClient, progress);
+        } catch (Exception exception) {
+            span.recordError(exception);
+            throw exception;
+        } finally {
+            span.end();
+        }
+    }
+
+    private void refreshTxOuts(
+            @NonNull AttestedViewClient viewClient,
+            @NonNull AttestedLedgerClient ledgerClient,
+            @NonNull FogBlockClient blockClient,
+            @NonNull SyncProgressTracker progress
     ) throws InvalidFogResponse, NetworkException, AttestationException, FogSyncException {
         Logger.i(TAG, "Refreshing TxOutStore");
         // update RNGs, TxOuts, and fog misses
         Set<BlockRange> fogMisses;
         try {
             fogMisses = updateRNGsAndTxOuts(viewClient, new DefaultFogQueryScalingStrategy(),
-                    new DefaultFogSeedProvider(), new DefaultVersionedCryptoBox());
-            // Find the first RNG
-            Optional<FogSeed> firstRngSeed = seeds.values().stream()
-                    .min((o1, o2) -> o1.getStartBlock().compareTo(o2.getStartBlock()));
-
-            // Skip all the blocks that come before the first RNG
-            if (firstRngSeed.isPresent()) {
-                final UnsignedLong finalMinBlockIndex = firstRngSeed.get().getStartBlock();
-                Set<BlockRange> filteredFogMisses =
-                        fogMisses.stream()
-                                .filter(blockRange -> (blockRange.getEnd().compareTo(finalMinBlockIndex) < 0))
-                                .collect(Collectors.toSet());
-                // fetch any missed TxOuts
-                Set<OwnedTxOut> missedTxOuts = fetchFogMisses(filteredFogMisses, blockClient);
-                recoveredTxOuts.addAll(missedTxOuts);
-            }
+                    new DefaultFogSeedProvider(), new DefaultVersionedCryptoBox(), progress);
         } catch (KexRngException exception) {
             throw new InvalidFogResponse("Invalid KexRng", exception);
         }
+        Set<BlockRange> filteredFogMisses = filterFogMisses(fogMisses);
+        if (null != filteredFogMisses) {
+            // fetch any missed TxOuts
+            try (Span span = Tracer.startSpan("fog_block.fetch_misses")) {
+                Set<OwnedTxOut> missedTxOuts =
+                        fetchFogMisses(filteredFogMisses, blockClient, progress);
+                addRecoveredTxOuts(missedTxOuts);
+                span.setAttribute("block_ranges", filteredFogMisses.size())
+                        .setAttribute("txos", missedTxOuts.size());
+            }
+        }
         // update the spent status of the TxOuts
+        progress.startPhase(SyncProgress.Phase.KEY_IMAGES, 1);
+        progress.report();
         updateKeyImages(ledgerClient);
+        completeRefresh(progress);
+    }
+
+    /**
+     * Asynchronous {@link #refresh}, no thread waits for the Fog responses. Each response is
+     * processed on the provided executor while holding the store lock, the lock is not held
+     * between the requests. Concurrent asynchronous refreshes share the one in flight.
+     *
+     * @param executor processes the responses, i.e. decrypts the TxOuts
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    CompletableFuture<Void> refreshAsync(
+            @NonNull AttestedViewClient viewClient,
+            @NonNull AttestedLedgerClient ledgerClient,
+            @NonNull FogBlockClient blockClient,
+            @Nullable SyncProgressListener progressListener,
+            @NonNull Executor executor
+    ) {
+        CompletableFuture<Void> refresh = new CompletableFuture<>();
+        CompletableFuture<Void> inFlight;
+        do {
+            inFlight = asyncRefresh.get();
+        } while (null == inFlight && !asyncRefresh.compareAndSet(null, refresh));
+        if (null != inFlight) {
+            Logger.i(TAG, "Joining the TxOutStore refresh in flight");
+            return inFlight.thenApply(Function.identity());
+        }
+        Logger.i(TAG, "Refreshing TxOutStore");
+        SyncProgressTracker progress =
+                new SyncProgressTracker(progressListener, getConsensusBlockIndex());
+        CompletableFuture<Void> result;
+        try {
+            result = updateRNGsAndTxOutsAsync(viewClient, new DefaultFogQueryScalingStrategy(),
+                    new DefaultFogSeedProvider(), new DefaultVersionedCryptoBox(), progress,
+                    executor)
+                    .thenCompose(fogMisses -> {
+                        Set<BlockRange> filteredFogMisses = filterFogMisses(fogMisses);
+                        if (null == filteredFogMisses) {
+                            return CompletableFuture.completedFuture(null);
+                        }
+                        return fetchFogMissesAsync(filteredFogMisses, blockClient, progress)
+                                .thenAccept(this::addRecoveredTxOuts);
+                    })
+                    .thenCompose(ignored -> {
+                        progress.startPhase(SyncProgress.Phase.KEY_IMAGES, 1);
+                        progress.report();
+                        return updateKeyImagesAsync(ledgerClient, executor);
+                    })
+                    .thenRun(() -> {
+                        try {
+                            completeRefresh(progress);
+                        } catch (FogSyncException exception) {
+                            throw new CompletionException(exception);
+                        }
+                    });
+        } catch (RuntimeException exception) {
+            result = AsyncCall.failed(exception);
+        }
+        result.whenComplete((ignored, error) -> {
+            asyncRefresh.set(null);
+            if (null == error) {
+                refresh.complete(null);
+            } else {
+                refresh.completeExceptionally(AsyncCall.unwrap(error));
+            }
+        });
+        return refresh.thenApply(Function.identity());
+    }
+
+    /**
+     * @return the missed block ranges before the first RNG, null if there is no RNG yet
+     */
+    @Nullable
+    private synchronized Set<BlockRange> filterFogMisses(@NonNull Set<BlockRange> fogMisses) {
+        // Find the first RNG
+        Optional<FogSeed> firstRngSeed = seeds.values().stream()
+                .min((o1, o2) -> Long.compareUnsigned(o1.getStartBlockBits(),
+                        o2.getStartBlockBits()));
+        if (!firstRngSeed.isPresent()) {
+            return null;
+        }
+        // Skip all the blocks that come before the first RNG
+        final UnsignedLong finalMinBlockIndex = firstRngSeed.get().getStartBlock();
+        return fogMisses.stream()
+                .filter(blockRange -> (blockRange.getEnd().compareTo(finalMinBlockIndex) < 0))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Updates the tiers and checks that Fog is in sync once the TxOuts and key images are
+     */
+    private void completeRefresh(@NonNull SyncProgressTracker progress) throws FogSyncException {
+        updateTiers();
+        if (Metrics.isEnabled()) {
+            recordSyncMetrics();
+        }
+        progress.setSyncedBlockIndex(getCurrentBlockIndex());
 
         if(Math.abs(ledgerBlockIndex.longValue() - viewBlockIndex.longValue()) >= FOG_SYNC_THRESHOLD.longValue()) {
             throw new FogSyncException(
@@ -194,6 +627,9 @@ class TxOutStore implements Parcelable {
                         currentBlockIndex, consensusBlockIndex));
             }
         }
+        // only reported once fog is known to be in sync, a FogSyncException is not a completion
+        progress.startPhase(SyncProgress.Phase.COMPLETE, 0);
+        progress.report();
     }
 
     /**
@@ -208,134 +644,307 @@ class TxOutStore implements Parcelable {
             @NonNull FogSeedProvider fogSeedProvider,
             @NonNull VersionedCryptoBox cryptoBox)
             throws InvalidFogResponse, NetworkException, AttestationException, KexRngException {
+        return updateRNGsAndTxOuts(viewClient, scalingStrategy, fogSeedProvider, cryptoBox,
+                new SyncProgressTracker(null, consensusBlockIndex));
+    }
+
+    @NonNull
+    private synchronized Set<BlockRange> updateRNGsAndTxOuts(
+            @NonNull AttestedViewClient viewClient,
+            @NonNull FogQueryScalingStrategy scalingStrategy,
+            @NonNull FogSeedProvider fogSeedProvider,
+            @NonNull VersionedCryptoBox cryptoBox,
+            @NonNull SyncProgressTracker progress)
+            throws InvalidFogResponse, NetworkException, AttestationException, KexRngException {
         Logger.i(TAG, "Updating owned TxOuts");
 
         HashSet<BlockRange> missedRanges = new HashSet<>();
         FogSearchKeyProvider searchKeyProvider = new FogSearchKeyProvider(this.seeds.values());
+        progress.startPhase(SyncProgress.Phase.VIEW_QUERY, searchKeyProvider.getSeedCount());
         long blockCount = 0L;
         do {
             Map<ByteString, FogSeed> searchKeys = searchKeyProvider.getNSearchKeys(scalingStrategy.nextQuerySize());
-            View.QueryResponse result = viewClient
-                .request(
-                        searchKeys.keySet().stream().map(ByteString::toByteArray).collect(Collectors.toList()),
-                        lastKnownFogViewEventId, viewBlockIndex.longValue()
-                );
-            blockCount = result.getHighestProcessedBlockCount();
-            lastKnownFogViewEventId = result.getNextStartFromUserEventId();
-            for (DecommissionedIngestInvocation decommissionedIngestInvocation : result
-                .getDecommissionedIngestInvocationsList()) {
-              decommissionedIngestInvocationIds.add(decommissionedIngestInvocation.getIngestInvocationId());
+            View.QueryResponse result;
+            try (Span span = Tracer.startSpan("fog_view.query")) {
+                result = viewClient
+                    .request(
+                            searchKeys.keySet().stream().map(ByteString::toByteArray).collect(Collectors.toList()),
+                            lastKnownFogViewEventId, viewBlockIndex.longValue()
+                    );
+                if (span.isRecording()) {
+                    span.setAttribute("search_keys", searchKeys.size())
+                            .setAttribute("rngs", result.getRngsCount())
+                            .setAttribute("txo_results", result.getTxOutSearchResultsCount())
+                            .setAttribute("missed_block_ranges", result.getMissedBlockRangesCount());
+                }
             }
-            for (FogCommon.BlockRange fogRange : result.getMissedBlockRangesList()) {
-                BlockRange range = new BlockRange(fogRange);
-                missedRanges.add(range);
+            blockCount = processQueryResponse(result, searchKeys, searchKeyProvider,
+                    fogSeedProvider, cryptoBox, missedRanges, progress);
+        } while (searchKeyProvider.hasKeys());
+        setViewBlockCount(blockCount);
+        return missedRanges;
+    }
+
+    /**
+     * Asynchronous {@link #updateRNGsAndTxOuts}, each response is processed on the executor
+     * while holding the store lock
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    private CompletableFuture<Set<BlockRange>> updateRNGsAndTxOutsAsync(
+            @NonNull AttestedViewClient viewClient,
+            @NonNull FogQueryScalingStrategy scalingStrategy,
+            @NonNull FogSeedProvider fogSeedProvider,
+            @NonNull VersionedCryptoBox cryptoBox,
+            @NonNull SyncProgressTracker progress,
+            @NonNull Executor executor) {
+        Logger.i(TAG, "Updating owned TxOuts");
+        HashSet<BlockRange> missedRanges = new HashSet<>();
+        FogSearchKeyProvider searchKeyProvider;
+        synchronized (this) {
+            searchKeyProvider = new FogSearchKeyProvider(this.seeds.values());
+        }
+        progress.startPhase(SyncProgress.Phase.VIEW_QUERY, searchKeyProvider.getSeedCount());
+        return queryViewAsync(viewClient, scalingStrategy, fogSeedProvider, cryptoBox,
+                searchKeyProvider, missedRanges, progress, executor)
+                .thenApply(blockCount -> {
+                    setViewBlockCount(blockCount);
+                    return missedRanges;
+                });
+    }
+
+    /**
+     * Sends a view query and the following ones until the search keys are exhausted
+     *
+     * @return the highest block count processed by the view service
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    private CompletableFuture<Long> queryViewAsync(
+            @NonNull AttestedViewClient viewClient,
+            @NonNull FogQueryScalingStrategy scalingStrategy,
+            @NonNull FogSeedProvider fogSeedProvider,
+            @NonNull VersionedCryptoBox cryptoBox,
+            @NonNull FogSearchKeyProvider searchKeyProvider,
+            @NonNull HashSet<BlockRange> missedRanges,
+            @NonNull SyncProgressTracker progress,
+            @NonNull Executor executor) {
+        Map<ByteString, FogSeed> searchKeys;
+        long eventId;
+        long blockIndex;
+        synchronized (this) {
+            try {
+                searchKeys = searchKeyProvider.getNSearchKeys(scalingStrategy.nextQuerySize());
+            } catch (KexRngException exception) {
+                return AsyncCall.failed(new InvalidFogResponse("Invalid KexRng", exception));
             }
-            Logger.d(TAG, String.format(Locale.US, "Received %d missed block ranges",
-                    result.getMissedBlockRangesCount()));
-            Logger.d(TAG, String.format(Locale.US, "Received %d RNGs", result.getRngsCount()));
-            for (View.RngRecord rngRecord : result.getRngsList()) {
-                FogSeed existingSeed =
-                        seeds.get(Arrays.hashCode(rngRecord.getPubkey().getPubkey().toByteArray()));
-                if (existingSeed == null) {
-                    Logger.d(TAG, String.format(TAG, "Adding the RNG seed %s",
-                            Hex.toString(rngRecord.getPubkey().getPubkey().toByteArray()))
-                    );
-                    FogSeed newSeed = fogSeedProvider.fogSeedFor(
-                            accountKey.getDefaultSubAddressViewKey(),
-                            rngRecord
-                    );
-                    seeds.put(
-                            Arrays.hashCode(rngRecord.getPubkey().getPubkey().toByteArray()),
-                            newSeed
-                    );
-                    // received a new seed
-                    searchKeyProvider.addFogSeed(newSeed);
-                } else {
-                    Logger.d(TAG, String.format(TAG,
-                            "The RNG seed %s is found in cache, updating the record",
-                            Hex.toString(rngRecord.getPubkey().getPubkey().toByteArray()))
-                    );
-                    existingSeed.update(rngRecord);
+            eventId = lastKnownFogViewEventId;
+            blockIndex = viewBlockIndex.longValue();
+        }
+        return viewClient.requestAsync(
+                searchKeys.keySet().stream().map(ByteString::toByteArray).collect(Collectors.toList()),
+                eventId, blockIndex
+        ).thenApplyAsync(result -> {
+            try {
+                return processQueryResponse(result, searchKeys, searchKeyProvider,
+                        fogSeedProvider, cryptoBox, missedRanges, progress);
+            } catch (InvalidFogResponse exception) {
+                throw new CompletionException(exception);
+            } catch (KexRngException exception) {
+                throw new CompletionException(
+                        new InvalidFogResponse("Invalid KexRng", exception));
+            }
+        }, executor).thenCompose(blockCount -> searchKeyProvider.hasKeys()
+                ? queryViewAsync(viewClient, scalingStrategy, fogSeedProvider, cryptoBox,
+                        searchKeyProvider, missedRanges, progress, executor)
+                : CompletableFuture.completedFuture(blockCount));
+    }
+
+    /**
+     * Adds the RNGs and TxOuts of a view query response to the store
+     *
+     * @return the highest block count processed by the view service
+     */
+    private synchronized long processQueryResponse(
+            @NonNull View.QueryResponse result,
+            @NonNull Map<ByteString, FogSeed> searchKeys,
+            @NonNull FogSearchKeyProvider searchKeyProvider,
+            @NonNull FogSeedProvider fogSeedProvider,
+            @NonNull VersionedCryptoBox cryptoBox,
+            @NonNull Set<BlockRange> missedRanges,
+            @NonNull SyncProgressTracker progress)
+            throws InvalidFogResponse, KexRngException {
+        long blockCount = result.getHighestProcessedBlockCount();
+        lastKnownFogViewEventId = result.getNextStartFromUserEventId();
+        for (DecommissionedIngestInvocation decommissionedIngestInvocation : result
+            .getDecommissionedIngestInvocationsList()) {
+          long ingestInvocationId = decommissionedIngestInvocation.getIngestInvocationId();
+          if (decommissionedIngestInvocationIds.add(ingestInvocationId) && null != journalChanges) {
+              journalChanges.writeByte(JOURNAL_ADD_DECOMMISSIONED_ID);
+              journalChanges.writeLong(ingestInvocationId);
+          }
+        }
+        for (FogCommon.BlockRange fogRange : result.getMissedBlockRangesList()) {
+            BlockRange range = new BlockRange(fogRange);
+            missedRanges.add(range);
+        }
+        Logger.d(TAG, () -> String.format(Locale.US, "Received %d missed block ranges",
+                result.getMissedBlockRangesCount()));
+        Logger.d(TAG, () -> String.format(Locale.US, "Received %d RNGs",
+                result.getRngsCount()));
+        // per record messages are guarded to avoid allocating when debug logs are disabled
+        boolean isDebugLoggable = Logger.isLoggable(Logger.Level.DEBUG, TAG);
+        for (View.RngRecord rngRecord : result.getRngsList()) {
+            FogSeed existingSeed =
+                    seeds.get(Arrays.hashCode(rngRecord.getPubkey().getPubkey().toByteArray()));
+            if (existingSeed == null) {
+                if (isDebugLoggable) {
+                    Logger.d(TAG, "Adding the RNG seed " +
+                            Hex.toString(rngRecord.getPubkey().getPubkey().toByteArray()));
+                }
+                FogSeed newSeed = fogSeedProvider.fogSeedFor(
+                        accountKey.getDefaultSubAddressViewKey(),
+                        rngRecord
+                );
+                int seedKey = Arrays.hashCode(rngRecord.getPubkey().getPubkey().toByteArray());
+                seeds.put(seedKey, newSeed);
+                journalSeed(seedKey, newSeed);
+                // received a new seed
+                searchKeyProvider.addFogSeed(newSeed);
+            } else {
+                if (isDebugLoggable) {
+                    Logger.d(TAG, "The RNG seed " +
+                            Hex.toString(rngRecord.getPubkey().getPubkey().toByteArray()) +
+                            " is found in cache, updating the record");
                 }
+                existingSeed.update(rngRecord);
             }
-            for (View.TxOutSearchResult txResult : result.getTxOutSearchResultsList()) {
-                FogSeed seed = searchKeys.get(txResult.getSearchKey());
-                switch (txResult.getResultCode()) {
-                    case View.TxOutSearchResultCode.Found_VALUE: {
-                        // Decrypt the TxOut
-                        try {
-                            byte[] plainText = cryptoBox.versionedCryptoBoxDecrypt(
-                                    accountKey.getDefaultSubAddressViewKey(),
-                                    txResult.getCiphertext().toByteArray()
-                            );
-                            View.TxOutRecord record = View.TxOutRecord.parseFrom(plainText);
-                            seed.addTXO(cryptoBox.ownedTxOutFor(
-                                    record,
-                                    accountKey
-                            ));
-                            searchKeyProvider.resetSeed(seed);
+        }
+        for (View.TxOutSearchResult txResult : result.getTxOutSearchResultsList()) {
+            FogSeed seed = searchKeys.get(txResult.getSearchKey());
+            switch (txResult.getResultCode()) {
+                case View.TxOutSearchResultCode.Found_VALUE: {
+                    // Decrypt the TxOut
+                    try {
+                        byte[] plainText = cryptoBox.versionedCryptoBoxDecrypt(
+                                accountKey.getDefaultSubAddressViewKey(),
+                                txResult.getCiphertext().toByteArray()
+                        );
+                        View.TxOutRecord record = View.TxOutRecord.parseFrom(plainText);
+                        OwnedTxOut txOut = cryptoBox.ownedTxOutFor(record, accountKey);
+                        addSeedTxOut(seed, txOut);
+                        searchKeyProvider.resetSeed(seed);
+                        progress.addTxOutsFound(1);
+                        if (isDebugLoggable) {
                             Logger.d(TAG, "Found TxOut in block with index " +
-                                    record.getBlockIndex()
-                            );
-                        } catch (InvalidProtocolBufferException exception) {
-                            Logger.w(TAG, "Unable to process TxOutRecord", exception);
-                            throw new InvalidFogResponse("Unable to process TxOutRecord");
+                                    record.getBlockIndex());
                         }
+                    } catch (InvalidProtocolBufferException exception) {
+                        Logger.w(TAG, "Unable to process TxOutRecord", exception);
+                        throw new InvalidFogResponse("Unable to process TxOutRecord");
                     }
-                    break;
-                    case View.TxOutSearchResultCode.BadSearchKey_VALUE: {
-                        throw new InvalidFogResponse(
-                                "Received invalid reply from fog view - bad search key");
-                    }
-                    case View.TxOutSearchResultCode.InternalError_VALUE: {
-                        throw new InvalidFogResponse(
-                                "Received invalid reply from fog view - Internal Error");
-                    }
-                    case View.TxOutSearchResultCode.NotFound_VALUE: {
-                        if (isSeedDecommissioned(seed)) {
-                            seed.markObsolete();
-                        }
-                        searchKeyProvider.markSeedComplete(seed);
-                        break;
+                }
+                break;
+                case View.TxOutSearchResultCode.BadSearchKey_VALUE: {
+                    throw new InvalidFogResponse(
+                            "Received invalid reply from fog view - bad search key");
+                }
+                case View.TxOutSearchResultCode.InternalError_VALUE: {
+                    throw new InvalidFogResponse(
+                            "Received invalid reply from fog view - Internal Error");
+                }
+                case View.TxOutSearchResultCode.NotFound_VALUE: {
+                    if (isSeedDecommissioned(seed)) {
+                        markSeedObsolete(seed);
                     }
+                    searchKeyProvider.markSeedComplete(seed);
+                    break;
                 }
             }
-        } while (searchKeyProvider.hasKeys());
+        }
+        int seedsTotal = searchKeyProvider.getSeedCount();
+        int seedsCompleted = searchKeyProvider.getCompletedSeedCount();
+        progress.setSeeds(seedsCompleted, seedsTotal);
+        progress.setPhaseProgress(seedsCompleted, seedsTotal);
+        if (blockCount != 0) {
+            progress.setSyncedBlockIndex(
+                    UnsignedLong.fromLongBits(blockCount).sub(UnsignedLong.ONE));
+        }
+        progress.report();
+        return blockCount;
+    }
+
+    private synchronized void setViewBlockCount(long blockCount) {
         viewBlockIndex = (blockCount != 0)
                 ? UnsignedLong.fromLongBits(blockCount).sub(UnsignedLong.ONE)
                 : UnsignedLong.ZERO;
         Logger.i(TAG, "View Request completed blockIndex = " + viewBlockIndex);
-        return missedRanges;
+    }
+
+    private synchronized void recordSyncMetrics() {
+        Set<OwnedTxOut> syncedTxOuts = getSyncedHotTxOuts();
+        long currentBlockIndex = getCurrentBlockIndexBits();
+        long unspentCount = 0;
+        for (OwnedTxOut txOut : syncedTxOuts) {
+            if (!txOut.isSpent(currentBlockIndex)) {
+                unspentCount++;
+            }
+        }
+        Metrics.recordGauge(Metrics.TXO_COUNT, unspentCount, Metrics.TAG_STATE, "unspent");
+        Metrics.recordGauge(Metrics.TXO_COUNT,
+                syncedTxOuts.size() - unspentCount + coldTxOuts.size(),
+                Metrics.TAG_STATE, "spent");
+        Metrics.recordGauge(Metrics.FOG_SEED_COUNT, seeds.size());
+        Metrics.recordGauge(Metrics.BLOCK_INDEX, viewBlockIndex.doubleValue(),
+                Metrics.TAG_SOURCE, "view");
+        Metrics.recordGauge(Metrics.BLOCK_INDEX, ledgerBlockIndex.doubleValue(),
+                Metrics.TAG_SOURCE, "ledger");
+        Metrics.recordGauge(Metrics.BLOCK_INDEX, consensusBlockIndex.doubleValue(),
+                Metrics.TAG_SOURCE, "consensus");
+        // lag behind the consensus network, 0 if the consensus block index is not known yet
+        Metrics.recordGauge(Metrics.BLOCK_LAG, getBlockLag(viewBlockIndex),
+                Metrics.TAG_SOURCE, "view");
+        Metrics.recordGauge(Metrics.BLOCK_LAG, getBlockLag(ledgerBlockIndex),
+                Metrics.TAG_SOURCE, "ledger");
+    }
+
+    private double getBlockLag(@NonNull UnsignedLong blockIndex) {
+        return (consensusBlockIndex.compareTo(blockIndex) > 0)
+                ? consensusBlockIndex.sub(blockIndex).doubleValue()
+                : 0;
     }
 
     private boolean isSeedDecommissioned(FogSeed seed) {
-      return decommissionedIngestInvocationIds.contains(seed.getIngestInvocationId());
+      return decommissionedIngestInvocationIds.contains(seed.getIngestInvocationIdBits());
     }
 
     void updateTxOutsSpentState(Ledger.CheckKeyImagesResponse keyImagesResponse) throws InvalidFogResponse {
+        // indexed once per response instead of collecting the TxOuts for every result
+        HashMap<Integer, OwnedTxOut> txOutsByKeyImage = null;
         for (Ledger.KeyImageResult result : keyImagesResponse.getResultsList()) {
             if (result.getKeyImageResultCode() == Ledger.KeyImageResultCode.NotSpent_VALUE) {
                 continue;
             }
+            if (null == txOutsByKeyImage) {
+                txOutsByKeyImage = getTxOutsByKeyImage();
+            }
 
-            OwnedTxOut utxo = getUtxoByKeyImage(result.getKeyImage().getData().toByteArray());
+            OwnedTxOut utxo = txOutsByKeyImage.get(
+                    Arrays.hashCode(result.getKeyImage().getData().toByteArray()));
             if (utxo == null) {
                 throw new InvalidFogResponse("checkKeyImages returned invalid key image result");
             }
             Date spentBlockTimestamp = null;
             long longTimestampSeconds = result.getTimestamp();
-            UnsignedLong timestampSeconds = UnsignedLong.fromLongBits(longTimestampSeconds);
             // when the timestamp is missing U64::MAX is returned
-            if (!timestampSeconds.equals(UnsignedLong.MAX_VALUE)) {
-                long longTimestampMillis = TimeUnit.SECONDS.toMillis(timestampSeconds.longValue());
+            if (longTimestampSeconds != UnsignedLong.MAX_VALUE.longValue()) {
+                long longTimestampMillis = TimeUnit.SECONDS.toMillis(longTimestampSeconds);
                 spentBlockTimestamp = new Date(longTimestampMillis);
             }
 
-            utxo.setSpent(
-                    UnsignedLong.fromLongBits(result.getSpentAt()),
-                    spentBlockTimestamp
-            );
-            Logger.d(TAG, String.format(Locale.US,
+            utxo.setSpent(result.getSpentAt(), spentBlockTimestamp);
+            journalSpent(utxo);
+            Logger.d(TAG, () -> String.format(Locale.US,
                     "TxOut has been marked spent in block %s",
                     Objects.requireNonNull(utxo.getSpentBlockIndex()).toString())
             );
@@ -350,9 +959,32 @@ class TxOutStore implements Parcelable {
     void updateKeyImages(@NonNull AttestedLedgerClient ledgerClient)
             throws InvalidFogResponse, NetworkException, AttestationException {
         Logger.i(TAG, "Checking unspent TXOs key images");
-        Set<OwnedTxOut> txOuts = getUnspentTxOuts();
-        Ledger.CheckKeyImagesResponse response = ledgerClient.checkUtxoKeyImages(txOuts);
-        updateTxOutsSpentState(response);
+        try (Span span = Tracer.startSpan("fog_ledger.update_key_images")) {
+            Set<OwnedTxOut> txOuts = getUnspentTxOuts();
+            span.setAttribute("key_images", txOuts.size());
+            Ledger.CheckKeyImagesResponse response = ledgerClient.checkUtxoKeyImages(txOuts);
+            updateTxOutsSpentState(response);
+        }
+    }
+
+    /**
+     * Asynchronous {@link #updateKeyImages}, the response is processed on the executor
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    private CompletableFuture<Void> updateKeyImagesAsync(
+            @NonNull AttestedLedgerClient ledgerClient,
+            @NonNull Executor executor
+    ) {
+        Logger.i(TAG, "Checking unspent TXOs key images");
+        return ledgerClient.checkUtxoKeyImagesAsync(getUnspentTxOuts())
+                .thenAcceptAsync(response -> {
+                    try {
+                        updateTxOutsSpentState(response);
+                    } catch (InvalidFogResponse exception) {
+                        throw new CompletionException(exception);
+                    }
+                }, executor);
     }
 
     /**
@@ -363,25 +995,341 @@ class TxOutStore implements Parcelable {
     synchronized Set<OwnedTxOut> fetchFogMisses(@NonNull Set<BlockRange> missedRanges,
                                                 @NonNull FogBlockClient blockClient)
             throws NetworkException {
+        return fetchFogMisses(missedRanges, blockClient,
+                new SyncProgressTracker(null, consensusBlockIndex));
+    }
+
+    @NonNull
+    private synchronized Set<OwnedTxOut> fetchFogMisses(@NonNull Set<BlockRange> missedRanges,
+                                                        @NonNull FogBlockClient blockClient,
+                                                        @NonNull SyncProgressTracker progress)
+            throws NetworkException {
+        long blocksTotal = 0L;
+        for (BlockRange missedRange : missedRanges) {
+            blocksTotal += missedRange.size().longValue();
+        }
+        progress.startPhase(SyncProgress.Phase.FOG_MISSES, blocksTotal);
         HashSet<OwnedTxOut> recovered = new HashSet<>();
+        long blocksScanned = 0L;
         for (BlockRange missedRange : missedRanges) {
             List<OwnedTxOut> txos = blockClient.scanForTxOutsInBlockRange(missedRange,
                     accountKey);
             recovered.addAll(txos);
+            blocksScanned += missedRange.size().longValue();
+            progress.addTxOutsFound(txos.size());
+            progress.setPhaseProgress(blocksScanned, blocksTotal);
+            progress.report();
         }
         return recovered;
     }
 
-    @Nullable
-    OwnedTxOut getUtxoByKeyImage(@NonNull byte[] keyImage) {
-        int keyImageHashCode = Arrays.hashCode(keyImage);
-        Set<OwnedTxOut> syncedTXOs = getSyncedTxOuts();
+    /**
+     * Asynchronous {@link #fetchFogMisses}, the block ranges are scanned one after another
+     */
+    @NonNull
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    private CompletableFuture<Set<OwnedTxOut>> fetchFogMissesAsync(
+            @NonNull Set<BlockRange> missedRanges,
+            @NonNull FogBlockClient blockClient,
+            @NonNull SyncProgressTracker progress
+    ) {
+        long blocksTotal = 0L;
+        for (BlockRange missedRange : missedRanges) {
+            blocksTotal += missedRange.size().longValue();
+        }
+        final long finalBlocksTotal = blocksTotal;
+        progress.startPhase(SyncProgress.Phase.FOG_MISSES, blocksTotal);
+        HashSet<OwnedTxOut> recovered = new HashSet<>();
+        AtomicLong blocksScanned = new AtomicLong();
+        CompletableFuture<Void> scan = CompletableFuture.completedFuture(null);
+        for (BlockRange missedRange : missedRanges) {
+            scan = scan.thenCompose(ignored ->
+                    blockClient.scanForTxOutsInBlockRangeAsync(missedRange, accountKey)
+            ).thenAccept(txos -> {
+                recovered.addAll(txos);
+                progress.addTxOutsFound(txos.size());
+                progress.setPhaseProgress(
+                        blocksScanned.addAndGet(missedRange.size().longValue()),
+                        finalBlocksTotal);
+                progress.report();
+            });
+        }
+        return scan.thenApply(ignored -> recovered);
+    }
+
+    @NonNull
+    private HashMap<Integer, OwnedTxOut> getTxOutsByKeyImage() {
+        // key images are only checked for unspent TxOuts which are never in the cold tier
+        Set<OwnedTxOut> syncedTXOs = getSyncedHotTxOuts();
+        HashMap<Integer, OwnedTxOut> txOutsByKeyImage = new HashMap<>(syncedTXOs.size() * 2);
         for (OwnedTxOut utxo : syncedTXOs) {
-            if (utxo.getKeyImageHashCode() == keyImageHashCode) {
-                return utxo;
+            if (!txOutsByKeyImage.containsKey(utxo.getKeyImageHashCode())) {
+                txOutsByKeyImage.put(utxo.getKeyImageHashCode(), utxo);
+            }
+        }
+        return txOutsByKeyImage;
+    }
+
+    synchronized void addRecoveredTxOuts(@NonNull Set<OwnedTxOut> txOuts) {
+        recoveredTxOuts.addAll(txOuts);
+        for (OwnedTxOut txOut : txOuts) {
+            addHotTxOut(txOut);
+        }
+        if (null != journalChanges) {
+            for (OwnedTxOut txOut : txOuts) {
+                journalChanges.writeByte(JOURNAL_ADD_RECOVERED_TXO);
+                txOut.writeTo(journalChanges);
             }
         }
-        return null;
+    }
+
+    /**
+     * Adds a seed together with the TxOuts it has found, used to build stores without querying
+     * fog view
+     */
+    @VisibleForTesting
+    synchronized void addSeed(@NonNull FogSeed seed) {
+        int seedKey = Arrays.hashCode(seed.getNonce());
+        seeds.put(seedKey, seed);
+        for (OwnedTxOut txOut : seed.getTxOuts()) {
+            addHotTxOut(txOut);
+        }
+        journalSeed(seedKey, seed);
+    }
+
+    /**
+     * Adds a TxOut found by the seed and advances the seed RNG
+     */
+    synchronized void addSeedTxOut(@NonNull FogSeed seed, @NonNull OwnedTxOut txOut)
+            throws KexRngException {
+        seed.addTXO(txOut);
+        addHotTxOut(txOut);
+        if (null != journalChanges) {
+            journalChanges.writeByte(JOURNAL_ADD_SEED_TXO);
+            journalChanges.writeInt(Arrays.hashCode(seed.getNonce()));
+            txOut.writeTo(journalChanges);
+        }
+    }
+
+    synchronized void markSeedObsolete(@NonNull FogSeed seed) {
+        seed.markObsolete();
+        if (null != journalChanges) {
+            journalChanges.writeByte(JOURNAL_MARK_SEED_OBSOLETE);
+            journalChanges.writeInt(Arrays.hashCode(seed.getNonce()));
+        }
+    }
+
+    private synchronized void journalSeed(int seedKey, @NonNull FogSeed seed) {
+        if (null == journalChanges) {
+            return;
+        }
+        try {
+            TxOutStoreFormat.Writer seedRecord = new TxOutStoreFormat.Writer(0);
+            seed.writeTo(seedRecord);
+            journalChanges.writeByte(JOURNAL_ADD_SEED);
+            journalChanges.writeInt(seedKey);
+            journalChanges.writeRaw(seedRecord.toByteArray());
+        } catch (SerializationException exception) {
+            // the journal can no longer reproduce the store, the next persist writes a snapshot
+            Util.logException(TAG, exception);
+            stopJournal();
+        }
+    }
+
+    private synchronized void journalSpent(@NonNull OwnedTxOut txOut) {
+        if (null == journalChanges) {
+            return;
+        }
+        Date spentBlockTimestamp = txOut.getSpentBlockTimestamp();
+        journalChanges.writeByte(JOURNAL_SET_SPENT);
+        journalChanges.writeLong(txOut.getTxOutGlobalIndexBits());
+        journalChanges.writeLong(txOut.getSpentBlockIndexBits());
+        journalChanges.writeBoolean(null != spentBlockTimestamp);
+        journalChanges.writeLong((null != spentBlockTimestamp) ? spentBlockTimestamp.getTime() : 0L);
+    }
+
+    /**
+     * Starts recording changes for {@link TxOutStoreJournal}, changes made before this call are
+     * expected to be in the journal already
+     */
+    synchronized void startJournal() {
+        journalChanges = new TxOutStoreFormat.Writer(JOURNAL_BUFFER_SIZE);
+        journaledCursor = getCursor();
+    }
+
+    synchronized void stopJournal() {
+        journalChanges = null;
+        journaledCursor = null;
+    }
+
+    synchronized boolean isJournalStarted() {
+        return null != journalChanges;
+    }
+
+    /**
+     * Returns the changes recorded since the previous call as a journal entry and starts a new
+     * entry
+     *
+     * @return the journal entry or {@code null} if nothing has changed
+     */
+    @Nullable
+    synchronized byte[] drainJournalChanges() {
+        if (null == journalChanges) {
+            throw new IllegalStateException("The journal has not been started");
+        }
+        long[] cursor = getCursor();
+        boolean isCursorChanged = !Arrays.equals(cursor, journaledCursor);
+        if (journalChanges.position() == 0 && !isCursorChanged) {
+            return null;
+        }
+        if (isCursorChanged) {
+            journalChanges.writeByte(JOURNAL_SET_CURSOR);
+            for (long value : cursor) {
+                journalChanges.writeLong(value);
+            }
+        }
+        byte[] entry = journalChanges.toByteArray();
+        journalChanges = new TxOutStoreFormat.Writer(JOURNAL_BUFFER_SIZE);
+        journaledCursor = cursor;
+        return entry;
+    }
+
+    /**
+     * Serializes the whole store and discards the recorded changes which the snapshot includes
+     */
+    @NonNull
+    synchronized TxOutStoreFormat.Writer snapshotJournal() throws SerializationException {
+        TxOutStoreFormat.Writer snapshot = serialize();
+        startJournal();
+        return snapshot;
+    }
+
+    /**
+     * Replays journal entries created by {@link #drainJournalChanges()} in order
+     */
+    synchronized void applyJournalEntries(@NonNull List<byte[]> entries)
+            throws SerializationException {
+        // the tiers are rebuilt on first use
+        hotTxOuts = null;
+        // spent records are matched by global index, the index is built on the first one and
+        // shared by all entries
+        HashMap<Long, List<OwnedTxOut>> txOutsByGlobalIndex = null;
+        for (byte[] entry : entries) {
+            TxOutStoreFormat.Reader reader = new TxOutStoreFormat.Reader(entry);
+            while (reader.hasRemaining()) {
+                byte code = reader.readByte();
+                switch (code) {
+                    case JOURNAL_ADD_SEED: {
+                        int seedKey = reader.readInt();
+                        FogSeed seed = new FogSeed(reader);
+                        seeds.put(seedKey, seed);
+                        if (null != txOutsByGlobalIndex) {
+                            for (OwnedTxOut txOut : seed.getTxOuts()) {
+                                indexTxOut(txOutsByGlobalIndex, txOut);
+                            }
+                        }
+                        break;
+                    }
+                    case JOURNAL_ADD_SEED_TXO: {
+                        FogSeed seed = getJournaledSeed(reader.readInt());
+                        OwnedTxOut txOut = new OwnedTxOut(reader);
+                        try {
+                            seed.addTXO(txOut);
+                        } catch (KexRngException exception) {
+                            throw new SerializationException("Unable to advance the seed RNG",
+                                    exception);
+                        }
+                        if (null != txOutsByGlobalIndex) {
+                            indexTxOut(txOutsByGlobalIndex, txOut);
+                        }
+                        break;
+                    }
+                    case JOURNAL_MARK_SEED_OBSOLETE:
+                        getJournaledSeed(reader.readInt()).markObsolete();
+                        break;
+                    case JOURNAL_ADD_RECOVERED_TXO: {
+                        OwnedTxOut txOut = new OwnedTxOut(reader);
+                        recoveredTxOuts.add(txOut);
+                        if (null != txOutsByGlobalIndex) {
+                            indexTxOut(txOutsByGlobalIndex, txOut);
+                        }
+                        break;
+                    }
+                    case JOURNAL_SET_SPENT: {
+                        long txOutGlobalIndex = reader.readLong();
+                        long spentBlockIndex = reader.readLong();
+                        boolean hasTimestamp = reader.readBoolean();
+                        long timestampMillis = reader.readLong();
+                        Date spentBlockTimestamp = hasTimestamp ? new Date(timestampMillis) : null;
+                        if (null == txOutsByGlobalIndex) {
+                            txOutsByGlobalIndex = new HashMap<>();
+                            for (OwnedTxOut txOut : getAllTxOuts()) {
+                                indexTxOut(txOutsByGlobalIndex, txOut);
+                            }
+                        }
+                        List<OwnedTxOut> txOuts = txOutsByGlobalIndex.get(txOutGlobalIndex);
+                        if (null != txOuts) {
+                            for (OwnedTxOut txOut : txOuts) {
+                                txOut.setSpent(spentBlockIndex, spentBlockTimestamp);
+                            }
+                        }
+                        break;
+                    }
+                    case JOURNAL_ADD_DECOMMISSIONED_ID:
+                        decommissionedIngestInvocationIds.add(reader.readLong());
+                        break;
+                    case JOURNAL_SET_CURSOR:
+                        ledgerBlockIndex = reader.readUnsignedLong();
+                        viewBlockIndex = reader.readUnsignedLong();
+                        consensusBlockIndex = reader.readUnsignedLong();
+                        lastKnownFogViewEventId = reader.readLong();
+                        ledgerTotalTxCount = reader.readUnsignedLong();
+                        break;
+                    default:
+                        throw new SerializationException("Unknown journal record " + code);
+                }
+            }
+        }
+    }
+
+    private static void indexTxOut(@NonNull HashMap<Long, List<OwnedTxOut>> txOutsByGlobalIndex,
+                                   @NonNull OwnedTxOut txOut) {
+        // a recovered TxOut may also be held by a seed, both copies are marked spent
+        List<OwnedTxOut> txOuts = txOutsByGlobalIndex.get(txOut.getTxOutGlobalIndexBits());
+        if (null == txOuts) {
+            txOuts = new ArrayList<>(1);
+            txOutsByGlobalIndex.put(txOut.getTxOutGlobalIndexBits(), txOuts);
+        }
+        txOuts.add(txOut);
+    }
+
+    @NonNull
+    private FogSeed getJournaledSeed(int seedKey) throws SerializationException {
+        FogSeed seed = seeds.get(seedKey);
+        if (null == seed) {
+            throw new SerializationException("Journal references an unknown seed");
+        }
+        return seed;
+    }
+
+    @NonNull
+    private List<OwnedTxOut> getAllTxOuts() {
+        ArrayList<OwnedTxOut> txOuts = new ArrayList<>(recoveredTxOuts);
+        for (FogSeed seed : seeds.values()) {
+            txOuts.addAll(seed.getTxOuts());
+        }
+        return txOuts;
+    }
+
+    @NonNull
+    private long[] getCursor() {
+        return new long[]{
+                ledgerBlockIndex.longValue(),
+                viewBlockIndex.longValue(),
+                consensusBlockIndex.longValue(),
+                lastKnownFogViewEventId,
+                (null != ledgerTotalTxCount) ? ledgerTotalTxCount.longValue() : 0L
+        };
     }
 
     @Override
@@ -0,0 +1,290 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.mobilecoin.lib.exceptions.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Versioned binary format of the {@link TxOutStore}.
+ * <p>
+ * Unlike {@link android.os.Parcel} the layout does not depend on the platform: all values are
+ * written as big-endian primitives and byte arrays are length prefixed. The header holds the
+ * format version, the record counts and the offsets of each section so that readers can size
+ * their collections upfront and skip sections they do not need.
+ * <pre>
+ * header  | magic:int version:int seeds:int decommissioned:int recovered:int txOuts:int
+ *         | seedsOffset:int decommissionedOffset:int recoveredOffset:int
+ *         | ledgerBlockIndex:long viewBlockIndex:long consensusBlockIndex:long
+ *         | lastKnownFogViewEventId:long ledgerTotalTxCount:long
+ * seeds   | seed records, each followed by its TxOut records
+ * decomm. | ingest invocation ids as longs
+ * recov.  | TxOut records
+ * </pre>
+ * Stores written with {@link android.os.Parcel} have no magic and are read by the legacy path.
+ */
+final class TxOutStoreFormat {
+    // "MCTS"
+    static final int MAGIC = 0x4D435453;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 9 * Integer.BYTES + 5 * Long.BYTES;
+    static final int SEEDS_OFFSET_POSITION = 6 * Integer.BYTES;
+    static final int DECOMMISSIONED_OFFSET_POSITION = 7 * Integer.BYTES;
+    static final int RECOVERED_OFFSET_POSITION = 8 * Integer.BYTES;
+
+    private TxOutStoreFormat() {
+    }
+
+    /**
+     * A parcel starts with the seed count which never reaches the magic value
+     *
+     * @return whether the serialized store has been written in the versioned format
+     */
+    static boolean isVersioned(@NonNull byte[] serialized) {
+        return isVersioned(ByteBuffer.wrap(serialized));
+    }
+
+    static boolean isVersioned(@NonNull ByteBuffer serialized) {
+        return serialized.remaining() >= Integer.BYTES
+                && serialized.duplicate().order(ByteOrder.BIG_ENDIAN)
+                        .getInt(serialized.position()) == MAGIC;
+    }
+
+    /**
+     * Reads a stored value with as few copies as the adapter allows: {@link FileStorageAdapter}
+     * values are parsed in place, other {@link StreamingStorageAdapter} values are read from
+     * their stream
+     *
+     * @return the value or {@code null} if there is no value for the key
+     */
+    @Nullable
+    static ByteBuffer readValue(@NonNull StorageAdapter storage, @NonNull String key)
+            throws IOException {
+        if (storage instanceof FileStorageAdapter) {
+            return ((FileStorageAdapter) storage).getBuffer(key);
+        }
+        if (storage instanceof StreamingStorageAdapter) {
+            try (InputStream inputStream =
+                         ((StreamingStorageAdapter) storage).openInputStream(key)) {
+                return (null != inputStream) ? ByteBuffer.wrap(readFully(inputStream)) : null;
+            }
+        }
+        byte[] value = storage.get(key);
+        return (null != value) ? ByteBuffer.wrap(value) : null;
+    }
+
+    @NonNull
+    private static byte[] readFully(@NonNull InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream =
+                new ByteArrayOutputStream(Math.max(inputStream.available(), HEADER_SIZE));
+        byte[] chunk = new byte[8 * 1024];
+        int count;
+        while ((count = inputStream.read(chunk)) != -1) {
+            outputStream.write(chunk, 0, count);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Growable big-endian buffer
+     */
+    static final class Writer {
+        private ByteBuffer buffer;
+
+        Writer(int initialCapacity) {
+            buffer = ByteBuffer.allocate(Math.max(initialCapacity, HEADER_SIZE))
+                    .order(ByteOrder.BIG_ENDIAN);
+        }
+
+        int position() {
+            return buffer.position();
+        }
+
+        void writeBoolean(boolean value) {
+            writeByte((byte) (value ? 1 : 0));
+        }
+
+        void writeByte(byte value) {
+            ensureCapacity(1);
+            buffer.put(value);
+        }
+
+        void writeInt(int value) {
+            ensureCapacity(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        /**
+         * Writes a length prefixed array, {@code null} is written as length -1
+         */
+        void writeBytes(@Nullable byte[] value) {
+            if (null == value) {
+                writeInt(-1);
+                return;
+            }
+            writeInt(value.length);
+            ensureCapacity(value.length);
+            buffer.put(value);
+        }
+
+        /**
+         * Appends bytes produced by another writer without a length prefix
+         */
+        void writeRaw(@NonNull byte[] value) {
+            ensureCapacity(value.length);
+            buffer.put(value);
+        }
+
+        void writeUnsignedLong(@NonNull UnsignedLong value) {
+            writeLong(value.longValue());
+        }
+
+        /**
+         * Overwrites a previously reserved int, i.e. a section offset in the header
+         */
+        void setInt(int position, int value) {
+            buffer.putInt(position, value);
+        }
+
+        @NonNull
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer.array(), buffer.position());
+        }
+
+        /**
+         * Writes the serialized data straight from the backing buffer
+         */
+        void writeTo(@NonNull OutputStream outputStream) throws IOException {
+            outputStream.write(buffer.array(), buffer.arrayOffset(), buffer.position());
+        }
+
+        private void ensureCapacity(int length) {
+            if (buffer.remaining() >= length) {
+                return;
+            }
+            int capacity = Math.max(buffer.capacity() * 2, buffer.position() + length);
+            ByteBuffer grown = ByteBuffer.allocate(capacity).order(ByteOrder.BIG_ENDIAN);
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+    }
+
+    /**
+     * Reads values written by {@link Writer}, truncated or corrupted data results in a
+     * {@link SerializationException}
+     */
+    static final class Reader {
+        private final ByteBuffer buffer;
+
+        Reader(@NonNull byte[] data) {
+            this(ByteBuffer.wrap(data));
+        }
+
+        /**
+         * Reads the remaining bytes of the buffer in place, offsets are relative to its position
+         */
+        Reader(@NonNull ByteBuffer data) {
+            buffer = data.slice().order(ByteOrder.BIG_ENDIAN);
+        }
+
+        boolean hasRemaining() {
+            return buffer.hasRemaining();
+        }
+
+        void seek(int position) throws SerializationException {
+            if (position < 0 || position > buffer.limit()) {
+                throw new SerializationException("Invalid section offset " + position);
+            }
+            buffer.position(position);
+        }
+
+        boolean readBoolean() throws SerializationException {
+            return readByte() != 0;
+        }
+
+        byte readByte() throws SerializationException {
+            try {
+                return buffer.get();
+            } catch (BufferUnderflowException exception) {
+                throw truncated(exception);
+            }
+        }
+
+        int readInt() throws SerializationException {
+            try {
+                return buffer.getInt();
+            } catch (BufferUnderflowException exception) {
+                throw truncated(exception);
+            }
+        }
+
+        long readLong() throws SerializationException {
+            try {
+                return buffer.getLong();
+            } catch (BufferUnderflowException exception) {
+                throw truncated(exception);
+            }
+        }
+
+        /**
+         * Reads a record count and validates that it can fit in the remaining data
+         */
+        int readCount() throws SerializationException {
+            int count = readInt();
+            if (count < 0 || count > buffer.remaining()) {
+                throw new SerializationException("Invalid record count " + count);
+            }
+            return count;
+        }
+
+        @Nullable
+        byte[] readBytes() throws SerializationException {
+            int length = readInt();
+            if (length == -1) {
+                return null;
+            }
+            if (length < -1 || length > buffer.remaining()) {
+                throw new SerializationException("Invalid array length " + length);
+            }
+            byte[] value = new byte[length];
+            buffer.get(value);
+            return value;
+        }
+
+        @NonNull
+        byte[] readNonNullBytes() throws SerializationException {
+            byte[] value = readBytes();
+            if (null == value) {
+                throw new SerializationException("Missing required value");
+            }
+            return value;
+        }
+
+        @NonNull
+        UnsignedLong readUnsignedLong() throws SerializationException {
+            return UnsignedLong.fromLongBits(readLong());
+        }
+
+        @NonNull
+        private static SerializationException truncated(@NonNull Exception exception) {
+            return new SerializationException("Serialized TxOutStore is truncated", exception);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.mobilecoin.lib.exceptions.SerializationException;
+import com.mobilecoin.lib.log.Logger;
+import com.mobilecoin.lib.util.BoundedExecutors;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Persists a {@link TxOutStore} through a {@link StorageAdapter} as a base snapshot followed by
+ * a journal of small change entries.
+ * <p>
+ * Each {@link #persist} call appends only the changes recorded since the previous call under
+ * the next sequence key. Once the journal grows past the compaction threshold the entries are
+ * folded into a new snapshot on the provided executor. The journal header is the commit point:
+ * entries and snapshots are written before the header references them and are removed only
+ * after it no longer does, so an interrupted write never loses or replays a change twice.
+ * <pre>
+ * header   | magic:int version:int snapshotGeneration:long firstEntry:long nextEntry:long
+ * snapshot | {@link TxOutStoreFormat} under the store key, suffixed by the generation if > 0
+ * entries  | journal records under "{store key}-journal-{sequence}"
+ * </pre>
+ */
+final class TxOutStoreJournal {
+    private final static String TAG = TxOutStoreJournal.class.getName();
+    static final int DEFAULT_COMPACTION_THRESHOLD = 32;
+    // "MCTJ"
+    private static final int MAGIC = 0x4D43544A;
+    private static final int VERSION = 1;
+    private static ExecutorService defaultCompactionExecutor;
+
+    private final StorageAdapter storage;
+    private final String storeKey;
+    private final int compactionThreshold;
+    private final Executor compactionExecutor;
+    private final AtomicBoolean isCompactionScheduled = new AtomicBoolean();
+    private boolean hasHeader;
+    private long snapshotGeneration;
+    private long firstEntry;
+    private long nextEntry;
+
+    TxOutStoreJournal(@NonNull StorageAdapter storage,
+                      @NonNull String storeKey,
+                      int compactionThreshold,
+                      @NonNull Executor compactionExecutor) {
+        if (compactionThreshold < 1) {
+            throw new IllegalArgumentException("Compaction threshold must be positive");
+        }
+        this.storage = storage;
+        this.storeKey = storeKey;
+        this.compactionThreshold = compactionThreshold;
+        this.compactionExecutor = compactionExecutor;
+    }
+
+    /**
+     * @return a single daemon thread shared by the journals of all clients, compactions are
+     * rare and write to local storage only
+     */
+    @NonNull
+    static synchronized Executor getDefaultCompactionExecutor() {
+        if (null == defaultCompactionExecutor) {
+            defaultCompactionExecutor = BoundedExecutors.newDaemonPool(
+                    "mobilecoin-journal-compaction", 1);
+        }
+        return defaultCompactionExecutor;
+    }
+
+    /**
+     * @return whether a journal has been written under the store key
+     */
+    boolean exists() {
+        return storage.has(getHeaderKey());
+    }
+
+    /**
+     * Restores the store from the snapshot and replays the journal. If there is no journal yet
+     * the store is loaded from the snapshot written by {@link MobileCoinClient#cacheUserData()}.
+     *
+     * @return restored store or {@code null} if nothing has been persisted
+     */
+    @Nullable
+    synchronized TxOutStore load() throws SerializationException {
+        hasHeader = exists();
+        if (hasHeader) {
+            readHeader(storage.get(getHeaderKey()));
+        } else {
+            snapshotGeneration = 0;
+            firstEntry = 0;
+            nextEntry = 0;
+        }
+        ByteBuffer snapshot;
+        try {
+            // a file snapshot is parsed in place instead of being copied to the heap first
+            snapshot = TxOutStoreFormat.readValue(storage, getSnapshotKey(snapshotGeneration));
+        } catch (IOException exception) {
+            throw new SerializationException("Unable to read the txo store snapshot", exception);
+        }
+        if (null == snapshot) {
+            return null;
+        }
+        TxOutStore store = TxOutStore.fromBuffer(snapshot);
+        ArrayList<byte[]> entries = new ArrayList<>();
+        for (long sequence = firstEntry; sequence < nextEntry; sequence++) {
+            byte[] entry = storage.get(getEntryKey(sequence));
+            if (null == entry) {
+                throw new SerializationException("Missing journal entry " + sequence);
+            }
+            entries.add(entry);
+        }
+        store.applyJournalEntries(entries);
+        Logger.d(TAG, "Loaded txo store journal", null,
+                "snapshot:", snapshotGeneration,
+                "entries:", nextEntry - firstEntry);
+        store.startJournal();
+        return store;
+    }
+
+    /**
+     * Removes the journal header, its entries and snapshots. Must be called before a snapshot is
+     * written under the store key outside of the journal: entries replayed on top of a newer
+     * snapshot would corrupt the restored store.
+     */
+    synchronized void discard() {
+        String headerKey = getHeaderKey();
+        if (storage.has(headerKey)) {
+            try {
+                readHeader(storage.get(headerKey));
+            } catch (SerializationException exception) {
+                // only the header can be removed, the keys it referenced are unknown
+                Util.logException(TAG, exception);
+                snapshotGeneration = 0;
+                firstEntry = 0;
+                nextEntry = 0;
+            }
+            // the header is the commit point, once it is gone only the base snapshot is loaded
+            storage.clear(headerKey);
+            if (snapshotGeneration > 0) {
+                storage.clear(getSnapshotKey(snapshotGeneration));
+            }
+            for (long sequence = firstEntry; sequence < nextEntry; sequence++) {
+                storage.clear(getEntryKey(sequence));
+            }
+        }
+        hasHeader = false;
+        snapshotGeneration = 0;
+        firstEntry = 0;
+        nextEntry = 0;
+    }
+
+    /**
+     * Appends the changes made since the previous call. A snapshot is written instead when
+     * there is no journal yet or the store has not been loaded from it.
+     */
+    synchronized void persist(@NonNull TxOutStore store) throws SerializationException {
+        if (!hasHeader || !store.isJournalStarted()) {
+            writeSnapshot(store);
+            return;
+        }
+        byte[] entry = store.drainJournalChanges();
+        if (null == entry) {
+            return;
+        }
+        storage.set(getEntryKey(nextEntry), entry);
+        nextEntry++;
+        writeHeader();
+        if (nextEntry - firstEntry >= compactionThreshold
+                && isCompactionScheduled.compareAndSet(false, true)) {
+            compactionExecutor.execute(() -> {
+                try {
+                    compact(store);
+                } catch (SerializationException | RuntimeException exception) {
+                    // the journal stays valid, compaction is retried after the next entry
+                    Util.logException(TAG, exception);
+                } finally {
+                    isCompactionScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Folds the journal into a new snapshot and removes the folded entries
+     */
+    synchronized void compact(@NonNull TxOutStore store) throws SerializationException {
+        Logger.d(TAG, "Compacting txo store journal", null,
+                "entries:", nextEntry - firstEntry);
+        writeSnapshot(store);
+    }
+
+    private void writeSnapshot(@NonNull TxOutStore store) throws SerializationException {
+        long previousGeneration = snapshotGeneration;
+        long previousFirstEntry = firstEntry;
+        long previousNextEntry = nextEntry;
+        boolean hadJournal = hasHeader;
+        long generation = hadJournal ? previousGeneration + 1 : 0;
+        try {
+            // the snapshot includes all changes, recording restarts from here
+            TxOutStoreFormat.Writer snapshot = store.snapshotJournal();
+            if (storage instanceof StreamingStorageAdapter) {
+                try (OutputStream outputStream = ((StreamingStorageAdapter) storage)
+                        .openOutputStream(getSnapshotKey(generation))) {
+                    snapshot.writeTo(outputStream);
+                }
+            } else {
+                storage.set(getSnapshotKey(generation), snapshot.toByteArray());
+            }
+            snapshotGeneration = generation;
+            firstEntry = previousNextEntry;
+            nextEntry = previousNextEntry;
+            writeHeader();
+        } catch (IOException exception) {
+            abortSnapshot(store, previousGeneration, previousFirstEntry);
+            throw new SerializationException("Unable to write the txo store snapshot", exception);
+        } catch (SerializationException | RuntimeException exception) {
+            abortSnapshot(store, previousGeneration, previousFirstEntry);
+            throw exception;
+        }
+        if (hadJournal) {
+            storage.clear(getSnapshotKey(previousGeneration));
+            for (long sequence = previousFirstEntry; sequence < previousNextEntry; sequence++) {
+                storage.clear(getEntryKey(sequence));
+            }
+        }
+    }
+
+    private void abortSnapshot(@NonNull TxOutStore store, long previousGeneration,
+                               long previousFirstEntry) {
+        // the recorded changes may be gone, the next persist writes a full snapshot again
+        store.stopJournal();
+        snapshotGeneration = previousGeneration;
+        firstEntry = previousFirstEntry;
+    }
+
+    private void readHeader(@Nullable byte[] header) throws SerializationException {
+        if (null == header) {
+            throw new SerializationException("Missing txo store journal header");
+        }
+        TxOutStoreFormat.Reader reader = new TxOutStoreFormat.Reader(header);
+        if (reader.readInt() != MAGIC) {
+            throw new SerializationException("Invalid txo store journal header");
+        }
+        int version = reader.readInt();
+        if (version != VERSION) {
+            throw new SerializationException("Unsupported txo store journal version " + version);
+        }
+        snapshotGeneration = reader.readLong();
+        firstEntry = reader.readLong();
+        nextEntry = reader.readLong();
+        if (snapshotGeneration < 0 || firstEntry < 0 || nextEntry < firstEntry) {
+            throw new SerializationException("Invalid txo store journal header");
+        }
+    }
+
+    private void writeHeader() {
+        TxOutStoreFormat.Writer writer = new TxOutStoreFormat.Writer(0);
+        writer.writeInt(MAGIC);
+        writer.writeInt(VERSION);
+        writer.writeLong(snapshotGeneration);
+        writer.writeLong(firstEntry);
+        writer.writeLong(nextEntry);
+        storage.set(getHeaderKey(), writer.toByteArray());
+        hasHeader = true;
+    }
+
+    @NonNull
+    private String getHeaderKey() {
+        return storeKey + "-journal";
+    }
+
+    @NonNull
+    private String getSnapshotKey(long generation) {
+        return (generation == 0) ? storeKey : storeKey + "-snapshot-" + generation;
+    }
+
+    @NonNull
+    private String getEntryKey(long sequence) {
+        return storeKey + "-journal-" + sequence;
+    }
+}
@@ -5,40 +5,67 @@ package com.mobilecoin.lib.log;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-import java.util.ArrayList;
 import java.util.Collections;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Logger class delivers log messages from the lib/app modules to the provided {@link LogAdapter}s
+ * <p>
+ * Adapters are kept in a copy-on-write list, so logging does not lock. Messages that are
+ * expensive to build should be passed as a {@link MessageSupplier} or guarded with {@link
+ * #isLoggable(Level, String)}, then nothing is formatted or allocated when no adapter accepts
+ * the message.
  */
 public final class Logger {
+    private static final Object[] NO_METADATA = new Object[0];
+
     @NonNull
-    private static final ArrayList<LogAdapter> adapters =
-            new ArrayList<>(Collections.singletonList(new DebugLogAdapter()));
+    private static final CopyOnWriteArrayList<LogAdapter> adapters =
+            new CopyOnWriteArrayList<>(Collections.singletonList(new DebugLogAdapter()));
 
     private Logger() { /* no public constructor */ }
 
+    /**
+     * Lazily built log message
+     */
+    public interface MessageSupplier {
+        @NonNull
+        String get();
+    }
+
     /**
      * Add a log adapter to receive logs
      */
-    public static synchronized void addAdapter(@NonNull LogAdapter adapter) {
+    public static void addAdapter(@NonNull LogAdapter adapter) {
         adapters.add(adapter);
     }
 
     /**
      * Remove previously added log adapter
      */
-    public static synchronized void removeAdapter(@NonNull LogAdapter adapter) {
+    public static void removeAdapter(@NonNull LogAdapter adapter) {
         adapters.remove(adapter);
     }
 
     /**
      * Remove all previously added log adapters
      */
-    public static synchronized void clearAllAdapters() {
+    public static void clearAllAdapters() {
         adapters.clear();
     }
 
+    /**
+     * @return whether any of the adapters accepts messages of the level and tag
+     */
+    public static boolean isLoggable(@NonNull Level logLevel, @NonNull String tag) {
+        for (LogAdapter logAdapter : adapters) {
+            if (logAdapter.isLoggable(logLevel, tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Log an informational message
      */
@@ -48,7 +75,11 @@ public final class Logger {
     }
 
     public static void i(@NonNull String tag, @NonNull String message) {
-        i(tag, message, null);
+        logMessage(Level.INFO, tag, message, null, NO_METADATA);
+    }
+
+    public static void i(@NonNull String tag, @NonNull MessageSupplier messageSupplier) {
+        logMessage(Level.INFO, tag, messageSupplier);
     }
 
     /**
@@ -60,7 +91,11 @@ public final class Logger {
     }
 
     public static void v(@NonNull String tag, @NonNull String message) {
-        v(tag, message, null);
+        logMessage(Level.VERBOSE, tag, message, null, NO_METADATA);
+    }
+
+    public static void v(@NonNull String tag, @NonNull MessageSupplier messageSupplier) {
+        logMessage(Level.VERBOSE, tag, messageSupplier);
     }
 
     /**
@@ -72,7 +107,11 @@ public final class Logger {
     }
 
     public static void d(@NonNull String tag, @NonNull String message) {
-        d(tag, message, null);
+        logMessage(Level.DEBUG, tag, message, null, NO_METADATA);
+    }
+
+    public static void d(@NonNull String tag, @NonNull MessageSupplier messageSupplier) {
+        logMessage(Level.DEBUG, tag, messageSupplier);
     }
 
     /**
@@ -84,7 +123,11 @@ public final class Logger {
     }
 
     public static void w(@NonNull String tag, @NonNull String message) {
-        w(tag, message, null);
+        logMessage(Level.WARNING, tag, message, null, NO_METADATA);
+    }
+
+    public static void w(@NonNull String tag, @NonNull MessageSupplier messageSupplier) {
+        logMessage(Level.WARNING, tag, messageSupplier);
     }
 
     /**
@@ -96,7 +139,7 @@ public final class Logger {
     }
 
     public static void e(@NonNull String tag, @NonNull String message) {
-        e(tag, message, null);
+        logMessage(Level.ERROR, tag, message, null, NO_METADATA);
     }
 
     public static void e(@NonNull String tag, @NonNull Throwable throwable, Object... metadata) {
@@ -112,13 +155,20 @@ public final class Logger {
     }
 
     public static void wtf(@NonNull String tag, @NonNull String message) {
-        wtf(tag, message, null);
+        logMessage(Level.WTF, tag, message, null, NO_METADATA);
+    }
+
+    private static void logMessage(Level logLevel, @NonNull String tag,
+                                   @NonNull MessageSupplier messageSupplier) {
+        if (isLoggable(logLevel, tag)) {
+            logMessage(logLevel, tag, messageSupplier.get(), null, NO_METADATA);
+        }
     }
 
-    private static synchronized void logMessage(Level logLevel, @NonNull String tag,
-                                                @NonNull String message,
-                                                @Nullable Throwable throwable,
-                                                @NonNull Object... metadata) {
+    private static void logMessage(Level logLevel, @NonNull String tag,
+                                   @NonNull String message,
+                                   @Nullable Throwable throwable,
+                                   @NonNull Object... metadata) {
         for (LogAdapter logAdapter : adapters) {
             if (logAdapter.isLoggable(logLevel, tag)) {
                 logAdapter.log(logLevel, tag, message, throwable, metadata);
@@ -0,0 +1,111 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib.metrics;
+
+import androidx.annotation.NonNull;
+
+import com.mobilecoin.lib.log.Logger;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Metrics class delivers measurements from the lib module to the provided {@link
+ * MetricsAdapter}s
+ * <p>
+ * No adapter is registered by default. Instrumented code checks {@link #isEnabled()} before
+ * measuring anything, so metrics cost a single volatile read until an adapter is added.
+ */
+public final class Metrics {
+    private static final String TAG = Metrics.class.getName();
+
+    // service calls
+    public static final String SERVICE_CALL_COUNT = "mobilecoin.service.call.count";
+    public static final String SERVICE_CALL_LATENCY_MS = "mobilecoin.service.call.latency_ms";
+    public static final String SERVICE_CALL_RETRY_COUNT = "mobilecoin.service.call.retry_count";
+    public static final String SERVICE_REQUEST_BYTES = "mobilecoin.service.request.bytes";
+    public static final String SERVICE_RESPONSE_BYTES = "mobilecoin.service.response.bytes";
+    // calls into the native library
+    public static final String NATIVE_CALL_COUNT = "mobilecoin.native.call.count";
+    public static final String NATIVE_CALL_LATENCY_MS = "mobilecoin.native.call.latency_ms";
+    public static final String NATIVE_CALL_BYTES = "mobilecoin.native.call.bytes";
+    // account sync state
+    public static final String TXO_COUNT = "mobilecoin.txo.count";
+    public static final String FOG_SEED_COUNT = "mobilecoin.fog.seed.count";
+    public static final String BLOCK_INDEX = "mobilecoin.block.index";
+    public static final String BLOCK_LAG = "mobilecoin.block.lag";
+
+    public static final String TAG_OPERATION = "operation";
+    public static final String TAG_RESULT = "result";
+    public static final String TAG_SOURCE = "source";
+    public static final String TAG_STATE = "state";
+
+    @NonNull
+    private static final CopyOnWriteArrayList<MetricsAdapter> adapters =
+            new CopyOnWriteArrayList<>();
+    private static volatile boolean isEnabled;
+
+    private Metrics() { /* no public constructor */ }
+
+    /**
+     * Add a metrics adapter to receive measurements, adding the same adapter again has no effect
+     */
+    public static synchronized void addAdapter(@NonNull MetricsAdapter adapter) {
+        adapters.addIfAbsent(adapter);
+        isEnabled = true;
+    }
+
+    /**
+     * Remove previously added metrics adapter
+     */
+    public static synchronized void removeAdapter(@NonNull MetricsAdapter adapter) {
+        adapters.remove(adapter);
+        isEnabled = !adapters.isEmpty();
+    }
+
+    /**
+     * Remove all previously added metrics adapters
+     */
+    public static synchronized void clearAllAdapters() {
+        adapters.clear();
+        isEnabled = false;
+    }
+
+    /**
+     * @return whether any adapter receives measurements
+     */
+    public static boolean isEnabled() {
+        return isEnabled;
+    }
+
+    public static void incrementCounter(@NonNull String name, long delta,
+                                        @NonNull String... tags) {
+        for (MetricsAdapter adapter : adapters) {
+            try {
+                adapter.incrementCounter(name, delta, tags);
+            } catch (RuntimeException exception) {
+                Logger.w(TAG, "Metrics adapter failed", exception);
+            }
+        }
+    }
+
+    public static void recordGauge(@NonNull String name, double value, @NonNull String... tags) {
+        for (MetricsAdapter adapter : adapters) {
+            try {
+                adapter.recordGauge(name, value, tags);
+            } catch (RuntimeException exception) {
+                Logger.w(TAG, "Metrics adapter failed", exception);
+            }
+        }
+    }
+
+    public static void recordHistogram(@NonNull String name, double value,
+                                       @NonNull String... tags) {
+        for (MetricsAdapter adapter : adapters) {
+            try {
+                adapter.recordHistogram(name, value, tags);
+            } catch (RuntimeException exception) {
+                Logger.w(TAG, "Metrics adapter failed", exception);
+            }
+        }
+    }
+}
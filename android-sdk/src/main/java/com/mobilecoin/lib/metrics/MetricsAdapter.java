@@ -0,0 +1,41 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib.metrics;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Configurable metrics output conduit
+ * <p>
+ * Tags are passed as alternating key and value strings, e.g. {@code "operation", "query"}.
+ * Methods are invoked on the calling thread, implementations must be thread-safe and fast.
+ */
+public interface MetricsAdapter {
+
+    /**
+     * Increment a monotonic counter
+     *
+     * @param name  is the metric name
+     * @param delta is the amount to add to the counter
+     * @param tags  alternating tag keys and values
+     */
+    void incrementCounter(@NonNull String name, long delta, @NonNull String... tags);
+
+    /**
+     * Set the current value of a gauge
+     *
+     * @param name  is the metric name
+     * @param value is the current value
+     * @param tags  alternating tag keys and values
+     */
+    void recordGauge(@NonNull String name, double value, @NonNull String... tags);
+
+    /**
+     * Record a sample of a distribution such as a latency or a payload size
+     *
+     * @param name  is the metric name
+     * @param value is the sampled value
+     * @param tags  alternating tag keys and values
+     */
+    void recordHistogram(@NonNull String name, double value, @NonNull String... tags);
+}
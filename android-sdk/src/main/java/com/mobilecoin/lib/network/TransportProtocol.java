@@ -3,9 +3,13 @@ package com.mobilecoin.lib.network;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.mobilecoin.lib.network.services.ServiceExecutors;
+import com.mobilecoin.lib.network.services.http.Requester.PooledHttpRequester;
 import com.mobilecoin.lib.network.services.http.Requester.Requester;
 import com.mobilecoin.lib.network.services.transport.Transport;
 
+import java.util.concurrent.Executor;
+
 /**
  * <pre>
  * TransportProtocol class is responsible for specifying which communication protocol to use
@@ -15,11 +19,14 @@ import com.mobilecoin.lib.network.services.transport.Transport;
 public class TransportProtocol {
     private final Transport.TransportType transportType;
     private final Requester httpRequester;
+    private final Executor callExecutor;
 
     private TransportProtocol(@NonNull Transport.TransportType transportType,
-                              @Nullable Requester requester) {
+                              @Nullable Requester requester,
+                              @Nullable Executor callExecutor) {
         this.transportType = transportType;
         this.httpRequester = requester;
+        this.callExecutor = callExecutor;
     }
 
     /**
@@ -27,7 +34,16 @@ public class TransportProtocol {
      */
     @NonNull
     public static TransportProtocol forGRPC() {
-        return new TransportProtocol(Transport.TransportType.GRPC, null);
+        return new TransportProtocol(Transport.TransportType.GRPC, null, null);
+    }
+
+    /**
+     * Create new protocol for HTTP transport using kept-alive pooled connections.
+     * Credentials are set with the client's basic authorization methods.
+     */
+    @NonNull
+    public static TransportProtocol forHTTP() {
+        return forHTTP(new PooledHttpRequester());
     }
 
     /**
@@ -35,7 +51,26 @@ public class TransportProtocol {
      */
     @NonNull
     public static TransportProtocol forHTTP(@NonNull Requester httpRequester) {
-        return new TransportProtocol(Transport.TransportType.HTTP, httpRequester);
+        return new TransportProtocol(Transport.TransportType.HTTP, httpRequester, null);
+    }
+
+    /**
+     * Create a copy of this protocol that runs service calls and their callbacks on the provided
+     * executor. The executor may be shared between clients and is not shut down by the SDK.
+     */
+    @NonNull
+    public TransportProtocol withCallExecutor(@NonNull Executor callExecutor) {
+        return new TransportProtocol(transportType, httpRequester, callExecutor);
+    }
+
+    /**
+     * @return the configured call executor or the executor shared by all clients
+     */
+    @NonNull
+    public Executor getCallExecutor() {
+        return (null != callExecutor)
+                ? callExecutor
+                : ServiceExecutors.getDefaultCallExecutor();
     }
 
     @Nullable
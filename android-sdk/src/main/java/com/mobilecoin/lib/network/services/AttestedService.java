@@ -1,9 +1,14 @@
 package com.mobilecoin.lib.network.services;
 
+import androidx.annotation.NonNull;
+
 import com.mobilecoin.lib.exceptions.NetworkException;
 
 import attest.Attest;
 
 public interface AttestedService {
     Attest.AuthMessage auth(Attest.AuthMessage authMessage) throws NetworkException;
+
+    void authAsync(@NonNull Attest.AuthMessage authMessage,
+                   @NonNull ServiceCallback<Attest.AuthMessage> callback);
 }
@@ -1,5 +1,7 @@
 package com.mobilecoin.lib.network.services;
 
+import androidx.annotation.NonNull;
+
 import com.google.protobuf.Empty;
 import com.mobilecoin.lib.exceptions.NetworkException;
 
@@ -7,4 +9,7 @@ import consensus_common.ConsensusCommon;
 
 public interface BlockchainService {
     ConsensusCommon.LastBlockInfoResponse getLastBlockInfo(Empty request) throws NetworkException;
+
+    void getLastBlockInfoAsync(@NonNull Empty request,
+                               @NonNull ServiceCallback<ConsensusCommon.LastBlockInfoResponse> callback);
 }
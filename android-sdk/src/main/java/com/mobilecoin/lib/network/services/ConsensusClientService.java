@@ -1,5 +1,7 @@
 package com.mobilecoin.lib.network.services;
 
+import androidx.annotation.NonNull;
+
 import com.mobilecoin.lib.exceptions.NetworkException;
 
 import attest.Attest;
@@ -7,4 +9,7 @@ import consensus_common.ConsensusCommon;
 
 public interface ConsensusClientService {
     ConsensusCommon.ProposeTxResponse clientTxPropose(Attest.Message request) throws NetworkException;
+
+    void clientTxProposeAsync(@NonNull Attest.Message request,
+                              @NonNull ServiceCallback<ConsensusCommon.ProposeTxResponse> callback);
 }
@@ -1,9 +1,14 @@
 package com.mobilecoin.lib.network.services;
 
+import androidx.annotation.NonNull;
+
 import com.mobilecoin.lib.exceptions.NetworkException;
 
 import fog_ledger.Ledger;
 
 public interface FogBlockService {
     Ledger.BlockResponse getBlocks(Ledger.BlockRequest request) throws NetworkException;
+
+    void getBlocksAsync(@NonNull Ledger.BlockRequest request,
+                        @NonNull ServiceCallback<Ledger.BlockResponse> callback);
 }
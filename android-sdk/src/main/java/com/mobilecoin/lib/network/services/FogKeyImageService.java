@@ -1,5 +1,7 @@
 package com.mobilecoin.lib.network.services;
 
+import androidx.annotation.NonNull;
+
 import com.mobilecoin.lib.exceptions.NetworkException;
 
 import attest.Attest;
@@ -7,4 +9,10 @@ import attest.Attest;
 public interface FogKeyImageService {
     Attest.AuthMessage auth(Attest.AuthMessage authMessage) throws NetworkException;
     Attest.Message checkKeyImages(Attest.Message request) throws NetworkException;
+
+    void authAsync(@NonNull Attest.AuthMessage authMessage,
+                   @NonNull ServiceCallback<Attest.AuthMessage> callback);
+
+    void checkKeyImagesAsync(@NonNull Attest.Message request,
+                             @NonNull ServiceCallback<Attest.Message> callback);
 }
@@ -1,9 +1,14 @@
 package com.mobilecoin.lib.network.services;
 
+import androidx.annotation.NonNull;
+
 import com.mobilecoin.lib.exceptions.NetworkException;
 
 import attest.Attest;
 
 public interface FogMerkleProofService {
     Attest.Message getOutputs(Attest.Message request) throws NetworkException;
+
+    void getOutputsAsync(@NonNull Attest.Message request,
+                         @NonNull ServiceCallback<Attest.Message> callback);
 }
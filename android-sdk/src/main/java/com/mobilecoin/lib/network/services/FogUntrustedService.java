@@ -1,9 +1,14 @@
 package com.mobilecoin.lib.network.services;
 
+import androidx.annotation.NonNull;
+
 import com.mobilecoin.lib.exceptions.NetworkException;
 
 import fog_ledger.Ledger;
 
 public interface FogUntrustedService {
     Ledger.TxOutResponse getTxOuts(Ledger.TxOutRequest request) throws NetworkException;
+
+    void getTxOutsAsync(@NonNull Ledger.TxOutRequest request,
+                        @NonNull ServiceCallback<Ledger.TxOutResponse> callback);
 }
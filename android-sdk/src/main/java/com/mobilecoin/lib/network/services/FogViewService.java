@@ -1,5 +1,7 @@
 package com.mobilecoin.lib.network.services;
 
+import androidx.annotation.NonNull;
+
 import com.mobilecoin.lib.exceptions.NetworkException;
 
 import attest.Attest;
@@ -7,4 +9,10 @@ import attest.Attest;
 public interface FogViewService {
     Attest.AuthMessage auth(Attest.AuthMessage authMessage) throws NetworkException;
     Attest.Message query(Attest.Message message) throws NetworkException;
+
+    void authAsync(@NonNull Attest.AuthMessage authMessage,
+                   @NonNull ServiceCallback<Attest.AuthMessage> callback);
+
+    void queryAsync(@NonNull Attest.Message message,
+                    @NonNull ServiceCallback<Attest.Message> callback);
 }
@@ -36,4 +36,9 @@ public interface ServiceAPIManager {
     AttestedService getAttestedService(@NonNull Transport transport);
 
     void setAuthorization(@NonNull String username, @NonNull String password);
+
+    /**
+     * Discard services created for previous transports
+     */
+    void clearServiceCache();
 }
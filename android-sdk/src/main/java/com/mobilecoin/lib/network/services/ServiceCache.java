@@ -0,0 +1,49 @@
+package com.mobilecoin.lib.network.services;
+
+import androidx.annotation.NonNull;
+
+import com.mobilecoin.lib.network.services.transport.Transport;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps configured service instances per {@link Transport} so that they are not rebuilt for
+ * every request. Services of a transport are discarded once the transport is no longer
+ * referenced or the cache is cleared.
+ */
+public final class ServiceCache {
+    private final Map<Transport, Map<Class<?>, Object>> services = new WeakHashMap<>();
+
+    public interface Factory<S> {
+        @NonNull
+        S create();
+    }
+
+    @NonNull
+    public synchronized <S> S getOrCreate(
+            @NonNull Transport transport,
+            @NonNull Class<S> serviceType,
+            @NonNull Factory<S> factory
+    ) {
+        Map<Class<?>, Object> transportServices = services.get(transport);
+        if (null == transportServices) {
+            transportServices = new HashMap<>();
+            services.put(transport, transportServices);
+        }
+        Object service = transportServices.get(serviceType);
+        if (null == service) {
+            service = factory.create();
+            transportServices.put(serviceType, service);
+        }
+        return serviceType.cast(service);
+    }
+
+    /**
+     * Discard all cached services, i.e. when the transport is reset or the configuration changes
+     */
+    public synchronized void clear() {
+        services.clear();
+    }
+}
@@ -0,0 +1,15 @@
+package com.mobilecoin.lib.network.services;
+
+import androidx.annotation.NonNull;
+
+import com.mobilecoin.lib.exceptions.NetworkException;
+
+/**
+ * Receives the outcome of an asynchronous service call. Callbacks are invoked on the call
+ * executor of the {@link com.mobilecoin.lib.network.TransportProtocol}.
+ */
+public interface ServiceCallback<T> {
+    void onSuccess(@NonNull T response);
+
+    void onFailure(@NonNull NetworkException exception);
+}
@@ -0,0 +1,32 @@
+package com.mobilecoin.lib.network.services;
+
+import androidx.annotation.NonNull;
+
+import com.mobilecoin.lib.util.BoundedExecutors;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Provides the call executor shared by all service clients that do not configure their own.
+ */
+public final class ServiceExecutors {
+    private static final String THREAD_NAME_PREFIX = "mobilecoin-service-call";
+    private static final int CALL_THREAD_COUNT = 8;
+    private static ExecutorService defaultCallExecutor;
+
+    private ServiceExecutors() {
+    }
+
+    /**
+     * @return a process-wide bounded pool of daemon threads that runs service calls and their
+     * callbacks
+     */
+    @NonNull
+    public static synchronized ExecutorService getDefaultCallExecutor() {
+        if (null == defaultCallExecutor) {
+            defaultCallExecutor = BoundedExecutors.newDaemonPool(THREAD_NAME_PREFIX,
+                    CALL_THREAD_COUNT);
+        }
+        return defaultCallExecutor;
+    }
+}
@@ -0,0 +1,230 @@
+package com.mobilecoin.lib.network.services.http.Requester;
+
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.mobilecoin.lib.util.Util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PooledHttpRequester makes HTTP requests over kept-alive connections.
+ * <p>
+ * {@link HttpURLConnection} returns a connection to the platform connection pool once the
+ * response body has been read to the end and its stream is closed, so connections are only
+ * disconnected after a failure and subsequent requests to the same host skip the TCP and TLS
+ * handshakes. Response bodies are read directly into an array sized from the
+ * {@code Content-Length} header, which protobuf parsers then read without further copies.
+ * Large bodies are only allocated as their data arrives and bodies beyond
+ * {@link #MAX_RESPONSE_SIZE} are rejected, so a wrong header cannot exhaust the memory.
+ */
+public class PooledHttpRequester implements Requester {
+    private static final String HEADER_CONTENT_TYPE_KEY = "Content-Type";
+    private static final String HEADER_AUTHORIZATION_KEY = "Authorization";
+    private static final int DEFAULT_CONNECT_TIMEOUT_MS = 15000;
+    private static final int DEFAULT_READ_TIMEOUT_MS = 60000;
+    // initial buffer size for responses without Content-Length
+    private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+    // larger bodies grow their buffer as the data arrives instead of trusting Content-Length
+    private static final int MAX_PREALLOCATED_SIZE = 1024 * 1024;
+    // same as the inbound message limit of the gRPC transport
+    static final int MAX_RESPONSE_SIZE = 50 * 1024 * 1024;
+
+    @Nullable
+    private final String credentials;
+    private final int connectTimeoutMs;
+    private final int readTimeoutMs;
+
+    /**
+     * Creates a requester without authorization
+     */
+    public PooledHttpRequester() {
+        this(null, null, DEFAULT_CONNECT_TIMEOUT_MS, DEFAULT_READ_TIMEOUT_MS);
+    }
+
+    /**
+     * Creates a requester that authorizes requests using HTTP basic authentication
+     */
+    public PooledHttpRequester(@NonNull String username, @NonNull String password) {
+        this(username, password, DEFAULT_CONNECT_TIMEOUT_MS, DEFAULT_READ_TIMEOUT_MS);
+    }
+
+    public PooledHttpRequester(@Nullable String username,
+                               @Nullable String password,
+                               int connectTimeoutMs,
+                               int readTimeoutMs) {
+        if (null != username && null != password) {
+            byte[] credentialBytes = (username + ":" + password)
+                    .getBytes(StandardCharsets.ISO_8859_1);
+            this.credentials = "Basic " + android.util.Base64.encodeToString(credentialBytes,
+                    android.util.Base64.NO_WRAP);
+        } else {
+            this.credentials = null;
+        }
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.readTimeoutMs = readTimeoutMs;
+    }
+
+    @NonNull
+    @Override
+    public HttpResponse httpRequest(@NonNull String httpMethod,
+                                    @NonNull Uri uri,
+                                    @NonNull Map<String, String> headers,
+                                    @NonNull byte[] body,
+                                    @NonNull String contentType) throws IOException {
+        HttpURLConnection connection = openConnection(uri);
+        boolean isReusable = false;
+        try {
+            connection.setRequestMethod(httpMethod);
+            connection.setDoOutput(true);
+            connection.setDoInput(true);
+            connection.setUseCaches(false);
+            connection.setConnectTimeout(connectTimeoutMs);
+            connection.setReadTimeout(readTimeoutMs);
+            // stream the body instead of buffering a copy inside the connection
+            connection.setFixedLengthStreamingMode(body.length);
+            addRequestHeaders(connection, headers, contentType);
+            OutputStream outputStream = connection.getOutputStream();
+            try {
+                outputStream.write(body);
+            } finally {
+                outputStream.close();
+            }
+            final int responseCode = connection.getResponseCode();
+            InputStream responseStream = (responseCode == HttpURLConnection.HTTP_OK)
+                    ? connection.getInputStream()
+                    : connection.getErrorStream();
+            final byte[] responseData = (null == responseStream)
+                    ? new byte[0]
+                    : readBody(responseStream, connection.getContentLength());
+            final Map<String, String> responseHeaders = parseHeaderFields(connection);
+            isReusable = true;
+            return new HttpResponse() {
+                @Override
+                public int getResponseCode() {
+                    return responseCode;
+                }
+
+                @Override
+                public byte[] getResponseData() {
+                    return responseData;
+                }
+
+                @Override
+                public Map<String, String> getResponseHeaders() {
+                    return responseHeaders;
+                }
+            };
+        } finally {
+            if (!isReusable) {
+                // the connection state is unknown, it must not be returned to the pool
+                connection.disconnect();
+            }
+        }
+    }
+
+    @NonNull
+    @VisibleForTesting
+    HttpURLConnection openConnection(@NonNull Uri uri) throws IOException {
+        return (HttpURLConnection) new URL(uri.toString()).openConnection();
+    }
+
+    private void addRequestHeaders(@NonNull HttpURLConnection connection,
+                                   @NonNull Map<String, String> headers,
+                                   @NonNull String contentType) {
+        connection.setRequestProperty(HEADER_CONTENT_TYPE_KEY, contentType);
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (null != header.getKey() && null != header.getValue()) {
+                connection.setRequestProperty(header.getKey().trim(), header.getValue().trim());
+            }
+        }
+        if (null != credentials) {
+            connection.setRequestProperty(HEADER_AUTHORIZATION_KEY, credentials);
+        }
+    }
+
+    /**
+     * Reads the whole body and closes the stream. The body is read to the end even when its
+     * length is known, which allows the connection to be reused.
+     */
+    @NonNull
+    static byte[] readBody(@NonNull InputStream responseStream, int contentLength)
+            throws IOException {
+        return readBody(responseStream, contentLength, MAX_RESPONSE_SIZE);
+    }
+
+    @NonNull
+    @VisibleForTesting
+    static byte[] readBody(@NonNull InputStream responseStream, int contentLength, int maxSize)
+            throws IOException {
+        try {
+            if (contentLength > maxSize) {
+                throw new IOException("Response body of " + contentLength
+                        + " bytes exceeds the maximum size");
+            }
+            if (contentLength >= 0) {
+                byte[] data = new byte[Math.min(contentLength, MAX_PREALLOCATED_SIZE)];
+                int offset = 0;
+                while (offset < contentLength) {
+                    if (offset == data.length) {
+                        data = Arrays.copyOf(data,
+                                (int) Math.min(contentLength, 2L * data.length));
+                    }
+                    int length = responseStream.read(data, offset, data.length - offset);
+                    if (length < 0) {
+                        throw new EOFException("Response body is shorter than Content-Length");
+                    }
+                    offset += length;
+                }
+                if (responseStream.read() != -1) {
+                    throw new IOException("Response body is longer than Content-Length");
+                }
+                return data;
+            }
+            byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+            int size = 0;
+            int length;
+            while ((length = responseStream.read(buffer, size, buffer.length - size)) != -1) {
+                size += length;
+                if (size > maxSize) {
+                    throw new IOException("Response body exceeds the maximum size");
+                }
+                if (size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+            return (size == buffer.length) ? buffer : Arrays.copyOf(buffer, size);
+        } finally {
+            responseStream.close();
+        }
+    }
+
+    @NonNull
+    private Map<String, String> parseHeaderFields(@NonNull HttpURLConnection connection) {
+        Map<String, List<String>> headers = connection.getHeaderFields();
+        if (null == headers) {
+            return Collections.emptyMap();
+        }
+        HashMap<String, String> headerMap = new HashMap<>();
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (null != header.getKey()) {
+                headerMap.put(header.getKey(), Util.listToString(header.getValue()));
+            }
+        }
+        return headerMap;
+    }
+}
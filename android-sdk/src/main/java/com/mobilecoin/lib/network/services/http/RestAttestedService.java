@@ -6,15 +6,24 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import com.mobilecoin.lib.exceptions.NetworkException;
 import com.mobilecoin.lib.network.NetworkResult;
 import com.mobilecoin.lib.network.services.AttestedService;
+import com.mobilecoin.lib.network.services.ServiceCallback;
+import com.mobilecoin.lib.network.services.ServiceExecutors;
 import com.mobilecoin.lib.network.services.http.clients.RestClient;
 
+import java.util.concurrent.Executor;
+
 import attest.Attest;
 import attest.AttestedApiHttp;
 
 public class RestAttestedService extends RestService implements AttestedService {
 
     public RestAttestedService(@NonNull RestClient restClient) {
-        super(restClient);
+        this(restClient, ServiceExecutors.getDefaultCallExecutor());
+    }
+
+    public RestAttestedService(@NonNull RestClient restClient,
+                               @NonNull Executor callExecutor) {
+        super(restClient, callExecutor);
     }
 
     @Override
@@ -25,4 +34,10 @@ public class RestAttestedService extends RestService implements AttestedService
                 throw new NetworkException(NetworkResult.INVALID_ARGUMENT, exception);
             }
         }
+
+    @Override
+    public void authAsync(@NonNull Attest.AuthMessage authMessage,
+                          @NonNull ServiceCallback<Attest.AuthMessage> callback) {
+        runAsync(() -> auth(authMessage), callback);
+    }
 }
@@ -7,15 +7,24 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import com.mobilecoin.lib.exceptions.NetworkException;
 import com.mobilecoin.lib.network.NetworkResult;
 import com.mobilecoin.lib.network.services.BlockchainService;
+import com.mobilecoin.lib.network.services.ServiceCallback;
+import com.mobilecoin.lib.network.services.ServiceExecutors;
 import com.mobilecoin.lib.network.services.http.clients.RestClient;
 
+import java.util.concurrent.Executor;
+
 import consensus_common.BlockchainAPIHttp;
 import consensus_common.ConsensusCommon;
 
 public class RestBlockchainService extends RestService implements BlockchainService {
 
     public RestBlockchainService(@NonNull RestClient restClient) {
-        super(restClient);
+        this(restClient, ServiceExecutors.getDefaultCallExecutor());
+    }
+
+    public RestBlockchainService(@NonNull RestClient restClient,
+                                 @NonNull Executor callExecutor) {
+        super(restClient, callExecutor);
     }
 
     @Override
@@ -26,4 +35,10 @@ public class RestBlockchainService extends RestService implements BlockchainServ
             throw new NetworkException(NetworkResult.INVALID_ARGUMENT, exception);
         }
     }
+
+    @Override
+    public void getLastBlockInfoAsync(@NonNull Empty request,
+                                      @NonNull ServiceCallback<ConsensusCommon.LastBlockInfoResponse> callback) {
+        runAsync(() -> getLastBlockInfo(request), callback);
+    }
 }
@@ -6,8 +6,12 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import com.mobilecoin.lib.exceptions.NetworkException;
 import com.mobilecoin.lib.network.NetworkResult;
 import com.mobilecoin.lib.network.services.ConsensusClientService;
+import com.mobilecoin.lib.network.services.ServiceCallback;
+import com.mobilecoin.lib.network.services.ServiceExecutors;
 import com.mobilecoin.lib.network.services.http.clients.RestClient;
 
+import java.util.concurrent.Executor;
+
 import attest.Attest;
 import consensus_client.ConsensusClientAPIHttp;
 import consensus_common.ConsensusCommon;
@@ -15,7 +19,12 @@ import consensus_common.ConsensusCommon;
 public class RestConsensusClientService extends RestService implements ConsensusClientService {
 
     public RestConsensusClientService(@NonNull RestClient restClient) {
-        super(restClient);
+        this(restClient, ServiceExecutors.getDefaultCallExecutor());
+    }
+
+    public RestConsensusClientService(@NonNull RestClient restClient,
+                                      @NonNull Executor callExecutor) {
+        super(restClient, callExecutor);
     }
 
     @Override
@@ -26,4 +35,10 @@ public class RestConsensusClientService extends RestService implements Consensus
             throw new NetworkException(NetworkResult.INVALID_ARGUMENT, exception);
         }
     }
+
+    @Override
+    public void clientTxProposeAsync(@NonNull Attest.Message request,
+                                     @NonNull ServiceCallback<ConsensusCommon.ProposeTxResponse> callback) {
+        runAsync(() -> clientTxPropose(request), callback);
+    }
 }
@@ -6,15 +6,24 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import com.mobilecoin.lib.exceptions.NetworkException;
 import com.mobilecoin.lib.network.NetworkResult;
 import com.mobilecoin.lib.network.services.FogBlockService;
+import com.mobilecoin.lib.network.services.ServiceCallback;
+import com.mobilecoin.lib.network.services.ServiceExecutors;
 import com.mobilecoin.lib.network.services.http.clients.RestClient;
 
+import java.util.concurrent.Executor;
+
 import fog_ledger.FogBlockAPIHttp;
 import fog_ledger.Ledger;
 
 public class RestFogBlockService extends RestService implements FogBlockService {
 
     public RestFogBlockService(@NonNull RestClient restClient) {
-        super(restClient);
+        this(restClient, ServiceExecutors.getDefaultCallExecutor());
+    }
+
+    public RestFogBlockService(@NonNull RestClient restClient,
+                               @NonNull Executor callExecutor) {
+        super(restClient, callExecutor);
     }
 
     @Override
@@ -25,4 +34,10 @@ public class RestFogBlockService extends RestService implements FogBlockService
             throw new NetworkException(NetworkResult.INVALID_ARGUMENT, exception);
         }
     }
+
+    @Override
+    public void getBlocksAsync(@NonNull Ledger.BlockRequest request,
+                               @NonNull ServiceCallback<Ledger.BlockResponse> callback) {
+        runAsync(() -> getBlocks(request), callback);
+    }
 }
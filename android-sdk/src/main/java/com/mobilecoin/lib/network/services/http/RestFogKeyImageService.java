@@ -6,15 +6,24 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import com.mobilecoin.lib.exceptions.NetworkException;
 import com.mobilecoin.lib.network.NetworkResult;
 import com.mobilecoin.lib.network.services.FogKeyImageService;
+import com.mobilecoin.lib.network.services.ServiceCallback;
+import com.mobilecoin.lib.network.services.ServiceExecutors;
 import com.mobilecoin.lib.network.services.http.clients.RestClient;
 
+import java.util.concurrent.Executor;
+
 import attest.Attest;
 import fog_ledger.FogKeyImageAPIHttp;
 
 public class RestFogKeyImageService extends RestService implements FogKeyImageService {
 
     public RestFogKeyImageService(@NonNull RestClient restClient) {
-        super(restClient);
+        this(restClient, ServiceExecutors.getDefaultCallExecutor());
+    }
+
+    public RestFogKeyImageService(@NonNull RestClient restClient,
+                                  @NonNull Executor callExecutor) {
+        super(restClient, callExecutor);
     }
 
     @Override
@@ -34,4 +43,16 @@ public class RestFogKeyImageService extends RestService implements FogKeyImageSe
             throw new NetworkException(NetworkResult.INVALID_ARGUMENT, exception);
         }
     }
+
+    @Override
+    public void checkKeyImagesAsync(@NonNull Attest.Message request,
+                                    @NonNull ServiceCallback<Attest.Message> callback) {
+        runAsync(() -> checkKeyImages(request), callback);
+    }
+
+    @Override
+    public void authAsync(@NonNull Attest.AuthMessage authMessage,
+                          @NonNull ServiceCallback<Attest.AuthMessage> callback) {
+        runAsync(() -> auth(authMessage), callback);
+    }
 }
@@ -6,15 +6,24 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import com.mobilecoin.lib.exceptions.NetworkException;
 import com.mobilecoin.lib.network.NetworkResult;
 import com.mobilecoin.lib.network.services.FogMerkleProofService;
+import com.mobilecoin.lib.network.services.ServiceCallback;
+import com.mobilecoin.lib.network.services.ServiceExecutors;
 import com.mobilecoin.lib.network.services.http.clients.RestClient;
 
+import java.util.concurrent.Executor;
+
 import attest.Attest;
 import fog_ledger.FogMerkleProofAPIHttp;
 
 public class RestFogMerkleProofService extends RestService implements FogMerkleProofService {
 
     public RestFogMerkleProofService(@NonNull RestClient restClient) {
-        super(restClient);
+        this(restClient, ServiceExecutors.getDefaultCallExecutor());
+    }
+
+    public RestFogMerkleProofService(@NonNull RestClient restClient,
+                                     @NonNull Executor callExecutor) {
+        super(restClient, callExecutor);
     }
 
     @Override
@@ -25,4 +34,10 @@ public class RestFogMerkleProofService extends RestService implements FogMerkleP
             throw new NetworkException(NetworkResult.INVALID_ARGUMENT, exception);
         }
     }
+
+    @Override
+    public void getOutputsAsync(@NonNull Attest.Message request,
+                                @NonNull ServiceCallback<Attest.Message> callback) {
+        runAsync(() -> getOutputs(request), callback);
+    }
 }
@@ -6,15 +6,24 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import com.mobilecoin.lib.exceptions.NetworkException;
 import com.mobilecoin.lib.network.NetworkResult;
 import com.mobilecoin.lib.network.services.FogUntrustedService;
+import com.mobilecoin.lib.network.services.ServiceCallback;
+import com.mobilecoin.lib.network.services.ServiceExecutors;
 import com.mobilecoin.lib.network.services.http.clients.RestClient;
 
+import java.util.concurrent.Executor;
+
 import fog_ledger.FogUntrustedTxOutApiHttp;
 import fog_ledger.Ledger;
 
 public class RestFogUntrustedService extends RestService implements FogUntrustedService {
 
     public RestFogUntrustedService(@NonNull RestClient restClient) {
-        super(restClient);
+        this(restClient, ServiceExecutors.getDefaultCallExecutor());
+    }
+
+    public RestFogUntrustedService(@NonNull RestClient restClient,
+                                   @NonNull Executor callExecutor) {
+        super(restClient, callExecutor);
     }
 
     @Override
@@ -25,4 +34,10 @@ public class RestFogUntrustedService extends RestService implements FogUntrusted
             throw new NetworkException(NetworkResult.INVALID_ARGUMENT, exception);
         }
     }
+
+    @Override
+    public void getTxOutsAsync(@NonNull Ledger.TxOutRequest request,
+                               @NonNull ServiceCallback<Ledger.TxOutResponse> callback) {
+        runAsync(() -> getTxOuts(request), callback);
+    }
 }
@@ -6,15 +6,24 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import com.mobilecoin.lib.exceptions.NetworkException;
 import com.mobilecoin.lib.network.NetworkResult;
 import com.mobilecoin.lib.network.services.FogViewService;
+import com.mobilecoin.lib.network.services.ServiceCallback;
+import com.mobilecoin.lib.network.services.ServiceExecutors;
 import com.mobilecoin.lib.network.services.http.clients.RestClient;
 
+import java.util.concurrent.Executor;
+
 import attest.Attest;
 import fog_view.FogViewAPIHttp;
 
 public class RestFogViewService extends RestService implements FogViewService {
 
     public RestFogViewService(@NonNull RestClient restClient) {
-        super(restClient);
+        this(restClient, ServiceExecutors.getDefaultCallExecutor());
+    }
+
+    public RestFogViewService(@NonNull RestClient restClient,
+                              @NonNull Executor callExecutor) {
+        super(restClient, callExecutor);
     }
 
     public Attest.AuthMessage auth(Attest.AuthMessage authMessage) throws NetworkException {
@@ -32,4 +41,16 @@ public class RestFogViewService extends RestService implements FogViewService {
             throw new NetworkException(NetworkResult.INVALID_ARGUMENT, exception);
         }
     }
+
+    @Override
+    public void queryAsync(@NonNull Attest.Message request,
+                           @NonNull ServiceCallback<Attest.Message> callback) {
+        runAsync(() -> query(request), callback);
+    }
+
+    @Override
+    public void authAsync(@NonNull Attest.AuthMessage authMessage,
+                          @NonNull ServiceCallback<Attest.AuthMessage> callback) {
+        runAsync(() -> auth(authMessage), callback);
+    }
 }
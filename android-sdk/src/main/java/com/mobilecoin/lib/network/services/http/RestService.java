@@ -2,19 +2,55 @@ package com.mobilecoin.lib.network.services.http;
 
 import androidx.annotation.NonNull;
 
+import com.mobilecoin.lib.exceptions.NetworkException;
+import com.mobilecoin.lib.network.NetworkResult;
 import com.mobilecoin.lib.network.services.ApiService;
+import com.mobilecoin.lib.network.services.ServiceCallback;
+import com.mobilecoin.lib.network.services.ServiceExecutors;
 import com.mobilecoin.lib.network.services.http.clients.RestClient;
 
+import java.util.concurrent.Executor;
+
 abstract class RestService implements ApiService {
     protected static final String PREFIX = "/gw/";
     private final RestClient restClient;
+    private final Executor callExecutor;
 
     protected RestService(@NonNull RestClient restClient) {
+        this(restClient, ServiceExecutors.getDefaultCallExecutor());
+    }
+
+    protected RestService(@NonNull RestClient restClient, @NonNull Executor callExecutor) {
         this.restClient = restClient;
+        this.callExecutor = callExecutor;
     }
 
     @NonNull
     protected RestClient getRestClient() {
         return restClient;
     }
+
+    /**
+     * HTTP requests are blocking, asynchronous calls run them on the call executor
+     */
+    protected <T> void runAsync(@NonNull BlockingCall<T> call,
+                                @NonNull ServiceCallback<T> callback) {
+        callExecutor.execute(() -> {
+            T response;
+            try {
+                response = call.call();
+            } catch (NetworkException exception) {
+                callback.onFailure(exception);
+                return;
+            } catch (RuntimeException exception) {
+                callback.onFailure(new NetworkException(NetworkResult.INTERNAL, exception));
+                return;
+            }
+            callback.onSuccess(response);
+        });
+    }
+
+    protected interface BlockingCall<T> {
+        T call() throws NetworkException;
+    }
 }
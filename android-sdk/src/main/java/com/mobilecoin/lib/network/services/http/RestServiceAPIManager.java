@@ -12,17 +12,39 @@ import com.mobilecoin.lib.network.services.FogReportService;
 import com.mobilecoin.lib.network.services.FogUntrustedService;
 import com.mobilecoin.lib.network.services.FogViewService;
 import com.mobilecoin.lib.network.services.ServiceAPIManager;
+import com.mobilecoin.lib.network.services.ServiceCache;
+import com.mobilecoin.lib.network.services.ServiceExecutors;
 import com.mobilecoin.lib.network.services.http.clients.RestClient;
 import com.mobilecoin.lib.network.services.transport.Transport;
 import com.mobilecoin.lib.network.services.transport.http.RestTransport;
 
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+
 public class RestServiceAPIManager implements ServiceAPIManager {
+    private static final String AUTHORIZATION_KEY = "Authorization";
+    private final ServiceCache serviceCache = new ServiceCache();
+    private final Executor callExecutor;
+    private volatile String credentials;
+
+    public RestServiceAPIManager() {
+        this(ServiceExecutors.getDefaultCallExecutor());
+    }
+
+    public RestServiceAPIManager(@NonNull Executor callExecutor) {
+        this.callExecutor = callExecutor;
+    }
 
     @NonNull
     RestClient restClientFromTransport(@NonNull Transport transport) {
         if (transport.getTransportType() == Transport.TransportType.HTTP) {
             RestTransport restTransport = (RestTransport) transport;
-            return restTransport.getRestClient();
+            RestClient restClient = restTransport.getRestClient();
+            String credentials = this.credentials;
+            if (null != credentials) {
+                restClient.setHeader(AUTHORIZATION_KEY, credentials);
+            }
+            return restClient;
         }
         throw new IllegalArgumentException("BUG: should not be reachable");
     }
@@ -30,59 +52,86 @@ public class RestServiceAPIManager implements ServiceAPIManager {
     @NonNull
     @Override
     public FogViewService getFogViewService(@NonNull Transport transport) {
-        return new RestFogViewService(restClientFromTransport(transport));
+        return serviceCache.getOrCreate(transport, FogViewService.class,
+                () -> new RestFogViewService(restClientFromTransport(transport),
+                        callExecutor));
     }
 
     @NonNull
     @Override
     public FogUntrustedService getFogUntrustedService(@NonNull Transport transport) {
-        return new RestFogUntrustedService(restClientFromTransport(transport));
+        return serviceCache.getOrCreate(transport, FogUntrustedService.class,
+                () -> new RestFogUntrustedService(restClientFromTransport(transport),
+                        callExecutor));
     }
 
     @NonNull
     @Override
     public FogReportService getFogReportService(@NonNull Transport transport) {
-        return new RestFogReportService(restClientFromTransport(transport));
+        return serviceCache.getOrCreate(transport, FogReportService.class,
+                () -> new RestFogReportService(restClientFromTransport(transport)));
     }
 
     @NonNull
     @Override
     public FogKeyImageService getFogKeyImageService(@NonNull Transport transport) {
-        return new RestFogKeyImageService(restClientFromTransport(transport));
+        return serviceCache.getOrCreate(transport, FogKeyImageService.class,
+                () -> new RestFogKeyImageService(restClientFromTransport(transport),
+                        callExecutor));
     }
 
     @NonNull
     @Override
     public FogMerkleProofService getFogMerkleProofService(@NonNull Transport transport) {
-        return new RestFogMerkleProofService(restClientFromTransport(transport));
+        return serviceCache.getOrCreate(transport, FogMerkleProofService.class,
+                () -> new RestFogMerkleProofService(restClientFromTransport(transport),
+                        callExecutor));
     }
 
     @NonNull
     @Override
     public FogBlockService getFogBlockService(@NonNull Transport transport) {
-        return new RestFogBlockService(restClientFromTransport(transport));
+        return serviceCache.getOrCreate(transport, FogBlockService.class,
+                () -> new RestFogBlockService(restClientFromTransport(transport),
+                        callExecutor));
     }
 
     @NonNull
     @Override
     public ConsensusClientService getConsensusClientService(@NonNull Transport transport) {
-        return new RestConsensusClientService(restClientFromTransport(transport));
+        return serviceCache.getOrCreate(transport, ConsensusClientService.class,
+                () -> new RestConsensusClientService(restClientFromTransport(transport),
+                        callExecutor));
     }
 
     @NonNull
     @Override
     public BlockchainService getBlockchainService(@NonNull Transport transport) {
-        return new RestBlockchainService(restClientFromTransport(transport));
+        return serviceCache.getOrCreate(transport, BlockchainService.class,
+                () -> new RestBlockchainService(restClientFromTransport(transport),
+                        callExecutor));
     }
 
     @NonNull
     @Override
     public AttestedService getAttestedService(@NonNull Transport transport) {
-        return new RestAttestedService(restClientFromTransport(transport));
+        return serviceCache.getOrCreate(transport, AttestedService.class,
+                () -> new RestAttestedService(restClientFromTransport(transport),
+                        callExecutor));
     }
 
     @Override
     public void setAuthorization(@NonNull String username, @NonNull String password) {
-        // TODO: currently this is handled in the requester, need to move it here
+        // requesters that carry their own credentials, like HttpRequester, override this header
+        byte[] credentialBytes = (username + ":" + password).getBytes(StandardCharsets.ISO_8859_1);
+        this.credentials = "Basic " + android.util.Base64.encodeToString(credentialBytes,
+                android.util.Base64.NO_WRAP);
+        // cached services must pick up the new header
+        serviceCache.clear();
+    }
+
+    @Override
+    public void clearServiceCache() {
+        serviceCache.clear();
     }
 }
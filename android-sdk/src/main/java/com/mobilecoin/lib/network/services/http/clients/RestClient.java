@@ -112,7 +112,7 @@ public final class RestClient {
         }
     }
 
-    synchronized void setHeader(@NonNull String key, @Nullable String value) {
+    public synchronized void setHeader(@NonNull String key, @Nullable String value) {
         headers.put(key, value);
     }
 
@@ -0,0 +1,46 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib.trace;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link SpanExporter} that keeps finished spans in memory, intended for tests and benchmarks
+ */
+public final class InMemorySpanExporter implements SpanExporter {
+    private final ArrayList<Span> spans = new ArrayList<>();
+
+    @Override
+    public synchronized void export(@NonNull Span span) {
+        spans.add(span);
+    }
+
+    /**
+     * @return finished spans in the order they ended
+     */
+    @NonNull
+    public synchronized List<Span> getFinishedSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    /**
+     * @return finished spans with the provided name in the order they ended
+     */
+    @NonNull
+    public synchronized List<Span> getFinishedSpans(@NonNull String name) {
+        ArrayList<Span> namedSpans = new ArrayList<>();
+        for (Span span : spans) {
+            if (span.getName().equals(name)) {
+                namedSpans.add(span);
+            }
+        }
+        return namedSpans;
+    }
+
+    public synchronized void reset() {
+        spans.clear();
+    }
+}
@@ -0,0 +1,149 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib.trace;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A timed operation with attributes, spans started while another span is current on the same
+ * thread are its children
+ * <p>
+ * Spans are created by {@link Tracer#startSpan(String)} and should be ended exactly once, e.g.
+ * with try-with-resources. When tracing is disabled a shared no-op span is returned.
+ */
+public final class Span implements AutoCloseable {
+    static final Span NO_OP = new Span(null, null, null, 0, 0);
+
+    @Nullable
+    private final String name;
+    @Nullable
+    private final Span parent;
+    @Nullable
+    private final Span previousCurrent;
+    private final long spanId;
+    private final long startNanos;
+    private final LinkedHashMap<String, Object> attributes = new LinkedHashMap<>();
+    private long endNanos;
+    @Nullable
+    private Throwable error;
+    private boolean isEnded;
+
+    Span(@Nullable String name, @Nullable Span parent, @Nullable Span previousCurrent,
+         long spanId, long startNanos) {
+        this.name = name;
+        this.parent = parent;
+        this.previousCurrent = previousCurrent;
+        this.spanId = spanId;
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * @return whether the span is recorded, attributes of a span that is not recorded are dropped
+     */
+    public boolean isRecording() {
+        return this != NO_OP;
+    }
+
+    @NonNull
+    public Span setAttribute(@NonNull String key, @Nullable Object value) {
+        if (isRecording()) {
+            synchronized (this) {
+                attributes.put(key, value);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Mark the span as failed
+     */
+    @NonNull
+    public Span recordError(@NonNull Throwable error) {
+        if (isRecording()) {
+            synchronized (this) {
+                this.error = error;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * End the span and export it, subsequent calls have no effect
+     */
+    public void end() {
+        if (!isRecording()) {
+            return;
+        }
+        synchronized (this) {
+            if (isEnded) {
+                return;
+            }
+            isEnded = true;
+            endNanos = System.nanoTime();
+        }
+        Tracer.onSpanEnded(this);
+    }
+
+    @Override
+    public void close() {
+        end();
+    }
+
+    @NonNull
+    public String getName() {
+        return (null == name) ? "" : name;
+    }
+
+    @Nullable
+    public Span getParent() {
+        return parent;
+    }
+
+    /**
+     * @return process-unique identifier of the span
+     */
+    public long getSpanId() {
+        return spanId;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * @return duration of the span in nanoseconds, 0 until the span is ended
+     */
+    public synchronized long getDurationNanos() {
+        return isEnded ? endNanos - startNanos : 0;
+    }
+
+    @NonNull
+    public synchronized Map<String, Object> getAttributes() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+    }
+
+    @Nullable
+    public synchronized Throwable getError() {
+        return error;
+    }
+
+    public synchronized boolean isEnded() {
+        return isEnded;
+    }
+
+    @Nullable
+    Span getPreviousCurrent() {
+        return previousCurrent;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "Span{" + getName() + ", " + getDurationNanos() + "ns, " + getAttributes() + "}";
+    }
+}
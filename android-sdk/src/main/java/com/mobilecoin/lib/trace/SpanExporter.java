@@ -0,0 +1,18 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib.trace;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Configurable conduit for finished spans
+ *
+ * @see Tracer#setExporter(SpanExporter)
+ */
+public interface SpanExporter {
+
+    /**
+     * Invoked on the thread that ended the span, implementations must be thread-safe and fast
+     */
+    void export(@NonNull Span span);
+}
@@ -0,0 +1,104 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib.trace;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.mobilecoin.lib.log.Logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracer creates {@link Span}s of the lib operations and delivers finished spans to the provided
+ * {@link SpanExporter}
+ * <p>
+ * Tracing is disabled until an exporter is set, in which case starting a span costs a single
+ * volatile read and returns a shared no-op span.
+ */
+public final class Tracer {
+    private static final String TAG = Tracer.class.getName();
+    private static final ThreadLocal<Span> currentSpan = new ThreadLocal<>();
+    private static final AtomicLong spanIds = new AtomicLong();
+
+    @Nullable
+    private static volatile SpanExporter exporter;
+
+    private Tracer() { /* no public constructor */ }
+
+    /**
+     * Export finished spans to the provided exporter or disable tracing if it is null
+     */
+    public static void setExporter(@Nullable SpanExporter exporter) {
+        Tracer.exporter = exporter;
+    }
+
+    public static boolean isEnabled() {
+        return null != exporter;
+    }
+
+    /**
+     * Start a span that is a child of the current span of the calling thread, the new span is
+     * current until it is ended
+     */
+    @NonNull
+    public static Span startSpan(@NonNull String name) {
+        if (null == exporter) {
+            return Span.NO_OP;
+        }
+        return startSpan(name, currentSpan.get());
+    }
+
+    /**
+     * Start a span with an explicit parent, i.e. for work handed off to another thread
+     */
+    @NonNull
+    public static Span startSpan(@NonNull String name, @Nullable Span parent) {
+        if (null == exporter) {
+            return Span.NO_OP;
+        }
+        Span previous = currentSpan.get();
+        Span span = new Span(name, (null != parent && parent.isRecording()) ? parent : null,
+                previous, spanIds.incrementAndGet(), System.nanoTime());
+        currentSpan.set(span);
+        return span;
+    }
+
+    /**
+     * @return the current span of the calling thread or a no-op span if there is none
+     */
+    @NonNull
+    public static Span getCurrentSpan() {
+        Span span = currentSpan.get();
+        return (null == span) ? Span.NO_OP : span;
+    }
+
+    static void onSpanEnded(@NonNull Span span) {
+        // restore the span that was current when this one started, children that were not
+        // ended, i.e. due to an exception, are dropped from the current span chain as well
+        for (Span current = currentSpan.get(); null != current;
+             current = current.getPreviousCurrent()) {
+            if (current == span) {
+                Span previous = span.getPreviousCurrent();
+                while (null != previous && previous.isEnded()) {
+                    previous = previous.getPreviousCurrent();
+                }
+                if (null == previous) {
+                    currentSpan.remove();
+                } else {
+                    currentSpan.set(previous);
+                }
+                break;
+            }
+        }
+        SpanExporter exporter = Tracer.exporter;
+        if (null == exporter) {
+            return;
+        }
+        try {
+            exporter.export(span);
+        } catch (RuntimeException exception) {
+            Logger.w(TAG, "Span exporter failed", exception);
+        }
+    }
+}
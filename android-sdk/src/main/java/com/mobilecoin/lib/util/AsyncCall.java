@@ -0,0 +1,226 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib.util;
+
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Helpers for the {@link CompletableFuture} based SDK API.
+ * <p>
+ * The asynchronous client calls do not hold a thread while a request is in flight, the shared
+ * executor only processes their responses unless a client provides its own through
+ * {@link com.mobilecoin.lib.ClientConfig#asyncExecutor}. Size it with
+ * {@link #setDefaultThreadCount(int)}.
+ * <p>
+ * {@link #run} offloads a blocking operation instead, it holds an executor thread until it
+ * completes. Cancelling its future, or letting its deadline expire, interrupts that thread so
+ * that blocking network calls are abandoned instead of running to completion.
+ */
+@RequiresApi(api = Build.VERSION_CODES.N)
+public final class AsyncCall {
+    private static final int DEFAULT_THREAD_COUNT = 4;
+
+    private static volatile int defaultThreadCount = DEFAULT_THREAD_COUNT;
+    private static volatile ThreadPoolExecutor defaultExecutor;
+    private static volatile ScheduledExecutorService deadlineScheduler;
+
+    private AsyncCall() {
+    }
+
+    /**
+     * Executes the callable on the provided executor.
+     *
+     * @return a future completed with the callable's result or exception
+     */
+    @NonNull
+    public static <T> CompletableFuture<T> run(
+            @NonNull Executor executor,
+            @NonNull Callable<T> callable
+    ) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final AtomicReference<Thread> runner = new AtomicReference<>();
+        future.whenComplete((result, error) -> {
+            // interrupt the worker if the future was cancelled or timed out while running
+            Thread thread = runner.getAndSet(null);
+            if (thread != null && thread != Thread.currentThread()) {
+                thread.interrupt();
+            }
+        });
+        try {
+            executor.execute(() -> {
+                if (future.isDone()) {
+                    return;
+                }
+                runner.set(Thread.currentThread());
+                T result = null;
+                Throwable error = null;
+                try {
+                    result = callable.call();
+                } catch (Throwable throwable) {
+                    error = throwable;
+                } finally {
+                    runner.set(null);
+                }
+                if (error != null) {
+                    future.completeExceptionally(error);
+                } else {
+                    future.complete(result);
+                }
+            });
+        } catch (RuntimeException exception) {
+            future.completeExceptionally(exception);
+        }
+        return future;
+    }
+
+    /**
+     * Executes the callable on the shared SDK executor.
+     */
+    @NonNull
+    public static <T> CompletableFuture<T> run(@NonNull Callable<T> callable) {
+        return run(getDefaultExecutor(), callable);
+    }
+
+    /**
+     * Completes the future exceptionally with {@link TimeoutException} if it does not complete
+     * within the specified time. For futures created by this class the running operation is
+     * interrupted as well.
+     *
+     * @return the same future for chaining
+     */
+    @NonNull
+    public static <T> CompletableFuture<T> withDeadline(
+            @NonNull CompletableFuture<T> future,
+            long timeout,
+            @NonNull TimeUnit unit
+    ) {
+        if (future.isDone()) {
+            return future;
+        }
+        ScheduledFuture<?> timer = getDeadlineScheduler().schedule(
+                () -> future.completeExceptionally(
+                        new TimeoutException("Deadline of " + unit.toMillis(timeout)
+                                + "ms exceeded")),
+                timeout,
+                unit
+        );
+        future.whenComplete((result, error) -> timer.cancel(false));
+        return future;
+    }
+
+    /**
+     * @return a future completed exceptionally with the provided error
+     */
+    @NonNull
+    public static <T> CompletableFuture<T> failed(@NonNull Throwable error) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(error);
+        return future;
+    }
+
+    /**
+     * @return the error of a failed stage without the {@link CompletionException} or
+     * {@link ExecutionException} it is wrapped in
+     */
+    @NonNull
+    public static Throwable unwrap(@NonNull Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && null != error.getCause()) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * Runs a short task, i.e. one that starts an asynchronous call, after the delay. The tasks
+     * of all clients share a single timer thread.
+     */
+    @NonNull
+    public static ScheduledFuture<?> schedule(@NonNull Runnable task, long delayMs) {
+        return getDeadlineScheduler().schedule(task, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sets the number of threads of the shared executor, which is the number of operations of
+     * clients without their own executor that can run at the same time. Applies to the running
+     * executor as well.
+     */
+    public static void setDefaultThreadCount(int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        synchronized (AsyncCall.class) {
+            defaultThreadCount = threadCount;
+            ThreadPoolExecutor executor = defaultExecutor;
+            if (executor == null) {
+                return;
+            }
+            // the core size may never exceed the maximum size
+            if (threadCount > executor.getMaximumPoolSize()) {
+                executor.setMaximumPoolSize(threadCount);
+                executor.setCorePoolSize(threadCount);
+            } else {
+                executor.setCorePoolSize(threadCount);
+                executor.setMaximumPoolSize(threadCount);
+            }
+        }
+    }
+
+    /**
+     * Get the number of threads of the shared executor
+     */
+    public static int getDefaultThreadCount() {
+        return defaultThreadCount;
+    }
+
+    /**
+     * Returns the executor shared by all clients that don't provide their own.
+     * The number of threads is bounded, see {@link #setDefaultThreadCount(int)}, and idle threads
+     * are released.
+     */
+    @NonNull
+    public static Executor getDefaultExecutor() {
+        if (defaultExecutor == null) {
+            synchronized (AsyncCall.class) {
+                if (defaultExecutor == null) {
+                    defaultExecutor = BoundedExecutors.newDaemonPool("mobilecoin-async",
+                            defaultThreadCount);
+                }
+            }
+        }
+        return defaultExecutor;
+    }
+
+    @NonNull
+    private static ScheduledExecutorService getDeadlineScheduler() {
+        if (deadlineScheduler == null) {
+            synchronized (AsyncCall.class) {
+                if (deadlineScheduler == null) {
+                    ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(
+                            1,
+                            new BoundedExecutors.DaemonThreadFactory("mobilecoin-deadline")
+                    );
+                    scheduler.setRemoveOnCancelPolicy(true);
+                    deadlineScheduler = scheduler;
+                }
+            }
+        }
+        return deadlineScheduler;
+    }
+}
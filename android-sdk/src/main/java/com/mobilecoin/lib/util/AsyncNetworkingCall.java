@@ -0,0 +1,164 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib.util;
+
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+
+import com.mobilecoin.lib.exceptions.NetworkException;
+import com.mobilecoin.lib.log.Logger;
+import com.mobilecoin.lib.network.NetworkResult;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Runs an asynchronous network call according to a {@link NetworkingCall.RetryPolicy}.
+ * <p>
+ * The non-blocking counterpart of {@link NetworkingCall}: no thread waits for an attempt.
+ * Retries are scheduled after the backoff delay and the hedged request of an idempotent read
+ * after the hedge delay, both are started on the call executor. The first response wins.
+ */
+@RequiresApi(api = Build.VERSION_CODES.N)
+public class AsyncNetworkingCall<T> {
+    private static final String TAG = AsyncNetworkingCall.class.getName();
+    private static final Random jitterRandom = new Random();
+
+    private final NetworkingCall.RetryPolicy retryPolicy;
+    private final boolean isHedgeable;
+    private final Executor executor;
+    private final Attempt<T> attempt;
+
+    /**
+     * @param executor runs the attempts started by timers
+     */
+    public AsyncNetworkingCall(
+            @NonNull NetworkingCall.RetryPolicy retryPolicy,
+            boolean isHedgeable,
+            @NonNull Executor executor,
+            @NonNull Attempt<T> attempt
+    ) {
+        this.retryPolicy = retryPolicy;
+        this.isHedgeable = isHedgeable;
+        this.executor = executor;
+        this.attempt = attempt;
+    }
+
+    /**
+     * Starts the first attempt on the calling thread
+     *
+     * @return a future completed with the first response or the error of the last attempt
+     */
+    @NonNull
+    public CompletableFuture<T> run() {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        runAttempt(result, System.currentTimeMillis(), 0);
+        return result;
+    }
+
+    private void runAttempt(@NonNull CompletableFuture<T> result, long startedAtMs, int attempt) {
+        if (result.isDone()) {
+            // cancelled while the retry was scheduled
+            return;
+        }
+        CompletableFuture<T> response = (isHedgeable && retryPolicy.hedgeDelayMs >= 0)
+                ? callHedged(startedAtMs)
+                : call();
+        response.whenComplete((value, error) -> {
+            if (null == error) {
+                result.complete(value);
+                return;
+            }
+            Throwable cause = AsyncCall.unwrap(error);
+            if (!(cause instanceof NetworkException)) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            NetworkException exception = (NetworkException) cause;
+            int retry = attempt + 1;
+            if (!retryPolicy.isRetryable(exception.getResultCode())
+                    || retry >= retryPolicy.maxAttempts) {
+                result.completeExceptionally(exception);
+                return;
+            }
+            long backoffMs = retryPolicy.getBackoffMs(retry, jitterRandom);
+            if (retryPolicy.deadlineMs > 0 && System.currentTimeMillis() + backoffMs
+                    - startedAtMs >= retryPolicy.deadlineMs) {
+                Logger.w(TAG, "Deadline budget exhausted, not retrying");
+                result.completeExceptionally(exception);
+                return;
+            }
+            Logger.d(TAG, "Retrying network call", null,
+                    "attempt:", retry,
+                    "backoff ms:", backoffMs);
+            AsyncCall.schedule(() -> execute(result,
+                    () -> runAttempt(result, startedAtMs, retry)), backoffMs);
+        });
+    }
+
+    @NonNull
+    private CompletableFuture<T> callHedged(long startedAtMs) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        BiConsumer<T, Throwable> onResponse = (value, error) -> {
+            if (null == error) {
+                result.complete(value);
+            } else if (0 == pending.decrementAndGet()) {
+                result.completeExceptionally(AsyncCall.unwrap(error));
+            }
+        };
+        call().whenComplete(onResponse);
+        long hedgeDelayMs = retryPolicy.hedgeDelayMs;
+        if (retryPolicy.deadlineMs > 0) {
+            long remainingMs = retryPolicy.deadlineMs
+                    - (System.currentTimeMillis() - startedAtMs);
+            ScheduledFuture<?> deadline = AsyncCall.schedule(() -> result.completeExceptionally(
+                    new NetworkException(NetworkResult.DEADLINE_EXCEEDED)), remainingMs);
+            result.whenComplete((value, error) -> deadline.cancel(false));
+            if (hedgeDelayMs >= remainingMs) {
+                return result;
+            }
+        }
+        ScheduledFuture<?> hedge = AsyncCall.schedule(() -> execute(result, () -> {
+            if (result.isDone()) {
+                return;
+            }
+            Logger.d(TAG, "Request is slow, sending a hedged request");
+            pending.incrementAndGet();
+            call().whenComplete(onResponse);
+        }), hedgeDelayMs);
+        result.whenComplete((value, error) -> hedge.cancel(false));
+        return result;
+    }
+
+    @NonNull
+    private CompletableFuture<T> call() {
+        try {
+            return attempt.start();
+        } catch (Exception exception) {
+            return AsyncCall.failed(exception);
+        }
+    }
+
+    private void execute(@NonNull CompletableFuture<T> result, @NonNull Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RuntimeException exception) {
+            result.completeExceptionally(exception);
+        }
+    }
+
+    /**
+     * Starts an attempt of the call
+     */
+    public interface Attempt<T> {
+        @NonNull
+        CompletableFuture<T> start() throws Exception;
+    }
+}
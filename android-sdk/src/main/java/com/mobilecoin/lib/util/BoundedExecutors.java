@@ -0,0 +1,64 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib.util;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the thread pools used by the SDK. The pools are bounded: tasks submitted while all
+ * threads are busy wait in the queue instead of starting new threads, and idle threads are
+ * released.
+ */
+public final class BoundedExecutors {
+    private static final long THREAD_KEEP_ALIVE_SECONDS = 30L;
+
+    private BoundedExecutors() {
+    }
+
+    /**
+     * @param namePrefix prefix of the thread names, followed by the thread number
+     * @param maxThreads maximum number of threads
+     * @return a pool of daemon threads
+     */
+    @NonNull
+    public static ThreadPoolExecutor newDaemonPool(@NonNull String namePrefix, int maxThreads) {
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                maxThreads,
+                maxThreads,
+                THREAD_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new DaemonThreadFactory(namePrefix)
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Creates daemon threads so that idle pools never keep the process alive
+     */
+    static final class DaemonThreadFactory implements ThreadFactory {
+        private final String namePrefix;
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        DaemonThreadFactory(@NonNull String namePrefix) {
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            Thread thread = new Thread(runnable, namePrefix + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
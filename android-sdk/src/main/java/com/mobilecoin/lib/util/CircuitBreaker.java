@@ -0,0 +1,77 @@
+// Copyright (c) 2020-2021 MobileCoin. All rights reserved.
+
+package com.mobilecoin.lib.util;
+
+import androidx.annotation.NonNull;
+
+import com.mobilecoin.lib.exceptions.NetworkException;
+
+/**
+ * Tracks the health of a single service endpoint.
+ * <p>
+ * The breaker opens after a number of consecutive endpoint failures and rejects calls while
+ * open so that clients move to another endpoint instead of waiting on a degraded one. Once the
+ * open period expires the breaker is half-open: calls are permitted again, the first success
+ * closes it and the first failure opens it for another period.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtMs;
+
+    public CircuitBreaker(int failureThreshold, long openDurationMs) {
+        if (failureThreshold < 1 || openDurationMs < 0) {
+            throw new IllegalArgumentException("Invalid circuit breaker parameters");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+    }
+
+    /**
+     * @return whether calls to the endpoint are currently permitted
+     */
+    public synchronized boolean isCallPermitted() {
+        if (state == State.OPEN
+                && System.currentTimeMillis() - openedAtMs >= openDurationMs) {
+            state = State.HALF_OPEN;
+        }
+        return state != State.OPEN;
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAtMs = System.currentTimeMillis();
+        }
+    }
+
+    @NonNull
+    public synchronized State getState() {
+        isCallPermitted();
+        return state;
+    }
+
+    /**
+     * Only server side and availability errors count against an endpoint, client errors such as
+     * an expired attestation do not.
+     */
+    public static boolean isEndpointFailure(@NonNull NetworkException exception) {
+        int statusCode = exception.getResultCode();
+        return statusCode >= 500 || statusCode == 429;
+    }
+}
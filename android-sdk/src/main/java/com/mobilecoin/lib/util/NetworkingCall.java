@@ -3,51 +3,315 @@
 package com.mobilecoin.lib.util;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.mobilecoin.lib.exceptions.NetworkException;
+import com.mobilecoin.lib.log.Logger;
+import com.mobilecoin.lib.network.NetworkResult;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Runs a network call according to a {@link RetryPolicy}.
+ * <p>
+ * Failed calls with a retryable status code are retried with exponential backoff until the
+ * attempts or the deadline budget of the policy are exhausted. Idempotent reads can be hedged:
+ * a second identical request is started if the first one does not complete within the hedge
+ * delay and the first response wins.
+ */
 public class NetworkingCall<T> {
+    private static final String TAG = NetworkingCall.class.getName();
+    private static final Random jitterRandom = new Random();
+    // hedged requests beyond this many wait for a thread
+    private static final int HEDGE_THREAD_COUNT = 8;
+    private static volatile ExecutorService hedgeExecutor;
+
     private final RetryPolicy retryPolicy;
+    private final boolean isHedgeable;
+    private final CallListener callListener;
     private final Callable<T> callable;
 
-    public NetworkingCall(@NonNull RetryPolicy retryPolicy, @NonNull Callable<T> callable) {
+    public NetworkingCall(
+            @NonNull RetryPolicy retryPolicy,
+            boolean isHedgeable,
+            @Nullable CallListener callListener,
+            @NonNull Callable<T> callable
+    ) {
         this.retryPolicy = retryPolicy;
+        this.isHedgeable = isHedgeable;
+        this.callListener = callListener;
         this.callable = callable;
     }
 
+    public NetworkingCall(@NonNull RetryPolicy retryPolicy, @NonNull Callable<T> callable) {
+        this(retryPolicy, false, null, callable);
+    }
+
     public NetworkingCall(@NonNull Callable<T> callable) {
         this(new DefaultRetryPolicy(), callable);
     }
 
     @NonNull
     public T run() throws Exception {
-        int count = 0;
+        final long startedAtMs = System.currentTimeMillis();
+        int attempt = 0;
         while (true) {
+            final long attemptStartedAtNanos = System.nanoTime();
             try {
-                return callable.call();
+                T result = (isHedgeable && retryPolicy.hedgeDelayMs >= 0)
+                        ? callHedged(startedAtMs)
+                        : callable.call();
+                if (null != callListener) {
+                    callListener.onSuccess(System.nanoTime() - attemptStartedAtNanos);
+                }
+                return result;
             } catch (NetworkException exception) {
-                // handle exception
-                if (Arrays.stream(retryPolicy.statusCodes).anyMatch(i -> i == exception.getResultCode())) {
-                    if (++count == retryPolicy.retryCount) throw exception;
-                } else {
+                if (null != callListener) {
+                    callListener.onFailure(exception);
+                }
+                if (!retryPolicy.isRetryable(exception.getResultCode())
+                        || ++attempt >= retryPolicy.maxAttempts) {
                     throw exception;
                 }
+                long backoffMs = retryPolicy.getBackoffMs(attempt, jitterRandom);
+                if (retryPolicy.deadlineMs > 0 && System.currentTimeMillis() + backoffMs
+                        - startedAtMs >= retryPolicy.deadlineMs) {
+                    Logger.w(TAG, "Deadline budget exhausted, not retrying");
+                    throw exception;
+                }
+                Logger.d(TAG, "Retrying network call", null,
+                        "attempt:", attempt,
+                        "backoff ms:", backoffMs);
+                sleep(backoffMs);
+            }
+        }
+    }
+
+    @NonNull
+    private T callHedged(long startedAtMs) throws Exception {
+        CompletionService<Result<T, Exception>> completionService =
+                new ExecutorCompletionService<>(getHedgeExecutor());
+        Task<T, Exception> task = new Task<T, Exception>() {
+            @Override
+            public T execute() throws Exception {
+                return callable.call();
+            }
+        };
+        List<Future<Result<T, Exception>>> requests = new ArrayList<>();
+        requests.add(completionService.submit(task));
+        boolean isHedged = false;
+        int pending = 1;
+        Exception error = null;
+        try {
+            while (pending > 0) {
+                long waitMs = isHedged ? Long.MAX_VALUE : retryPolicy.hedgeDelayMs;
+                if (retryPolicy.deadlineMs > 0) {
+                    long remainingMs = retryPolicy.deadlineMs
+                            - (System.currentTimeMillis() - startedAtMs);
+                    if (remainingMs <= 0) {
+                        throw new NetworkException(NetworkResult.DEADLINE_EXCEEDED);
+                    }
+                    waitMs = Math.min(waitMs, remainingMs);
+                }
+                Future<Result<T, Exception>> completed =
+                        completionService.poll(waitMs, TimeUnit.MILLISECONDS);
+                if (null == completed) {
+                    if (isHedged || retryPolicy.deadlineMs > 0 && System.currentTimeMillis()
+                            - startedAtMs >= retryPolicy.deadlineMs) {
+                        throw new NetworkException(NetworkResult.DEADLINE_EXCEEDED);
+                    }
+                    Logger.d(TAG, "Request is slow, sending a hedged request");
+                    requests.add(completionService.submit(task));
+                    isHedged = true;
+                    pending++;
+                    continue;
+                }
+                pending--;
+                Result<T, Exception> result = completed.get();
+                if (result.isOk()) {
+                    return result.getValue();
+                }
+                error = result.getError();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new NetworkException(NetworkResult.CANCELED, exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("BUG: tasks return a Result", exception);
+        } finally {
+            for (Future<Result<T, Exception>> request : requests) {
+                request.cancel(true);
+            }
+        }
+        throw error;
+    }
+
+    private static void sleep(long delayMs) throws NetworkException {
+        if (delayMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new NetworkException(NetworkResult.CANCELED, exception);
+        }
+    }
+
+    @NonNull
+    private static ExecutorService getHedgeExecutor() {
+        if (null == hedgeExecutor) {
+            synchronized (NetworkingCall.class) {
+                if (null == hedgeExecutor) {
+                    hedgeExecutor = BoundedExecutors.newDaemonPool("mobilecoin-hedge",
+                            HEDGE_THREAD_COUNT);
+                }
             }
         }
+        return hedgeExecutor;
     }
 
+    /**
+     * Observes the outcome of each attempt, i.e. to track the health of an endpoint
+     */
+    public interface CallListener {
+        void onSuccess(long latencyNanos);
+
+        void onFailure(@NonNull NetworkException exception);
+    }
+
+    /**
+     * Describes when and how failed network calls are retried.
+     * <p>
+     * The delay before retry {@code n} is {@code initialBackoff * multiplier^(n-1)} capped at
+     * {@code maxBackoff}. With jitter enabled a random delay between zero and that value is used
+     * so that clients recovering from the same outage do not retry in lockstep.
+     */
     public static class RetryPolicy {
         int[] statusCodes;
-        int retryCount;
+        int maxAttempts;
+        long initialBackoffMs;
+        long maxBackoffMs;
+        double backoffMultiplier;
+        boolean isJitterEnabled;
+        long deadlineMs;
+        long hedgeDelayMs;
+
+        public RetryPolicy() {
+            statusCodes = new int[]{403, 500, 503, 504};
+            maxAttempts = 3;
+            initialBackoffMs = 100L;
+            maxBackoffMs = 2000L;
+            backoffMultiplier = 2.0;
+            isJitterEnabled = true;
+            deadlineMs = 0L;
+            hedgeDelayMs = -1L;
+        }
+
+        /**
+         * HTTP status codes of the failures that are retried
+         */
+        @NonNull
+        public RetryPolicy withStatusCodes(@NonNull int... statusCodes) {
+            this.statusCodes = statusCodes.clone();
+            return this;
+        }
+
+        /**
+         * Total number of attempts including the first one
+         */
+        @NonNull
+        public RetryPolicy withMaxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("At least one attempt is required");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        @NonNull
+        public RetryPolicy withBackoff(long initialBackoffMs, long maxBackoffMs, double multiplier) {
+            if (initialBackoffMs < 0 || maxBackoffMs < initialBackoffMs || multiplier < 1.0) {
+                throw new IllegalArgumentException("Invalid backoff parameters");
+            }
+            this.initialBackoffMs = initialBackoffMs;
+            this.maxBackoffMs = maxBackoffMs;
+            this.backoffMultiplier = multiplier;
+            return this;
+        }
+
+        @NonNull
+        public RetryPolicy withJitter(boolean isJitterEnabled) {
+            this.isJitterEnabled = isJitterEnabled;
+            return this;
+        }
+
+        /**
+         * Time budget for all attempts of a call, 0 for no budget. No retry is started once the
+         * budget would be exceeded.
+         */
+        @NonNull
+        public RetryPolicy withDeadline(long deadlineMs) {
+            this.deadlineMs = Math.max(0L, deadlineMs);
+            return this;
+        }
+
+        /**
+         * Delay before a hedged request is sent for idempotent reads, negative to disable
+         * hedging.
+         */
+        @NonNull
+        public RetryPolicy withHedgeDelay(long hedgeDelayMs) {
+            this.hedgeDelayMs = hedgeDelayMs;
+            return this;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public long getDeadlineMs() {
+            return deadlineMs;
+        }
+
+        public long getHedgeDelayMs() {
+            return hedgeDelayMs;
+        }
+
+        boolean isRetryable(int statusCode) {
+            return Arrays.stream(statusCodes).anyMatch(code -> code == statusCode);
+        }
+
+        long getBackoffMs(int retry, @NonNull Random random) {
+            double backoff = initialBackoffMs * Math.pow(backoffMultiplier, retry - 1);
+            long cappedBackoffMs = (long) Math.min(backoff, maxBackoffMs);
+            if (!isJitterEnabled || cappedBackoffMs <= 0) {
+                return cappedBackoffMs;
+            }
+            return (long) (random.nextDouble() * (cappedBackoffMs + 1));
+        }
     }
 
+    /**
+     * Legacy policy: a single attempt, no backoff and no hedging
+     */
     public static class DefaultRetryPolicy extends RetryPolicy {
-        DefaultRetryPolicy() {
+        public DefaultRetryPolicy() {
             statusCodes = new int[]{403, 500};
-            retryCount = 1;
+            maxAttempts = 1;
+            initialBackoffMs = 0L;
+            maxBackoffMs = 0L;
+            isJitterEnabled = false;
         }
     }
 }
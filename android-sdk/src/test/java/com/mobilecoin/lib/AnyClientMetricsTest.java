@@ -0,0 +1,129 @@
+package com.mobilecoin.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import androidx.annotation.NonNull;
+
+import com.google.protobuf.Empty;
+import com.google.protobuf.StringValue;
+import com.mobilecoin.lib.exceptions.NetworkException;
+import com.mobilecoin.lib.metrics.Metrics;
+import com.mobilecoin.lib.metrics.MetricsAdapter;
+import com.mobilecoin.lib.network.NetworkResult;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+public class AnyClientMetricsTest {
+
+    private final List<String> events = new ArrayList<>();
+    private final MetricsAdapter adapter = new MetricsAdapter() {
+        @Override
+        public void incrementCounter(@NonNull String name, long delta, @NonNull String... tags) {
+            events.add(name + " " + Arrays.toString(tags));
+        }
+
+        @Override
+        public void recordGauge(@NonNull String name, double value, @NonNull String... tags) {
+            events.add(name + " " + Arrays.toString(tags));
+        }
+
+        @Override
+        public void recordHistogram(@NonNull String name, double value, @NonNull String... tags) {
+            events.add(name + " " + Arrays.toString(tags));
+        }
+    };
+
+    @Before
+    public void setUp() {
+        Metrics.addAdapter(adapter);
+    }
+
+    @After
+    public void tearDown() {
+        Metrics.clearAllAdapters();
+    }
+
+    @Test
+    public void successful_call_records_latency_and_size() throws Exception {
+        Callable<Empty> call = AnyClient.withMetrics("test.op",
+                Empty.getDefaultInstance(), Empty::getDefaultInstance);
+        call.call();
+        assertEquals(Arrays.asList(
+                Metrics.SERVICE_REQUEST_BYTES + " [operation, test.op]",
+                Metrics.SERVICE_RESPONSE_BYTES + " [operation, test.op]",
+                Metrics.SERVICE_CALL_LATENCY_MS + " [operation, test.op, result, OK]",
+                Metrics.SERVICE_CALL_COUNT + " [operation, test.op, result, OK]"
+        ), events);
+    }
+
+    @Test
+    public void failed_attempts_record_result_and_retries() throws Exception {
+        Callable<Empty> call = AnyClient.withMetrics("test.op",
+                Empty.getDefaultInstance(), () -> {
+            throw new NetworkException(NetworkResult.UNAVAILABLE);
+        });
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                call.call();
+                fail("Expected NetworkException");
+            } catch (NetworkException ignored) {
+            }
+        }
+        assertEquals(Arrays.asList(
+                Metrics.SERVICE_REQUEST_BYTES + " [operation, test.op]",
+                Metrics.SERVICE_CALL_LATENCY_MS + " [operation, test.op, result, UNAVAILABLE]",
+                Metrics.SERVICE_CALL_COUNT + " [operation, test.op, result, UNAVAILABLE]",
+                Metrics.SERVICE_CALL_RETRY_COUNT + " [operation, test.op]",
+                Metrics.SERVICE_REQUEST_BYTES + " [operation, test.op]",
+                Metrics.SERVICE_CALL_LATENCY_MS + " [operation, test.op, result, UNAVAILABLE]",
+                Metrics.SERVICE_CALL_COUNT + " [operation, test.op, result, UNAVAILABLE]"
+        ), events);
+    }
+
+    @Test
+    public void request_size_is_recorded() throws Exception {
+        List<Double> requestSizes = new ArrayList<>();
+        MetricsAdapter sizeAdapter = new MetricsAdapter() {
+            @Override
+            public void incrementCounter(@NonNull String name, long delta,
+                                         @NonNull String... tags) {
+            }
+
+            @Override
+            public void recordGauge(@NonNull String name, double value, @NonNull String... tags) {
+            }
+
+            @Override
+            public void recordHistogram(@NonNull String name, double value,
+                                        @NonNull String... tags) {
+                if (Metrics.SERVICE_REQUEST_BYTES.equals(name)) {
+                    requestSizes.add(value);
+                }
+            }
+        };
+        Metrics.addAdapter(sizeAdapter);
+        StringValue request = StringValue.of("request payload");
+        AnyClient.withMetrics("test.op", request, Empty::getDefaultInstance).call();
+        assertEquals(Collections.singletonList((double) request.getSerializedSize()),
+                requestSizes);
+    }
+
+    @Test
+    public void removing_last_adapter_disables_metrics() {
+        Metrics.addAdapter(adapter);
+        Metrics.removeAdapter(adapter);
+        assertFalse(Metrics.isEnabled());
+        Metrics.incrementCounter(Metrics.SERVICE_CALL_COUNT, 1);
+        assertEquals(0, events.size());
+    }
+}
@@ -0,0 +1,60 @@
+package com.mobilecoin.lib;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.mobilecoin.lib.exceptions.AttestationException;
+import com.mobilecoin.lib.exceptions.InvalidFogResponse;
+import com.mobilecoin.lib.exceptions.NetworkException;
+import com.mobilecoin.lib.network.NetworkResult;
+
+import org.junit.Test;
+
+public class AttestedClientTest {
+
+    @Test
+    public void transient_failures_before_sending_keep_session() {
+        assertFalse(AttestedClient.requiresReattestation(
+                new NetworkException(NetworkResult.UNAVAILABLE), false));
+        assertFalse(AttestedClient.requiresReattestation(
+                new NetworkException(NetworkResult.DEADLINE_EXCEEDED), false));
+        assertFalse(AttestedClient.requiresReattestation(
+                new NetworkException(NetworkResult.RESOURCE_EXHAUSTED), false));
+        assertFalse(AttestedClient.requiresReattestation(
+                new NetworkException(NetworkResult.CANCELED), false));
+    }
+
+    @Test
+    public void decrypted_invalid_responses_keep_session() {
+        assertFalse(AttestedClient.requiresReattestation(
+                new InvalidFogResponse("invalid data"), false));
+        assertFalse(AttestedClient.requiresReattestation(
+                new InvalidProtocolBufferException("invalid data"), false));
+    }
+
+    @Test
+    public void failures_after_sending_reset_session() {
+        assertTrue(AttestedClient.requiresReattestation(
+                new NetworkException(NetworkResult.UNAVAILABLE), true));
+        assertTrue(AttestedClient.requiresReattestation(
+                new NetworkException(NetworkResult.DEADLINE_EXCEEDED), true));
+        assertTrue(AttestedClient.requiresReattestation(
+                new NetworkException(NetworkResult.CANCELED), true));
+        assertTrue(AttestedClient.requiresReattestation(
+                new NetworkException(NetworkResult.RESOURCE_EXHAUSTED), true));
+    }
+
+    @Test
+    public void auth_and_cipher_failures_reset_session() {
+        assertTrue(AttestedClient.requiresReattestation(
+                new NetworkException(NetworkResult.PERMISSION_DENIED), false));
+        assertTrue(AttestedClient.requiresReattestation(
+                new NetworkException(NetworkResult.UNAUTHENTICATED), false));
+        assertTrue(AttestedClient.requiresReattestation(
+                new NetworkException(NetworkResult.INTERNAL), false));
+        assertTrue(AttestedClient.requiresReattestation(
+                new AttestationException("Unable to decrypt payload"), true));
+        assertTrue(AttestedClient.requiresReattestation(new IllegalStateException(), false));
+    }
+}
@@ -0,0 +1,132 @@
+package com.mobilecoin.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class AttestedSessionPoolTest {
+
+    @Test
+    public void idle_session_is_reused() throws Exception {
+        AttestedClient primary = mock(AttestedClient.class);
+        AtomicInteger created = new AtomicInteger();
+        AttestedSessionPool<AttestedClient> pool = new AttestedSessionPool<>(primary, 3, () -> {
+            created.incrementAndGet();
+            return mock(AttestedClient.class);
+        });
+        AttestedClient session = pool.checkout();
+        pool.checkin(session);
+        assertSame(primary, pool.checkout());
+        assertEquals(0, created.get());
+    }
+
+    @Test
+    public void pool_grows_up_to_max_size() throws Exception {
+        AttestedClient primary = mock(AttestedClient.class);
+        AttestedSessionPool<AttestedClient> pool =
+                new AttestedSessionPool<>(primary, 2, () -> mock(AttestedClient.class));
+        AttestedClient first = pool.checkout();
+        AttestedClient second = pool.checkout();
+        assertSame(primary, first);
+        assertNotSame(first, second);
+        assertEquals(2, pool.getSessions().size());
+    }
+
+    @Test
+    public void checkout_waits_for_returned_session() throws Exception {
+        AttestedClient primary = mock(AttestedClient.class);
+        AttestedSessionPool<AttestedClient> pool =
+                new AttestedSessionPool<>(primary, 1, () -> mock(AttestedClient.class));
+        AttestedClient session = pool.checkout();
+        AtomicReference<AttestedClient> waited = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            try {
+                waited.set(pool.checkout());
+            } catch (Exception ignored) {
+            }
+            done.countDown();
+        });
+        thread.start();
+        assertEquals(1, done.getCount());
+        pool.checkin(session);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertSame(primary, waited.get());
+        assertEquals(1, pool.getSessions().size());
+    }
+
+    @Test
+    public void async_checkout_waits_for_returned_session() throws Exception {
+        AttestedClient primary = mock(AttestedClient.class);
+        AttestedSessionPool<AttestedClient> pool =
+                new AttestedSessionPool<>(primary, 1, () -> mock(AttestedClient.class));
+        AttestedClient session = pool.checkout();
+        CompletableFuture<AttestedClient> waited = pool.checkoutAsync();
+        assertFalse(waited.isDone());
+        pool.checkin(session);
+        assertSame(primary, waited.get(5, TimeUnit.SECONDS));
+        assertEquals(1, pool.getSessions().size());
+    }
+
+    @Test
+    public void cancelled_async_checkout_does_not_take_session() throws Exception {
+        AttestedClient primary = mock(AttestedClient.class);
+        AttestedSessionPool<AttestedClient> pool =
+                new AttestedSessionPool<>(primary, 1, () -> mock(AttestedClient.class));
+        AttestedClient session = pool.checkout();
+        CompletableFuture<AttestedClient> cancelled = pool.checkoutAsync();
+        CompletableFuture<AttestedClient> waited = pool.checkoutAsync();
+        cancelled.cancel(false);
+        pool.checkin(session);
+        assertSame(primary, waited.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void session_is_visible_once_created() throws Exception {
+        AttestedClient primary = mock(AttestedClient.class);
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AttestedSessionPool<AttestedClient> pool = new AttestedSessionPool<>(primary, 2, () -> {
+            creating.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+            }
+            return mock(AttestedClient.class);
+        });
+        pool.checkout();
+        Thread creator = new Thread(() -> {
+            try {
+                pool.checkout();
+            } catch (Exception ignored) {
+            }
+        });
+        creator.start();
+        assertTrue(creating.await(5, TimeUnit.SECONDS));
+        // a configuration change looking for sessions waits for the one being created
+        AtomicReference<Integer> sessionCount = new AtomicReference<>();
+        Thread configurer = new Thread(() -> sessionCount.set(pool.getSessions().size()));
+        configurer.start();
+        configurer.join(100);
+        release.countDown();
+        configurer.join(5000);
+        creator.join(5000);
+        assertEquals(Integer.valueOf(2), sessionCount.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void empty_pool_is_rejected() {
+        new AttestedSessionPool<>(mock(AttestedClient.class), 0, () -> mock(AttestedClient.class));
+    }
+}
@@ -0,0 +1,107 @@
+package com.mobilecoin.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.mobilecoin.lib.network.uri.MobileCoinUri;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+public class EwmaLoadBalancerTest {
+
+  private static final long FAST_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+  private static final long SLOW_NANOS = TimeUnit.MILLISECONDS.toNanos(800);
+
+  private final MobileCoinUri fastUri = mock(MobileCoinUri.class);
+  private final MobileCoinUri slowUri = mock(MobileCoinUri.class);
+  private long nowMs;
+  private EwmaLoadBalancer loadBalancer;
+
+  @Before
+  public void setUp() {
+    nowMs = 1_000_000L;
+    loadBalancer = new EwmaLoadBalancer(Arrays.asList(fastUri, slowUri), new Random(42),
+        () -> nowMs);
+  }
+
+  @Test
+  public void prefers_faster_endpoint() {
+    for (int i = 0; i < 5; i++) {
+      loadBalancer.onRequestSucceeded(fastUri, FAST_NANOS);
+      loadBalancer.onRequestSucceeded(slowUri, SLOW_NANOS);
+    }
+    for (int i = 0; i < 20; i++) {
+      assertEquals(fastUri, loadBalancer.getNextServiceUri());
+    }
+  }
+
+  @Test
+  public void errors_outweigh_latency() {
+    loadBalancer.onRequestSucceeded(fastUri, FAST_NANOS);
+    loadBalancer.onRequestSucceeded(slowUri, FAST_NANOS * 3);
+    loadBalancer.onRequestFailed(fastUri);
+    loadBalancer.onRequestFailed(fastUri);
+    assertFalse(loadBalancer.isEjected(fastUri));
+    assertEquals(slowUri, loadBalancer.getNextServiceUri());
+  }
+
+  @Test
+  public void failing_endpoint_without_samples_is_not_preferred() {
+    loadBalancer.onRequestSucceeded(slowUri, SLOW_NANOS);
+    loadBalancer.onRequestFailed(fastUri);
+    loadBalancer.onRequestFailed(fastUri);
+    assertFalse(loadBalancer.isEjected(fastUri));
+    for (int i = 0; i < 20; i++) {
+      assertEquals(slowUri, loadBalancer.getNextServiceUri());
+    }
+  }
+
+  @Test
+  public void unmeasured_endpoint_gets_traffic() {
+    loadBalancer.onRequestSucceeded(slowUri, SLOW_NANOS);
+    boolean isUnmeasuredPicked = false;
+    for (int i = 0; i < 20 && !isUnmeasuredPicked; i++) {
+      isUnmeasuredPicked = fastUri.equals(loadBalancer.getNextServiceUri());
+    }
+    assertTrue(isUnmeasuredPicked);
+  }
+
+  @Test
+  public void failing_endpoint_is_ejected_and_readmitted_slowly() {
+    loadBalancer.onRequestSucceeded(fastUri, FAST_NANOS);
+    loadBalancer.onRequestSucceeded(slowUri, FAST_NANOS * 2);
+    for (int i = 0; i < 3; i++) {
+      loadBalancer.onRequestFailed(fastUri);
+    }
+    assertTrue(loadBalancer.isEjected(fastUri));
+    assertEquals(slowUri, loadBalancer.getNextServiceUri());
+
+    // readmitted after the ejection period but still penalized
+    nowMs += TimeUnit.SECONDS.toMillis(6);
+    assertFalse(loadBalancer.isEjected(fastUri));
+    assertEquals(slowUri, loadBalancer.getNextServiceUri());
+
+    // a failure during readmission ejects it again
+    loadBalancer.onRequestFailed(fastUri);
+    assertTrue(loadBalancer.isEjected(fastUri));
+  }
+
+  @Test
+  public void all_ejected_returns_first_readmitted() {
+    for (int i = 0; i < 3; i++) {
+      loadBalancer.onRequestFailed(fastUri);
+    }
+    nowMs += 1000;
+    for (int i = 0; i < 3; i++) {
+      loadBalancer.onRequestFailed(slowUri);
+    }
+    assertEquals(fastUri, loadBalancer.getNextServiceUri());
+  }
+}
@@ -0,0 +1,123 @@
+package com.mobilecoin.lib;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class FileStorageAdapterTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void values_round_trip_and_are_replaced() throws Exception {
+        FileStorageAdapter storage = new FileStorageAdapter(folder.getRoot());
+        assertFalse(storage.has("key/with:separators"));
+        assertNull(storage.get("key/with:separators"));
+        storage.set("key/with:separators", new byte[]{1, 2, 3});
+        assertTrue(storage.has("key/with:separators"));
+        assertArrayEquals(new byte[]{1, 2, 3}, storage.get("key/with:separators"));
+        storage.set("key/with:separators", new byte[0]);
+        assertArrayEquals(new byte[0], storage.get("key/with:separators"));
+        storage.clear("key/with:separators");
+        assertFalse(storage.has("key/with:separators"));
+    }
+
+    @Test
+    public void mapped_values_stream_in_place() throws Exception {
+        FileStorageAdapter storage = new FileStorageAdapter(folder.getRoot(), 0);
+        byte[] value = new byte[100_000];
+        Arrays.fill(value, (byte) 5);
+        try (OutputStream outputStream = storage.openOutputStream("large")) {
+            outputStream.write(value, 0, 40_000);
+            outputStream.write(value, 40_000, 60_000);
+        }
+        try (InputStream inputStream = storage.openInputStream("large")) {
+            assertNotNull(inputStream);
+            assertEquals(value.length, inputStream.available());
+            byte[] read = new byte[value.length];
+            int offset = 0;
+            int count;
+            while ((count = inputStream.read(read, offset, read.length - offset)) > 0) {
+                offset += count;
+            }
+            assertArrayEquals(value, read);
+        }
+    }
+
+    @Test
+    public void corrupted_values_are_rejected() throws Exception {
+        FileStorageAdapter storage = new FileStorageAdapter(folder.getRoot());
+        storage.set("key", new byte[]{1, 2, 3, 4});
+        File[] files = folder.getRoot().listFiles();
+        assertNotNull(files);
+        assertEquals(1, files.length);
+        try (RandomAccessFile file = new RandomAccessFile(files[0], "rw")) {
+            file.seek(FileStorageAdapter.HEADER_SIZE + 1);
+            file.write(9);
+        }
+        assertFalse(storage.has("key"));
+        assertNull(storage.get("key"));
+        assertNull(storage.openInputStream("key"));
+    }
+
+    @Test
+    public void failed_sets_remove_the_temporary_file() throws Exception {
+        FileStorageAdapter storage = new FileStorageAdapter(folder.getRoot());
+        // the value file cannot be replaced by a directory
+        assertTrue(storage.getValueFile("key").mkdir());
+        try {
+            storage.set("key", new byte[]{1, 2, 3});
+            fail("Expected an exception");
+        } catch (IllegalStateException expected) {
+            File[] files = folder.getRoot().listFiles();
+            assertNotNull(files);
+            assertEquals(1, files.length);
+            assertTrue(files[0].isDirectory());
+        }
+    }
+
+    @Test
+    public void stores_are_parsed_from_mapped_values() throws Exception {
+        FileStorageAdapter storage = new FileStorageAdapter(folder.getRoot(), 0);
+        TxOutStore store = new TxOutStore(mock(AccountKey.class));
+        store.setViewBlockIndex(UnsignedLong.fromLongBits(42));
+        storage.set("store", store.toByteArray());
+
+        ByteBuffer value = TxOutStoreFormat.readValue(storage, "store");
+        assertNotNull(value);
+        assertTrue(value.isDirect());
+        TxOutStore restored = TxOutStore.fromBuffer(value);
+        assertEquals(UnsignedLong.fromLongBits(42), restored.getViewBlockIndex());
+        assertNull(TxOutStoreFormat.readValue(storage, "missing"));
+    }
+
+    @Test
+    public void interrupted_writes_are_discarded() throws Exception {
+        FileStorageAdapter storage = new FileStorageAdapter(folder.getRoot());
+        storage.set("key", new byte[]{1});
+        OutputStream outputStream = storage.openOutputStream("key");
+        outputStream.write(new byte[]{2, 3});
+        assertArrayEquals(new byte[]{1}, storage.get("key"));
+        // a new adapter cleans the temporary file of the unfinished write
+        FileStorageAdapter reopened = new FileStorageAdapter(folder.getRoot());
+        assertEquals(1, folder.getRoot().listFiles().length);
+        assertArrayEquals(new byte[]{1}, reopened.get("key"));
+    }
+}
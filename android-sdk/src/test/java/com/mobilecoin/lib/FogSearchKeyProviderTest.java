@@ -0,0 +1,40 @@
+package com.mobilecoin.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+public class FogSearchKeyProviderTest {
+
+    @Test
+    public void obsolete_seeds_are_not_queried() throws Exception {
+        FogSeed seed = mock(FogSeed.class);
+        when(seed.isObsolete()).thenReturn(true);
+        FogSearchKeyProvider provider = new FogSearchKeyProvider(Collections.singleton(seed));
+        assertFalse(provider.hasKeys());
+        assertTrue(provider.getNSearchKeys(10).isEmpty());
+        assertEquals(1, provider.getCompletedSeedCount());
+        verify(seed, never()).getNextN(anyLong());
+    }
+
+    @Test
+    public void completed_seeds_release_their_rng() throws Exception {
+        FogSeed seed = mock(FogSeed.class);
+        when(seed.getNextN(2)).thenReturn(new byte[][]{{1}, {2}});
+        FogSearchKeyProvider provider = new FogSearchKeyProvider(Collections.singleton(seed));
+        assertEquals(2, provider.getNSearchKeys(2).size());
+        verify(seed, never()).releaseKexRng();
+        provider.markSeedComplete(seed);
+        assertFalse(provider.hasKeys());
+        verify(seed).releaseKexRng();
+    }
+}
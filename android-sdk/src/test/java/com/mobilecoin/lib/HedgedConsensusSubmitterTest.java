@@ -0,0 +1,284 @@
+package com.mobilecoin.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.ByteString;
+import com.mobilecoin.api.MobileCoinAPI;
+import com.mobilecoin.lib.exceptions.NetworkException;
+import com.mobilecoin.lib.network.NetworkResult;
+import com.mobilecoin.lib.util.AsyncCall;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import consensus_common.ConsensusCommon;
+import fog_ledger.Ledger;
+
+public class HedgedConsensusSubmitterTest {
+
+    private static final MobileCoinAPI.CompressedRistretto OUTPUT_KEY =
+            MobileCoinAPI.CompressedRistretto.newBuilder()
+                    .setData(ByteString.copyFrom(new byte[]{7}))
+                    .build();
+    private static final MobileCoinAPI.Tx TX = MobileCoinAPI.Tx.newBuilder()
+            .setPrefix(MobileCoinAPI.TxPrefix.newBuilder()
+                    .setTombstoneBlock(100)
+                    .addOutputs(MobileCoinAPI.TxOut.newBuilder().setPublicKey(OUTPUT_KEY)))
+            .build();
+
+    private final AttestedConsensusClient first = mock(AttestedConsensusClient.class);
+    private final AttestedConsensusClient second = mock(AttestedConsensusClient.class);
+    private final FogUntrustedClient untrustedClient = mock(FogUntrustedClient.class);
+
+    @Test
+    public void fast_node_does_not_hedge() throws Exception {
+        when(first.proposeTx(any())).thenReturn(response(ConsensusCommon.ProposeTxResult.Ok));
+        HedgedConsensusSubmitter submitter =
+                new HedgedConsensusSubmitter(Arrays.asList(first, second), untrustedClient, 5000L);
+
+        assertEquals(ConsensusCommon.ProposeTxResult.Ok, submitter.proposeTx(TX).getResult());
+        verify(second, never()).proposeTx(any());
+        submitter.shutdown();
+    }
+
+    @Test
+    public void slow_node_is_hedged_to_next_node() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(first.proposeTx(any())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return response(ConsensusCommon.ProposeTxResult.Ok);
+        });
+        when(second.proposeTx(any())).thenReturn(response(ConsensusCommon.ProposeTxResult.Ok));
+        HedgedConsensusSubmitter submitter =
+                new HedgedConsensusSubmitter(Arrays.asList(first, second), untrustedClient, 50L);
+
+        assertEquals(ConsensusCommon.ProposeTxResult.Ok, submitter.proposeTx(TX).getResult());
+        verify(second).proposeTx(any());
+        release.countDown();
+        submitter.shutdown();
+    }
+
+    @Test
+    public void failed_node_falls_back_to_next_node() throws Exception {
+        when(first.proposeTx(any())).thenThrow(new NetworkException(NetworkResult.UNAVAILABLE));
+        when(second.proposeTx(any())).thenReturn(response(ConsensusCommon.ProposeTxResult.Ok));
+        HedgedConsensusSubmitter submitter =
+                new HedgedConsensusSubmitter(Arrays.asList(first, second), untrustedClient, 5000L);
+
+        assertEquals(ConsensusCommon.ProposeTxResult.Ok, submitter.proposeTx(TX).getResult());
+        submitter.shutdown();
+    }
+
+    @Test
+    public void rejection_is_returned_without_proposing_to_next_node() throws Exception {
+        when(first.proposeTx(any())).thenReturn(
+                response(ConsensusCommon.ProposeTxResult.TombstoneBlockExceeded));
+        when(second.proposeTx(any())).thenReturn(response(ConsensusCommon.ProposeTxResult.Ok));
+        HedgedConsensusSubmitter submitter =
+                new HedgedConsensusSubmitter(Arrays.asList(first, second), untrustedClient, 5000L);
+
+        assertEquals(ConsensusCommon.ProposeTxResult.TombstoneBlockExceeded,
+                submitter.proposeTx(TX).getResult());
+        verify(second, never()).proposeTx(any());
+        submitter.shutdown();
+    }
+
+    @Test
+    public void duplicate_waits_for_hedged_proposal_in_flight() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(first.proposeTx(any())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return response(ConsensusCommon.ProposeTxResult.ContainsSpentKeyImage);
+        });
+        when(second.proposeTx(any())).thenAnswer(invocation -> {
+            release.countDown();
+            Thread.sleep(200L);
+            return response(ConsensusCommon.ProposeTxResult.Ok);
+        });
+        when(untrustedClient.fetchTxOutsByCompressedKeys(any()))
+                .thenReturn(txOutResponse(Ledger.TxOutResultCode.NotFound));
+        HedgedConsensusSubmitter submitter =
+                new HedgedConsensusSubmitter(Arrays.asList(first, second), untrustedClient, 50L);
+
+        assertEquals(ConsensusCommon.ProposeTxResult.Ok, submitter.proposeTx(TX).getResult());
+        submitter.shutdown();
+    }
+
+    @Test
+    public void duplicate_after_hedge_is_success_once_outputs_are_in_ledger() throws Exception {
+        when(first.proposeTx(any())).thenThrow(new NetworkException(NetworkResult.DEADLINE_EXCEEDED));
+        when(second.proposeTx(any())).thenReturn(
+                response(ConsensusCommon.ProposeTxResult.ContainsSpentKeyImage));
+        when(untrustedClient.fetchTxOutsByCompressedKeys(any()))
+                .thenReturn(txOutResponse(Ledger.TxOutResultCode.Found));
+        HedgedConsensusSubmitter submitter =
+                new HedgedConsensusSubmitter(Arrays.asList(first, second), untrustedClient, 0L);
+
+        assertEquals(ConsensusCommon.ProposeTxResult.Ok, submitter.proposeTx(TX).getResult());
+        verify(untrustedClient).fetchTxOutsByCompressedKeys(
+                Collections.singletonList(OUTPUT_KEY));
+        submitter.shutdown();
+    }
+
+    @Test
+    public void duplicate_after_hedge_spent_by_other_transaction_is_rejected() throws Exception {
+        when(first.proposeTx(any())).thenThrow(new NetworkException(NetworkResult.DEADLINE_EXCEEDED));
+        when(second.proposeTx(any())).thenReturn(
+                response(ConsensusCommon.ProposeTxResult.ContainsSpentKeyImage));
+        // Fog has every block consensus has and the outputs are not there
+        when(untrustedClient.fetchTxOutsByCompressedKeys(any()))
+                .thenReturn(txOutResponse(Ledger.TxOutResultCode.NotFound));
+        HedgedConsensusSubmitter submitter =
+                new HedgedConsensusSubmitter(Arrays.asList(first, second), untrustedClient, 0L);
+
+        assertEquals(ConsensusCommon.ProposeTxResult.ContainsSpentKeyImage,
+                submitter.proposeTx(TX).getResult());
+        submitter.shutdown();
+    }
+
+    @Test
+    public void duplicate_on_first_proposal_is_rejected() throws Exception {
+        when(first.proposeTx(any())).thenReturn(
+                response(ConsensusCommon.ProposeTxResult.ContainsSpentKeyImage));
+        when(untrustedClient.fetchTxOutsByCompressedKeys(any()))
+                .thenReturn(txOutResponse(Ledger.TxOutResultCode.NotFound));
+        HedgedConsensusSubmitter submitter =
+                new HedgedConsensusSubmitter(Arrays.asList(first), untrustedClient, 5000L);
+
+        assertEquals(ConsensusCommon.ProposeTxResult.ContainsSpentKeyImage,
+                submitter.proposeTx(TX).getResult());
+        verify(untrustedClient, never()).fetchTxOutsByCompressedKeys(any());
+        // a resubmission is only a success if the outputs are in the ledger
+        assertEquals(ConsensusCommon.ProposeTxResult.ContainsSpentKeyImage,
+                submitter.proposeTx(TX).getResult());
+        verify(first, times(2)).proposeTx(any());
+        submitter.shutdown();
+    }
+
+    @Test
+    public void all_nodes_failing_rethrows() throws Exception {
+        when(first.proposeTx(any())).thenThrow(new NetworkException(NetworkResult.UNAVAILABLE));
+        when(second.proposeTx(any())).thenThrow(new NetworkException(NetworkResult.UNAVAILABLE));
+        HedgedConsensusSubmitter submitter =
+                new HedgedConsensusSubmitter(Arrays.asList(first, second), untrustedClient, 0L);
+        try {
+            submitter.proposeTx(TX);
+            fail("Expected NetworkException");
+        } catch (NetworkException exception) {
+            assertEquals(NetworkResult.ResultCode.UNAVAILABLE,
+                    exception.getResult().getResultCode());
+        }
+        submitter.shutdown();
+    }
+
+    @Test
+    public void async_fast_node_does_not_hedge() throws Exception {
+        when(first.proposeTxAsync(any())).thenReturn(
+                CompletableFuture.completedFuture(response(ConsensusCommon.ProposeTxResult.Ok)));
+        HedgedConsensusSubmitter submitter =
+                new HedgedConsensusSubmitter(Arrays.asList(first, second), untrustedClient, 5000L);
+
+        assertEquals(ConsensusCommon.ProposeTxResult.Ok,
+                submitter.proposeTxAsync(TX).get(5, TimeUnit.SECONDS).getResult());
+        verify(second, never()).proposeTxAsync(any());
+        submitter.shutdown();
+    }
+
+    @Test
+    public void async_slow_node_is_hedged_to_next_node() throws Exception {
+        CompletableFuture<ConsensusCommon.ProposeTxResponse> slow = new CompletableFuture<>();
+        when(first.proposeTxAsync(any())).thenReturn(slow);
+        when(second.proposeTxAsync(any())).thenReturn(
+                CompletableFuture.completedFuture(response(ConsensusCommon.ProposeTxResult.Ok)));
+        HedgedConsensusSubmitter submitter =
+                new HedgedConsensusSubmitter(Arrays.asList(first, second), untrustedClient, 50L);
+
+        assertEquals(ConsensusCommon.ProposeTxResult.Ok,
+                submitter.proposeTxAsync(TX).get(5, TimeUnit.SECONDS).getResult());
+        verify(second).proposeTxAsync(any());
+        submitter.shutdown();
+    }
+
+    @Test
+    public void async_duplicate_after_hedge_is_success_once_outputs_are_in_ledger()
+            throws Exception {
+        when(first.proposeTxAsync(any())).thenReturn(
+                AsyncCall.failed(new NetworkException(NetworkResult.DEADLINE_EXCEEDED)));
+        when(second.proposeTxAsync(any())).thenReturn(CompletableFuture.completedFuture(
+                response(ConsensusCommon.ProposeTxResult.ContainsSpentKeyImage)));
+        when(untrustedClient.fetchTxOutsByCompressedKeysAsync(any())).thenReturn(
+                CompletableFuture.completedFuture(txOutResponse(Ledger.TxOutResultCode.Found)));
+        HedgedConsensusSubmitter submitter =
+                new HedgedConsensusSubmitter(Arrays.asList(first, second), untrustedClient, 0L);
+
+        assertEquals(ConsensusCommon.ProposeTxResult.Ok,
+                submitter.proposeTxAsync(TX).get(5, TimeUnit.SECONDS).getResult());
+        verify(untrustedClient).fetchTxOutsByCompressedKeysAsync(
+                Collections.singletonList(OUTPUT_KEY));
+        submitter.shutdown();
+    }
+
+    @Test
+    public void async_rejection_is_returned_without_proposing_to_next_node() throws Exception {
+        when(first.proposeTxAsync(any())).thenReturn(CompletableFuture.completedFuture(
+                response(ConsensusCommon.ProposeTxResult.TombstoneBlockExceeded)));
+        HedgedConsensusSubmitter submitter =
+                new HedgedConsensusSubmitter(Arrays.asList(first, second), untrustedClient, 5000L);
+
+        assertEquals(ConsensusCommon.ProposeTxResult.TombstoneBlockExceeded,
+                submitter.proposeTxAsync(TX).get(5, TimeUnit.SECONDS).getResult());
+        verify(second, never()).proposeTxAsync(any());
+        submitter.shutdown();
+    }
+
+    @Test
+    public void async_all_nodes_failing_completes_exceptionally() throws Exception {
+        when(first.proposeTxAsync(any())).thenReturn(
+                AsyncCall.failed(new NetworkException(NetworkResult.UNAVAILABLE)));
+        when(second.proposeTxAsync(any())).thenReturn(
+                AsyncCall.failed(new NetworkException(NetworkResult.UNAVAILABLE)));
+        HedgedConsensusSubmitter submitter =
+                new HedgedConsensusSubmitter(Arrays.asList(first, second), untrustedClient, 0L);
+        try {
+            submitter.proposeTxAsync(TX).get(5, TimeUnit.SECONDS);
+            fail("Expected NetworkException");
+        } catch (ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof NetworkException);
+        }
+        verify(second).proposeTxAsync(any());
+        submitter.shutdown();
+    }
+
+    private static Ledger.TxOutResponse txOutResponse(Ledger.TxOutResultCode resultCode) {
+        return Ledger.TxOutResponse.newBuilder()
+                .setNumBlocks(10)
+                .addResults(Ledger.TxOutResult.newBuilder()
+                        .setTxOutPubkey(OUTPUT_KEY)
+                        .setResultCode(resultCode))
+                .build();
+    }
+
+    private static ConsensusCommon.ProposeTxResponse response(
+            ConsensusCommon.ProposeTxResult result
+    ) {
+        return ConsensusCommon.ProposeTxResponse.newBuilder()
+                .setResult(result)
+                .setBlockCount(10)
+                .setErrMsgBytes(ByteString.EMPTY)
+                .build();
+    }
+}
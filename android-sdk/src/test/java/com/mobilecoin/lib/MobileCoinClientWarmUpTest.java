@@ -0,0 +1,100 @@
+package com.mobilecoin.lib;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+
+import com.mobilecoin.lib.exceptions.AttestationException;
+import com.mobilecoin.lib.exceptions.NetworkException;
+import com.mobilecoin.lib.network.NetworkResult;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class MobileCoinClientWarmUpTest {
+
+    private final AccountKey accountKey = mock(AccountKey.class);
+    private final TxOutStore txOutStore = mock(TxOutStore.class);
+    private final FogReportsManager fogReportsManager = mock(FogReportsManager.class);
+    private final AttestedViewClient viewClient = mock(AttestedViewClient.class);
+    private final AttestedLedgerClient ledgerClient = mock(AttestedLedgerClient.class);
+    private final AttestedConsensusClient consensusClient = mock(AttestedConsensusClient.class);
+    private final BlockchainClient blockchainClient = mock(BlockchainClient.class);
+    private MobileCoinClient mobileCoinClient;
+
+    @Before
+    public void setUp() {
+        Uri fogReportUri = mock(Uri.class);
+        when(fogReportUri.getScheme()).thenReturn("fog");
+        when(fogReportUri.getHost()).thenReturn("fog.example.com");
+        when(fogReportUri.getPort()).thenReturn(443);
+        when(accountKey.getFogReportUri()).thenReturn(fogReportUri);
+        when(txOutStore.getCurrentBlockIndex()).thenReturn(UnsignedLong.TEN);
+        mobileCoinClient = new MobileCoinClient(accountKey, txOutStore,
+                new ClientConfig(), null, fogReportsManager,
+                mock(FogBlockClient.class), mock(FogUntrustedClient.class), viewClient,
+                ledgerClient, consensusClient, blockchainClient);
+    }
+
+    @Test
+    public void warm_up_attests_services_and_prefetches_state() throws Exception {
+        mobileCoinClient.warmUp();
+
+        verify(viewClient).getNetworkTransport();
+        verify(ledgerClient).getNetworkTransport();
+        verify(consensusClient).getNetworkTransport();
+        verify(blockchainClient).getOrFetchLastBlockInfo();
+        verify(fogReportsManager).fetchReports(anySet(), any(), any());
+    }
+
+    @Test
+    public void warm_up_reports_failure_after_all_tasks_ran() throws Exception {
+        when(ledgerClient.getNetworkTransport())
+                .thenThrow(new AttestationException("Unable to attest"));
+        when(blockchainClient.getOrFetchLastBlockInfo())
+                .thenThrow(new NetworkException(NetworkResult.UNAVAILABLE));
+        try {
+            mobileCoinClient.warmUp();
+            fail("Expected an exception");
+        } catch (AttestationException | NetworkException exception) {
+            verify(viewClient).getNetworkTransport();
+            verify(consensusClient).getNetworkTransport();
+            verify(fogReportsManager).fetchReports(anySet(), any(), any());
+        }
+    }
+
+    @Test
+    public void background_warm_up_runs_after_construction() throws Exception {
+        CountDownLatch tasksRun = new CountDownLatch(5);
+        when(viewClient.getNetworkTransport()).thenAnswer(countDown(tasksRun));
+        when(ledgerClient.getNetworkTransport()).thenAnswer(countDown(tasksRun));
+        when(consensusClient.getNetworkTransport()).thenAnswer(countDown(tasksRun));
+        when(blockchainClient.getOrFetchLastBlockInfo()).thenAnswer(countDown(tasksRun));
+        when(fogReportsManager.fetchReports(anySet(), any(), any()))
+                .thenAnswer(countDown(tasksRun));
+
+        mobileCoinClient.startWarmUp();
+
+        assertTrue(tasksRun.await(5, TimeUnit.SECONDS));
+    }
+
+    @NonNull
+    private static Answer<Object> countDown(@NonNull CountDownLatch latch) {
+        return invocation -> {
+            latch.countDown();
+            return null;
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.mobilecoin.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+
+import com.mobilecoin.lib.metrics.Metrics;
+import com.mobilecoin.lib.metrics.MetricsAdapter;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class NativeCallMetricsTest {
+
+    private final List<String> events = new ArrayList<>();
+    private final MetricsAdapter adapter = new MetricsAdapter() {
+        @Override
+        public void incrementCounter(@NonNull String name, long delta, @NonNull String... tags) {
+            events.add(name + " " + Arrays.toString(tags));
+        }
+
+        @Override
+        public void recordGauge(@NonNull String name, double value, @NonNull String... tags) {
+            events.add(name + " " + Arrays.toString(tags));
+        }
+
+        @Override
+        public void recordHistogram(@NonNull String name, double value, @NonNull String... tags) {
+            events.add(name + " " + value + " " + Arrays.toString(tags));
+        }
+    };
+
+    @After
+    public void tearDown() {
+        Metrics.clearAllAdapters();
+    }
+
+    @Test
+    public void disabled_instrumentation_records_nothing() {
+        long callStart = NativeCallMetrics.start();
+        Metrics.addAdapter(adapter);
+        NativeCallMetrics.record("encrypt_payload", callStart, 10);
+        NativeCallMetrics.recordFailure("encrypt_payload", callStart);
+        assertEquals(0, callStart);
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void successful_call_records_latency_count_and_size() {
+        Metrics.addAdapter(adapter);
+        long callStart = NativeCallMetrics.start();
+        NativeCallMetrics.record("decrypt_payload", callStart, 100);
+        assertEquals(3, events.size());
+        assertTrue(events.get(0).startsWith(Metrics.NATIVE_CALL_LATENCY_MS));
+        assertTrue(events.get(0).endsWith("[operation, decrypt_payload, result, OK]"));
+        assertEquals(Metrics.NATIVE_CALL_COUNT + " [operation, decrypt_payload, result, OK]",
+                events.get(1));
+        assertEquals(Metrics.NATIVE_CALL_BYTES + " 100.0 [operation, decrypt_payload]",
+                events.get(2));
+    }
+
+    @Test
+    public void failed_call_records_error_result() {
+        Metrics.addAdapter(adapter);
+        long callStart = NativeCallMetrics.start();
+        NativeCallMetrics.recordFailure("unmask_amount", callStart);
+        assertEquals(2, events.size());
+        assertTrue(events.get(0).startsWith(Metrics.NATIVE_CALL_LATENCY_MS));
+        assertTrue(events.get(0).endsWith("[operation, unmask_amount, result, ERROR]"));
+        assertEquals(Metrics.NATIVE_CALL_COUNT + " [operation, unmask_amount, result, ERROR]",
+                events.get(1));
+    }
+}
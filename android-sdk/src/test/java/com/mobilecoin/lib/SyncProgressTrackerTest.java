@@ -0,0 +1,56 @@
+package com.mobilecoin.lib;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SyncProgressTrackerTest {
+
+    @Test
+    public void eta_extrapolates_phase_throughput() {
+        AtomicLong clock = new AtomicLong();
+        SyncProgressTracker tracker = new SyncProgressTracker(null,
+                UnsignedLong.fromLongBits(100), clock::get);
+        tracker.startPhase(SyncProgress.Phase.FOG_MISSES, 40);
+        assertEquals(SyncProgress.UNKNOWN_ETA, tracker.getProgress().getEstimatedRemainingMs());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        tracker.setPhaseProgress(10, 40);
+        assertEquals(1500, tracker.getProgress().getEstimatedRemainingMs());
+        tracker.setPhaseProgress(40, 40);
+        assertEquals(0, tracker.getProgress().getEstimatedRemainingMs());
+    }
+
+    @Test
+    public void blocks_remaining_are_relative_to_consensus() {
+        SyncProgressTracker tracker = new SyncProgressTracker(null, UnsignedLong.fromLongBits(100));
+        tracker.setSyncedBlockIndex(UnsignedLong.fromLongBits(90));
+        assertEquals(UnsignedLong.TEN, tracker.getProgress().getBlocksRemaining());
+        tracker.setSyncedBlockIndex(UnsignedLong.fromLongBits(120));
+        assertEquals(UnsignedLong.ZERO, tracker.getProgress().getBlocksRemaining());
+    }
+
+    @Test
+    public void listener_receives_reports_and_failures_are_ignored() {
+        List<SyncProgress> reports = new ArrayList<>();
+        SyncProgressTracker tracker = new SyncProgressTracker(progress -> {
+            reports.add(progress);
+            throw new IllegalStateException("listener failure");
+        }, UnsignedLong.ZERO);
+        tracker.setSeeds(1, 3);
+        tracker.addTxOutsFound(2);
+        tracker.report();
+        tracker.startPhase(SyncProgress.Phase.COMPLETE, 0);
+        tracker.report();
+        assertEquals(2, reports.size());
+        assertEquals(1, reports.get(0).getSeedsCompleted());
+        assertEquals(3, reports.get(0).getSeedsTotal());
+        assertEquals(2, reports.get(0).getTxOutsFound());
+        assertEquals(SyncProgress.Phase.COMPLETE, reports.get(1).getPhase());
+        assertEquals(0, reports.get(1).getEstimatedRemainingMs());
+    }
+}
@@ -0,0 +1,169 @@
+package com.mobilecoin.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.ByteString;
+import com.mobilecoin.api.MobileCoinAPI;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import consensus_common.ConsensusCommon;
+import fog_ledger.Ledger;
+
+public class TransactionStatusWatcherTest {
+
+    private final FogUntrustedClient untrustedClient = mock(FogUntrustedClient.class);
+    private final AttestedLedgerClient ledgerClient = mock(AttestedLedgerClient.class);
+    private final BlockchainClient blockchainClient = mock(BlockchainClient.class);
+    private final TransactionStatusWatcher watcher = new TransactionStatusWatcher(
+            untrustedClient, ledgerClient, blockchainClient, 10L);
+
+    @After
+    public void tearDown() {
+        watcher.shutdown();
+    }
+
+    @Test
+    public void batches_transactions_and_receipts_into_single_request() throws Exception {
+        RistrettoPublic txKey = mockPublicKey(1);
+        RistrettoPublic receiptKey = mockPublicKey(2);
+        Transaction transaction = mockTransaction(txKey, KeyImage.fromBytes(new byte[]{1}), 100L);
+        Receipt receipt = mockReceipt(receiptKey, 100L);
+        Ledger.TxOutResponse txOutResponse = Ledger.TxOutResponse.newBuilder()
+                .setNumBlocks(11)
+                .addResults(found(txKey, 7))
+                .addResults(found(receiptKey, 9))
+                .build();
+        when(untrustedClient.fetchTxOuts(any())).thenReturn(txOutResponse);
+
+        CountDownLatch completed = new CountDownLatch(2);
+        AtomicReference<TransactionStatus> txStatus = new AtomicReference<>();
+        AtomicReference<ReceiptStatus> receiptStatus = new AtomicReference<>();
+        synchronized (watcher) {
+            watcher.watch(transaction, status -> {
+                txStatus.set(status);
+                completed.countDown();
+            });
+            watcher.watch(receipt, status -> {
+                receiptStatus.set(status);
+                completed.countDown();
+            });
+        }
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(Transaction.Status.ACCEPTED, txStatus.get().getStatus());
+        assertEquals(Receipt.Status.RECEIVED, receiptStatus.get().getStatus());
+        // statuses completed in the same batch keep their own block index
+        assertEquals(UnsignedLong.fromLongBits(7), txStatus.get().getBlockIndex());
+        assertEquals(UnsignedLong.fromLongBits(9), receiptStatus.get().getBlockIndex());
+        assertEquals(0, watcher.getPendingCount());
+        verify(untrustedClient).fetchTxOuts(any());
+        verify(ledgerClient, never()).checkKeyImages(any());
+    }
+
+    @Test
+    public void spent_key_image_fails_transaction() throws Exception {
+        RistrettoPublic txKey = mockPublicKey(1);
+        KeyImage keyImage = KeyImage.fromBytes(new byte[]{1, 2, 3});
+        Transaction transaction = mockTransaction(txKey, keyImage, 100L);
+        Ledger.TxOutResponse txOutResponse = Ledger.TxOutResponse.newBuilder()
+                .setNumBlocks(11)
+                .addResults(Ledger.TxOutResult.newBuilder()
+                        .setTxOutPubkey(txKey.toProtoBufObject())
+                        .setResultCode(Ledger.TxOutResultCode.NotFound))
+                .build();
+        when(untrustedClient.fetchTxOuts(any())).thenReturn(txOutResponse);
+        when(ledgerClient.checkKeyImages(any())).thenReturn(
+                Ledger.CheckKeyImagesResponse.newBuilder()
+                        .setNumBlocks(11)
+                        .addResults(Ledger.KeyImageResult.newBuilder()
+                                .setKeyImage(MobileCoinAPI.KeyImage.newBuilder()
+                                        .setData(ByteString.copyFrom(keyImage.getData())))
+                                .setSpentAt(5)
+                                .setKeyImageResultCode(Ledger.KeyImageResultCode.Spent_VALUE))
+                        .build());
+
+        CountDownLatch completed = new CountDownLatch(1);
+        AtomicReference<TransactionStatus> txStatus = new AtomicReference<>();
+        watcher.watch(transaction, status -> {
+            txStatus.set(status);
+            completed.countDown();
+        });
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(Transaction.Status.FAILED, txStatus.get().getStatus());
+        assertEquals(ConsensusCommon.ProposeTxResult.ContainsSpentKeyImage,
+                txStatus.get().getFailureReason());
+    }
+
+    @Test
+    public void rechecks_only_when_block_index_advances() throws Exception {
+        RistrettoPublic receiptKey = mockPublicKey(2);
+        Receipt receipt = mockReceipt(receiptKey, 100L);
+        when(untrustedClient.fetchTxOuts(any())).thenReturn(Ledger.TxOutResponse.newBuilder()
+                .setNumBlocks(11)
+                .build());
+        when(blockchainClient.fetchLastBlockInfo()).thenReturn(
+                ConsensusCommon.LastBlockInfoResponse.newBuilder().setIndex(10).build());
+
+        watcher.watch(receipt, status -> {});
+
+        verify(blockchainClient, timeout(5000).atLeast(3)).fetchLastBlockInfo();
+        verify(untrustedClient).fetchTxOuts(any());
+        assertEquals(1, watcher.getPendingCount());
+    }
+
+    private static RistrettoPublic mockPublicKey(int seed) {
+        RistrettoPublic publicKey = mock(RistrettoPublic.class);
+        MobileCoinAPI.CompressedRistretto protoKey = MobileCoinAPI.CompressedRistretto.newBuilder()
+                .setData(ByteString.copyFrom(new byte[]{(byte) seed}))
+                .build();
+        when(publicKey.toProtoBufObject()).thenReturn(protoKey);
+        return publicKey;
+    }
+
+    private static Transaction mockTransaction(
+            RistrettoPublic outputKey,
+            KeyImage keyImage,
+            long tombstoneBlockIndex
+    ) {
+        Transaction transaction = mock(Transaction.class);
+        when(transaction.getOutputPublicKeys())
+                .thenReturn(new HashSet<>(Collections.singleton(outputKey)));
+        Set<KeyImage> keyImages = new HashSet<>(Collections.singleton(keyImage));
+        when(transaction.getKeyImages()).thenReturn(keyImages);
+        when(transaction.getTombstoneBlockIndex()).thenReturn(tombstoneBlockIndex);
+        return transaction;
+    }
+
+    private static Receipt mockReceipt(RistrettoPublic publicKey, long tombstoneBlockIndex) {
+        Receipt receipt = mock(Receipt.class);
+        when(receipt.getPublicKey()).thenReturn(publicKey);
+        when(receipt.getTombstoneBlockIndex())
+                .thenReturn(UnsignedLong.fromLongBits(tombstoneBlockIndex));
+        return receipt;
+    }
+
+    private static Ledger.TxOutResult found(RistrettoPublic publicKey, long blockIndex) {
+        return Ledger.TxOutResult.newBuilder()
+                .setTxOutPubkey(publicKey.toProtoBufObject())
+                .setResultCode(Ledger.TxOutResultCode.Found)
+                .setBlockIndex(blockIndex)
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.mobilecoin.lib;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.mobilecoin.lib.exceptions.SerializationException;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class TxOutStoreFormatTest {
+
+    @Test
+    public void store_round_trips_through_versioned_format() throws Exception {
+        TxOutStore store = new TxOutStore(mock(AccountKey.class));
+        store.setViewBlockIndex(UnsignedLong.fromLongBits(120));
+        store.setLedgerBlockIndex(UnsignedLong.fromLongBits(118));
+        store.setConsensusBlockIndex(UnsignedLong.MAX_VALUE);
+
+        byte[] serialized = store.toByteArray();
+        assertTrue(TxOutStoreFormat.isVersioned(serialized));
+
+        TxOutStore restored = TxOutStore.fromBytes(serialized);
+        assertEquals(UnsignedLong.fromLongBits(120), restored.getViewBlockIndex());
+        assertEquals(UnsignedLong.fromLongBits(118), restored.getLedgerBlockIndex());
+        assertEquals(UnsignedLong.MAX_VALUE, restored.getConsensusBlockIndex());
+        assertEquals(UnsignedLong.ZERO, restored.getLedgerTotalTxCount());
+        assertTrue(restored.getSyncedTxOuts().isEmpty());
+    }
+
+    @Test(expected = SerializationException.class)
+    public void truncated_store_is_rejected() throws Exception {
+        byte[] serialized = new TxOutStore(mock(AccountKey.class)).toByteArray();
+        TxOutStore.fromBytes(Arrays.copyOf(serialized, serialized.length - 1));
+    }
+
+    @Test
+    public void parcel_data_is_not_versioned() {
+        assertFalse(TxOutStoreFormat.isVersioned(new byte[]{0, 0, 0, 1, 0, 0, 0, 0}));
+        assertFalse(TxOutStoreFormat.isVersioned(new byte[TxOutStoreFormat.HEADER_SIZE]));
+    }
+
+    @Test
+    public void writer_grows_and_reader_restores_values() throws Exception {
+        TxOutStoreFormat.Writer writer = new TxOutStoreFormat.Writer(0);
+        byte[] payload = new byte[TxOutStoreFormat.HEADER_SIZE * 3];
+        Arrays.fill(payload, (byte) 7);
+        writer.writeLong(-1L);
+        writer.writeBytes(payload);
+        writer.writeBytes(null);
+        writer.writeBoolean(true);
+
+        TxOutStoreFormat.Reader reader = new TxOutStoreFormat.Reader(writer.toByteArray());
+        assertEquals(UnsignedLong.MAX_VALUE, reader.readUnsignedLong());
+        assertArrayEquals(payload, reader.readBytes());
+        assertNull(reader.readBytes());
+        assertTrue(reader.readBoolean());
+    }
+}
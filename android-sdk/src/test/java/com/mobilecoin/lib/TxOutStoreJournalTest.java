@@ -0,0 +1,204 @@
+package com.mobilecoin.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.ByteString;
+import com.mobilecoin.api.MobileCoinAPI;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import fog_ledger.Ledger;
+
+public class TxOutStoreJournalTest {
+    private static final String STORE_KEY = "store";
+
+    @Test
+    public void load_replays_journal_entries() throws Exception {
+        MemoryStorage storage = new MemoryStorage();
+        TxOutStoreJournal journal = new TxOutStoreJournal(storage, STORE_KEY, 10, Runnable::run);
+        assertNull(journal.load());
+
+        TxOutStore store = new TxOutStore(mock(AccountKey.class));
+        journal.persist(store);
+        assertTrue(journal.exists());
+        store.setViewBlockIndex(UnsignedLong.fromLongBits(42));
+        store.setLedgerBlockIndex(UnsignedLong.fromLongBits(40));
+        journal.persist(store);
+        assertTrue(storage.has(STORE_KEY + "-journal-0"));
+
+        TxOutStore restored = new TxOutStoreJournal(storage, STORE_KEY, 10, Runnable::run).load();
+        assertNotNull(restored);
+        assertEquals(UnsignedLong.fromLongBits(42), restored.getViewBlockIndex());
+        assertEquals(UnsignedLong.fromLongBits(40), restored.getLedgerBlockIndex());
+    }
+
+    @Test
+    public void unchanged_store_appends_nothing() throws Exception {
+        MemoryStorage storage = new MemoryStorage();
+        TxOutStoreJournal journal = new TxOutStoreJournal(storage, STORE_KEY, 10, Runnable::run);
+        TxOutStore store = new TxOutStore(mock(AccountKey.class));
+        journal.persist(store);
+        int keys = storage.values.size();
+        journal.persist(store);
+        assertEquals(keys, storage.values.size());
+        assertFalse(storage.has(STORE_KEY + "-journal-0"));
+    }
+
+    @Test
+    public void compaction_folds_entries_into_snapshot() throws Exception {
+        MemoryStorage storage = new MemoryStorage();
+        TxOutStoreJournal journal = new TxOutStoreJournal(storage, STORE_KEY, 2, Runnable::run);
+        TxOutStore store = new TxOutStore(mock(AccountKey.class));
+        journal.persist(store);
+        store.setViewBlockIndex(UnsignedLong.ONE);
+        journal.persist(store);
+        store.setViewBlockIndex(UnsignedLong.TEN);
+        journal.persist(store);
+
+        assertFalse(storage.has(STORE_KEY + "-journal-0"));
+        assertFalse(storage.has(STORE_KEY + "-journal-1"));
+        assertFalse(storage.has(STORE_KEY));
+        assertTrue(storage.has(STORE_KEY + "-snapshot-1"));
+
+        TxOutStore restored = new TxOutStoreJournal(storage, STORE_KEY, 2, Runnable::run).load();
+        assertNotNull(restored);
+        assertEquals(UnsignedLong.TEN, restored.getViewBlockIndex());
+    }
+
+    @Test
+    public void spent_records_are_replayed_by_global_index() throws Exception {
+        byte[] keyImage = {1, 2, 3};
+        OwnedTxOut spent = mockTxOut(7L, Arrays.hashCode(keyImage));
+        OwnedTxOut unspent = mockTxOut(8L, 0);
+        TxOutStore store = new TxOutStore(mock(AccountKey.class));
+        store.addRecoveredTxOuts(new HashSet<>(Arrays.asList(spent, unspent)));
+        store.startJournal();
+        // the mock keeps no state, the journal reads the spent state back from the getters
+        when(spent.getSpentBlockIndexBits()).thenReturn(5L);
+        when(spent.getSpentBlockIndex()).thenReturn(UnsignedLong.fromLongBits(5L));
+        when(spent.getSpentBlockTimestamp()).thenReturn(new Date(5_000L));
+        store.updateTxOutsSpentState(Ledger.CheckKeyImagesResponse.newBuilder()
+                .setNumBlocks(10)
+                .setGlobalTxoCount(20)
+                .addResults(Ledger.KeyImageResult.newBuilder()
+                        .setKeyImage(MobileCoinAPI.KeyImage.newBuilder()
+                                .setData(ByteString.copyFrom(keyImage)))
+                        .setKeyImageResultCode(Ledger.KeyImageResultCode.Spent_VALUE)
+                        .setSpentAt(5L)
+                        .setTimestamp(5L))
+                .build());
+        byte[] entry = store.drainJournalChanges();
+        assertNotNull(entry);
+
+        // a recovered TxOut may also be held by a seed, every copy is marked spent
+        OwnedTxOut restoredSpent = mockTxOut(7L, 0);
+        OwnedTxOut restoredSpentCopy = mockTxOut(7L, 0);
+        OwnedTxOut restoredUnspent = mockTxOut(8L, 0);
+        TxOutStore restored = new TxOutStore(mock(AccountKey.class));
+        restored.addRecoveredTxOuts(new HashSet<>(Arrays.asList(
+                restoredSpent, restoredSpentCopy, restoredUnspent)));
+        restored.applyJournalEntries(Collections.singletonList(entry));
+
+        verify(restoredSpent).setSpent(5L, new Date(5_000L));
+        verify(restoredSpentCopy).setSpent(5L, new Date(5_000L));
+        verify(restoredUnspent, never()).setSpent(anyLong(), any());
+        assertEquals(UnsignedLong.fromLongBits(9), restored.getLedgerBlockIndex());
+    }
+
+    @Test
+    public void caching_without_journal_discards_journal() throws Exception {
+        AccountKey accountKey = mock(AccountKey.class);
+        String storeKey = TxOutStore.createStorageKey(accountKey);
+        MemoryStorage storage = new MemoryStorage();
+
+        // journaled storage enabled
+        TxOutStoreJournal journal = new TxOutStoreJournal(storage, storeKey, 10, Runnable::run);
+        TxOutStore journaledStore = new TxOutStore(accountKey);
+        journal.persist(journaledStore);
+        journaledStore.setViewBlockIndex(UnsignedLong.fromLongBits(42));
+        journal.persist(journaledStore);
+        assertTrue(storage.has(storeKey + "-journal-0"));
+
+        // journaled storage disabled, the snapshot is written under the store key
+        TxOutStore store = new TxOutStore(accountKey);
+        store.setViewBlockIndex(UnsignedLong.fromLongBits(7));
+        new MobileCoinClient(accountKey, store, new ClientConfig(), storage,
+                mock(FogReportsManager.class), mock(FogBlockClient.class),
+                mock(FogUntrustedClient.class), mock(AttestedViewClient.class),
+                mock(AttestedLedgerClient.class), mock(AttestedConsensusClient.class),
+                mock(BlockchainClient.class)).cacheUserData();
+        assertFalse(journal.exists());
+        assertFalse(storage.has(storeKey + "-journal-0"));
+
+        // journaled storage enabled again, the old entries are not replayed
+        TxOutStore restored =
+                new TxOutStoreJournal(storage, storeKey, 10, Runnable::run).load();
+        assertNotNull(restored);
+        assertEquals(UnsignedLong.fromLongBits(7), restored.getViewBlockIndex());
+    }
+
+    @Test
+    public void discard_removes_compacted_journal() throws Exception {
+        MemoryStorage storage = new MemoryStorage();
+        TxOutStoreJournal journal = new TxOutStoreJournal(storage, STORE_KEY, 2, Runnable::run);
+        TxOutStore store = new TxOutStore(mock(AccountKey.class));
+        journal.persist(store);
+        store.setViewBlockIndex(UnsignedLong.ONE);
+        journal.persist(store);
+        store.setViewBlockIndex(UnsignedLong.TEN);
+        journal.persist(store);
+        store.setViewBlockIndex(UnsignedLong.fromLongBits(11));
+        journal.persist(store);
+
+        journal.discard();
+        assertTrue(storage.values.isEmpty());
+    }
+
+    private static OwnedTxOut mockTxOut(long txOutGlobalIndex, int keyImageHashCode) {
+        OwnedTxOut txOut = mock(OwnedTxOut.class);
+        when(txOut.getTxOutGlobalIndexBits()).thenReturn(txOutGlobalIndex);
+        when(txOut.getKeyImageHashCode()).thenReturn(keyImageHashCode);
+        return txOut;
+    }
+
+    private static final class MemoryStorage implements StorageAdapter {
+        private final Map<String, byte[]> values = new HashMap<>();
+
+        @Override
+        public boolean has(String key) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        public byte[] get(String key) {
+            return values.get(key);
+        }
+
+        @Override
+        public void set(String key, byte[] value) {
+            values.put(key, value);
+        }
+
+        @Override
+        public void clear(String key) {
+            values.remove(key);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.mobilecoin.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import androidx.annotation.Nullable;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+
+public class TxOutStoreTierTest {
+
+    @Test
+    public void spent_txouts_move_to_cold_tier() {
+        TxOutStore store = createStore(100);
+        store.setColdTierSpentBlocks(10);
+        OwnedTxOut old = mockTxOut(50L);
+        OwnedTxOut recent = mockTxOut(95L);
+        OwnedTxOut unspent = mockTxOut(null);
+        store.addRecoveredTxOuts(new HashSet<>(Arrays.asList(old, recent, unspent)));
+
+        assertEquals(new HashSet<>(Arrays.asList(recent, unspent)), store.getSyncedHotTxOuts());
+        assertEquals(Collections.singleton(unspent), store.getUnspentTxOuts());
+        assertEquals(Collections.singletonList(old), store.getColdTxOuts(0, 10));
+        assertEquals(3, store.getSyncedTxOuts().size());
+
+        store.setViewBlockIndex(UnsignedLong.fromLongBits(200));
+        store.setLedgerBlockIndex(UnsignedLong.fromLongBits(200));
+        store.updateTiers();
+        assertEquals(Collections.singleton(unspent), store.getSyncedHotTxOuts());
+        assertEquals(2, store.getColdTxOutCount());
+        assertEquals(Arrays.asList(recent, old), store.getColdTxOuts(0, 10));
+        assertEquals(Collections.singletonList(old), store.getColdTxOuts(1, 1));
+        assertTrue(store.getColdTxOuts(2, 10).isEmpty());
+    }
+
+    @Test
+    public void tiering_is_disabled_by_default() {
+        TxOutStore store = createStore(100);
+        OwnedTxOut old = mockTxOut(1L);
+        store.addRecoveredTxOuts(Collections.singleton(old));
+        store.updateTiers();
+        assertEquals(Collections.singleton(old), store.getSyncedHotTxOuts());
+        assertEquals(0, store.getColdTxOutCount());
+    }
+
+    @Test
+    public void cold_tier_keeps_token_ids() {
+        TxOutStore store = createStore(100);
+        store.setColdTierSpentBlocks(10);
+        TokenId coldToken = TokenId.from(UnsignedLong.fromLongBits(8));
+        OwnedTxOut old = mockTxOut(50L);
+        when(old.getAmount()).thenReturn(new Amount(BigInteger.ONE, coldToken));
+        OwnedTxOut unspent = mockTxOut(null);
+        when(unspent.getAmount()).thenReturn(new Amount(BigInteger.TEN, TokenId.MOB));
+        store.addRecoveredTxOuts(new HashSet<>(Arrays.asList(old, unspent)));
+
+        assertEquals(Collections.singleton(coldToken), store.getColdTokenIds());
+    }
+
+    @Test
+    public void balances_keep_tokens_with_only_cold_txouts() throws Exception {
+        TokenId coldToken = TokenId.from(UnsignedLong.fromLongBits(8));
+        TxOutStore txOutStore = mock(TxOutStore.class);
+        when(txOutStore.getCurrentBlockIndex()).thenReturn(UnsignedLong.TEN);
+        when(txOutStore.getSyncedHotTxOuts()).thenReturn(Collections.emptySet());
+        when(txOutStore.getColdTokenIds()).thenReturn(Collections.singleton(coldToken));
+        MobileCoinClient mobileCoinClient = new MobileCoinClient(mock(AccountKey.class),
+                txOutStore, new ClientConfig(), null, mock(FogReportsManager.class),
+                mock(FogBlockClient.class), mock(FogUntrustedClient.class),
+                mock(AttestedViewClient.class), mock(AttestedLedgerClient.class),
+                mock(AttestedConsensusClient.class), mock(BlockchainClient.class));
+
+        Map<TokenId, Balance> balances = mobileCoinClient.getBalances();
+        assertEquals(Collections.singletonMap(coldToken,
+                new Balance(BigInteger.ZERO, UnsignedLong.TEN)), balances);
+    }
+
+    private static TxOutStore createStore(long blockIndex) {
+        TxOutStore store = new TxOutStore(mock(AccountKey.class));
+        store.setViewBlockIndex(UnsignedLong.fromLongBits(blockIndex));
+        store.setLedgerBlockIndex(UnsignedLong.fromLongBits(blockIndex));
+        return store;
+    }
+
+    private static OwnedTxOut mockTxOut(@Nullable Long spentBlockIndex) {
+        OwnedTxOut txOut = mock(OwnedTxOut.class);
+        when(txOut.getReceivedBlockIndexBits()).thenReturn(1L);
+        when(txOut.getAmount()).thenReturn(new Amount(BigInteger.ONE, TokenId.MOB));
+        when(txOut.getSpentBlockIndexBits()).thenReturn(
+                (null != spentBlockIndex) ? spentBlockIndex : 0L);
+        when(txOut.isSpent(anyLong())).thenAnswer(invocation -> null != spentBlockIndex
+                && Long.compareUnsigned(spentBlockIndex, invocation.getArgument(0)) <= 0);
+        return txOut;
+    }
+}
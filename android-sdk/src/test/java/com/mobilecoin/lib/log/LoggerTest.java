@@ -0,0 +1,75 @@
+package com.mobilecoin.lib.log;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LoggerTest {
+    private static final String TAG = "LoggerTest";
+
+    private final List<String> messages = new ArrayList<>();
+    private final LogAdapter infoAdapter = new LogAdapter() {
+        @Override
+        public boolean isLoggable(Logger.Level logLevel, @NonNull String tag) {
+            return logLevel.compareTo(Logger.Level.INFO) >= 0;
+        }
+
+        @Override
+        public void log(Logger.Level logLevel, @NonNull String tag, @NonNull String message,
+                        @Nullable Throwable throwable, @NonNull Object... metadata) {
+            messages.add(message);
+        }
+    };
+
+    @Before
+    public void setUp() {
+        Logger.clearAllAdapters();
+        Logger.addAdapter(infoAdapter);
+    }
+
+    @After
+    public void tearDown() {
+        Logger.clearAllAdapters();
+        Logger.addAdapter(new DebugLogAdapter());
+    }
+
+    @Test
+    public void supplier_is_not_called_below_level() {
+        AtomicInteger calls = new AtomicInteger();
+        Logger.d(TAG, () -> {
+            calls.incrementAndGet();
+            return "debug";
+        });
+        assertEquals(0, calls.get());
+        assertFalse(Logger.isLoggable(Logger.Level.DEBUG, TAG));
+        assertTrue(messages.isEmpty());
+    }
+
+    @Test
+    public void supplier_is_called_when_loggable() {
+        Logger.i(TAG, () -> "info");
+        Logger.w(TAG, "warning");
+        assertTrue(Logger.isLoggable(Logger.Level.INFO, TAG));
+        assertEquals(2, messages.size());
+        assertEquals("info", messages.get(0));
+    }
+
+    @Test
+    public void removed_adapter_receives_nothing() {
+        Logger.removeAdapter(infoAdapter);
+        Logger.e(TAG, "error");
+        assertFalse(Logger.isLoggable(Logger.Level.ERROR, TAG));
+        assertTrue(messages.isEmpty());
+    }
+}
@@ -0,0 +1,58 @@
+package com.mobilecoin.lib.network.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import com.mobilecoin.lib.network.services.transport.Transport;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ServiceCacheTest {
+
+    @Test
+    public void service_is_reused_for_same_transport() {
+        ServiceCache serviceCache = new ServiceCache();
+        Transport transport = mock(Transport.class);
+        AtomicInteger created = new AtomicInteger();
+        FogViewService first = serviceCache.getOrCreate(transport, FogViewService.class, () -> {
+            created.incrementAndGet();
+            return mock(FogViewService.class);
+        });
+        FogViewService second = serviceCache.getOrCreate(transport, FogViewService.class, () -> {
+            created.incrementAndGet();
+            return mock(FogViewService.class);
+        });
+        assertSame(first, second);
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    public void services_are_kept_per_transport() {
+        ServiceCache serviceCache = new ServiceCache();
+        Transport firstTransport = mock(Transport.class);
+        Transport secondTransport = mock(Transport.class);
+        FogViewService first = serviceCache.getOrCreate(firstTransport,
+                FogViewService.class, () -> mock(FogViewService.class));
+        FogViewService second = serviceCache.getOrCreate(secondTransport,
+                FogViewService.class, () -> mock(FogViewService.class));
+        assertNotSame(first, second);
+        assertSame(first, serviceCache.getOrCreate(firstTransport,
+                FogViewService.class, () -> mock(FogViewService.class)));
+    }
+
+    @Test
+    public void clear_invalidates_services() {
+        ServiceCache serviceCache = new ServiceCache();
+        Transport transport = mock(Transport.class);
+        FogViewService first = serviceCache.getOrCreate(transport,
+                FogViewService.class, () -> mock(FogViewService.class));
+        serviceCache.clear();
+        FogViewService second = serviceCache.getOrCreate(transport,
+                FogViewService.class, () -> mock(FogViewService.class));
+        assertNotSame(first, second);
+    }
+}
@@ -0,0 +1,134 @@
+package com.mobilecoin.lib.network.services.http.Requester;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.net.Uri;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.HashMap;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PooledHttpRequesterTest {
+
+    @Mock
+    private HttpURLConnection connection;
+    @Mock
+    private Uri uri;
+
+    private static final byte[] response = new byte[]{10, 32, 78, -85, -53, -1};
+    private static final int SUCCESS_RESPONSE_CODE = 200;
+    private static final int ERROR_RESPONSE_CODE = 500;
+    private static final String METHOD_NAME = "POST";
+    private PooledHttpRequester spy = null;
+
+    @Before
+    public void setup() throws IOException {
+        spy = spy(new PooledHttpRequester());
+        doReturn(connection).when(spy).openConnection(any());
+        when(connection.getOutputStream()).thenReturn(new ByteArrayOutputStream());
+    }
+
+    @Test
+    public void successKeepsConnectionAlive() throws IOException {
+        // Given
+        when(connection.getResponseCode()).thenReturn(SUCCESS_RESPONSE_CODE);
+        when(connection.getContentLength()).thenReturn(response.length);
+        when(connection.getInputStream()).thenReturn(new ByteArrayInputStream(response));
+        // When
+        Requester.HttpResponse httpResponse =
+                spy.httpRequest(METHOD_NAME, uri, new HashMap<>(), new byte[]{1, 2}, "");
+        // Then
+        assertEquals(SUCCESS_RESPONSE_CODE, httpResponse.getResponseCode());
+        assertArrayEquals(response, httpResponse.getResponseData());
+        verify(connection).setFixedLengthStreamingMode(2);
+        verify(connection, never()).disconnect();
+    }
+
+    @Test
+    public void errorResponseIsRead() throws IOException {
+        // Given
+        when(connection.getResponseCode()).thenReturn(ERROR_RESPONSE_CODE);
+        when(connection.getContentLength()).thenReturn(-1);
+        when(connection.getErrorStream()).thenReturn(new ByteArrayInputStream(response));
+        // When
+        Requester.HttpResponse httpResponse =
+                spy.httpRequest(METHOD_NAME, uri, new HashMap<>(), new byte[]{}, "");
+        // Then
+        assertEquals(ERROR_RESPONSE_CODE, httpResponse.getResponseCode());
+        assertArrayEquals(response, httpResponse.getResponseData());
+    }
+
+    @Test(expected = IOException.class)
+    public void failureDisconnects() throws IOException {
+        // Given
+        when(connection.getResponseCode()).thenReturn(SUCCESS_RESPONSE_CODE);
+        when(connection.getInputStream()).thenThrow(new IOException());
+        try {
+            // When
+            spy.httpRequest(METHOD_NAME, uri, new HashMap<>(), new byte[]{}, "");
+        } finally {
+            // Then
+            verify(connection, times(1)).disconnect();
+        }
+    }
+
+    @Test(expected = EOFException.class)
+    public void truncatedBodyFails() throws IOException {
+        PooledHttpRequester.readBody(new ByteArrayInputStream(response), response.length + 1);
+    }
+
+    @Test
+    public void unknownLengthBodyIsReadCompletely() throws IOException {
+        byte[] largeResponse = new byte[100 * 1024];
+        for (int i = 0; i < largeResponse.length; i++) {
+            largeResponse[i] = (byte) i;
+        }
+        assertArrayEquals(largeResponse,
+                PooledHttpRequester.readBody(new ByteArrayInputStream(largeResponse), -1));
+    }
+
+    @Test
+    public void largeKnownLengthBodyIsReadCompletely() throws IOException {
+        byte[] largeResponse = new byte[3 * 1024 * 1024 + 7];
+        for (int i = 0; i < largeResponse.length; i++) {
+            largeResponse[i] = (byte) i;
+        }
+        assertArrayEquals(largeResponse, PooledHttpRequester.readBody(
+                new ByteArrayInputStream(largeResponse), largeResponse.length));
+    }
+
+    @Test(expected = IOException.class)
+    public void oversizedContentLengthIsRejected() throws IOException {
+        PooledHttpRequester.readBody(new ByteArrayInputStream(response), Integer.MAX_VALUE);
+    }
+
+    @Test(expected = EOFException.class)
+    public void contentLengthBeyondTheDataFails() throws IOException {
+        PooledHttpRequester.readBody(new ByteArrayInputStream(response),
+                PooledHttpRequester.MAX_RESPONSE_SIZE);
+    }
+
+    @Test(expected = IOException.class)
+    public void oversizedUnknownLengthBodyIsRejected() throws IOException {
+        PooledHttpRequester.readBody(new ByteArrayInputStream(new byte[64 * 1024]), -1,
+                32 * 1024);
+    }
+}
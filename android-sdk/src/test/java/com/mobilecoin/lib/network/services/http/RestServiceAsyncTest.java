@@ -0,0 +1,76 @@
+package com.mobilecoin.lib.network.services.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import androidx.annotation.NonNull;
+
+import com.google.protobuf.Empty;
+import com.mobilecoin.lib.exceptions.NetworkException;
+import com.mobilecoin.lib.network.NetworkResult;
+import com.mobilecoin.lib.network.services.ServiceCallback;
+import com.mobilecoin.lib.network.services.http.clients.RestClient;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import consensus_common.ConsensusCommon;
+
+public class RestServiceAsyncTest {
+
+    @Test
+    public void async_call_runs_on_call_executor() throws Exception {
+        RestClient restClient = mock(RestClient.class);
+        byte[] response = ConsensusCommon.LastBlockInfoResponse.newBuilder()
+                .setIndex(42)
+                .build()
+                .toByteArray();
+        when(restClient.makeRequest(anyString(), any())).thenReturn(response);
+        AtomicReference<Runnable> submitted = new AtomicReference<>();
+        RestBlockchainService service = new RestBlockchainService(restClient, submitted::set);
+        RecordingCallback<ConsensusCommon.LastBlockInfoResponse> callback =
+                new RecordingCallback<>();
+
+        service.getLastBlockInfoAsync(Empty.getDefaultInstance(), callback);
+        assertNull(callback.response);
+
+        submitted.get().run();
+        assertEquals(42, callback.response.getIndex());
+        assertNull(callback.exception);
+    }
+
+    @Test
+    public void async_call_reports_failure() throws Exception {
+        RestClient restClient = mock(RestClient.class);
+        when(restClient.makeRequest(anyString(), any()))
+                .thenThrow(new NetworkException(NetworkResult.UNAVAILABLE));
+        RestBlockchainService service = new RestBlockchainService(restClient, Runnable::run);
+        RecordingCallback<ConsensusCommon.LastBlockInfoResponse> callback =
+                new RecordingCallback<>();
+
+        service.getLastBlockInfoAsync(Empty.getDefaultInstance(), callback);
+        assertNull(callback.response);
+        assertEquals(NetworkResult.UNAVAILABLE.getResultCode().intValue(),
+                callback.exception.getResultCode());
+    }
+
+    private static class RecordingCallback<T> implements ServiceCallback<T> {
+        private T response;
+        private NetworkException exception;
+
+        @Override
+        public void onSuccess(@NonNull T response) {
+            this.response = response;
+        }
+
+        @Override
+        public void onFailure(@NonNull NetworkException exception) {
+            this.exception = exception;
+        }
+    }
+}
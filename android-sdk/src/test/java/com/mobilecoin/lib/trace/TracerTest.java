@@ -0,0 +1,79 @@
+package com.mobilecoin.lib.trace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+
+public class TracerTest {
+
+    @After
+    public void tearDown() {
+        Tracer.setExporter(null);
+    }
+
+    @Test
+    public void disabled_tracer_returns_no_op_span() {
+        Span span = Tracer.startSpan("refresh");
+        span.setAttribute("rounds", 1);
+        span.end();
+        assertFalse(span.isRecording());
+        assertTrue(span.getAttributes().isEmpty());
+        assertFalse(Tracer.getCurrentSpan().isRecording());
+    }
+
+    @Test
+    public void spans_are_nested_on_the_same_thread() {
+        InMemorySpanExporter exporter = new InMemorySpanExporter();
+        Tracer.setExporter(exporter);
+        try (Span parent = Tracer.startSpan("prepare_transaction")) {
+            try (Span child = Tracer.startSpan("transaction.build")) {
+                child.setAttribute("inputs", 2);
+                assertSame(child, Tracer.getCurrentSpan());
+            }
+            assertSame(parent, Tracer.getCurrentSpan());
+        }
+        List<Span> spans = exporter.getFinishedSpans();
+        assertEquals(2, spans.size());
+        Span child = spans.get(0);
+        Span parent = spans.get(1);
+        assertEquals("transaction.build", child.getName());
+        assertSame(parent, child.getParent());
+        assertNull(parent.getParent());
+        assertEquals(2, child.getAttributes().get("inputs"));
+        assertTrue(parent.getDurationNanos() >= child.getDurationNanos());
+        assertFalse(Tracer.getCurrentSpan().isRecording());
+    }
+
+    @Test
+    public void explicit_parent_links_spans_across_threads() throws Exception {
+        InMemorySpanExporter exporter = new InMemorySpanExporter();
+        Tracer.setExporter(exporter);
+        Span parent = Tracer.startSpan("prepare_transaction");
+        Thread thread = new Thread(() -> Tracer.startSpan("fog_report.fetch", parent).end());
+        thread.start();
+        thread.join();
+        parent.end();
+        assertSame(parent, exporter.getFinishedSpans("fog_report.fetch").get(0).getParent());
+    }
+
+    @Test
+    public void ending_parent_drops_unended_children() {
+        InMemorySpanExporter exporter = new InMemorySpanExporter();
+        Tracer.setExporter(exporter);
+        Span parent = Tracer.startSpan("refresh");
+        Span child = Tracer.startSpan("fog_view.query");
+        parent.recordError(new IllegalStateException());
+        parent.end();
+        assertFalse(Tracer.getCurrentSpan().isRecording());
+        assertFalse(child.isEnded());
+        assertTrue(exporter.getFinishedSpans("refresh").get(0).getError()
+                instanceof IllegalStateException);
+    }
+}
@@ -0,0 +1,98 @@
+package com.mobilecoin.lib.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class AsyncCallTest {
+
+    @Test
+    public void completesWithResult() throws Exception {
+        CompletableFuture<Integer> future = AsyncCall.run(() -> 42);
+        assertEquals(Integer.valueOf(42), future.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void completesWithCheckedException() throws Exception {
+        CompletableFuture<Integer> future = AsyncCall.run(() -> {
+            throw new IOException("boom");
+        });
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected ExecutionException");
+        } catch (ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void defaultThreadCountBoundsConcurrentCalls() throws Exception {
+        int threadCount = AsyncCall.getDefaultThreadCount() + 2;
+        AsyncCall.setDefaultThreadCount(threadCount);
+        try {
+            // every call blocks until all of them run at the same time
+            CountDownLatch running = new CountDownLatch(threadCount);
+            List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(AsyncCall.run(() -> {
+                    running.countDown();
+                    return running.await(5, TimeUnit.SECONDS);
+                }));
+            }
+            for (CompletableFuture<Boolean> future : futures) {
+                assertTrue(future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            AsyncCall.setDefaultThreadCount(threadCount - 2);
+        }
+    }
+
+    @Test
+    public void cancelInterruptsRunningCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<Void> future = AsyncCall.run(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException exception) {
+                interrupted.countDown();
+            }
+            return null;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        future.cancel(true);
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void deadlineInterruptsRunningCall() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<Void> future = AsyncCall.withDeadline(AsyncCall.run(() -> {
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException exception) {
+                interrupted.countDown();
+            }
+            return null;
+        }), 50, TimeUnit.MILLISECONDS);
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected ExecutionException");
+        } catch (ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof TimeoutException);
+        }
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,98 @@
+package com.mobilecoin.lib.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.mobilecoin.lib.exceptions.NetworkException;
+import com.mobilecoin.lib.network.NetworkResult;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AsyncNetworkingCallTest {
+    private static final Executor DIRECT_EXECUTOR = Runnable::run;
+
+    @Test
+    public void retries_retryable_failures() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        NetworkingCall.RetryPolicy policy = new NetworkingCall.RetryPolicy()
+                .withMaxAttempts(3)
+                .withBackoff(1, 5, 2.0);
+        AsyncNetworkingCall<String> call = new AsyncNetworkingCall<>(policy, false,
+                DIRECT_EXECUTOR, () -> {
+            if (calls.incrementAndGet() < 3) {
+                return AsyncCall.failed(new NetworkException(NetworkResult.UNAVAILABLE));
+            }
+            return CompletableFuture.completedFuture("ok");
+        });
+        assertEquals("ok", call.run().get(5, TimeUnit.SECONDS));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void does_not_retry_other_failures() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        NetworkingCall.RetryPolicy policy = new NetworkingCall.RetryPolicy().withMaxAttempts(5);
+        AsyncNetworkingCall<String> call = new AsyncNetworkingCall<>(policy, false,
+                DIRECT_EXECUTOR, () -> {
+            calls.incrementAndGet();
+            throw new NetworkException(NetworkResult.INVALID_ARGUMENT);
+        });
+        try {
+            call.run().get(5, TimeUnit.SECONDS);
+            fail("Expected NetworkException");
+        } catch (ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof NetworkException);
+            assertEquals(1, calls.get());
+        }
+    }
+
+    @Test
+    public void slow_read_is_hedged() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        NetworkingCall.RetryPolicy policy = new NetworkingCall.RetryPolicy().withHedgeDelay(20);
+        AsyncNetworkingCall<String> call = new AsyncNetworkingCall<>(policy, true,
+                DIRECT_EXECUTOR, () -> {
+            if (calls.incrementAndGet() == 1) {
+                return slow;
+            }
+            return CompletableFuture.completedFuture("hedged");
+        });
+        assertEquals("hedged", call.run().get(5, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+        slow.complete("slow");
+    }
+
+    @Test
+    public void hedged_read_fails_once_every_request_failed() throws Exception {
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+        NetworkingCall.RetryPolicy policy = new NetworkingCall.RetryPolicy().withHedgeDelay(20);
+        AsyncNetworkingCall<String> call = new AsyncNetworkingCall<>(policy, true,
+                DIRECT_EXECUTOR, () -> {
+            if (calls.incrementAndGet() == 1) {
+                return slow;
+            }
+            return AsyncCall.failed(new NetworkException(NetworkResult.INVALID_ARGUMENT));
+        });
+        CompletableFuture<String> result = call.run();
+        Thread.sleep(100);
+        // the first request may still answer
+        assertFalse(result.isDone());
+        slow.completeExceptionally(new NetworkException(NetworkResult.INVALID_ARGUMENT));
+        try {
+            result.get(5, TimeUnit.SECONDS);
+            fail("Expected NetworkException");
+        } catch (ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof NetworkException);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.mobilecoin.lib.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.mobilecoin.lib.exceptions.NetworkException;
+import com.mobilecoin.lib.network.NetworkResult;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class NetworkingCallTest {
+
+    @Test
+    public void default_policy_makes_single_attempt() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        NetworkingCall<String> call = new NetworkingCall<>(() -> {
+            calls.incrementAndGet();
+            throw new NetworkException(NetworkResult.INTERNAL);
+        });
+        try {
+            call.run();
+            fail("Expected NetworkException");
+        } catch (NetworkException exception) {
+            assertEquals(1, calls.get());
+        }
+    }
+
+    @Test
+    public void retries_retryable_failures() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        NetworkingCall.RetryPolicy policy = new NetworkingCall.RetryPolicy()
+                .withMaxAttempts(3)
+                .withBackoff(1, 5, 2.0);
+        NetworkingCall<String> call = new NetworkingCall<>(policy, () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new NetworkException(NetworkResult.UNAVAILABLE);
+            }
+            return "ok";
+        });
+        assertEquals("ok", call.run());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void does_not_retry_other_failures() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        NetworkingCall.RetryPolicy policy = new NetworkingCall.RetryPolicy().withMaxAttempts(5);
+        NetworkingCall<String> call = new NetworkingCall<>(policy, () -> {
+            calls.incrementAndGet();
+            throw new NetworkException(NetworkResult.INVALID_ARGUMENT);
+        });
+        try {
+            call.run();
+            fail("Expected NetworkException");
+        } catch (NetworkException exception) {
+            assertEquals(1, calls.get());
+        }
+    }
+
+    @Test
+    public void deadline_budget_stops_retries() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        NetworkingCall.RetryPolicy policy = new NetworkingCall.RetryPolicy()
+                .withMaxAttempts(100)
+                .withBackoff(50, 50, 1.0)
+                .withJitter(false)
+                .withDeadline(120);
+        NetworkingCall<String> call = new NetworkingCall<>(policy, () -> {
+            calls.incrementAndGet();
+            throw new NetworkException(NetworkResult.UNAVAILABLE);
+        });
+        try {
+            call.run();
+            fail("Expected NetworkException");
+        } catch (NetworkException exception) {
+            assertTrue(calls.get() <= 3);
+        }
+    }
+
+    @Test
+    public void slow_read_is_hedged() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        NetworkingCall.RetryPolicy policy = new NetworkingCall.RetryPolicy().withHedgeDelay(20);
+        NetworkingCall<String> call = new NetworkingCall<>(policy, true, null, () -> {
+            if (calls.incrementAndGet() == 1) {
+                release.await(10, TimeUnit.SECONDS);
+                return "slow";
+            }
+            return "hedged";
+        });
+        assertEquals("hedged", call.run());
+        assertEquals(2, calls.get());
+        release.countDown();
+    }
+
+    @Test
+    public void listener_observes_each_attempt() throws Exception {
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger successes = new AtomicInteger();
+        NetworkingCall.RetryPolicy policy = new NetworkingCall.RetryPolicy()
+                .withMaxAttempts(2)
+                .withBackoff(0, 0, 1.0);
+        AtomicInteger calls = new AtomicInteger();
+        NetworkingCall<String> call = new NetworkingCall<>(policy, false,
+                new NetworkingCall.CallListener() {
+                    @Override
+                    public void onSuccess(long latencyNanos) {
+                        successes.incrementAndGet();
+                    }
+
+                    @Override
+                    public void onFailure(NetworkException exception) {
+                        failures.incrementAndGet();
+                    }
+                }, () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new NetworkException(NetworkResult.UNAVAILABLE);
+            }
+            return "ok";
+        });
+        assertEquals("ok", call.run());
+        assertEquals(1, failures.get());
+        assertEquals(1, successes.get());
+    }
+
+    @Test
+    public void circuit_breaker_opens_and_recovers() throws Exception {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(2, 50);
+        circuitBreaker.onFailure();
+        assertTrue(circuitBreaker.isCallPermitted());
+        circuitBreaker.onFailure();
+        assertFalse(circuitBreaker.isCallPermitted());
+        Thread.sleep(60);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        circuitBreaker.onFailure();
+        assertFalse(circuitBreaker.isCallPermitted());
+        Thread.sleep(60);
+        circuitBreaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+}